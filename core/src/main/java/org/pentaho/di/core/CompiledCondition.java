@@ -0,0 +1,640 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.Utils;
+
+/**
+ * A {@link Condition} compiled against a fixed row layout.
+ * <p>
+ * Field positions, constant values, regular expressions and IN LIST sets are resolved once when the condition is
+ * compiled instead of on every row. Conjunctions and disjunctions of terms that can't fail are periodically reordered
+ * so that the terms that decide the outcome most often, at the lowest cost, are evaluated first. The result of
+ * {@link #evaluate(Object[])} is the same as {@link Condition#evaluate(RowMetaInterface, Object[])} for the row layout
+ * it was compiled for.
+ * <p>
+ * A compiled condition keeps evaluation statistics and is not thread safe: use one instance per step copy.
+ */
+public class CompiledCondition {
+
+  /**
+   * Number of evaluations of a conjunction or disjunction after which its terms are reordered.
+   */
+  static final int REORDER_INTERVAL = 4096;
+
+  private final RowMetaInterface rowMeta;
+  private final Node root;
+
+  private CompiledCondition( RowMetaInterface rowMeta, Node root ) {
+    this.rowMeta = rowMeta;
+    this.root = root;
+  }
+
+  /**
+   * Compile the condition for rows with the given layout.
+   *
+   * @param condition
+   *          the condition to compile, it is not modified
+   * @param rowMeta
+   *          the layout of the rows that will be evaluated
+   * @return the compiled condition
+   */
+  public static CompiledCondition compile( Condition condition, RowMetaInterface rowMeta ) {
+    boolean treatNullsAsNotZero =
+      "Y".equalsIgnoreCase( System.getProperty( Const.KETTLE_FILTER_TREAT_NULLS_AS_NOT_ZERO, "N" ) );
+    return new CompiledCondition( rowMeta, compileNode( condition, rowMeta, treatNullsAsNotZero ) );
+  }
+
+  /**
+   * @return the row layout this condition was compiled for
+   */
+  public RowMetaInterface getRowMeta() {
+    return rowMeta;
+  }
+
+  /**
+   * Evaluate the condition...
+   *
+   * @param r
+   *          the row data
+   * @return true if the condition evaluates to true.
+   */
+  public boolean evaluate( Object[] r ) {
+    return root.evaluate( r );
+  }
+
+  private static Node compileNode( Condition condition, RowMetaInterface rowMeta, boolean treatNullsAsNotZero ) {
+    if ( condition.isComposite() ) {
+      int nr = condition.nrConditions();
+      Node[] children = new Node[ nr ];
+      int[] operators = new int[ nr ];
+      for ( int i = 0; i < nr; i++ ) {
+        Condition child = condition.getCondition( i );
+        children[ i ] = compileNode( child, rowMeta, treatNullsAsNotZero );
+        operators[ i ] = child.getOperator();
+      }
+      return new CompositeNode( condition, children, operators );
+    }
+
+    if ( condition.getFunction() == Condition.FUNC_TRUE ) {
+      return new ConstantNode( !condition.isNegated() );
+    }
+
+    String leftName = condition.getLeftValuename();
+    int leftIndex = Utils.isEmpty( leftName ) ? -1 : rowMeta.indexOfValue( leftName );
+    if ( leftIndex < 0 ) {
+      // No fields to evaluate: false, regardless of negation
+      return new ConstantNode( false );
+    }
+    ValueMetaInterface leftMeta = rowMeta.getValueMeta( leftIndex );
+
+    String rightName = condition.getRightValuename();
+    int rightIndex = Utils.isEmpty( rightName ) ? -1 : rowMeta.indexOfValue( rightName );
+    ValueMetaInterface rightMeta = null;
+    Object rightData = null;
+    if ( condition.getRightExact() != null ) {
+      rightMeta = condition.getRightExact().getValueMeta();
+      rightData = condition.getRightExact().getValueData();
+    }
+    if ( rightData != null ) {
+      // The constant wins over a right hand field
+      rightIndex = -1;
+    } else if ( rightIndex >= 0 ) {
+      rightMeta = rowMeta.getValueMeta( rightIndex );
+    }
+
+    try {
+      switch ( condition.getFunction() ) {
+        case Condition.FUNC_NULL:
+        case Condition.FUNC_NOT_NULL:
+          return new NullNode( condition, leftIndex, leftMeta );
+        case Condition.FUNC_EQUAL:
+        case Condition.FUNC_NOT_EQUAL:
+        case Condition.FUNC_SMALLER:
+        case Condition.FUNC_SMALLER_EQUAL:
+        case Condition.FUNC_LARGER:
+        case Condition.FUNC_LARGER_EQUAL:
+          if ( rightMeta == null ) {
+            break;
+          }
+          return new CompareNode( condition, leftIndex, leftMeta, rightIndex, rightMeta, rightData,
+            treatNullsAsNotZero );
+        case Condition.FUNC_REGEXP:
+        case Condition.FUNC_LIKE:
+          if ( rightIndex >= 0 || rightData == null ) {
+            break;
+          }
+          String regex = rightMeta.getCompatibleString( rightData );
+          if ( condition.getFunction() == Condition.FUNC_LIKE ) {
+            regex = regex.replace( "%", ".*" ).replace( "?", "." );
+          }
+          return new PatternNode( condition, leftIndex, leftMeta, Pattern.compile( regex ) );
+        case Condition.FUNC_IN_LIST:
+          if ( rightIndex >= 0 || rightData == null ) {
+            break;
+          }
+          String[] inList = Const.splitString( rightMeta.getString( rightData ), ';', true );
+          Set<String> values = new HashSet<>( inList.length * 2 );
+          for ( String value : inList ) {
+            if ( value == null ) {
+              // Leave the odd cases to the interpreted condition
+              return new DelegateNode( condition, rowMeta );
+            }
+            values.add( value.replace( "\\", "" ) );
+          }
+          return new InListNode( condition, leftIndex, leftMeta, values );
+        case Condition.FUNC_CONTAINS:
+        case Condition.FUNC_STARTS_WITH:
+          if ( rightIndex >= 0 || rightData == null ) {
+            break;
+          }
+          String string = rightMeta.getCompatibleString( rightData );
+          if ( string == null ) {
+            break;
+          }
+          return new StringNode( condition, leftIndex, leftMeta, string );
+        default:
+          break;
+      }
+    } catch ( Exception e ) {
+      // Constants that can't be prepared fail (or not) exactly like the interpreted condition does
+    }
+    return new DelegateNode( condition, rowMeta );
+  }
+
+  private static boolean isNormalStorage( ValueMetaInterface valueMeta ) {
+    return valueMeta.getStorageType() == ValueMetaInterface.STORAGE_TYPE_NORMAL;
+  }
+
+  private static boolean isPlainType( int type ) {
+    switch ( type ) {
+      case ValueMetaInterface.TYPE_STRING:
+      case ValueMetaInterface.TYPE_NUMBER:
+      case ValueMetaInterface.TYPE_INTEGER:
+      case ValueMetaInterface.TYPE_BIGNUMBER:
+      case ValueMetaInterface.TYPE_DATE:
+      case ValueMetaInterface.TYPE_BOOLEAN:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isPlainString( ValueMetaInterface valueMeta ) {
+    return valueMeta.getType() == ValueMetaInterface.TYPE_STRING && isNormalStorage( valueMeta );
+  }
+
+  private static RuntimeException evaluationError( Condition condition, Exception e ) {
+    return new RuntimeException( "Unexpected error evaluation condition [" + condition.toString() + "]", e );
+  }
+
+  private abstract static class Node {
+
+    /**
+     * Relative cost of an evaluation, used to order the terms of conjunctions and disjunctions.
+     */
+    abstract int cost();
+
+    /**
+     * @return true if the evaluation can fail, or has side effects: the term is then only evaluated in the declared
+     *         order, when the terms before it didn't decide the outcome yet.
+     */
+    boolean canFail() {
+      return true;
+    }
+
+    abstract boolean evaluate( Object[] r );
+  }
+
+  private static final class ConstantNode extends Node {
+    private final boolean value;
+
+    ConstantNode( boolean value ) {
+      this.value = value;
+    }
+
+    @Override
+    int cost() {
+      return 0;
+    }
+
+    @Override
+    boolean canFail() {
+      return false;
+    }
+
+    @Override
+    boolean evaluate( Object[] r ) {
+      return value;
+    }
+  }
+
+  /**
+   * Evaluates a private copy of the atomic condition the interpreted way, for the cases that are not specialized.
+   */
+  private static final class DelegateNode extends Node {
+    private final Condition condition;
+    private final RowMetaInterface rowMeta;
+
+    DelegateNode( Condition condition, RowMetaInterface rowMeta ) {
+      this.condition = (Condition) condition.clone();
+      this.rowMeta = rowMeta;
+    }
+
+    @Override
+    int cost() {
+      return 8;
+    }
+
+    @Override
+    boolean evaluate( Object[] r ) {
+      return condition.evaluate( rowMeta, r );
+    }
+  }
+
+  private abstract static class AtomicNode extends Node {
+    final Condition condition;
+    final boolean negate;
+    final int function;
+    final int leftIndex;
+    final ValueMetaInterface leftMeta;
+
+    AtomicNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta ) {
+      this.condition = condition;
+      this.negate = condition.isNegated();
+      this.function = condition.getFunction();
+      this.leftIndex = leftIndex;
+      this.leftMeta = leftMeta;
+    }
+
+    @Override
+    boolean evaluate( Object[] r ) {
+      try {
+        return test( r[ leftIndex ], r ) != negate;
+      } catch ( Exception e ) {
+        throw evaluationError( condition, e );
+      }
+    }
+
+    abstract boolean test( Object field, Object[] r ) throws KettleValueException;
+  }
+
+  private static final class NullNode extends AtomicNode {
+
+    NullNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta ) {
+      super( condition, leftIndex, leftMeta );
+    }
+
+    @Override
+    int cost() {
+      return 1;
+    }
+
+    @Override
+    boolean canFail() {
+      return !isNormalStorage( leftMeta );
+    }
+
+    @Override
+    boolean test( Object field, Object[] r ) throws KettleValueException {
+      return leftMeta.isNull( field ) == ( function == Condition.FUNC_NULL );
+    }
+  }
+
+  private static final class CompareNode extends AtomicNode {
+    private final int rightIndex;
+    private final ValueMetaInterface rightMeta;
+    private final Object rightData;
+    private final boolean treatNullsAsNotZero;
+
+    /**
+     * True if the constant is already in the type and storage of the left field so it can be compared directly.
+     */
+    private final boolean direct;
+
+    CompareNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta, int rightIndex,
+      ValueMetaInterface rightMeta, Object rightData, boolean treatNullsAsNotZero ) {
+      super( condition, leftIndex, leftMeta );
+      this.rightIndex = rightIndex;
+      this.rightMeta = rightMeta;
+      this.treatNullsAsNotZero = treatNullsAsNotZero
+        && ( function == Condition.FUNC_SMALLER || function == Condition.FUNC_SMALLER_EQUAL );
+
+      Object data = rightData;
+      boolean sameLayout = false;
+      if ( rightIndex < 0 ) {
+        if ( leftMeta.getType() == rightMeta.getType() ) {
+          sameLayout = leftMeta.getStorageType() == rightMeta.getStorageType();
+        } else if ( leftMeta.getStorageType() == ValueMetaInterface.STORAGE_TYPE_NORMAL
+          && !( leftMeta.getType() == ValueMetaInterface.TYPE_INTEGER
+            && rightMeta.getType() == ValueMetaInterface.TYPE_NUMBER ) ) {
+          // Convert the constant to the type of the left field once, the way compare() does it on every row
+          try {
+            data = leftMeta.convertData( rightMeta, rightData );
+            sameLayout = true;
+          } catch ( KettleValueException e ) {
+            data = rightData;
+          }
+        }
+      }
+      this.rightData = data;
+      this.direct = sameLayout;
+    }
+
+    @Override
+    int cost() {
+      return 2;
+    }
+
+    @Override
+    boolean canFail() {
+      // Only a comparison of values of the same plain type doesn't convert anything
+      return !direct || !isNormalStorage( leftMeta ) || !isNormalStorage( rightMeta )
+        || !isPlainType( leftMeta.getType() );
+    }
+
+    @Override
+    boolean test( Object field, Object[] r ) throws KettleValueException {
+      if ( treatNullsAsNotZero && leftMeta.isNull( field ) ) {
+        // Added to accommodate for CUST-270
+        return false;
+      }
+      int cmp;
+      if ( direct ) {
+        cmp = leftMeta.compare( field, rightData );
+      } else if ( rightIndex >= 0 ) {
+        cmp = leftMeta.compare( field, rightMeta, r[ rightIndex ] );
+      } else {
+        cmp = leftMeta.compare( field, rightMeta, rightData );
+      }
+      switch ( function ) {
+        case Condition.FUNC_EQUAL:
+          return cmp == 0;
+        case Condition.FUNC_NOT_EQUAL:
+          return cmp != 0;
+        case Condition.FUNC_SMALLER:
+          return cmp < 0;
+        case Condition.FUNC_SMALLER_EQUAL:
+          return cmp <= 0;
+        case Condition.FUNC_LARGER:
+          return cmp > 0;
+        default:
+          return cmp >= 0;
+      }
+    }
+  }
+
+  private static final class PatternNode extends AtomicNode {
+    private final Pattern pattern;
+
+    PatternNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta, Pattern pattern ) {
+      super( condition, leftIndex, leftMeta );
+      this.pattern = pattern;
+    }
+
+    @Override
+    int cost() {
+      return 6;
+    }
+
+    @Override
+    boolean canFail() {
+      return !isPlainString( leftMeta );
+    }
+
+    @Override
+    boolean test( Object field, Object[] r ) throws KettleValueException {
+      if ( leftMeta.isNull( field ) ) {
+        return false;
+      }
+      return pattern.matcher( leftMeta.getCompatibleString( field ) ).matches();
+    }
+  }
+
+  private static final class InListNode extends AtomicNode {
+    private final Set<String> values;
+
+    InListNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta, Set<String> values ) {
+      super( condition, leftIndex, leftMeta );
+      this.values = values;
+    }
+
+    @Override
+    int cost() {
+      return 2;
+    }
+
+    @Override
+    boolean canFail() {
+      return !isPlainString( leftMeta );
+    }
+
+    @Override
+    boolean test( Object field, Object[] r ) throws KettleValueException {
+      String searchString = leftMeta.getCompatibleString( field );
+      return searchString != null && values.contains( searchString );
+    }
+  }
+
+  private static final class StringNode extends AtomicNode {
+    private final String string;
+
+    StringNode( Condition condition, int leftIndex, ValueMetaInterface leftMeta, String string ) {
+      super( condition, leftIndex, leftMeta );
+      this.string = string;
+    }
+
+    @Override
+    int cost() {
+      return 2;
+    }
+
+    @Override
+    boolean canFail() {
+      return !isPlainString( leftMeta );
+    }
+
+    @Override
+    boolean test( Object field, Object[] r ) throws KettleValueException {
+      String value = leftMeta.getCompatibleString( field );
+      if ( value == null ) {
+        return false;
+      }
+      return function == Condition.FUNC_CONTAINS ? value.contains( string ) : value.startsWith( string );
+    }
+  }
+
+  /**
+   * Folds the sub-conditions from left to right, like {@link Condition#evaluate(RowMetaInterface, Object[])}. When all
+   * operators are AND (NOT) or all are OR (NOT) the order of the terms doesn't matter for the outcome. If none of the
+   * terms can fail either, they are evaluated in order of decreasing selectivity per unit of cost instead.
+   */
+  private static final class CompositeNode extends Node {
+    private final Condition condition;
+    private final boolean negate;
+    private final Node[] children;
+    private final int[] operators;
+
+    /**
+     * The term value that decides the outcome of a reorderable composite: false for AND, true for OR.
+     */
+    private final boolean decisive;
+    private final boolean reorderable;
+    private final boolean[] inverted;
+    private final int[] order;
+    private final long[] evaluations;
+    private final long[] decisions;
+    private int countdown;
+
+    CompositeNode( Condition condition, Node[] children, int[] operators ) {
+      this.condition = condition;
+      this.negate = condition.isNegated();
+      this.children = children;
+      this.operators = operators;
+
+      boolean allAnd = true;
+      boolean allOr = true;
+      inverted = new boolean[ children.length ];
+      for ( int i = 1; i < children.length; i++ ) {
+        switch ( operators[ i ] ) {
+          case Condition.OPERATOR_AND_NOT:
+            inverted[ i ] = true;
+            // fall through
+          case Condition.OPERATOR_AND:
+            allOr = false;
+            break;
+          case Condition.OPERATOR_OR_NOT:
+            inverted[ i ] = true;
+            // fall through
+          case Condition.OPERATOR_OR:
+            allAnd = false;
+            break;
+          default:
+            allAnd = false;
+            allOr = false;
+            break;
+        }
+      }
+      boolean canFail = false;
+      for ( Node child : children ) {
+        canFail |= child.canFail();
+      }
+      // A term that is skipped in the declared order must not fail, or have side effects, because it's moved forward
+      reorderable = children.length > 1 && ( allAnd || allOr ) && !canFail;
+      decisive = !allAnd;
+
+      order = new int[ children.length ];
+      for ( int i = 0; i < order.length; i++ ) {
+        order[ i ] = i;
+      }
+      evaluations = new long[ children.length ];
+      decisions = new long[ children.length ];
+      countdown = REORDER_INTERVAL;
+    }
+
+    @Override
+    int cost() {
+      int cost = 0;
+      for ( Node child : children ) {
+        cost += child.cost();
+      }
+      return cost;
+    }
+
+    @Override
+    boolean canFail() {
+      for ( Node child : children ) {
+        if ( child.canFail() ) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    boolean evaluate( Object[] r ) {
+      try {
+        boolean retval = reorderable ? evaluateReordered( r ) : evaluateDeclared( r );
+        return retval != negate;
+      } catch ( Exception e ) {
+        throw evaluationError( condition, e );
+      }
+    }
+
+    private boolean evaluateDeclared( Object[] r ) {
+      boolean retval = children[ 0 ].evaluate( r );
+      for ( int i = 1; i < children.length; i++ ) {
+        switch ( operators[ i ] ) {
+          case Condition.OPERATOR_OR:
+            retval = retval || children[ i ].evaluate( r );
+            break;
+          case Condition.OPERATOR_AND:
+            retval = retval && children[ i ].evaluate( r );
+            break;
+          case Condition.OPERATOR_OR_NOT:
+            retval = retval || ( !children[ i ].evaluate( r ) );
+            break;
+          case Condition.OPERATOR_AND_NOT:
+            retval = retval && ( !children[ i ].evaluate( r ) );
+            break;
+          case Condition.OPERATOR_XOR:
+            retval = retval ^ children[ i ].evaluate( r );
+            break;
+          default:
+            break;
+        }
+      }
+      return retval;
+    }
+
+    private boolean evaluateReordered( Object[] r ) {
+      if ( --countdown <= 0 ) {
+        reorder();
+      }
+      for ( int index : order ) {
+        evaluations[ index ]++;
+        if ( ( children[ index ].evaluate( r ) != inverted[ index ] ) == decisive ) {
+          decisions[ index ]++;
+          return decisive;
+        }
+      }
+      return !decisive;
+    }
+
+    private void reorder() {
+      countdown = REORDER_INTERVAL;
+      final double[] score = new double[ children.length ];
+      Integer[] sorted = new Integer[ children.length ];
+      for ( int i = 0; i < children.length; i++ ) {
+        score[ i ] = ( decisions[ i ] + 1.0 ) / ( evaluations[ i ] + 2.0 ) / ( children[ i ].cost() + 1.0 );
+        sorted[ i ] = i;
+        // Let the statistics decay so the order follows changes in the data
+        decisions[ i ] /= 2;
+        evaluations[ i ] /= 2;
+      }
+      Arrays.sort( sorted, ( a, b ) -> Double.compare( score[ b ], score[ a ] ) );
+      for ( int i = 0; i < sorted.length; i++ ) {
+        order[ i ] = sorted[ i ];
+      }
+    }
+  }
+}
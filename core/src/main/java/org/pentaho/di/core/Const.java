@@ -770,6 +770,12 @@ public class Const {
    */
   public static final String KETTLE_XML_EMPTY_TAG_YIELDS_EMPTY_VALUE = "KETTLE_XML_EMPTY_TAG_YIELDS_EMPTY_VALUE";
 
+  /**
+   * The number of parsed transformation and job files to keep in memory, so loading the same file again doesn't parse
+   * it again as long as its content didn't change. 0 switches the cache off (default).
+   */
+  public static final String KETTLE_XML_DOCUMENT_CACHE_SIZE = "KETTLE_XML_DOCUMENT_CACHE_SIZE";
+
   /**
    * This flag will cause the "Get XML data" step to yield null values on missing elements and empty values on empty elements when set to "Y".
    * By default, both empty elements and missing elements will yield empty values.
@@ -790,6 +796,30 @@ public class Const {
    */
   public static final String KETTLE_COMPATIBILITY_DB_IGNORE_TIMEZONE = "KETTLE_COMPATIBILITY_DB_IGNORE_TIMEZONE";
 
+  /**
+   * The connection pool provider used for the connections that don't set the poolProvider pooling parameter: DBCP
+   * (default) or LIGHT.
+   */
+  public static final String KETTLE_CONNECTION_POOL_PROVIDER = "KETTLE_CONNECTION_POOL_PROVIDER";
+
+  /**
+   * The maximum number of queries kept in the database cache. The least recently used ones are dropped first. Set to 0
+   * or less for no limit. The default is 10000.
+   */
+  public static final String KETTLE_DB_CACHE_MAX_ENTRIES = "KETTLE_DB_CACHE_MAX_ENTRIES";
+
+  /**
+   * The maximum estimated memory (in MB) the database cache takes. The least recently used queries are dropped first.
+   * Set to 0 or less for no limit. The default is 64.
+   */
+  public static final String KETTLE_DB_CACHE_MAX_SIZE_MB = "KETTLE_DB_CACHE_MAX_SIZE_MB";
+
+  /**
+   * The age (in minutes) after which a query in the database cache is read from the database again. Set to 0 to keep
+   * the queries until they are cleared (default).
+   */
+  public static final String KETTLE_DB_CACHE_MAX_AGE_MINUTES = "KETTLE_DB_CACHE_MAX_AGE_MINUTES";
+
   /**
    * System wide flag to use the root path prefix for a directory reference. See PDI-6779 for details.
    */
@@ -856,6 +886,18 @@ public class Const {
    */
   public static final String KETTLE_MAX_LOG_TIMEOUT_IN_MINUTES = "KETTLE_MAX_LOG_TIMEOUT_IN_MINUTES";
 
+  /**
+   * System wide flag to hand the log lines to a background thread, which adds them to the central log buffer, the log
+   * files and the logging listeners, so the logging threads don't wait for it. Set to Y to enable, the default is N.
+   */
+  public static final String KETTLE_ASYNC_LOGGING = "KETTLE_ASYNC_LOGGING";
+
+  /**
+   * The number of log lines that can wait for the background thread when KETTLE_ASYNC_LOGGING is enabled. The logging
+   * threads wait when it's reached. The default is 8192.
+   */
+  public static final String KETTLE_ASYNC_LOGGING_RING_SIZE = "KETTLE_ASYNC_LOGGING_RING_SIZE";
+
   /**
    * Flag to set the maximum size (in MB) of the Result log buffer to prevent OutOfMemoryError (default: -1).
    * Any value less than 0 or non-numeric will not add any log restriction.
@@ -940,6 +982,24 @@ public class Const {
    */
   public static final String KETTLE_PLUGIN_PACKAGES = "KETTLE_PLUGIN_PACKAGES";
 
+  /**
+   * Set this variable to N to scan the plugin jar files for annotations at every start, instead of keeping the
+   * annotations of unchanged jar files in an index file in the Kettle directory (default: Y).
+   */
+  public static final String KETTLE_PLUGIN_SCAN_INDEX = "KETTLE_PLUGIN_SCAN_INDEX";
+
+  /**
+   * Set this variable to Y to search the plugin types for their plugins the first time they are used, instead of all
+   * of them when the environment is initialized (default: N).
+   */
+  public static final String KETTLE_PLUGIN_LAZY_INIT = "KETTLE_PLUGIN_LAZY_INIT";
+
+  /**
+   * Set this variable to Y to let the steps do warm-up work in the background while the transformation is prepared:
+   * the database steps open their connection and the database lookup step loads its table in the cache (default: N).
+   */
+  public static final String KETTLE_STEP_WARM_UP = "KETTLE_STEP_WARM_UP";
+
   /**
    * Name of the environment variable that contains the size of the transformation rowset size. This overwrites values
    * that you set transformation settings.
@@ -1303,6 +1363,24 @@ public class Const {
    */
   public static final String VFS_USER_DIR_IS_ROOT = "vfs.sftp.userDirIsRoot";
 
+  /**
+   * The number of milliseconds that a resolved VFS file and the attributes it read, like its type and size, are kept
+   * for the next lookup of the same file. 0 switches the cache off (default).
+   */
+  public static final String KETTLE_VFS_CACHE_TTL = "KETTLE_VFS_CACHE_TTL";
+
+  /**
+   * The maximum number of VFS files to keep in the cache, see {@link #KETTLE_VFS_CACHE_TTL} (default: 10000).
+   */
+  public static final String KETTLE_VFS_CACHE_SIZE = "KETTLE_VFS_CACHE_SIZE";
+
+  /**
+   * The number of threads that compress the data written to a GZip file, for instance by Text File Output. With more
+   * than 1 thread the data is compressed in blocks of 1MB that are written as separate gzip members. 1 compresses on
+   * the writing thread (default).
+   */
+  public static final String KETTLE_GZIP_OUTPUT_THREADS = "KETTLE_GZIP_OUTPUT_THREADS";
+
   /**
    * A variable to configure environment variables to ignore when initializing shell step
    * */
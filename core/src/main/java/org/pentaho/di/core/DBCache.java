@@ -10,18 +10,24 @@
  * Change Date: 2029-07-20
  ******************************************************************************/
 
-
 package org.pentaho.di.core;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.net.SocketTimeoutException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -31,22 +37,62 @@ import org.pentaho.di.core.logging.LogChannel;
 import org.pentaho.di.core.logging.LogChannelInterface;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.EnvUtil;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.version.BuildVersion;
 
 /**
  * This class caches database queries so that the same query doesn't get called twice. Queries are often launched to the
  * databases to get information on tables etc.
+ * <p>
+ * The cache is bounded by the number of queries and by an estimate of the memory they take, see
+ * {@link Const#KETTLE_DB_CACHE_MAX_ENTRIES} and {@link Const#KETTLE_DB_CACHE_MAX_SIZE_MB}. The least recently used
+ * queries are dropped first. Queries older than {@link Const#KETTLE_DB_CACHE_MAX_AGE_MINUTES} are read from the
+ * database again.
+ * <p>
+ * The cache file is loaded in the background when the cache is created, the first use of the cache waits for it. Saving
+ * the cache appends the changes since the previous save to the file, which is rewritten once it holds too many
+ * outdated records. Cache files of older versions, without a header, are still read.
  *
  * @author Matt
  * @since 15-01-04
  *
  */
 public class DBCache {
+  /** The start of a cache file in the append-only format */
+  private static final int FILE_MAGIC = 0x4B444243;
+  private static final int FILE_VERSION = 1;
+
+  private static final byte RECORD_PUT = 1;
+  private static final byte RECORD_REMOVE = 2;
+
+  /** The number of outdated records the cache file can hold on top of twice the number of queries */
+  private static final int FILE_SLACK = 1000;
+
+  static final int DEFAULT_MAX_ENTRIES = 10000;
+  static final int DEFAULT_MAX_SIZE_MB = 64;
+
   @VisibleForTesting
   static DBCache dbCache;
 
-  private Map<DBCacheEntry, RowMetaInterface> cache;
-  private boolean useCache;
+  /** The cached queries, the least recently used first */
+  private final Map<DBCacheEntry, CachedFields> cache = new LinkedHashMap<>( 16, 0.75f, true );
+
+  /** The changes since the last save, null for a query that is removed */
+  private final Map<DBCacheEntry, CachedFields> unsaved = new LinkedHashMap<>();
+
+  private final String filename;
+  private final int maxEntries;
+  private final long maxSizeInBytes;
+  private final long maxAgeMillis;
+
+  private long sizeInBytes;
+  private int fileRecords;
+  private boolean rewriteFile;
+  private volatile Future<?> loading;
+
+  private volatile boolean useCache;
 
   private LogChannelInterface log;
 
@@ -73,9 +119,13 @@ public class DBCache {
     if ( !useCache ) {
       return;
     }
+    awaitLoaded();
 
-    RowMetaInterface copy = fields.clone();
-    cache.put( entry, copy );
+    synchronized ( this ) {
+      CachedFields cached = store( entry, fields.clone(), System.currentTimeMillis() );
+      unsaved.remove( entry );
+      unsaved.put( entry, cached );
+    }
   }
 
   /**
@@ -89,17 +139,37 @@ public class DBCache {
     if ( !useCache ) {
       return null;
     }
+    awaitLoaded();
 
-    RowMetaInterface fields = cache.get( entry );
-    if ( fields != null ) {
-      fields = fields.clone(); // Copy it again!
+    synchronized ( this ) {
+      CachedFields cached = cache.get( entry );
+      if ( cached == null ) {
+        return null;
+      }
+      if ( isExpired( cached, System.currentTimeMillis() ) ) {
+        // Read it from the database again
+        removeUnsaved( entry );
+        return null;
+      }
+      return cached.fields.clone(); // Copy it again!
     }
-
-    return fields;
   }
 
   public int size() {
-    return cache.size();
+    awaitLoaded();
+    synchronized ( this ) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * @return an estimate of the number of bytes the cached queries take in memory
+   */
+  public long getSizeInBytes() {
+    awaitLoaded();
+    synchronized ( this ) {
+      return sizeInBytes;
+    }
   }
 
   /**
@@ -109,13 +179,20 @@ public class DBCache {
    *          The name of the database for which we want to clear the cache or null if we want to clear it all.
    */
   public void clear( String dbname ) {
-    if ( dbname == null ) {
-      cache = new ConcurrentHashMap<>();
-      setActive();
-    } else {
-      for ( DBCacheEntry entry : cache.keySet() ) {
-        if ( entry.sameDB( dbname ) ) {
-          cache.remove( entry );
+    awaitLoaded();
+    synchronized ( this ) {
+      if ( dbname == null ) {
+        cache.clear();
+        unsaved.clear();
+        sizeInBytes = 0;
+        rewriteFile = true;
+        setActive();
+      } else {
+        DBCacheEntry[] entries = cache.keySet().toArray( new DBCacheEntry[0] );
+        for ( DBCacheEntry entry : entries ) {
+          if ( entry.sameDB( dbname ) ) {
+            removeUnsaved( entry );
+          }
         }
       }
     }
@@ -126,97 +203,300 @@ public class DBCache {
       + Const.FILE_SEPARATOR + "db.cache-" + BuildVersion.getInstance().getVersion();
   }
 
-  private DBCache() throws KettleFileException {
-    try {
-      clear( null );
+  private DBCache() {
+    this( fileNameSupplier.get(),
+      Const.toInt( EnvUtil.getSystemProperty( Const.KETTLE_DB_CACHE_MAX_ENTRIES ), DEFAULT_MAX_ENTRIES ),
+      Const.toLong( EnvUtil.getSystemProperty( Const.KETTLE_DB_CACHE_MAX_SIZE_MB ), DEFAULT_MAX_SIZE_MB ) * 1024 * 1024,
+      Const.toLong( EnvUtil.getSystemProperty( Const.KETTLE_DB_CACHE_MAX_AGE_MINUTES ), 0 ) * 60 * 1000 );
+  }
 
-      // Serialization support for the DB cache
-      //
-      log = new LogChannel( "DBCache" );
+  /**
+   * @param filename
+   *          the cache file
+   * @param maxEntries
+   *          the maximum number of queries to keep, 0 or less for no limit
+   * @param maxSizeInBytes
+   *          the maximum estimated memory the queries take, 0 or less for no limit
+   * @param maxAgeMillis
+   *          the age after which a query is read from the database again, 0 or less to keep it
+   */
+  @VisibleForTesting
+  DBCache( String filename, int maxEntries, long maxSizeInBytes, long maxAgeMillis ) {
+    this.filename = filename;
+    this.maxEntries = maxEntries;
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.maxAgeMillis = maxAgeMillis;
+    log = new LogChannel( "DBCache" );
+    setActive();
+
+    // Don't hold up the startup, the first use of the cache waits for the loading
+    loading = ExecutorUtil.getExecutor().submit( this::loadFile );
+  }
 
-      String filename = fileNameSupplier.get();
-      File file = new File( filename );
-      if ( file.canRead() ) {
-        log.logDetailed( "Loading database cache from file: [" + filename + "]" );
+  private void awaitLoaded() {
+    Future<?> pending = loading;
+    if ( pending == null ) {
+      return;
+    }
+    try {
+      pending.get();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    } catch ( ExecutionException e ) {
+      log.logError( "Couldn't read the database cache", e.getCause() );
+    }
+    loading = null;
+  }
 
-        try ( DataInputStream dis = new DataInputStream( new FileInputStream( file ) ) ) {
-          loadFileToCache( dis );
-        }
+  private synchronized void loadFile() {
+    File file = new File( filename );
+    if ( !file.canRead() ) {
+      log.logDetailed( "The database cache doesn't exist yet." );
+      rewriteFile = true;
+      return;
+    }
+    log.logDetailed( "Loading database cache from file: [" + filename + "]" );
+
+    try ( DataInputStream dis = new DataInputStream( new BufferedInputStream( new FileInputStream( file ), 10000 ) ) ) {
+      dis.mark( 8 );
+      int counter;
+      if ( readHeader( dis ) ) {
+        counter = loadRecords( dis );
       } else {
-        log.logDetailed( "The database cache doesn't exist yet." );
+        // A cache file of an older version, it's rewritten in the current format on the next save
+        dis.reset();
+        counter = loadFileToCache( dis );
+        rewriteFile = true;
       }
+      log.logDetailed( "We read " + counter + " cached rows from the database cache!" );
     } catch ( Exception e ) {
-      throw new KettleFileException( "Couldn't read the database cache", e );
+      log.logError( "Couldn't read the database cache, starting with an empty one", e );
+      cache.clear();
+      sizeInBytes = 0;
+      rewriteFile = true;
+    }
+  }
+
+  private boolean readHeader( DataInputStream dis ) throws IOException, KettleFileException {
+    int magic;
+    try {
+      magic = dis.readInt();
+    } catch ( EOFException eof ) {
+      return false;
+    }
+    if ( magic != FILE_MAGIC ) {
+      return false;
+    }
+    int version = dis.readInt();
+    if ( version != FILE_VERSION ) {
+      throw new KettleFileException( "Unknown version " + version + " of the database cache file" );
+    }
+    return true;
+  }
+
+  private int loadRecords( DataInputStream dis ) throws IOException {
+    long now = System.currentTimeMillis();
+    int counter = 0;
+    try {
+      for ( int type = dis.read(); type >= 0; type = dis.read() ) {
+        if ( type == RECORD_PUT ) {
+          long created = dis.readLong();
+          DBCacheEntry entry = new DBCacheEntry( dis );
+          RowMetaInterface fields = new RowMeta( dis );
+          CachedFields cached = store( entry, fields, created );
+          if ( isExpired( cached, now ) ) {
+            remove( entry );
+          } else {
+            counter++;
+          }
+        } else if ( type == RECORD_REMOVE ) {
+          remove( new DBCacheEntry( dis ) );
+        } else {
+          throw new KettleFileException( "Unknown record type " + type + " in the database cache file" );
+        }
+        fileRecords++;
+      }
+    } catch ( KettleFileException | EOFException e ) {
+      // An incomplete last record, for instance after a crash while saving: keep what is read so far
+      log.logDetailed( "The database cache file ends with an unreadable record, it will be rewritten: "
+        + e.getMessage() );
+      rewriteFile = true;
     }
+    return counter;
   }
 
   @SuppressWarnings( { "squid:S2189", "squid:S1451" } )
-  private void loadFileToCache( DataInputStream dis ) throws KettleFileException, SocketTimeoutException {
+  private int loadFileToCache( DataInputStream dis ) throws KettleFileException, IOException {
+    long now = System.currentTimeMillis();
     int counter = 0;
     try {
       //noinspection InfiniteLoopStatement Only way to detect EOF on DataInputStream is with exception
       while ( true ) {
         DBCacheEntry entry = new DBCacheEntry( dis );
         RowMetaInterface row = new RowMeta( dis );
-        cache.put( entry, row );
+        store( entry, row, now );
         counter++;
       }
     } catch ( KettleEOFException eof ) {
-      log.logDetailed( "We read " + counter + " cached rows from the database cache!" );
+      return counter;
+    }
+  }
+
+  private boolean isExpired( CachedFields cached, long now ) {
+    return maxAgeMillis > 0 && now - cached.created > maxAgeMillis;
+  }
+
+  /**
+   * Add a query to the cache, dropping the least recently used ones to stay within the bounds.
+   */
+  private CachedFields store( DBCacheEntry entry, RowMetaInterface fields, long created ) {
+    CachedFields cached = new CachedFields( fields, created, estimateSize( entry, fields ) );
+    CachedFields previous = cache.put( entry, cached );
+    if ( previous != null ) {
+      sizeInBytes -= previous.size;
+    }
+    sizeInBytes += cached.size;
+
+    Iterator<CachedFields> eldest = cache.values().iterator();
+    while ( eldest.hasNext() && ( ( maxEntries > 0 && cache.size() > maxEntries )
+      || ( maxSizeInBytes > 0 && sizeInBytes > maxSizeInBytes ) ) ) {
+      sizeInBytes -= eldest.next().size;
+      eldest.remove();
+    }
+    return cached;
+  }
+
+  private void remove( DBCacheEntry entry ) {
+    CachedFields removed = cache.remove( entry );
+    if ( removed != null ) {
+      sizeInBytes -= removed.size;
     }
   }
 
+  private void removeUnsaved( DBCacheEntry entry ) {
+    remove( entry );
+    unsaved.remove( entry );
+    unsaved.put( entry, null );
+  }
+
+  /**
+   * @return a rough estimate of the number of bytes a query takes in memory
+   */
+  static long estimateSize( DBCacheEntry entry, RowMetaInterface fields ) {
+    long size = entry.estimateSize() + 64L;
+    for ( ValueMetaInterface valueMeta : fields.getValueMetaList() ) {
+      size += 512L + 2L * ( valueMeta.getName() == null ? 0 : valueMeta.getName().length() )
+        + 2L * ( valueMeta.getComments() == null ? 0 : valueMeta.getComments().length() );
+    }
+    return size;
+  }
+
   public void saveCache() throws KettleFileException {
-    try {
-      // Serialization support for the DB cache
-      //
-      String filename = fileNameSupplier.get();
-      File file = new File( filename );
-      if ( !file.exists() || file.canWrite() ) {
-
-        try ( DataOutputStream dos =
-                new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ), 10000 ) ) ) {
-
-          int counter = 0;
-
-          for ( DBCacheEntry entry : cache.keySet() ) {
-            entry.write( dos );
-
-            // Save the corresponding row as well.
-            RowMetaInterface rowMeta = get( entry );
-            if ( rowMeta != null ) {
-              rowMeta.writeMeta( dos );
-              counter++;
-            } else {
-              throw new KettleFileException( "The database cache contains an empty row. We can't save this!" );
-            }
+    awaitLoaded();
+    synchronized ( this ) {
+      try {
+        // Serialization support for the DB cache
+        //
+        File file = new File( filename );
+        if ( !file.exists() || file.canWrite() ) {
+          if ( rewriteFile || !file.exists() || fileRecords > 2 * cache.size() + FILE_SLACK ) {
+            rewriteCache( file );
+          } else {
+            appendCache( file );
           }
-          log.logDetailed( "We wrote " + counter + " cached rows to the database cache!" );
+          unsaved.clear();
+        } else {
+          throw new KettleFileException( "We can't write to the cache file: " + filename );
         }
-      } else {
-        throw new KettleFileException( "We can't write to the cache file: " + filename );
+      } catch ( Exception e ) {
+        throw new KettleFileException( "Couldn't write to the database cache", e );
       }
-    } catch ( Exception e ) {
-      throw new KettleFileException( "Couldn't write to the database cache", e );
     }
   }
 
   /**
-   * Create the database cache instance by loading it from disk
+   * Write all the queries to a new cache file, which then replaces the existing one.
+   */
+  private void rewriteCache( File file ) throws IOException, KettleFileException {
+    File tempFile = new File( file.getPath() + ".tmp" );
+    int counter = 0;
+    try ( DataOutputStream dos =
+            new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ), 10000 ) ) ) {
+      dos.writeInt( FILE_MAGIC );
+      dos.writeInt( FILE_VERSION );
+      // The least recently used first, so they are dropped first after loading as well
+      for ( Map.Entry<DBCacheEntry, CachedFields> entry : cache.entrySet() ) {
+        writePut( dos, entry.getKey(), entry.getValue() );
+        counter++;
+      }
+    }
+    Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    fileRecords = counter;
+    rewriteFile = false;
+    log.logDetailed( "We wrote " + counter + " cached rows to the database cache!" );
+  }
+
+  /**
+   * Append the changes since the last save to the cache file.
+   */
+  private void appendCache( File file ) throws IOException, KettleFileException {
+    if ( unsaved.isEmpty() ) {
+      return;
+    }
+    try ( DataOutputStream dos =
+            new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file, true ), 10000 ) ) ) {
+      for ( Map.Entry<DBCacheEntry, CachedFields> change : unsaved.entrySet() ) {
+        // A query that is dropped since it was put doesn't have to come back on the next load
+        if ( change.getValue() != null && cache.containsKey( change.getKey() ) ) {
+          writePut( dos, change.getKey(), change.getValue() );
+        } else {
+          dos.writeByte( RECORD_REMOVE );
+          writeEntry( dos, change.getKey() );
+        }
+        fileRecords++;
+      }
+    }
+    log.logDetailed( "We appended " + unsaved.size() + " changes to the database cache!" );
+  }
+
+  private static void writePut( DataOutputStream dos, DBCacheEntry entry, CachedFields cached )
+    throws IOException, KettleFileException {
+    dos.writeByte( RECORD_PUT );
+    dos.writeLong( cached.created );
+    writeEntry( dos, entry );
+    cached.fields.writeMeta( dos );
+  }
+
+  private static void writeEntry( DataOutputStream dos, DBCacheEntry entry ) throws KettleFileException {
+    if ( !entry.write( dos ) ) {
+      throw new KettleFileException( "Unable to write a database cache entry" );
+    }
+  }
+
+  /**
+   * Create the database cache instance, the cache file is loaded in the background
    *
    * @return the database cache instance.
    */
-  @SuppressWarnings( "squid:S00112" )
-  public static DBCache getInstance() {
-    if ( dbCache != null ) {
-      return dbCache;
-    }
-    try {
+  public static synchronized DBCache getInstance() {
+    if ( dbCache == null ) {
       dbCache = new DBCache();
-    } catch ( KettleFileException kfe ) {
-      throw new RuntimeException( "Unable to create the database cache: " + kfe.getMessage() );
     }
     return dbCache;
   }
 
+  /**
+   * The fields of a cached query, with the time they were read and their estimated size.
+   */
+  private static final class CachedFields {
+    private final RowMetaInterface fields;
+    private final long created;
+    private final long size;
+
+    private CachedFields( RowMetaInterface fields, long created, long size ) {
+      this.fields = fields;
+      this.created = created;
+      this.size = size;
+    }
+  }
 }
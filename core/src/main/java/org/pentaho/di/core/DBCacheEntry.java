@@ -80,6 +80,13 @@ public class DBCacheEntry {
     return false;
   }
 
+  /**
+   * @return a rough estimate of the number of bytes this entry takes in memory
+   */
+  public long estimateSize() {
+    return 64L + 2L * ( ( dbname == null ? 0 : dbname.length() ) + ( sql == null ? 0 : sql.length() ) );
+  }
+
   /**
    * Read the data for this Cache entry from a data input stream
    *
@@ -0,0 +1,99 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+
+/**
+ * Tunes the fetch size of a streamed result set to the width of its rows. The first rows are measured, after which
+ * the fetch size is set once, so that a fetch holds about the same number of bytes for narrow and for wide rows: a
+ * table with a few numbers is fetched in large parts, one with long texts or binaries in small ones.
+ */
+class AdaptiveFetchSize {
+  /** The number of bytes to aim for per fetch */
+  static final long TARGET_BYTES = 8L * 1024 * 1024;
+
+  /** The lowest fetch size to set, even for very wide rows */
+  static final int MIN_FETCH_SIZE = 10;
+
+  /** The highest fetch size to set, even for very narrow rows */
+  static final int MAX_FETCH_SIZE = 50000;
+
+  /** The number of rows to measure before the fetch size is set */
+  static final int SAMPLE_ROWS = 100;
+
+  private final ResultSet resultSet;
+  private int sampledRows;
+  private long sampledBytes;
+
+  AdaptiveFetchSize( ResultSet resultSet ) {
+    this.resultSet = resultSet;
+  }
+
+  /**
+   * @return true if this tunes the given result set
+   */
+  boolean isFor( ResultSet resultSet ) {
+    return this.resultSet == resultSet;
+  }
+
+  /**
+   * Measure a row that is read from the result set, and set the fetch size once enough rows are measured.
+   *
+   * @param row
+   *          the row that is read
+   * @return the fetch size that is set, 0 if more rows have to be measured first
+   */
+  int sample( Object[] row ) throws SQLException {
+    sampledBytes += estimateWidth( row );
+    if ( ++sampledRows < SAMPLE_ROWS ) {
+      return 0;
+    }
+    int fetchSize = getFetchSize( sampledBytes / sampledRows );
+    resultSet.setFetchSize( fetchSize );
+    return fetchSize;
+  }
+
+  /**
+   * @return the fetch size that keeps a fetch of rows with the given average width close to the target size
+   */
+  static int getFetchSize( long averageWidth ) {
+    long fetchSize = TARGET_BYTES / Math.max( 1L, averageWidth );
+    return (int) Math.max( MIN_FETCH_SIZE, Math.min( MAX_FETCH_SIZE, fetchSize ) );
+  }
+
+  /**
+   * @return a rough estimate of the number of bytes a row takes in memory
+   */
+  static long estimateWidth( Object[] row ) {
+    long width = 16L + 8L * row.length;
+    for ( Object value : row ) {
+      if ( value instanceof String ) {
+        width += 40L + 2L * ( (String) value ).length();
+      } else if ( value instanceof byte[] ) {
+        width += 16L + ( (byte[]) value ).length;
+      } else if ( value instanceof BigDecimal ) {
+        width += 48L;
+      } else if ( value instanceof Date ) {
+        width += 32L;
+      } else if ( value != null ) {
+        width += 16L;
+      }
+    }
+    return width;
+  }
+}
@@ -177,6 +177,10 @@ public abstract class BaseDatabaseMeta implements Cloneable, DatabaseInterfaceEx
   public static final String SELECT_COUNT_STATEMENT = "select count(*) FROM";
 
   public static final DatabaseConnectionPoolParameter[] poolingParameters = new DatabaseConnectionPoolParameter[] {
+    new DatabaseConnectionPoolParameter(
+      "poolProvider", "DBCP", "The implementation of the connection pool: DBCP or LIGHT.\n"
+        + "LIGHT pools hand out connections without locking, they ignore the evictor, "
+        + "prepared statement pooling and abandoned connection parameters." ),
     new DatabaseConnectionPoolParameter(
       "defaultAutoCommit", "true", "The default auto-commit state of connections created by this pool." ),
     new DatabaseConnectionPoolParameter(
@@ -0,0 +1,74 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the connection requests of a pool and the time they waited, without locking.
+ */
+// Package private
+class ConnectionPoolMetrics {
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder waitTime = new LongAdder();
+  private final LongAdder[] waitHistogram = new LongAdder[ConnectionPoolStatus.WAIT_BUCKET_BOUNDS.length + 1];
+
+  ConnectionPoolMetrics() {
+    for ( int i = 0; i < waitHistogram.length; i++ ) {
+      waitHistogram[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Record a request that got a connection.
+   *
+   * @param startNanos
+   *          the {@link System#nanoTime()} when the request started
+   */
+  void recordWait( long startNanos ) {
+    long millis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startNanos );
+    requests.increment();
+    waitTime.add( millis );
+    int bucket = 0;
+    while ( bucket < ConnectionPoolStatus.WAIT_BUCKET_BOUNDS.length
+      && millis >= ConnectionPoolStatus.WAIT_BUCKET_BOUNDS[bucket] ) {
+      bucket++;
+    }
+    waitHistogram[bucket].increment();
+  }
+
+  /**
+   * Record a request that gave up waiting for a connection.
+   */
+  void recordTimeout() {
+    requests.increment();
+    timeouts.increment();
+  }
+
+  /**
+   * Copy the counters to a status.
+   */
+  void fill( ConnectionPoolStatus status ) {
+    status.setRequests( requests.sum() );
+    status.setTimeouts( timeouts.sum() );
+    status.setWaitTime( waitTime.sum() );
+    long[] histogram = new long[waitHistogram.length];
+    for ( int i = 0; i < histogram.length; i++ ) {
+      histogram[i] = waitHistogram[i].sum();
+    }
+    status.setWaitHistogram( histogram );
+  }
+}
@@ -0,0 +1,58 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import javax.sql.DataSource;
+
+import org.pentaho.di.core.exception.KettleDatabaseException;
+
+/**
+ * Creates the connection pools that {@link ConnectionPoolUtil} hands out.
+ * <p>
+ * A connection selects its provider with the {@value ConnectionPoolUtil#POOL_PROVIDER} pooling parameter, or all
+ * connections do with the {@value org.pentaho.di.core.Const#KETTLE_CONNECTION_POOL_PROVIDER} variable. Additional
+ * providers can be added with {@link ConnectionPoolUtil#registerProvider(ConnectionPoolProvider)}.
+ */
+public interface ConnectionPoolProvider {
+
+  /**
+   * @return the name used to select this provider
+   */
+  String getName();
+
+  /**
+   * Create a new connection pool.
+   *
+   * @param databaseMeta
+   *          the connection, its pooling parameters configure the pool
+   * @param partitionId
+   *          the partition to connect to or null
+   * @param initialSize
+   *          the number of connections to open up front
+   * @param maximumSize
+   *          the maximum number of connections that are open at the same time
+   * @return the pool
+   * @throws KettleDatabaseException
+   *           in case the pool can't be configured
+   */
+  DataSource createDataSource( DatabaseMeta databaseMeta, String partitionId, int initialSize, int maximumSize )
+    throws KettleDatabaseException;
+
+  /**
+   * @param dataSource
+   *          a pool created by this provider
+   * @return the current statistics of the pool
+   */
+  ConnectionPoolStatus getStatus( DataSource dataSource );
+}
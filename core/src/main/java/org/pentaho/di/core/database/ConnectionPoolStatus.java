@@ -0,0 +1,181 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.w3c.dom.Node;
+
+/**
+ * A snapshot of the statistics of one connection pool, as reported by the Carte status.
+ */
+public class ConnectionPoolStatus {
+  public static final String XML_TAG = "connectionpool";
+
+  /**
+   * The upper bounds in milliseconds of the buckets of the wait time histogram. The last bucket of the histogram
+   * counts the longer waits.
+   */
+  public static final long[] WAIT_BUCKET_BOUNDS = { 1L, 10L, 100L, 1000L, 10000L };
+
+  private String name;
+  private String provider;
+  private int active;
+  private int idle;
+  private int maximum;
+  private long requests;
+  private long timeouts;
+  private long waitTime;
+  private long[] waitHistogram = new long[WAIT_BUCKET_BOUNDS.length + 1];
+
+  public ConnectionPoolStatus() {
+  }
+
+  public ConnectionPoolStatus( Node node ) {
+    name = XMLHandler.getTagValue( node, "name" );
+    provider = XMLHandler.getTagValue( node, "provider" );
+    active = Const.toInt( XMLHandler.getTagValue( node, "active" ), 0 );
+    idle = Const.toInt( XMLHandler.getTagValue( node, "idle" ), 0 );
+    maximum = Const.toInt( XMLHandler.getTagValue( node, "maximum" ), 0 );
+    requests = Const.toLong( XMLHandler.getTagValue( node, "requests" ), 0L );
+    timeouts = Const.toLong( XMLHandler.getTagValue( node, "timeouts" ), 0L );
+    waitTime = Const.toLong( XMLHandler.getTagValue( node, "wait_time" ), 0L );
+    String[] counts = Const.NVL( XMLHandler.getTagValue( node, "wait_histogram" ), "" ).split( "," );
+    for ( int i = 0; i < waitHistogram.length && i < counts.length; i++ ) {
+      waitHistogram[i] = Const.toLong( counts[i].trim(), 0L );
+    }
+  }
+
+  public String getXML() {
+    StringBuilder xml = new StringBuilder();
+    xml.append( "<" + XML_TAG + ">" ).append( Const.CR );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "name", name ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "provider", provider ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "active", active ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "idle", idle ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "maximum", maximum ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "requests", requests ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "timeouts", timeouts ) );
+    xml.append( "  " ).append( XMLHandler.addTagValue( "wait_time", waitTime ) );
+    StringBuilder counts = new StringBuilder();
+    for ( int i = 0; i < waitHistogram.length; i++ ) {
+      if ( i > 0 ) {
+        counts.append( ',' );
+      }
+      counts.append( waitHistogram[i] );
+    }
+    xml.append( "  " ).append( XMLHandler.addTagValue( "wait_histogram", counts.toString() ) );
+    xml.append( "</" + XML_TAG + ">" );
+    return xml.toString();
+  }
+
+  /**
+   * @return the name of the pool: the connection, database, host, port and partition
+   */
+  public String getName() {
+    return name;
+  }
+
+  public void setName( String name ) {
+    this.name = name;
+  }
+
+  /**
+   * @return the name of the {@link ConnectionPoolProvider} of the pool
+   */
+  public String getProvider() {
+    return provider;
+  }
+
+  public void setProvider( String provider ) {
+    this.provider = provider;
+  }
+
+  /**
+   * @return the number of connections that are in use
+   */
+  public int getActive() {
+    return active;
+  }
+
+  public void setActive( int active ) {
+    this.active = active;
+  }
+
+  /**
+   * @return the number of open connections that are waiting in the pool
+   */
+  public int getIdle() {
+    return idle;
+  }
+
+  public void setIdle( int idle ) {
+    this.idle = idle;
+  }
+
+  /**
+   * @return the maximum number of connections of the pool, non-positive for no limit
+   */
+  public int getMaximum() {
+    return maximum;
+  }
+
+  public void setMaximum( int maximum ) {
+    this.maximum = maximum;
+  }
+
+  /**
+   * @return the number of connections requested from the pool
+   */
+  public long getRequests() {
+    return requests;
+  }
+
+  public void setRequests( long requests ) {
+    this.requests = requests;
+  }
+
+  /**
+   * @return the number of requests that gave up waiting for a connection
+   */
+  public long getTimeouts() {
+    return timeouts;
+  }
+
+  public void setTimeouts( long timeouts ) {
+    this.timeouts = timeouts;
+  }
+
+  /**
+   * @return the total time in milliseconds that requests waited for a connection
+   */
+  public long getWaitTime() {
+    return waitTime;
+  }
+
+  public void setWaitTime( long waitTime ) {
+    this.waitTime = waitTime;
+  }
+
+  /**
+   * @return the number of requests per wait time bucket, see {@link #WAIT_BUCKET_BOUNDS}
+   */
+  public long[] getWaitHistogram() {
+    return waitHistogram;
+  }
+
+  public void setWaitHistogram( long[] waitHistogram ) {
+    this.waitHistogram = waitHistogram;
+  }
+}
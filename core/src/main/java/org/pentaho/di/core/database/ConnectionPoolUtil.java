@@ -26,8 +26,10 @@ import org.pentaho.di.i18n.BaseMessages;
 import javax.sql.DataSource;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,11 +58,28 @@ public class ConnectionPoolUtil {
   public static final String REMOVE_ABANDONED = "removeAbandoned";
   public static final String REMOVE_ABANDONED_TIMEOUT = "removeAbandonedTimeout";
   public static final String LOG_ABANDONED = "logAbandoned";
+
+  /**
+   * The pooling parameter with the name of the {@link ConnectionPoolProvider} that creates the pool of a connection.
+   */
+  public static final String POOL_PROVIDER = "poolProvider";
+
   private static Class<?> PKG = Database.class; // for i18n purposes, needed by Translator2!!
 
-  private static ConcurrentMap<String, BasicDataSource> dataSources = new ConcurrentHashMap<String, BasicDataSource>();
+  private static ConcurrentMap<String, DataSource> dataSources = new ConcurrentHashMap<String, DataSource>();
   private static Map<String, Properties> dataSourcesAttributesMap = new HashMap<>();
 
+  /** The provider and the name without credentials of every pool in {@link #dataSources} */
+  private static ConcurrentMap<String, ConnectionPoolProvider> dataSourceProviders = new ConcurrentHashMap<>();
+  private static ConcurrentMap<String, String> poolNames = new ConcurrentHashMap<>();
+
+  private static ConcurrentMap<String, ConnectionPoolProvider> providers = new ConcurrentHashMap<>();
+
+  static {
+    registerProvider( new DbcpConnectionPoolProvider() );
+    registerProvider( new LightConnectionPoolProvider() );
+  }
+
   // PDI-12947
   private static final ReentrantLock lock = new ReentrantLock();
 
@@ -94,9 +113,60 @@ public class ConnectionPoolUtil {
   }
 
   public static DataSource removeDataSource( String name ) {
+    dataSourceProviders.remove( name );
+    poolNames.remove( name );
     return dataSources.remove( name );
   }
 
+  /**
+   * Make a connection pool provider available, replacing the one with the same name.
+   *
+   * @param provider
+   *          the provider
+   */
+  public static void registerProvider( ConnectionPoolProvider provider ) {
+    providers.put( provider.getName().toUpperCase(), provider );
+  }
+
+  /**
+   * Find the provider that creates the pool of a connection: the one in its {@value #POOL_PROVIDER} pooling parameter,
+   * the one in the {@value Const#KETTLE_CONNECTION_POOL_PROVIDER} variable or DBCP.
+   *
+   * @param dbMeta
+   *          the connection
+   * @return the provider
+   * @throws KettleDatabaseException
+   *           in case there is no provider with the configured name
+   */
+  public static ConnectionPoolProvider getProvider( DatabaseMeta dbMeta ) throws KettleDatabaseException {
+    String name = getPoolProperties( dbMeta ).getProperty( POOL_PROVIDER );
+    if ( Utils.isEmpty( name ) ) {
+      name = System.getProperty( Const.KETTLE_CONNECTION_POOL_PROVIDER, DbcpConnectionPoolProvider.NAME );
+    }
+    ConnectionPoolProvider provider = providers.get( name.trim().toUpperCase() );
+    if ( provider == null ) {
+      throw new KettleDatabaseException( BaseMessages.getString( PKG, "Database.Exception.UnknownPoolProvider",
+        name, dbMeta.getName() ) );
+    }
+    return provider;
+  }
+
+  /**
+   * @return the statistics of all connection pools, for the status of the server
+   */
+  public static List<ConnectionPoolStatus> getPoolStatusList() {
+    List<ConnectionPoolStatus> statusList = new ArrayList<>();
+    for ( Map.Entry<String, DataSource> entry : dataSources.entrySet() ) {
+      ConnectionPoolProvider provider = dataSourceProviders.get( entry.getKey() );
+      if ( provider != null ) {
+        ConnectionPoolStatus status = provider.getStatus( entry.getValue() );
+        status.setName( poolNames.get( entry.getKey() ) );
+        statusList.add( status );
+      }
+    }
+    return statusList;
+  }
+
   /**
    * @deprecated (Please use {@getDataSource(LogChannelInterface, DatabaseMeta, String) getDataSource} on init the step and then just get the connection when needed)
    */
@@ -139,6 +209,18 @@ public class ConnectionPoolUtil {
     return properties;
   }
 
+  /**
+   * @return the pooling parameters of a connection with its variables resolved
+   */
+  static Properties getPoolProperties( DatabaseMeta databaseMeta ) {
+    Properties properties = new Properties();
+    Properties connectionPoolingProperties = databaseMeta.getConnectionPoolingProperties();
+    if ( connectionPoolingProperties != null ) {
+      properties.putAll( connectionPoolingProperties );
+    }
+    return environmentSubstitute( properties, databaseMeta );
+  }
+
   @VisibleForTesting
   static void configureDataSource( BasicDataSource ds, DatabaseMeta databaseMeta, String partitionId,
       int initialSize, int maximumSize ) throws KettleDatabaseException {
@@ -156,7 +238,6 @@ public class ConnectionPoolUtil {
       ds.setDriverClassLoader( databaseMeta.getDatabaseInterface().getClass().getClassLoader() );
     }
     ds.setDriverClassName( clazz );
-    dataSourcesAttributesMap.put( getDataSourceName( databaseMeta, partitionId ), databaseMeta.getAttributes() );
   }
 
   private static void setCredentials( BasicDataSource ds, DatabaseMeta databaseMeta, String partitionId )
@@ -311,12 +392,16 @@ public class ConnectionPoolUtil {
       log.logBasic( BaseMessages.getString( PKG, "Database.CreatingConnectionPool", databaseMeta.getName() ) );
     }
 
-    BasicDataSource ds = new BasicDataSource();
-    configureDataSource( ds, databaseMeta, partitionId, initialSize, maximumSize );
+    ConnectionPoolProvider provider = getProvider( databaseMeta );
+    DataSource ds = provider.createDataSource( databaseMeta, partitionId, initialSize, maximumSize );
     // check if datasource is valid
     testDataSource( ds );
     // register data source
-    dataSources.put( getDataSourceName( databaseMeta, partitionId ), ds );
+    String name = getDataSourceName( databaseMeta, partitionId );
+    dataSourcesAttributesMap.put( name, databaseMeta.getAttributes() );
+    dataSourceProviders.put( name, provider );
+    poolNames.put( name, buildPoolName( databaseMeta, partitionId ) );
+    dataSources.put( name, ds );
 
     if ( log.isBasic() ) {
       log.logBasic( BaseMessages.getString( PKG, "Database.CreatedConnectionPool", databaseMeta.getName() ) );
@@ -146,6 +146,16 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
 
   private RowMetaInterface rowMeta;
 
+  /**
+   * Tunes the fetch size of the open query to the width of its rows, null if it's not tuned (anymore)
+   */
+  private AdaptiveFetchSize adaptiveFetchSize;
+
+  /**
+   * True if auto-commit is turned off to stream the rows of the open query, and has to be turned back on
+   */
+  private boolean restoreAutoCommit;
+
   private int written;
 
   private LogChannelInterface log;
@@ -1659,6 +1669,7 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
                   log.logDebug( "Error closing query: " + Const.CR + sql );
                 }
               }
+              restoreAutoCommit();
             }
           } else {
             // any kind of statement
@@ -1722,17 +1733,7 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
         setValues( params, data ); // set the dates etc!
         log.snap( Metrics.METRIC_DATABASE_SQL_VALUES_STOP, databaseMeta.getName() );
 
-        if ( canWeSetFetchSize( pstmt ) ) {
-          int maxRows = pstmt.getMaxRows();
-          int fs = Math.max( Const.FETCH_SIZE, maxRows );
-          if ( databaseMeta.isMySQLVariant() ) {
-            setMysqlFetchSize( pstmt, fs, maxRows );
-          } else {
-            pstmt.setFetchSize( fs );
-          }
-
-          pstmt.setFetchDirection( fetchMode );
-        }
+        boolean adaptive = setFetchSize( pstmt, fetchMode, getAppliedRowLimit(), true );
 
         if ( rowlimit > 0 && databaseMeta.supportsSetMaxRows() ) {
           pstmt.setMaxRows( rowlimit );
@@ -1741,20 +1742,12 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
         log.snap( Metrics.METRIC_DATABASE_EXECUTE_SQL_START, databaseMeta.getName() );
         res = pstmt.executeQuery();
         log.snap( Metrics.METRIC_DATABASE_EXECUTE_SQL_STOP, databaseMeta.getName() );
+        adaptiveFetchSize = adaptive ? new AdaptiveFetchSize( res ) : null;
       } else {
         log.snap( Metrics.METRIC_DATABASE_CREATE_SQL_START, databaseMeta.getName() );
         selStmt = connection.createStatement();
         log.snap( Metrics.METRIC_DATABASE_CREATE_SQL_STOP, databaseMeta.getName() );
-        if ( canWeSetFetchSize( selStmt ) ) {
-          int fs = Math.max( Const.FETCH_SIZE, selStmt.getMaxRows() );
-          if ( databaseMeta.getDatabaseInterface().isMySQLVariant()
-            && databaseMeta.isStreamingResults() ) {
-            selStmt.setFetchSize( Integer.MIN_VALUE );
-          } else {
-            selStmt.setFetchSize( fs );
-          }
-          selStmt.setFetchDirection( fetchMode );
-        }
+        boolean adaptive = setFetchSize( selStmt, fetchMode, getAppliedRowLimit(), true );
         if ( rowlimit > 0 && databaseMeta.supportsSetMaxRows() ) {
           selStmt.setMaxRows( rowlimit );
         }
@@ -1762,6 +1755,7 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
         log.snap( Metrics.METRIC_DATABASE_EXECUTE_SQL_START, databaseMeta.getName() );
         res = selStmt.executeQuery( databaseMeta.stripCR( sql ) );
         log.snap( Metrics.METRIC_DATABASE_EXECUTE_SQL_STOP, databaseMeta.getName() );
+        adaptiveFetchSize = adaptive ? new AdaptiveFetchSize( res ) : null;
       }
 
       // MySQL Hack only. It seems too much for the cursor type of operation on MySQL, to have another cursor opened
@@ -1769,8 +1763,10 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
       //
       rowMeta = getRowInfo( res.getMetaData(), databaseMeta.isMySQLVariant(), lazyConversion );
     } catch ( SQLException ex ) {
+      abortStreaming();
       throw new KettleDatabaseException( "An error occurred executing SQL: " + Const.CR + sql, ex );
     } catch ( Exception e ) {
+      abortStreaming();
       throw new KettleDatabaseException( "An error occurred executing SQL:" + Const.CR + sql, e );
     } finally {
       log.snap( Metrics.METRIC_DATABASE_OPEN_QUERY_STOP, databaseMeta.getName() );
@@ -1786,6 +1782,84 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
       || ( databaseMeta.isMySQLVariant() && databaseMeta.isStreamingResults() ) );
   }
 
+  /**
+   * Set the fetch size and direction of a query, if the database allows it. A query without a row limit is streamed
+   * the way the database needs it when the connection streams its results, see
+   * {@link DatabaseMeta#getStreamingFetchSize(int)}.
+   *
+   * @param statement
+   *          the statement of the query
+   * @param fetchMode
+   *          the fetch direction
+   * @param rowLimit
+   *          the maximum number of rows the query is about to be limited to, 0 for no limit
+   * @param streamable
+   *          false to not stream the query, when the caller doesn't close it with {@link #closeQuery(ResultSet)}
+   * @return true if the query is streamed with a fetch size that can be tuned to the width of the rows
+   */
+  private boolean setFetchSize( Statement statement, int fetchMode, int rowLimit, boolean streamable )
+    throws SQLException, KettleDatabaseException {
+    if ( !canWeSetFetchSize( statement ) ) {
+      return false;
+    }
+    int maxRows = statement.getMaxRows();
+    int fs = Math.max( Const.FETCH_SIZE, maxRows );
+    boolean adaptive = false;
+    if ( streamable && rowLimit <= 0 && maxRows == 0 && databaseMeta.isStreamingResults() ) {
+      if ( databaseMeta.isStreamingRequiresNoAutoCommit() && connection.getAutoCommit() ) {
+        connection.setAutoCommit( false );
+        restoreAutoCommit = true;
+      }
+      int streamingFetchSize = databaseMeta.getStreamingFetchSize( fs );
+      statement.setFetchSize( streamingFetchSize );
+      adaptive = streamingFetchSize > 0;
+    } else if ( databaseMeta.isMySQLVariant() ) {
+      // mysql have some restriction on fetch size assignment
+      setMysqlFetchSize( statement, fs, maxRows );
+    } else {
+      statement.setFetchSize( fs );
+    }
+    statement.setFetchDirection( fetchMode );
+    return adaptive;
+  }
+
+  /**
+   * @return the row limit that openQuery() sets on its statements, 0 if there is none
+   */
+  private int getAppliedRowLimit() {
+    return rowlimit > 0 && databaseMeta.supportsSetMaxRows() ? rowlimit : 0;
+  }
+
+  /**
+   * Turn auto-commit back on if it was turned off to stream the rows of a query. This ends the transaction the rows
+   * were streamed in, so it's done on every path that closes the query: otherwise later statements on the connection
+   * are never committed.
+   */
+  private void restoreAutoCommit() throws KettleDatabaseException {
+    if ( restoreAutoCommit ) {
+      restoreAutoCommit = false;
+      try {
+        connection.setAutoCommit( true );
+      } catch ( SQLException e ) {
+        throw new KettleDatabaseException( "Unable to turn auto-commit back on after streaming a query", e );
+      }
+    }
+  }
+
+  /**
+   * Roll back the transaction a query that failed to open was streamed in and turn auto-commit back on.
+   */
+  private void abortStreaming() {
+    if ( restoreAutoCommit ) {
+      try {
+        connection.rollback();
+        restoreAutoCommit();
+      } catch ( SQLException | KettleDatabaseException e ) {
+        log.logError( "Unable to turn auto-commit back on after a failed query", e );
+      }
+    }
+  }
+
   public ResultSet openQuery( PreparedStatement ps, RowMetaInterface params, Object[] data )
     throws KettleDatabaseException {
     ResultSet res;
@@ -1798,19 +1872,7 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
       setValues( params, data, ps ); // set the parameters!
       log.snap( Metrics.METRIC_DATABASE_SQL_VALUES_STOP, databaseMeta.getName() );
 
-      if ( canWeSetFetchSize( ps ) ) {
-        int maxRows = ps.getMaxRows();
-        int fs = Math.max( Const.FETCH_SIZE, maxRows );
-        // mysql have some restriction on fetch size assignment
-        if ( databaseMeta.isMySQLVariant() ) {
-          setMysqlFetchSize( ps, fs, maxRows );
-        } else {
-          // other databases seems not.
-          ps.setFetchSize( fs );
-        }
-
-        ps.setFetchDirection( ResultSet.FETCH_FORWARD );
-      }
+      setFetchSize( ps, ResultSet.FETCH_FORWARD, getAppliedRowLimit(), false );
 
       if ( rowlimit > 0 && databaseMeta.supportsSetMaxRows() ) {
         ps.setMaxRows( rowlimit );
@@ -1837,7 +1899,7 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
     return res;
   }
 
-  void setMysqlFetchSize( PreparedStatement ps, int fs, int getMaxRows ) throws SQLException, KettleDatabaseException {
+  void setMysqlFetchSize( Statement ps, int fs, int getMaxRows ) throws SQLException, KettleDatabaseException {
     if ( databaseMeta.isStreamingResults() && getDatabaseMetaData().getDriverMajorVersion() == 3 ) {
       ps.setFetchSize( Integer.MIN_VALUE );
     } else if ( fs <= getMaxRows ) {
@@ -2573,6 +2635,8 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
         pstmt.close();
         pstmt = null;
       }
+      adaptiveFetchSize = null;
+      restoreAutoCommit();
     } catch ( SQLException ex ) {
       throw new KettleDatabaseException( "Couldn't close query: resultset or prepared statements", ex );
     }
@@ -2740,6 +2804,15 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
 
             data[ i ] = databaseMeta.getValueFromResultSet( rs, val, i );
           }
+          if ( adaptiveFetchSize != null && adaptiveFetchSize.isFor( rs ) ) {
+            int fetchSize = adaptiveFetchSize.sample( data );
+            if ( fetchSize > 0 ) {
+              adaptiveFetchSize = null;
+              if ( log.isDetailed() ) {
+                log.logDetailed( "Fetch size set to " + fetchSize + " rows for the width of the rows" );
+              }
+            }
+          }
         } else {
           data = null;
         }
@@ -3318,12 +3391,14 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
   public RowMetaAndData getOneRow( String sql ) throws KettleDatabaseException {
     ResultSet rs = openQuery( sql );
     if ( rs != null ) {
-      Object[] row = getRow( rs ); // One row only
-
+      Object[] row;
       try {
+        row = getRow( rs ); // One row only
         rs.close();
-      } catch ( Exception e ) {
+      } catch ( SQLException e ) {
         throw new KettleDatabaseException( "Unable to close resultset", e );
+      } finally {
+        restoreAutoCommit();
       }
 
       if ( pstmt != null ) {
@@ -3361,47 +3436,51 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
 
   public RowMetaAndData getOneRow( String sql, RowMetaInterface param, Object[] data ) throws KettleDatabaseException {
     ResultSet rs = openQuery( sql, param, data );
-    if ( rs != null ) {
-      Object[] row = getRow( rs ); // One value: a number;
+    try {
+      if ( rs != null ) {
+        Object[] row = getRow( rs ); // One value: a number;
 
-      rowMeta = null;
-      RowMeta tmpMeta = null;
-      try {
+        rowMeta = null;
+        RowMeta tmpMeta = null;
+        try {
 
-        ResultSetMetaData md = rs.getMetaData();
-        tmpMeta = getMetaFromRow( row, md );
+          ResultSetMetaData md = rs.getMetaData();
+          tmpMeta = getMetaFromRow( row, md );
 
-      } catch ( Exception e ) {
-        log.logError( e.getMessage(), e );
-      } finally {
-        try {
-          rs.close();
         } catch ( Exception e ) {
-          throw new KettleDatabaseException( "Unable to close resultset", e );
-        }
-
-        if ( pstmt != null ) {
+          log.logError( e.getMessage(), e );
+        } finally {
           try {
-            pstmt.close();
+            rs.close();
           } catch ( Exception e ) {
-            throw new KettleDatabaseException( "Unable to close prepared statement pstmt", e );
+            throw new KettleDatabaseException( "Unable to close resultset", e );
           }
-          pstmt = null;
-        }
-        if ( selStmt != null ) {
-          try {
-            selStmt.close();
-          } catch ( Exception e ) {
-            throw new KettleDatabaseException( "Unable to close prepared statement sel_stmt", e );
+
+          if ( pstmt != null ) {
+            try {
+              pstmt.close();
+            } catch ( Exception e ) {
+              throw new KettleDatabaseException( "Unable to close prepared statement pstmt", e );
+            }
+            pstmt = null;
           }
-          selStmt = null;
+          if ( selStmt != null ) {
+            try {
+              selStmt.close();
+            } catch ( Exception e ) {
+              throw new KettleDatabaseException( "Unable to close prepared statement sel_stmt", e );
+            }
+            selStmt = null;
+          }
+
         }
 
+        return new RowMetaAndData( tmpMeta, row );
+      } else {
+        return null;
       }
-
-      return new RowMetaAndData( tmpMeta, row );
-    } else {
-      return null;
+    } finally {
+      restoreAutoCommit();
     }
   }
 
@@ -3837,6 +3916,8 @@ public class Database implements VariableSpace, LoggingObjectInterface, Closeabl
       }
     } catch ( Exception e ) {
       throw new KettleDatabaseException( "Error executing forEachRow", e );
+    } finally {
+      restoreAutoCommit();
     }
   }
 
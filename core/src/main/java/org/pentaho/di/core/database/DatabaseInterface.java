@@ -1312,4 +1312,86 @@ public interface DatabaseInterface extends Cloneable {
   default void setConnectionSpecificInfoFromAttributes( Map<String, String> attributes ) {
     // Default implementation does nothing
   }
+
+  /**
+   * Get an expression that hashes a value into a number of buckets, for splitting a query into parts that can be
+   * read in parallel. The default uses the modulo of the value, which only works for numeric values.
+   *
+   * @param expression
+   *          the column or expression to hash
+   * @param buckets
+   *          the number of buckets
+   * @return an SQL expression that evaluates to a bucket number from 0 up to buckets-1, or null for a null value
+   */
+  default String getHashModuloExpression( String expression, int buckets ) {
+    return "ABS( MOD( " + expression + ", " + buckets + " ) )";
+  }
+
+  /**
+   * Get the statement that applies all the rows of a staging table to a target table in one go: the rows that match
+   * on the key columns are updated, the others are inserted. The default is a standard SQL MERGE statement.
+   *
+   * @param targetTable
+   *          the target table or schema-table combination, quoted properly already
+   * @param stagingTable
+   *          the staging table or schema-table combination, quoted properly already. Its columns have the same names
+   *          as the ones in the target table.
+   * @param keyColumns
+   *          the quoted columns to match the rows on
+   * @param updateColumns
+   *          the quoted columns to update in the matching rows, empty to leave the matching rows alone
+   * @param insertColumns
+   *          the quoted columns to insert for the rows that don't match, null to only update
+   * @return the SQL statement, null if there is nothing to update nor insert
+   */
+  default String getMergeStatement( String targetTable, String stagingTable, String[] keyColumns,
+    String[] updateColumns, String[] insertColumns ) {
+    if ( updateColumns.length == 0 && insertColumns == null ) {
+      return null;
+    }
+    StringBuilder sql = new StringBuilder( "MERGE INTO " ).append( targetTable ).append( " t USING " )
+      .append( stagingTable ).append( " s ON ( " );
+    for ( int i = 0; i < keyColumns.length; i++ ) {
+      sql.append( i > 0 ? " AND " : "" ).append( "t." ).append( keyColumns[i] ).append( " = s." )
+        .append( keyColumns[i] );
+    }
+    sql.append( " )" );
+    if ( updateColumns.length > 0 ) {
+      sql.append( " WHEN MATCHED THEN UPDATE SET " );
+      for ( int i = 0; i < updateColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( updateColumns[i] ).append( " = s." ).append( updateColumns[i] );
+      }
+    }
+    if ( insertColumns != null ) {
+      sql.append( " WHEN NOT MATCHED THEN INSERT ( " ).append( String.join( ", ", insertColumns ) )
+        .append( " ) VALUES ( " );
+      for ( int i = 0; i < insertColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( "s." ).append( insertColumns[i] );
+      }
+      sql.append( " )" );
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Get the fetch size that makes the JDBC driver stream the rows of a query instead of reading them all into memory.
+   * This is used for queries without a row limit when the connection streams its results. The default is to fetch the
+   * given number of rows per round trip.
+   *
+   * @param fetchSize
+   *          the number of rows to fetch per round trip
+   * @return the fetch size to set on the statement. A value of 0 or less is a special value for the driver, the fetch
+   *         size is not tuned to the width of the rows then.
+   */
+  default int getStreamingFetchSize( int fetchSize ) {
+    return fetchSize;
+  }
+
+  /**
+   * @return true if the JDBC driver only streams the rows of a query inside a transaction, so auto-commit has to be
+   *         turned off while the rows are read
+   */
+  default boolean isStreamingRequiresNoAutoCommit() {
+    return false;
+  }
 }
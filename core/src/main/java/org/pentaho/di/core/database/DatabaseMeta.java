@@ -1665,6 +1665,53 @@ public class DatabaseMeta extends SharedObjectBase implements Cloneable, XMLInte
     return databaseInterface.getLimitClause( nrRows );
   }
 
+  /**
+   * @param expression
+   *          the column or expression to hash
+   * @param buckets
+   *          the number of buckets
+   * @return an SQL expression that evaluates to a bucket number from 0 up to buckets-1
+   */
+  public String getHashModuloExpression( String expression, int buckets ) {
+    return databaseInterface.getHashModuloExpression( expression, buckets );
+  }
+
+  /**
+   * @param targetTable
+   *          the target table or schema-table combination, quoted properly already
+   * @param stagingTable
+   *          the staging table or schema-table combination with the same column names, quoted properly already
+   * @param keyColumns
+   *          the quoted columns to match the rows on
+   * @param updateColumns
+   *          the quoted columns to update in the matching rows, empty to leave the matching rows alone
+   * @param insertColumns
+   *          the quoted columns to insert for the rows that don't match, null to only update
+   * @return the statement that applies the rows of the staging table to the target table, null if there is nothing
+   *         to update nor insert
+   */
+  public String getMergeStatement( String targetTable, String stagingTable, String[] keyColumns,
+    String[] updateColumns, String[] insertColumns ) {
+    return databaseInterface.getMergeStatement( targetTable, stagingTable, keyColumns, updateColumns,
+      insertColumns );
+  }
+
+  /**
+   * @param fetchSize
+   *          the number of rows to fetch per round trip
+   * @return the fetch size that makes the JDBC driver stream the rows of a query, 0 or less for a special value
+   */
+  public int getStreamingFetchSize( int fetchSize ) {
+    return databaseInterface.getStreamingFetchSize( fetchSize );
+  }
+
+  /**
+   * @return true if auto-commit has to be turned off to stream the rows of a query
+   */
+  public boolean isStreamingRequiresNoAutoCommit() {
+    return databaseInterface.isStreamingRequiresNoAutoCommit();
+  }
+
   /**
    * @param tableName
    *          The table or schema-table combination. We expect this to be quoted properly already!
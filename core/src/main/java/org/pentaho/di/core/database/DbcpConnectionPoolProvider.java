@@ -0,0 +1,82 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.pentaho.di.core.exception.KettleDatabaseException;
+
+/**
+ * The default connection pools, built on Commons DBCP.
+ */
+public class DbcpConnectionPoolProvider implements ConnectionPoolProvider {
+  public static final String NAME = "DBCP";
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public DataSource createDataSource( DatabaseMeta databaseMeta, String partitionId, int initialSize,
+    int maximumSize ) throws KettleDatabaseException {
+    MeteredDataSource ds = new MeteredDataSource();
+    ConnectionPoolUtil.configureDataSource( ds, databaseMeta, partitionId, initialSize, maximumSize );
+    return ds;
+  }
+
+  @Override
+  public ConnectionPoolStatus getStatus( DataSource dataSource ) {
+    ConnectionPoolStatus status = new ConnectionPoolStatus();
+    status.setProvider( NAME );
+    if ( dataSource instanceof BasicDataSource ) {
+      BasicDataSource ds = (BasicDataSource) dataSource;
+      status.setActive( ds.getNumActive() );
+      status.setIdle( ds.getNumIdle() );
+      status.setMaximum( ds.getMaxTotal() );
+    }
+    if ( dataSource instanceof MeteredDataSource ) {
+      ( (MeteredDataSource) dataSource ).metrics.fill( status );
+    }
+    return status;
+  }
+
+  /**
+   * A DBCP pool that measures how long the requests for a connection wait.
+   */
+  static class MeteredDataSource extends BasicDataSource {
+    private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      long start = System.nanoTime();
+      try {
+        Connection connection = super.getConnection();
+        metrics.recordWait( start );
+        return connection;
+      } catch ( SQLException e ) {
+        // DBCP reports an exhausted pool with the exception of the object pool as the cause
+        if ( e.getCause() instanceof NoSuchElementException ) {
+          metrics.recordTimeout();
+        }
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,532 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Driver;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.pentaho.di.core.util.Utils;
+
+/**
+ * A connection pool that hands out connections without taking a lock.
+ * <p>
+ * The idle connections are kept in a lock-free deque and the number of connections in use is bounded by a semaphore,
+ * so a request that finds an idle connection only does a few atomic operations. The most recently returned
+ * connection is handed out first, so it is the least likely to have been dropped by the database. A connection is
+ * returned to the pool when it is closed, its open statements are closed and its open transaction is rolled back.
+ */
+public class LightConnectionPool implements DataSource, Closeable {
+  /** The number of seconds to wait for the validation of an idle connection */
+  private static final int VALIDATION_TIMEOUT = 5;
+
+  private final Driver driver;
+  private final String url;
+  private final Properties connectionProperties;
+  private final int maximumSize;
+  private final Semaphore permits;
+  private final Deque<Connection> idle = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+
+  private int maximumIdle = -1;
+  private long maximumWait = -1L;
+  private String validationQuery;
+  private boolean testOnBorrow = true;
+  private Boolean defaultAutoCommit;
+  private Boolean defaultReadOnly;
+  private Integer defaultTransactionIsolation;
+  private String defaultCatalog;
+
+  private volatile boolean closed;
+  private PrintWriter logWriter;
+  private int loginTimeout;
+
+  /**
+   * @param driver
+   *          the driver that opens the connections
+   * @param url
+   *          the URL to connect to
+   * @param connectionProperties
+   *          the properties to connect with, including the user and password
+   * @param maximumSize
+   *          the maximum number of connections in use at the same time, non-positive for no limit
+   */
+  public LightConnectionPool( Driver driver, String url, Properties connectionProperties, int maximumSize ) {
+    this.driver = driver;
+    this.url = url;
+    this.connectionProperties = connectionProperties;
+    this.maximumSize = maximumSize;
+    this.permits = maximumSize > 0 ? new Semaphore( maximumSize ) : null;
+  }
+
+  /**
+   * Open connections up front.
+   *
+   * @param initialSize
+   *          the number of idle connections to have
+   */
+  public void fill( int initialSize ) throws SQLException {
+    int size = maximumSize > 0 ? Math.min( initialSize, maximumSize ) : initialSize;
+    while ( idleCount.get() < size ) {
+      idle.offerLast( open() );
+      idleCount.incrementAndGet();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if ( closed ) {
+      throw new SQLException( "The connection pool is closed" );
+    }
+    long start = System.nanoTime();
+    acquirePermit();
+    try {
+      Connection physical = borrowIdle();
+      if ( physical == null ) {
+        physical = open();
+      }
+      activeCount.incrementAndGet();
+      metrics.recordWait( start );
+      return (Connection) Proxy.newProxyInstance( LightConnectionPool.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, new PooledConnection( physical ) );
+    } catch ( SQLException | RuntimeException e ) {
+      releasePermit();
+      throw e;
+    }
+  }
+
+  private void acquirePermit() throws SQLException {
+    if ( permits == null ) {
+      return;
+    }
+    try {
+      if ( maximumWait < 0 ) {
+        permits.acquire();
+      } else if ( !permits.tryAcquire( maximumWait, TimeUnit.MILLISECONDS ) ) {
+        metrics.recordTimeout();
+        throw new SQLException( "Timeout waiting for a connection, all " + maximumSize + " connections are in use" );
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new SQLException( "Interrupted while waiting for a connection", e );
+    }
+  }
+
+  private void releasePermit() {
+    if ( permits != null ) {
+      permits.release();
+    }
+  }
+
+  private Connection borrowIdle() {
+    Connection connection;
+    while ( ( connection = idle.pollFirst() ) != null ) {
+      idleCount.decrementAndGet();
+      if ( !testOnBorrow || isValid( connection ) ) {
+        return connection;
+      }
+      closeQuietly( connection );
+    }
+    return null;
+  }
+
+  private boolean isValid( Connection connection ) {
+    try {
+      if ( Utils.isEmpty( validationQuery ) ) {
+        return connection.isValid( VALIDATION_TIMEOUT );
+      }
+      try ( Statement statement = connection.createStatement() ) {
+        statement.setQueryTimeout( VALIDATION_TIMEOUT );
+        statement.execute( validationQuery );
+      }
+      return true;
+    } catch ( SQLException e ) {
+      return false;
+    }
+  }
+
+  private Connection open() throws SQLException {
+    Connection connection = driver.connect( url, connectionProperties );
+    if ( connection == null ) {
+      throw new SQLException( "No suitable driver for " + url );
+    }
+    try {
+      if ( defaultAutoCommit != null ) {
+        connection.setAutoCommit( defaultAutoCommit );
+      }
+      if ( defaultReadOnly != null ) {
+        connection.setReadOnly( defaultReadOnly );
+      }
+      if ( defaultTransactionIsolation != null ) {
+        connection.setTransactionIsolation( defaultTransactionIsolation );
+      }
+      if ( defaultCatalog != null ) {
+        connection.setCatalog( defaultCatalog );
+      }
+    } catch ( SQLException e ) {
+      closeQuietly( connection );
+      throw e;
+    }
+    return connection;
+  }
+
+  /**
+   * Return a connection that was handed out, or close it if it can't be used again or there are enough idle ones.
+   */
+  private void release( Connection physical, boolean broken ) {
+    activeCount.decrementAndGet();
+    try {
+      if ( !broken && !closed && !physical.isClosed() ) {
+        if ( !physical.getAutoCommit() ) {
+          physical.rollback();
+        }
+        if ( defaultAutoCommit != null && physical.getAutoCommit() != defaultAutoCommit ) {
+          physical.setAutoCommit( defaultAutoCommit );
+        }
+        if ( defaultReadOnly != null && physical.isReadOnly() != defaultReadOnly ) {
+          physical.setReadOnly( defaultReadOnly );
+        }
+        if ( idleCount.incrementAndGet() <= maximumIdle || maximumIdle < 0 ) {
+          idle.offerFirst( physical );
+          physical = null;
+          if ( closed ) {
+            // The pool was closed meanwhile
+            closeIdle();
+          }
+        } else {
+          idleCount.decrementAndGet();
+        }
+      }
+    } catch ( SQLException e ) {
+      // The connection is no longer usable
+    } finally {
+      if ( physical != null ) {
+        closeQuietly( physical );
+      }
+      releasePermit();
+    }
+  }
+
+  private void closeIdle() {
+    Connection connection;
+    while ( ( connection = idle.pollFirst() ) != null ) {
+      idleCount.decrementAndGet();
+      closeQuietly( connection );
+    }
+  }
+
+  private static void closeQuietly( Connection connection ) {
+    try {
+      connection.close();
+    } catch ( SQLException e ) {
+      // Ignore, the connection is discarded
+    }
+  }
+
+  /**
+   * Close the idle connections. The connections in use are closed when they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    closeIdle();
+  }
+
+  /**
+   * @return the current statistics of the pool
+   */
+  public ConnectionPoolStatus getStatus() {
+    ConnectionPoolStatus status = new ConnectionPoolStatus();
+    status.setActive( activeCount.get() );
+    status.setIdle( idleCount.get() );
+    status.setMaximum( maximumSize );
+    metrics.fill( status );
+    return status;
+  }
+
+  /**
+   * @param maximumIdle
+   *          the maximum number of idle connections to keep, negative for no limit
+   */
+  public void setMaximumIdle( int maximumIdle ) {
+    this.maximumIdle = maximumIdle;
+  }
+
+  /**
+   * @param maximumWait
+   *          the number of milliseconds to wait for a connection when all are in use, negative to wait indefinitely
+   */
+  public void setMaximumWait( long maximumWait ) {
+    this.maximumWait = maximumWait;
+  }
+
+  /**
+   * @param validationQuery
+   *          the query that validates an idle connection before it is handed out, empty to ask the driver
+   */
+  public void setValidationQuery( String validationQuery ) {
+    this.validationQuery = validationQuery;
+  }
+
+  /**
+   * @param testOnBorrow
+   *          true to validate idle connections before they are handed out
+   */
+  public void setTestOnBorrow( boolean testOnBorrow ) {
+    this.testOnBorrow = testOnBorrow;
+  }
+
+  public void setDefaultAutoCommit( Boolean defaultAutoCommit ) {
+    this.defaultAutoCommit = defaultAutoCommit;
+  }
+
+  public void setDefaultReadOnly( Boolean defaultReadOnly ) {
+    this.defaultReadOnly = defaultReadOnly;
+  }
+
+  public void setDefaultTransactionIsolation( Integer defaultTransactionIsolation ) {
+    this.defaultTransactionIsolation = defaultTransactionIsolation;
+  }
+
+  public void setDefaultCatalog( String defaultCatalog ) {
+    this.defaultCatalog = defaultCatalog;
+  }
+
+  @Override
+  public Connection getConnection( String username, String password ) throws SQLException {
+    throw new SQLFeatureNotSupportedException( "The connections of a pool all use the same credentials" );
+  }
+
+  @Override
+  public PrintWriter getLogWriter() {
+    return logWriter;
+  }
+
+  @Override
+  public void setLogWriter( PrintWriter logWriter ) {
+    this.logWriter = logWriter;
+  }
+
+  @Override
+  public void setLoginTimeout( int seconds ) {
+    this.loginTimeout = seconds;
+  }
+
+  @Override
+  public int getLoginTimeout() {
+    return loginTimeout;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public <T> T unwrap( Class<T> iface ) throws SQLException {
+    if ( iface.isInstance( this ) ) {
+      return iface.cast( this );
+    }
+    throw new SQLException( getClass().getName() + " is not a wrapper for " + iface.getName() );
+  }
+
+  @Override
+  public boolean isWrapperFor( Class<?> iface ) {
+    return iface.isInstance( this );
+  }
+
+  /**
+   * Creates a proxy implementing the interfaces, visible to the class loader of the first one.
+   */
+  private static Object newProxy( InvocationHandler handler, Class<?>... interfaces ) {
+    ClassLoader classLoader = interfaces[0].getClassLoader();
+    return Proxy.newProxyInstance( classLoader != null ? classLoader : LightConnectionPool.class.getClassLoader(),
+      interfaces, handler );
+  }
+
+  /**
+   * The connection handed out by the pool: closing it returns the physical connection to the pool.
+   * <p>
+   * The statements, result sets and metadata it hands out are wrapped as well, so none of them leads back to the
+   * physical connection or lets a caller close it behind the pool's back.
+   */
+  private final class PooledConnection implements InvocationHandler {
+    private final Connection physical;
+    private final AtomicBoolean returned = new AtomicBoolean();
+    // The open statements of the physical connection and the proxies handed out for them
+    private final Map<Statement, Statement> statements = new ConcurrentHashMap<>();
+    private volatile boolean broken;
+
+    PooledConnection( Connection physical ) {
+      this.physical = physical;
+    }
+
+    @Override
+    public Object invoke( Object proxy, Method method, Object[] args ) throws Throwable {
+      switch ( method.getName() ) {
+        case "close":
+          if ( returned.compareAndSet( false, true ) ) {
+            closeStatements();
+            release( physical, broken );
+          }
+          return null;
+        case "isClosed":
+          return returned.get() || physical.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode( proxy );
+        case "toString":
+          return "Pooled " + physical;
+        default:
+          break;
+      }
+      if ( returned.get() ) {
+        throw new SQLException( "The connection is closed" );
+      }
+      if ( "unwrap".equals( method.getName() ) ) {
+        return unwrap( proxy, Connection.class, physical, (Class<?>) args[0], this );
+      }
+      return wrap( (Connection) proxy, invokePhysical( physical, method, args ), method.getReturnType() );
+    }
+
+    /**
+     * @return the value returned by a physical object, with the physical connection replaced by the pooled one and
+     *         the statements, result sets and metadata wrapped
+     */
+    private Object wrap( Connection connection, Object result, Class<?> type ) {
+      if ( result == physical ) {
+        return connection;
+      }
+      if ( result instanceof Statement && Statement.class.isAssignableFrom( type ) ) {
+        // The same statement always gets the same proxy, so a result set leads back to the statement handed out
+        return statements.computeIfAbsent( (Statement) result,
+          statement -> (Statement) newProxy( new PooledObject( connection, type, statement ), type ) );
+      }
+      if ( result instanceof ResultSet && type == ResultSet.class
+        || result instanceof DatabaseMetaData && type == DatabaseMetaData.class ) {
+        return newProxy( new PooledObject( connection, type, result ), type );
+      }
+      return result;
+    }
+
+    /**
+     * Unwrapping a pooled object gives its proxy, or a proxy of the interface asked for. The physical object is never
+     * handed out.
+     */
+    private Object unwrap( Object proxy, Class<?> type, Object target, Class<?> iface, InvocationHandler handler )
+      throws SQLException {
+      if ( iface.isInstance( proxy ) ) {
+        return proxy;
+      }
+      if ( iface.isInterface() && iface.isInstance( target ) ) {
+        return newProxy( handler, iface, type );
+      }
+      throw new SQLFeatureNotSupportedException( "A pooled " + target + " can't be unwrapped to " + iface.getName() );
+    }
+
+    private Object invokePhysical( Object target, Method method, Object[] args ) throws Throwable {
+      try {
+        return method.invoke( target, args );
+      } catch ( InvocationTargetException e ) {
+        Throwable cause = e.getCause();
+        if ( cause instanceof SQLException ) {
+          // SQL state class 08 is a connection exception: don't hand out this connection again
+          String state = ( (SQLException) cause ).getSQLState();
+          if ( state != null && state.startsWith( "08" ) ) {
+            broken = true;
+          }
+        }
+        throw cause;
+      }
+    }
+
+    /**
+     * Close the statements that are still open, before the physical connection is used again.
+     */
+    private void closeStatements() {
+      for ( Statement statement : statements.keySet() ) {
+        try {
+          statement.close();
+        } catch ( SQLException e ) {
+          // Ignore, the statement is discarded
+        }
+      }
+      statements.clear();
+    }
+
+    /**
+     * A statement, result set or database metadata handed out by a pooled connection.
+     */
+    private final class PooledObject implements InvocationHandler {
+      private final Connection connection;
+      private final Class<?> type;
+      private final Object target;
+
+      PooledObject( Connection connection, Class<?> type, Object target ) {
+        this.connection = connection;
+        this.type = type;
+        this.target = target;
+      }
+
+      @Override
+      public Object invoke( Object proxy, Method method, Object[] args ) throws Throwable {
+        switch ( method.getName() ) {
+          case "close":
+            if ( target instanceof Statement ) {
+              statements.remove( target );
+            }
+            break;
+          case "getConnection":
+            return connection;
+          case "unwrap":
+            return unwrap( proxy, type, target, (Class<?>) args[0], this );
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode( proxy );
+          case "toString":
+            return "Pooled " + target;
+          default:
+            break;
+        }
+        return wrap( connection, invokePhysical( target, method, args ), method.getReturnType() );
+      }
+    }
+  }
+}
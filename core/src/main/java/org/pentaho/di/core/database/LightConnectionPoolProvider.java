@@ -0,0 +1,123 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.encryption.Encr;
+import org.pentaho.di.core.exception.KettleDatabaseException;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.i18n.BaseMessages;
+
+/**
+ * Connection pools that hand out connections without taking a lock, see {@link LightConnectionPool}.
+ * <p>
+ * The pools use the same pooling parameters as the DBCP pools, apart from the ones about the idle object evictor,
+ * prepared statement pooling and abandoned connections.
+ */
+public class LightConnectionPoolProvider implements ConnectionPoolProvider {
+  public static final String NAME = "LIGHT";
+
+  private static Class<?> PKG = Database.class; // for i18n purposes, needed by Translator2!!
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public DataSource createDataSource( DatabaseMeta databaseMeta, String partitionId, int initialSize,
+    int maximumSize ) throws KettleDatabaseException {
+    Properties properties = ConnectionPoolUtil.getPoolProperties( databaseMeta );
+    int maxActive = Const.toInt( properties.getProperty( ConnectionPoolUtil.MAX_ACTIVE ), maximumSize );
+
+    String userName = databaseMeta.environmentSubstitute( databaseMeta.getUsername() );
+    String password = Encr.decryptPasswordOptionallyEncrypted(
+      databaseMeta.environmentSubstitute( databaseMeta.getPassword() ) );
+    Properties connectionProperties = new Properties();
+    connectionProperties.put( "user", Const.NVL( userName, "" ) );
+    connectionProperties.put( "password", Const.NVL( password, "" ) );
+
+    String url = databaseMeta.environmentSubstitute( databaseMeta.getURL( partitionId ) );
+    LightConnectionPool pool = new LightConnectionPool( loadDriver( databaseMeta ), url, connectionProperties,
+      maxActive );
+
+    String value = properties.getProperty( ConnectionPoolUtil.DEFAULT_AUTO_COMMIT );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setDefaultAutoCommit( Boolean.valueOf( value ) );
+    }
+    value = properties.getProperty( ConnectionPoolUtil.DEFAULT_READ_ONLY );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setDefaultReadOnly( Boolean.valueOf( value ) );
+    }
+    value = properties.getProperty( ConnectionPoolUtil.DEFAULT_TRANSACTION_ISOLATION );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setDefaultTransactionIsolation( Integer.valueOf( value ) );
+    }
+    value = properties.getProperty( ConnectionPoolUtil.DEFAULT_CATALOG );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setDefaultCatalog( value );
+    }
+    value = properties.getProperty( ConnectionPoolUtil.MAX_IDLE );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setMaximumIdle( Integer.valueOf( value ) );
+    }
+    value = properties.getProperty( ConnectionPoolUtil.MAX_WAIT );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setMaximumWait( Long.valueOf( value ) );
+    }
+    pool.setValidationQuery( properties.getProperty( ConnectionPoolUtil.VALIDATION_QUERY ) );
+    value = properties.getProperty( ConnectionPoolUtil.TEST_ON_BORROW );
+    if ( !Utils.isEmpty( value ) ) {
+      pool.setTestOnBorrow( Boolean.valueOf( value ) );
+    }
+
+    int initial = Const.toInt( properties.getProperty( ConnectionPoolUtil.INITIAL_SIZE ), initialSize );
+    try {
+      pool.fill( initial );
+    } catch ( SQLException e ) {
+      pool.close();
+      throw new KettleDatabaseException( BaseMessages.getString( PKG,
+        "Database.UnableToPreLoadConnectionToConnectionPool.Exception" ), e );
+    }
+    return pool;
+  }
+
+  private static Driver loadDriver( DatabaseMeta databaseMeta ) throws KettleDatabaseException {
+    String driverClass = databaseMeta.getDriverClass();
+    ClassLoader classLoader = databaseMeta.getDatabaseInterface() != null
+      ? databaseMeta.getDatabaseInterface().getClass().getClassLoader()
+      : LightConnectionPoolProvider.class.getClassLoader();
+    try {
+      return (Driver) Class.forName( driverClass, true, classLoader ).getConstructor().newInstance();
+    } catch ( Exception e ) {
+      throw new KettleDatabaseException( BaseMessages.getString( PKG,
+        "Database.Exception.UnableToLoadDriverForPool", driverClass ), e );
+    }
+  }
+
+  @Override
+  public ConnectionPoolStatus getStatus( DataSource dataSource ) {
+    ConnectionPoolStatus status = dataSource instanceof LightConnectionPool
+      ? ( (LightConnectionPool) dataSource ).getStatus()
+      : new ConnectionPoolStatus();
+    status.setProvider( NAME );
+    return status;
+  }
+}
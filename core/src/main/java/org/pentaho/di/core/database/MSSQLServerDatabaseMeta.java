@@ -460,6 +460,20 @@ public class MSSQLServerDatabaseMeta extends BaseDatabaseMeta implements Databas
     return String.format( "SELECT NEXT VALUE FOR %s", sequenceName );
   }
 
+  @Override
+  public String getHashModuloExpression( String expression, int buckets ) {
+    return "ABS( CHECKSUM( " + expression + " ) % " + buckets + " )";
+  }
+
+  @Override
+  public String getMergeStatement( String targetTable, String stagingTable, String[] keyColumns,
+    String[] updateColumns, String[] insertColumns ) {
+    String sql = DatabaseInterface.super.getMergeStatement( targetTable, stagingTable, keyColumns, updateColumns,
+      insertColumns );
+    // SQL Server wants a MERGE statement to be terminated
+    return sql == null ? null : sql + ";";
+  }
+
   @Override
   public String getSQLCurrentSequenceValue( String sequenceName ) {
     return String.format( "SELECT current_value FROM sys.sequences WHERE name = '%s'", sequenceName );
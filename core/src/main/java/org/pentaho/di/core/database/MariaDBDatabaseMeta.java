@@ -49,6 +49,14 @@ public class MariaDBDatabaseMeta extends MySQLDatabaseMeta {
     return !( cause != null && SHORT_MESSAGE_EXCEPTIONS.contains( cause.getClass().getName() ) );
   }
 
+  /**
+   * The MariaDB driver streams the rows with any positive fetch size, it has no use for Integer.MIN_VALUE.
+   */
+  @Override
+  public int getStreamingFetchSize( int fetchSize ) {
+    return fetchSize;
+  }
+
   /**
    * Returns the column name for a MariaDB field.
    *
@@ -0,0 +1,277 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pentaho.di.core.exception.KettleDatabaseException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * Applies rows to a table in batches instead of one by one: the rows of a batch are loaded into a staging table, which
+ * is then merged into the target table with a single statement, see
+ * {@link DatabaseMeta#getMergeStatement(String, String, String[], String[], String[])}.
+ * <p>
+ * The staging table has the columns of the rows, with the data types of the target table. It is created when the
+ * merging starts and dropped at the end. A batch holds at most one row per key: a later row with the same key
+ * replaces the earlier one, like it would when the rows are applied one by one. The merge is not committed, that's up
+ * to the caller.
+ * <p>
+ * When the rows are only updated, the keys of a batch that match no row of the target table are counted before the
+ * merge, see {@link #getMissingKeys()}. The number of updated rows can't tell, the target table can hold several rows
+ * with the same key.
+ */
+public class MergeStagingTable {
+  /** The number of rows per batch when no batch size is given */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final Database db;
+  private final DatabaseMeta databaseMeta;
+  private final String schemaName;
+  private final String tableName;
+  private final RowMetaInterface rowMeta;
+  private final int[] keyIndexes;
+  private final String[] keyColumns;
+  private final String[] updateColumns;
+  private final String[] insertColumns;
+  private final Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+
+  private String stagingTable;
+  private PreparedStatement insertStatement;
+  private PreparedStatement mergeStatement;
+  private PreparedStatement clearStatement;
+  private PreparedStatement missingKeysStatement;
+  private int missingKeys;
+
+  /**
+   * @param db
+   *          the connected database
+   * @param schemaName
+   *          the schema of the target table, unquoted
+   * @param tableName
+   *          the target table, unquoted
+   * @param rowMeta
+   *          the layout of the rows to apply, named after the columns of the target table
+   * @param keyColumns
+   *          the columns to match the rows on
+   * @param updateColumns
+   *          the columns to update in the matching rows, empty to leave the matching rows alone
+   * @param insertColumns
+   *          the columns to insert for the rows that don't match, null to only update
+   * @throws KettleDatabaseException
+   *           if a column is not in the layout of the rows
+   */
+  public MergeStagingTable( Database db, String schemaName, String tableName, RowMetaInterface rowMeta,
+    String[] keyColumns, String[] updateColumns, String[] insertColumns ) throws KettleDatabaseException {
+    this.db = db;
+    this.databaseMeta = db.getDatabaseMeta();
+    this.schemaName = schemaName;
+    this.tableName = tableName;
+    this.rowMeta = rowMeta;
+    this.keyIndexes = new int[keyColumns.length];
+    for ( int i = 0; i < keyColumns.length; i++ ) {
+      keyIndexes[i] = indexOf( keyColumns[i] );
+    }
+    this.keyColumns = quote( keyColumns );
+    this.updateColumns = quote( updateColumns );
+    this.insertColumns = insertColumns == null ? null : quote( insertColumns );
+  }
+
+  /**
+   * @param uniqueId
+   *          an id that is unique for the user of the staging table, like the log channel id of a step
+   * @return a name for a staging table that is short enough for any database
+   */
+  public static String getStagingTableName( String uniqueId ) {
+    return "KETTLE_STAGE_" + Integer.toHexString( uniqueId.hashCode() ).toUpperCase();
+  }
+
+  private int indexOf( String column ) throws KettleDatabaseException {
+    int index = rowMeta.indexOfValue( column );
+    if ( index < 0 ) {
+      throw new KettleDatabaseException( "Column [" + column + "] is not one of the columns to merge" );
+    }
+    return index;
+  }
+
+  private String[] quote( String[] columns ) throws KettleDatabaseException {
+    String[] quoted = new String[columns.length];
+    for ( int i = 0; i < columns.length; i++ ) {
+      indexOf( columns[i] );
+      quoted[i] = databaseMeta.quoteField( columns[i] );
+    }
+    return quoted;
+  }
+
+  /**
+   * Create the staging table, replacing a table with the same name that was left behind.
+   *
+   * @param stagingTableName
+   *          the name of the staging table, unquoted, in the schema of the target table
+   */
+  public void createStagingTable( String stagingTableName ) throws KettleDatabaseException {
+    RowMetaInterface tableRowMeta = db.getTableFieldsMeta( schemaName, tableName );
+    RowMetaInterface stagingRowMeta = new RowMeta();
+    for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+      ValueMetaInterface columnMeta = tableRowMeta == null ? null : tableRowMeta.searchValueMeta( valueMeta.getName() );
+      ValueMetaInterface stagingMeta = ( columnMeta != null ? columnMeta : valueMeta ).clone();
+      stagingMeta.setName( valueMeta.getName() );
+      stagingRowMeta.addValueMeta( stagingMeta );
+    }
+    databaseMeta.quoteReservedWords( stagingRowMeta );
+
+    stagingTable = databaseMeta.getQuotedSchemaTableCombination( schemaName, stagingTableName );
+    String targetTable = databaseMeta.getQuotedSchemaTableCombination( schemaName, tableName );
+    String mergeSql = databaseMeta.getMergeStatement( targetTable, stagingTable, keyColumns, updateColumns,
+      insertColumns );
+    if ( mergeSql == null ) {
+      throw new KettleDatabaseException( "There is nothing to update nor insert in table [" + targetTable + "]" );
+    }
+
+    if ( db.checkTableExists( schemaName, stagingTableName ) ) {
+      db.execStatement( databaseMeta.getDropTableIfExistsStatement( stagingTable ) );
+    }
+    db.execStatement( db.getCreateTableStatement( stagingTable, stagingRowMeta, null, false, null, false ) );
+    db.commit();
+
+    insertStatement = db.prepareSQL( db.getInsertStatement( schemaName, stagingTableName, rowMeta ) );
+    mergeStatement = db.prepareSQL( mergeSql );
+    clearStatement = db.prepareSQL( "DELETE FROM " + stagingTable );
+    if ( insertColumns == null ) {
+      missingKeysStatement = db.prepareSQL( getMissingKeysStatement( targetTable ) );
+    }
+  }
+
+  /**
+   * @return the query that counts the keys of the staging table that match no row of the target table, with the same
+   *         key condition as the merge statement
+   */
+  private String getMissingKeysStatement( String targetTable ) {
+    StringBuilder sql = new StringBuilder( "SELECT COUNT(*) FROM " ).append( stagingTable )
+      .append( " s WHERE NOT EXISTS ( SELECT 1 FROM " ).append( targetTable ).append( " t WHERE " );
+    for ( int i = 0; i < keyColumns.length; i++ ) {
+      sql.append( i > 0 ? " AND " : "" ).append( "t." ).append( keyColumns[i] ).append( " = s." )
+        .append( keyColumns[i] );
+    }
+    return sql.append( " )" ).toString();
+  }
+
+  /**
+   * Add a row to the current batch.
+   *
+   * @param row
+   *          the row, in the layout given to the constructor
+   */
+  public void addRow( Object[] row ) {
+    List<Object> key = new ArrayList<>( keyIndexes.length );
+    for ( int keyIndex : keyIndexes ) {
+      Object value = row[keyIndex];
+      // Binary keys have to be compared by content
+      key.add( value instanceof byte[] ? ByteBuffer.wrap( (byte[]) value ) : value );
+    }
+    // Keep the order of the last occurrence
+    rows.remove( key );
+    rows.put( key, row );
+  }
+
+  /**
+   * @return the number of distinct keys in the current batch
+   */
+  public int size() {
+    return rows.size();
+  }
+
+  /**
+   * Apply the current batch to the target table, without committing, and start a new batch.
+   *
+   * @return the number of rows the database reports as inserted or updated
+   */
+  public int merge() throws KettleDatabaseException {
+    if ( rows.isEmpty() ) {
+      return 0;
+    }
+    try {
+      boolean useBatch = db.getUseBatchInsert( true );
+      for ( Object[] row : rows.values() ) {
+        db.setValues( rowMeta, row, insertStatement );
+        if ( useBatch ) {
+          insertStatement.addBatch();
+        } else {
+          insertStatement.executeUpdate();
+        }
+      }
+      if ( useBatch ) {
+        insertStatement.executeBatch();
+        insertStatement.clearBatch();
+      }
+      if ( missingKeysStatement != null ) {
+        try ( ResultSet resultSet = missingKeysStatement.executeQuery() ) {
+          missingKeys = resultSet.next() ? resultSet.getInt( 1 ) : 0;
+        }
+      }
+      int merged = mergeStatement.executeUpdate();
+      clearStatement.executeUpdate();
+      return merged;
+    } catch ( SQLException e ) {
+      throw new KettleDatabaseException( "Unable to merge a batch of " + rows.size() + " rows into table ["
+        + tableName + "]", e );
+    } finally {
+      rows.clear();
+    }
+  }
+
+  /**
+   * @return the number of keys of the last merged batch that match no row of the target table, only counted when the
+   *         rows are only updated
+   */
+  public int getMissingKeys() {
+    return missingKeys;
+  }
+
+  /**
+   * Forget the rows of the current batch, for instance after a rollback.
+   */
+  public void clear() {
+    rows.clear();
+  }
+
+  /**
+   * Close the statements and drop the staging table.
+   */
+  public void dropStagingTable() throws KettleDatabaseException {
+    rows.clear();
+    db.closePreparedStatement( insertStatement );
+    db.closePreparedStatement( mergeStatement );
+    db.closePreparedStatement( clearStatement );
+    db.closePreparedStatement( missingKeysStatement );
+    insertStatement = null;
+    mergeStatement = null;
+    clearStatement = null;
+    missingKeysStatement = null;
+    if ( stagingTable != null ) {
+      db.execStatement( databaseMeta.getDropTableIfExistsStatement( stagingTable ) );
+      db.commit();
+      stagingTable = null;
+    }
+  }
+}
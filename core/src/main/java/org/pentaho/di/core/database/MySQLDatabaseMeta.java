@@ -67,6 +67,51 @@ public class MySQLDatabaseMeta extends BaseDatabaseMeta implements DatabaseInter
     return " LIMIT " + nrRows;
   }
 
+  @Override public String getHashModuloExpression( String expression, int buckets ) {
+    return "MOD( CRC32( " + expression + " ), " + buckets + " )";
+  }
+
+  /**
+   * MySQL has no MERGE statement: the rows are inserted and the ones that clash with a unique key on the key columns
+   * are updated instead.
+   */
+  @Override
+  public String getMergeStatement( String targetTable, String stagingTable, String[] keyColumns,
+    String[] updateColumns, String[] insertColumns ) {
+    if ( updateColumns.length == 0 && insertColumns == null ) {
+      return null;
+    }
+    StringBuilder sql = new StringBuilder();
+    if ( insertColumns == null ) {
+      sql.append( "UPDATE " ).append( targetTable ).append( " t INNER JOIN " ).append( stagingTable );
+      sql.append( " s ON " );
+      for ( int i = 0; i < keyColumns.length; i++ ) {
+        sql.append( i > 0 ? " AND " : "" ).append( "t." ).append( keyColumns[i] ).append( " = s." )
+          .append( keyColumns[i] );
+      }
+      sql.append( " SET " );
+      for ( int i = 0; i < updateColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( "t." ).append( updateColumns[i] ).append( " = s." )
+          .append( updateColumns[i] );
+      }
+      return sql.toString();
+    }
+
+    String columns = String.join( ", ", insertColumns );
+    sql.append( "INSERT INTO " ).append( targetTable ).append( " ( " ).append( columns ).append( " ) SELECT " )
+      .append( columns ).append( " FROM " ).append( stagingTable ).append( " ON DUPLICATE KEY UPDATE " );
+    if ( updateColumns.length == 0 ) {
+      // Leave the existing row as it is
+      sql.append( keyColumns[0] ).append( " = " ).append( keyColumns[0] );
+    } else {
+      for ( int i = 0; i < updateColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( updateColumns[i] ).append( " = VALUES( " ).append( updateColumns[i] )
+          .append( " )" );
+      }
+    }
+    return sql.toString();
+  }
+
   /**
    * Returns the minimal SQL to launch in order to determine the layout of the resultset for a given database table
    *
@@ -500,6 +545,17 @@ public class MySQLDatabaseMeta extends BaseDatabaseMeta implements DatabaseInter
     return defaultOptions;
   }
 
+  /**
+   * With a server side cursor (the useCursorFetch option) the driver fetches the given number of rows per round trip.
+   * Without one, the driver only streams the rows one by one when the fetch size is Integer.MIN_VALUE, any other fetch
+   * size reads the whole result into memory.
+   */
+  @Override
+  public int getStreamingFetchSize( int fetchSize ) {
+    String useCursorFetch = getExtraOptions().get( getPluginId() + ".useCursorFetch" );
+    return "true".equalsIgnoreCase( useCursorFetch ) ? fetchSize : Integer.MIN_VALUE;
+  }
+
   @Override
   public int getMaxVARCHARLength() {
     return VARCHAR_LIMIT;
@@ -66,6 +66,12 @@ public class OracleDatabaseMeta extends BaseDatabaseMeta implements DatabaseInte
     return " WHERE ROWNUM <= " + nrRows;
   }
 
+  @Override
+  public String getHashModuloExpression( String expression, int buckets ) {
+    // ORA_HASH returns a bucket from 0 up to and including the maximum bucket
+    return "ORA_HASH( " + expression + ", " + ( buckets - 1 ) + " )";
+  }
+
   /**
    * Returns the minimal SQL to launch in order to determine the layout of the resultset for a given database table
    *
@@ -75,6 +75,14 @@ public class PostgreSQLDatabaseMeta extends BaseDatabaseMeta implements Database
     return true;
   }
 
+  /**
+   * The driver only uses a cursor to fetch the rows in parts inside a transaction.
+   */
+  @Override
+  public boolean isStreamingRequiresNoAutoCommit() {
+    return true;
+  }
+
   /**
    * @return true if the database supports bitmap indexes
    */
@@ -116,6 +124,50 @@ public class PostgreSQLDatabaseMeta extends BaseDatabaseMeta implements Database
     return " limit " + nrRows;
   }
 
+  @Override
+  public String getHashModuloExpression( String expression, int buckets ) {
+    return "ABS( MOD( HASHTEXT( CAST( " + expression + " AS TEXT ) ), " + buckets + " ) )";
+  }
+
+  /**
+   * The rows are inserted and the ones that conflict with a unique index on the key columns are updated instead, so
+   * it also works before PostgreSQL 15, which introduced MERGE.
+   */
+  @Override
+  public String getMergeStatement( String targetTable, String stagingTable, String[] keyColumns,
+    String[] updateColumns, String[] insertColumns ) {
+    if ( updateColumns.length == 0 && insertColumns == null ) {
+      return null;
+    }
+    StringBuilder sql = new StringBuilder();
+    if ( insertColumns == null ) {
+      sql.append( "UPDATE " ).append( targetTable ).append( " t SET " );
+      for ( int i = 0; i < updateColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( updateColumns[i] ).append( " = s." ).append( updateColumns[i] );
+      }
+      sql.append( " FROM " ).append( stagingTable ).append( " s WHERE " );
+      for ( int i = 0; i < keyColumns.length; i++ ) {
+        sql.append( i > 0 ? " AND " : "" ).append( "t." ).append( keyColumns[i] ).append( " = s." )
+          .append( keyColumns[i] );
+      }
+      return sql.toString();
+    }
+
+    String columns = String.join( ", ", insertColumns );
+    sql.append( "INSERT INTO " ).append( targetTable ).append( " ( " ).append( columns ).append( " ) SELECT " )
+      .append( columns ).append( " FROM " ).append( stagingTable ).append( " ON CONFLICT ( " )
+      .append( String.join( ", ", keyColumns ) ).append( " ) DO " );
+    if ( updateColumns.length == 0 ) {
+      sql.append( "NOTHING" );
+    } else {
+      sql.append( "UPDATE SET " );
+      for ( int i = 0; i < updateColumns.length; i++ ) {
+        sql.append( i > 0 ? ", " : "" ).append( updateColumns[i] ).append( " = EXCLUDED." ).append( updateColumns[i] );
+      }
+    }
+    return sql.toString();
+  }
+
   @Override
   public String getSQLQueryFields( String tableName ) {
     return "SELECT * FROM " + tableName + getLimitClause( 1 );
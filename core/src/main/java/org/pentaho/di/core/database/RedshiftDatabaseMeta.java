@@ -106,6 +106,14 @@ public class RedshiftDatabaseMeta extends PostgreSQLDatabaseMeta {
     return false;
   }
 
+  /**
+   * Redshift does not have the HASHTEXT function of PostgreSQL
+   */
+  @Override
+  public String getHashModuloExpression( String expression, int buckets ) {
+    return "ABS( MOD( FNV_HASH( " + expression + " ), " + buckets + " ) )";
+  }
+
   @Override
   public String[] getUsedLibraries() {
     return new String[] { "RedshiftJDBC4_1.0.10.1010.jar" };
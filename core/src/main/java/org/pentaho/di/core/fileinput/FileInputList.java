@@ -286,6 +286,8 @@ public class FileInputList {
                 }
               }
             } );
+            // The listing read the attributes of the files, keep them for the steps that look the files up by name
+            KettleVFS.getInstance().getFileObjectCache().putAll( fileObjects );
             if ( fileObjects != null ) {
               for ( int j = 0; j < fileObjects.length; j++ ) {
                 FileObject fileObject = fileObjects[ j ];
@@ -422,6 +424,7 @@ public class FileInputList {
               }
             }
           } );
+          KettleVFS.getInstance().getFileObjectCache().putAll( fileObjects );
           if ( fileObjects != null ) {
             for ( int j = 0; j < fileObjects.length; j++ ) {
               if ( fileObjects[ j ].exists() ) {
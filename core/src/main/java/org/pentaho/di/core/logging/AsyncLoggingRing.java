@@ -0,0 +1,222 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A ring of preallocated slots through which the logging threads hand their events to a single consumer thread, which
+ * adds them to the logging buffer, its listeners and the file writers. A logging thread only claims a slot with an
+ * atomic increment and fills it, it never takes a lock. When the ring is full, the logging threads wait for the
+ * consumer, no events are dropped.
+ */
+class AsyncLoggingRing {
+  /** The time a logging thread waits for a full ring to have room again */
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos( 50 );
+
+  /** The longest time the consumer sleeps when there are no events */
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos( 10 );
+
+  /** The longest time to wait for the consumer thread to stop */
+  private static final long CLOSE_MILLIS = TimeUnit.SECONDS.toMillis( 5 );
+
+  /** The largest number of slots */
+  static final int MAX_CAPACITY = 1 << 20;
+
+  private final LoggingBuffer buffer;
+  private final Slot[] slots;
+  private final int mask;
+
+  /** The sequence number of the next slot to claim */
+  private final AtomicLong claimed = new AtomicLong();
+
+  /** The sequence number of the next slot to consume, all the slots before it are consumed */
+  private volatile long consumed;
+
+  private volatile boolean consumerWaiting;
+  private volatile boolean running = true;
+
+  private final Thread consumer;
+  private final Thread shutdownHook;
+
+  /**
+   * @param buffer
+   *          the buffer to add the events to
+   * @param capacity
+   *          the number of slots, rounded up to a power of two
+   */
+  AsyncLoggingRing( LoggingBuffer buffer, int capacity ) {
+    this.buffer = buffer;
+    int size = Integer.highestOneBit( Math.min( Math.max( 2, capacity ), MAX_CAPACITY ) - 1 ) << 1;
+    this.slots = new Slot[ size ];
+    for ( int i = 0; i < size; i++ ) {
+      slots[ i ] = new Slot();
+    }
+    this.mask = size - 1;
+
+    consumer = new Thread( this::consume, "Kettle asynchronous logging" );
+    consumer.setDaemon( true );
+    consumer.start();
+
+    // Don't lose the last lines when the JVM exits
+    shutdownHook = new Thread( () -> flush( TimeUnit.SECONDS.toMillis( 5 ) ) );
+    Runtime.getRuntime().addShutdownHook( shutdownHook );
+  }
+
+  /**
+   * @return the number of slots
+   */
+  int getCapacity() {
+    return slots.length;
+  }
+
+  /**
+   * Hand an event to the consumer thread. The event is delivered right away when the ring is closed, or when the
+   * consumer logs something itself, from a listener for instance.
+   *
+   * @param event
+   *          the event to deliver
+   * @param channel
+   *          the channel that logged the event, which delivers it
+   */
+  void publish( KettleLoggingEvent event, LogChannel channel ) {
+    if ( !running || Thread.currentThread() == consumer ) {
+      channel.deliver( buffer, event );
+      return;
+    }
+
+    long sequence = claimed.getAndIncrement();
+    while ( sequence - consumed >= slots.length ) {
+      LockSupport.parkNanos( this, FULL_PARK_NANOS );
+    }
+    Slot slot = slots[ (int) sequence & mask ];
+    slot.event = event;
+    slot.channel = channel;
+    slot.sequence = sequence; // publishes the event to the consumer
+
+    if ( !running ) {
+      // The consumer may have stopped before this slot was claimed
+      drainClosed();
+      return;
+    }
+    if ( consumerWaiting ) {
+      consumerWaiting = false;
+      LockSupport.unpark( consumer );
+    }
+  }
+
+  /**
+   * Wait until the events that are published so far are delivered.
+   *
+   * @param timeoutMillis
+   *          the maximum time to wait
+   * @return true if the events are delivered, false if the time ran out
+   */
+  boolean flush( long timeoutMillis ) {
+    if ( Thread.currentThread() == consumer ) {
+      return true;
+    }
+    long target = claimed.get();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( timeoutMillis );
+    while ( consumed < target ) {
+      if ( System.nanoTime() - deadline > 0 || !consumer.isAlive() ) {
+        return false;
+      }
+      LockSupport.parkNanos( this, FULL_PARK_NANOS );
+    }
+    return true;
+  }
+
+  /**
+   * Deliver the remaining events and stop the consumer thread. The events published after this are delivered by the
+   * logging threads themselves.
+   */
+  void close() {
+    running = false;
+    LockSupport.unpark( consumer );
+    drainClosed();
+    try {
+      Runtime.getRuntime().removeShutdownHook( shutdownHook );
+    } catch ( IllegalStateException e ) {
+      // The JVM is shutting down already
+    }
+  }
+
+  private void consume() {
+    long next = 0;
+    while ( running || next < claimed.get() ) {
+      Slot slot = slots[ (int) next & mask ];
+      if ( slot.sequence != next ) {
+        consumerWaiting = true;
+        if ( slot.sequence != next ) {
+          LockSupport.parkNanos( this, IDLE_PARK_NANOS );
+        }
+        consumerWaiting = false;
+        continue;
+      }
+
+      deliver( slot );
+      consumed = ++next;
+    }
+  }
+
+  /**
+   * Deliver the events that are left in the ring once the consumer thread stopped. A slot that is claimed but not
+   * filled yet is left to its logging thread, which drains the ring itself after filling it.
+   */
+  private synchronized void drainClosed() {
+    try {
+      consumer.join( CLOSE_MILLIS );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    if ( consumer.isAlive() ) {
+      return;
+    }
+    long next = consumed;
+    while ( next < claimed.get() ) {
+      Slot slot = slots[ (int) next & mask ];
+      if ( slot.sequence != next ) {
+        break;
+      }
+      deliver( slot );
+      consumed = ++next;
+    }
+  }
+
+  private void deliver( Slot slot ) {
+    KettleLoggingEvent event = slot.event;
+    LogChannel channel = slot.channel;
+    slot.event = null;
+    slot.channel = null;
+    try {
+      channel.deliver( buffer, event );
+    } catch ( RuntimeException e ) {
+      // A failing listener must not stop the logging
+      KettleLogStore.OriginalSystemErr.println( "Unable to deliver a log line: " + e );
+    }
+  }
+
+  /**
+   * A slot of the ring. The sequence number is written last, after the event, to publish it.
+   */
+  private static final class Slot {
+    private volatile long sequence = -1L;
+    private KettleLoggingEvent event;
+    private LogChannel channel;
+  }
+}
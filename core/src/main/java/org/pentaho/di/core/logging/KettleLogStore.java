@@ -20,6 +20,7 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.EnvUtil;
 
@@ -28,6 +29,9 @@ public class KettleLogStore {
   public static PrintStream OriginalSystemOut = System.out;
   public static PrintStream OriginalSystemErr = System.err;
 
+  /** The number of log lines that can wait for the consumer thread in asynchronous mode, when none is set */
+  static final int DEFAULT_ASYNC_LOGGING_RING_SIZE = 8192;
+
   private static KettleLogStore store;
 
   private LoggingBuffer appender;
@@ -58,6 +62,11 @@ public class KettleLogStore {
     this.appender = new LoggingBuffer( maxSize );
     replaceLogCleaner( maxLogTimeoutMinutes );
 
+    if ( "Y".equalsIgnoreCase( EnvUtil.getSystemProperty( Const.KETTLE_ASYNC_LOGGING, "N" ) ) ) {
+      appender.startAsync( Const.toInt( EnvUtil.getSystemProperty( Const.KETTLE_ASYNC_LOGGING_RING_SIZE ),
+        DEFAULT_ASYNC_LOGGING_RING_SIZE ) );
+    }
+
     if ( redirectStdOut ) {
       System.setOut( new LoggingPrintStream( OriginalSystemOut ) );
     }
@@ -213,6 +222,23 @@ public class KettleLogStore {
     return getInstance().appender.getLogBufferFromTo( channelId, includeGeneral, from, to );
   }
 
+  /**
+   * Get the log lines for the specified parent log channel id (including all children) that are logged since the
+   * previous call, to follow the log of a running transformation or job.
+   *
+   * @param parentLogChannelId
+   *          the parent log channel ID to grab
+   * @param includeGeneral
+   *          include general log lines
+   * @param lastNr
+   *          the number of the last line read before, 0 the first time; returns the number to pass the next time
+   * @return the log lines found
+   */
+  public static List<KettleLoggingEvent> getLogBufferSince( String parentLogChannelId, boolean includeGeneral,
+    MutableInt lastNr ) {
+    return getInstance().appender.getLogBufferSince( parentLogChannelId, includeGeneral, lastNr );
+  }
+
   /**
    * @return The appender that represents the central logging store. It is capable of giving back log rows in an
    *         incremental fashion, etc.
@@ -258,6 +284,7 @@ public class KettleLogStore {
 
   public void reset() {
     if ( initialized.compareAndSet( true, false ) ) {
+      appender.stopAsync();
       appender = null;
       if ( logCleanerTimer != null ) {
         logCleanerTimer.cancel();
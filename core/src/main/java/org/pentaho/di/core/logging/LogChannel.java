@@ -126,7 +126,23 @@ public class LogChannel implements LogChannelInterface {
 
     KettleLoggingEvent loggingEvent = new KettleLoggingEvent( logMessage, System.currentTimeMillis(),
       logMessage.getLevel() );
-    KettleLogStore.getAppender().addLogggingEvent( loggingEvent );
+    LoggingBuffer appender = KettleLogStore.getAppender();
+    if ( appender.isAsync() ) {
+      // The consumer thread of the buffer delivers it
+      appender.publish( loggingEvent, this );
+    } else {
+      deliver( appender, loggingEvent );
+    }
+
+    callAfterLog();
+  }
+
+  /**
+   * Add an event of this channel to the central log buffer, which passes it on to its listeners, and to the file
+   * writer of this channel. In asynchronous mode this is done by the consumer thread of the buffer.
+   */
+  void deliver( LoggingBuffer appender, KettleLoggingEvent loggingEvent ) {
+    appender.addLogggingEvent( loggingEvent );
 
     if ( this.fileWriter == null ) {
       this.fileWriter = LoggingRegistry.getInstance().getLogChannelFileWriterBuffer( logChannelId );
@@ -136,8 +152,6 @@ public class LogChannel implements LogChannelInterface {
     if ( this.fileWriter != null ) {
       this.fileWriter.addEvent( loggingEvent );
     }
-
-    callAfterLog();
   }
 
   public void println( LogMessageInterface message, Throwable e, LogLevel channelLogLevel ) {
@@ -150,67 +164,93 @@ public class LogChannel implements LogChannelInterface {
 
   @Override
   public void logMinimal( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.MINIMAL ), logLevel );
+    if ( LogLevel.MINIMAL.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.MINIMAL ), logLevel );
+    }
   }
 
   @Override
   public void logBasic( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.BASIC ), logLevel );
+    if ( LogLevel.BASIC.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.BASIC ), logLevel );
+    }
   }
 
   @Override
   public void logError( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.ERROR ), logLevel );
+    if ( LogLevel.ERROR.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.ERROR ), logLevel );
+    }
   }
 
   @Override
   public void logError( String s, Throwable e ) {
-    println( new LogMessage( s, logChannelId, LogLevel.ERROR ), e, logLevel );
+    if ( LogLevel.ERROR.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.ERROR ), e, logLevel );
+    }
   }
 
   @Override
   public void logBasic( String s, Object... arguments ) {
-    println( new LogMessage( s, logChannelId, arguments, LogLevel.BASIC ), logLevel );
+    if ( LogLevel.BASIC.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, arguments, LogLevel.BASIC ), logLevel );
+    }
   }
 
   @Override
   public void logDetailed( String s, Object... arguments ) {
-    println( new LogMessage( s, logChannelId, arguments, LogLevel.DETAILED ), logLevel );
+    if ( LogLevel.DETAILED.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, arguments, LogLevel.DETAILED ), logLevel );
+    }
   }
 
   @Override
   public void logError( String s, Object... arguments ) {
-    println( new LogMessage( s, logChannelId, arguments, LogLevel.ERROR ), logLevel );
+    if ( LogLevel.ERROR.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, arguments, LogLevel.ERROR ), logLevel );
+    }
   }
 
   @Override
   public void logDetailed( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.DETAILED ), logLevel );
+    if ( LogLevel.DETAILED.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.DETAILED ), logLevel );
+    }
   }
 
   @Override
   public void logDebug( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.DEBUG ), logLevel );
+    if ( LogLevel.DEBUG.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.DEBUG ), logLevel );
+    }
   }
 
   @Override
   public void logDebug( String message, Object... arguments ) {
-    println( new LogMessage( message, logChannelId, arguments, LogLevel.DEBUG ), logLevel );
+    if ( LogLevel.DEBUG.isVisible( logLevel ) ) {
+      println( new LogMessage( message, logChannelId, arguments, LogLevel.DEBUG ), logLevel );
+    }
   }
 
   @Override
   public void logRowlevel( String s ) {
-    println( new LogMessage( s, logChannelId, LogLevel.ROWLEVEL ), logLevel );
+    if ( LogLevel.ROWLEVEL.isVisible( logLevel ) ) {
+      println( new LogMessage( s, logChannelId, LogLevel.ROWLEVEL ), logLevel );
+    }
   }
 
   @Override
   public void logMinimal( String message, Object... arguments ) {
-    println( new LogMessage( message, logChannelId, arguments, LogLevel.MINIMAL ), logLevel );
+    if ( LogLevel.MINIMAL.isVisible( logLevel ) ) {
+      println( new LogMessage( message, logChannelId, arguments, LogLevel.MINIMAL ), logLevel );
+    }
   }
 
   @Override
   public void logRowlevel( String message, Object... arguments ) {
-    println( new LogMessage( message, logChannelId, arguments, LogLevel.ROWLEVEL ), logLevel );
+    if ( LogLevel.ROWLEVEL.isVisible( logLevel ) ) {
+      println( new LogMessage( message, logChannelId, arguments, LogLevel.ROWLEVEL ), logLevel );
+    }
   }
 
   @Override
@@ -18,13 +18,18 @@ import org.apache.commons.lang3.mutable.MutableInt;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.Utils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.NoSuchElementException;
@@ -41,6 +46,12 @@ public class LoggingBuffer {
 
   private ConcurrentSkipListMap<Integer, BufferLine> buffer;
 
+  /**
+   * The lines of the buffer per log channel, so the lines of an execution are found without a walk over the lines of
+   * all the others. A channel is removed as soon as it has no more lines in the buffer.
+   */
+  private final Map<String, ConcurrentSkipListMap<Integer, BufferLine>> channelLines = new ConcurrentHashMap<>();
+
   //Keeps track of the lead line number sent for a tail.  So the next time it can start from there instead of filtering
   //the entire buffer.  This matters when bufferSize is large
   private Map<String, Integer> tailMap = new ConcurrentHashMap<>();
@@ -49,12 +60,25 @@ public class LoggingBuffer {
 
   private int bufferSize;
 
+  /**
+   * The number of lines in the buffer: the size of the skip list takes a walk over all its lines
+   */
+  private final AtomicInteger nrLines = new AtomicInteger();
+
   private KettleLogLayout layout;
 
   private List<KettleLoggingEventListener> eventListeners;
 
   private LoggingRegistry loggingRegistry = LoggingRegistry.getInstance();
 
+  /**
+   * Hands the events of the logging threads to a consumer thread in asynchronous mode, null otherwise
+   */
+  private volatile AsyncLoggingRing asyncRing;
+
+  /** The longest time reading the buffer waits for the events that are not delivered yet */
+  private static final long FLUSH_TIMEOUT_MILLIS = 5000L;
+
   public LoggingBuffer( int bufferSize ) {
     this.bufferSize = bufferSize;
     buffer = new ConcurrentSkipListMap<>();
@@ -66,6 +90,7 @@ public class LoggingBuffer {
    * @return the number (sequence, 1..N) of the last log line. If no records are present in the buffer, 0 is returned.
    */
   public int getLastBufferLineNr() {
+    flush();
     try {
       return buffer.lastKey();
     } catch ( NoSuchElementException e ) {
@@ -99,6 +124,7 @@ public class LoggingBuffer {
     if ( from > to ) {
       return Collections.<KettleLoggingEvent>emptyList();
     }
+    flush();
     Integer lastLineUsed;
     if ( tailLines > 0 && !Utils.isEmpty( parentLogChannelId )
       && ( lastLineUsed = tailMap.get( parentLogChannelId ) ) != null ) {
@@ -109,13 +135,11 @@ public class LoggingBuffer {
     //  "****" + channelId.get( 0 ) + "   size:" + channelId.size() + "  general:" + includeGeneral + "  from:" + from
     //    + "  to:" + to + "  tailLines: " + tailLines );
 
-    Stream<BufferLine> bufferStream = buffer.subMap( from, true, to, true ).values().stream();
-    if ( !Utils.isEmpty( channelId ) ) {
-      bufferStream = bufferStream.filter( line -> {
-        String logChannelId = getLogChId( line );
-        return includeGeneral ? isGeneral( logChannelId ) || channelId.contains( logChannelId )
-          : channelId.contains( logChannelId );
-      } );
+    Stream<BufferLine> bufferStream;
+    if ( Utils.isEmpty( channelId ) ) {
+      bufferStream = buffer.subMap( from, true, to, true ).values().stream();
+    } else {
+      bufferStream = getChannelLines( channelId, includeGeneral, from, to ).stream();
     }
 
     if ( tailLines > 0 ) {
@@ -196,9 +220,28 @@ public class LoggingBuffer {
    * @return
    */
   public StringBuffer getBuffer( String parentLogChannelId, boolean includeGeneral, MutableInt newLastNr ) {
-    int startLine = newLastNr.addAndGet( 1 );
-    newLastNr.setValue( getLastBufferLineNr() );
-    return getBuffer( parentLogChannelId, includeGeneral, startLine, newLastNr.getValue() );
+    StringBuilder eventBuffer = new StringBuilder( 10000 );
+    for ( KettleLoggingEvent event : getLogBufferSince( parentLogChannelId, includeGeneral, newLastNr ) ) {
+      eventBuffer.append( layout.format( event ) ).append( Const.CR );
+    }
+    return new StringBuffer( eventBuffer );
+  }
+
+  /**
+   * Get the lines that are logged since the previous call, to follow the log of a running transformation or job
+   * without reading it from the start every time.
+   *
+   * @param parentLogChannelId the parent log channel ID to grab
+   * @param includeGeneral     include general log lines
+   * @param lastNr             receives the number of the last line that was read before, 0 the first time, and
+   *                           returns the number of the last line in the buffer, to pass the next time
+   * @return the lines logged after the given line number
+   */
+  public List<KettleLoggingEvent> getLogBufferSince( String parentLogChannelId, boolean includeGeneral,
+                                                     MutableInt lastNr ) {
+    int startLine = lastNr.getValue() + 1;
+    lastNr.setValue( getLastBufferLineNr() );
+    return getLogBufferFromTo( parentLogChannelId, includeGeneral, startLine, lastNr.getValue() );
   }
 
   public StringBuffer getBuffer() {
@@ -211,9 +254,17 @@ public class LoggingBuffer {
   public void doAppend( KettleLoggingEvent event ) {
     if ( event.getMessage() instanceof LogMessage ) {
       BufferLine bufferLine = new BufferLine( event );
+      // Index the line first, so a concurrent trim that removes it from the buffer also removes it from the index
+      addToChannel( bufferLine );
       buffer.put( bufferLine.getNr(), bufferLine );
-      while ( bufferSize > 0 && buffer.size() > bufferSize ) {
-        buffer.remove( buffer.firstKey() );
+      nrLines.incrementAndGet();
+      while ( bufferSize > 0 && nrLines.get() > bufferSize ) {
+        Map.Entry<Integer, BufferLine> first = buffer.pollFirstEntry();
+        if ( first == null ) {
+          break;
+        }
+        nrLines.decrementAndGet();
+        removeFromChannel( first.getValue() );
       }
     }
   }
@@ -239,7 +290,12 @@ public class LoggingBuffer {
   }
 
   public void clear() {
-    buffer.clear();
+    flush();
+    Map.Entry<Integer, BufferLine> first;
+    while ( ( first = buffer.pollFirstEntry() ) != null ) {
+      nrLines.decrementAndGet();
+      removeFromChannel( first.getValue() );
+    }
   }
 
   /**
@@ -260,7 +316,8 @@ public class LoggingBuffer {
    * @return the nrLines
    */
   public int getNrLines() {
-    return buffer.size();
+    flush();
+    return nrLines.get();
   }
 
   /**
@@ -269,24 +326,24 @@ public class LoggingBuffer {
    * @param id the id of the logging channel to remove
    */
   public void removeChannelFromBuffer( String id ) {
-    buffer.values().stream().filter( line -> id.equals( getLogChId( line ) ) ).forEach( line -> buffer.remove( line.getNr() ) );
+    flush();
+    ConcurrentSkipListMap<Integer, BufferLine> lines = channelLines.get( id );
+    if ( lines != null ) {
+      lines.keySet().forEach( this::removeLine );
+    }
     tailMap.remove( id );
-
-/*    for ( BufferLine line : buffer.values() ) {
-      if ( id.equals( getLogChId( line ) ) ) {
-        buffer.remove( line.getNr() );
-      }
-    }*/
   }
 
   public int size() {
-    return buffer.size();
+    flush();
+    return nrLines.get();
   }
 
   public void removeGeneralMessages() {
-    for ( BufferLine line : buffer.values() ) {
-      if ( isGeneral( getLogChId( line ) ) ) {
-        buffer.remove( line.getNr() );
+    flush();
+    for ( String logChannelId : channelLines.keySet() ) {
+      if ( isGeneral( logChannelId ) ) {
+        removeChannelFromBuffer( logChannelId );
       }
     }
   }
@@ -326,7 +383,7 @@ public class LoggingBuffer {
    */
   @Deprecated
   public void removeBufferLines( List<BufferLine> linesToRemove ) {
-    linesToRemove.stream().forEach( v -> buffer.remove( v.getNr() ) );
+    linesToRemove.stream().forEach( v -> removeLine( v.getNr() ) );
   }
 
   /**
@@ -340,7 +397,72 @@ public class LoggingBuffer {
   }
 
   public void removeBufferLinesBefore( long minTimeBoundary ) {
-    buffer.values().stream().filter( v -> v.getEvent().timeStamp < minTimeBoundary ).forEach( v -> buffer.remove( v.getNr() ) );
+    buffer.values().stream().filter( v -> v.getEvent().timeStamp < minTimeBoundary ).forEach( v -> removeLine( v.getNr() ) );
+  }
+
+  private void removeLine( int nr ) {
+    BufferLine line = buffer.remove( nr );
+    if ( line != null ) {
+      nrLines.decrementAndGet();
+      removeFromChannel( line );
+    }
+  }
+
+  /**
+   * Collect the lines of the given channels from the index, instead of filtering all the lines of the buffer.
+   *
+   * @return the lines between the given numbers, in the order they are logged
+   */
+  private List<BufferLine> getChannelLines( List<String> channelIds, boolean includeGeneral, int from, int to ) {
+    Set<String> ids = new HashSet<>( channelIds );
+    if ( includeGeneral ) {
+      for ( String logChannelId : channelLines.keySet() ) {
+        if ( !ids.contains( logChannelId ) && isGeneral( logChannelId ) ) {
+          ids.add( logChannelId );
+        }
+      }
+    }
+
+    List<BufferLine> lines = new ArrayList<>();
+    int nrChannels = 0;
+    for ( String logChannelId : ids ) {
+      ConcurrentSkipListMap<Integer, BufferLine> channel =
+        logChannelId == null ? null : channelLines.get( logChannelId );
+      if ( channel != null ) {
+        int size = lines.size();
+        lines.addAll( channel.subMap( from, true, to, true ).values() );
+        if ( lines.size() > size ) {
+          nrChannels++;
+        }
+      }
+    }
+    if ( nrChannels > 1 ) {
+      lines.sort( Comparator.comparingInt( BufferLine::getNr ) );
+    }
+    return lines;
+  }
+
+  private void addToChannel( BufferLine line ) {
+    String logChannelId = getLogChId( line );
+    if ( logChannelId != null ) {
+      channelLines.compute( logChannelId, ( id, lines ) -> {
+        if ( lines == null ) {
+          lines = new ConcurrentSkipListMap<>();
+        }
+        lines.put( line.getNr(), line );
+        return lines;
+      } );
+    }
+  }
+
+  private void removeFromChannel( BufferLine line ) {
+    String logChannelId = getLogChId( line );
+    if ( logChannelId != null ) {
+      channelLines.computeIfPresent( logChannelId, ( id, lines ) -> {
+        lines.remove( line.getNr() );
+        return lines.isEmpty() ? null : lines;
+      } );
+    }
   }
 
   public void addLogggingEvent( KettleLoggingEvent loggingEvent ) {
@@ -348,6 +470,64 @@ public class LoggingBuffer {
     eventListeners.forEach( event -> event.eventAdded( loggingEvent ) );
   }
 
+  /**
+   * Deliver the logged events through a consumer thread, so the logging threads don't wait for the buffer, the
+   * listeners and the file writers.
+   *
+   * @param capacity
+   *          the number of events that can wait for the consumer thread, rounded up to a power of two
+   */
+  public synchronized void startAsync( int capacity ) {
+    if ( asyncRing == null ) {
+      asyncRing = new AsyncLoggingRing( this, capacity );
+    }
+  }
+
+  /**
+   * Deliver the remaining events and go back to delivering the events on the logging threads.
+   */
+  public synchronized void stopAsync() {
+    AsyncLoggingRing ring = asyncRing;
+    if ( ring != null ) {
+      asyncRing = null;
+      ring.close();
+    }
+  }
+
+  /**
+   * @return true if the events are delivered by a consumer thread
+   */
+  public boolean isAsync() {
+    return asyncRing != null;
+  }
+
+  /**
+   * Hand an event to the consumer thread, or deliver it right away if the buffer is not asynchronous.
+   *
+   * @param loggingEvent
+   *          the logged event
+   * @param channel
+   *          the channel that logged the event
+   */
+  void publish( KettleLoggingEvent loggingEvent, LogChannel channel ) {
+    AsyncLoggingRing ring = asyncRing;
+    if ( ring != null ) {
+      ring.publish( loggingEvent, channel );
+    } else {
+      channel.deliver( this, loggingEvent );
+    }
+  }
+
+  /**
+   * Wait until the events that are logged so far are in the buffer, when they are delivered by a consumer thread.
+   */
+  public void flush() {
+    AsyncLoggingRing ring = asyncRing;
+    if ( ring != null ) {
+      ring.flush( FLUSH_TIMEOUT_MILLIS );
+    }
+  }
+
   public void addLoggingEventListener( KettleLoggingEventListener listener ) {
     eventListeners.add( listener );
   }
@@ -13,14 +13,34 @@
 
 package org.pentaho.di.core.plugins;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.vfs2.FileObject;
 import org.pentaho.di.core.exception.KettleFileException;
+import org.pentaho.di.core.logging.KettleLogStore;
+import org.pentaho.di.core.logging.LogChannel;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.scannotation.AnnotationDB;
 
+/**
+ * Caches the jar files of the plugin folders and the annotations found in them while the plugins are registered. The
+ * annotations of local jar files are also kept in a {@link PluginScanIndex}, so unchanged jar files aren't scanned
+ * again at the next start.
+ */
 public class JarFileCache {
 
   private static JarFileCache cache;
@@ -29,12 +49,14 @@ public class JarFileCache {
 
   private final Map<FileObject, AnnotationDB> annotationMap;
 
+  private PluginScanIndex index;
+
   private JarFileCache() {
-    annotationMap = new HashMap<>();
-    folderMap = new HashMap<>();
+    annotationMap = new ConcurrentHashMap<>();
+    folderMap = new ConcurrentHashMap<>();
   }
 
-  public static JarFileCache getInstance() {
+  public static synchronized JarFileCache getInstance() {
     if ( cache == null ) {
       cache = new JarFileCache();
     }
@@ -44,8 +66,20 @@ public class JarFileCache {
   public AnnotationDB getAnnotationDB( FileObject fileObject ) throws IOException {
     AnnotationDB result = annotationMap.get( fileObject );
     if ( result == null ) {
+      File jarFile = getLocalFile( fileObject );
+      PluginScanIndex scanIndex = jarFile == null ? null : getIndex();
+      Map<String, Set<String>> indexed = scanIndex == null ? null : scanIndex.get( jarFile );
       result = new AnnotationDB();
-      result.scanArchives( fileObject.getURL() );
+      if ( indexed != null ) {
+        for ( Map.Entry<String, Set<String>> entry : indexed.entrySet() ) {
+          result.getAnnotationIndex().put( entry.getKey(), new HashSet<>( entry.getValue() ) );
+        }
+      } else {
+        result.scanArchives( fileObject.getURL() );
+        if ( scanIndex != null ) {
+          scanIndex.put( jarFile, result.getAnnotationIndex() );
+        }
+      }
       annotationMap.put( fileObject, result );
     }
     return result;
@@ -60,8 +94,98 @@ public class JarFileCache {
     return result;
   }
 
+  /**
+   * Find the annotations in the jar files of the given plugin folders up front, several jar files at a time, so the
+   * plugin types find them in the cache when they register their plugins one after the other.
+   *
+   * @param pluginFolders
+   *          the plugin folders to scan, only the annotation folders are scanned
+   */
+  public void preload( Collection<PluginFolderInterface> pluginFolders ) {
+    Set<FileObject> jarFiles = new LinkedHashSet<>();
+    for ( PluginFolderInterface pluginFolder : pluginFolders ) {
+      if ( pluginFolder.isPluginAnnotationsFolder() ) {
+        try {
+          for ( FileObject fileObject : getFileObjects( pluginFolder ) ) {
+            if ( !annotationMap.containsKey( fileObject ) ) {
+              jarFiles.add( fileObject );
+            }
+          }
+        } catch ( KettleFileException e ) {
+          // The plugin type reports it when it searches the folder itself
+        }
+      }
+    }
+    if ( jarFiles.size() < 2 ) {
+      return;
+    }
+
+    Queue<FileObject> queue = new ConcurrentLinkedQueue<>( jarFiles );
+    int nrWorkers = Math.min( jarFiles.size(), Runtime.getRuntime().availableProcessors() );
+    List<Future<?>> workers = new ArrayList<>( nrWorkers );
+    for ( int i = 0; i < nrWorkers; i++ ) {
+      workers.add( ExecutorUtil.getExecutor().submit( () -> {
+        FileObject fileObject;
+        while ( ( fileObject = queue.poll() ) != null ) {
+          try {
+            getAnnotationDB( fileObject );
+          } catch ( Exception e ) {
+            // Scanned again, and reported, when the plugin types look for their plugins
+          }
+        }
+      } ) );
+    }
+    for ( Future<?> worker : workers ) {
+      try {
+        worker.get();
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch ( ExecutionException e ) {
+        // The remaining jar files are scanned when they are needed
+      }
+    }
+  }
+
+  /**
+   * Write the annotations found so far to the plugin scan index, and release the index.
+   */
+  public synchronized void saveIndex() {
+    if ( index != null ) {
+      try {
+        index.save();
+      } catch ( IOException e ) {
+        if ( KettleLogStore.isInitialized() ) {
+          LogChannel.GENERAL.logDetailed( "Unable to save the plugin scan index", e );
+        }
+      }
+      index = null;
+    }
+  }
+
   public void clear() {
     annotationMap.clear();
     folderMap.clear();
   }
+
+  private synchronized PluginScanIndex getIndex() {
+    if ( index == null && PluginScanIndex.isEnabled() ) {
+      index = new PluginScanIndex( PluginScanIndex.getFilename() );
+    }
+    return index;
+  }
+
+  /**
+   * @return the jar file on the local file system, null if it is elsewhere
+   */
+  private static File getLocalFile( FileObject fileObject ) {
+    try {
+      if ( !"file".equals( fileObject.getName().getScheme() ) ) {
+        return null;
+      }
+      return new File( URLDecoder.decode( fileObject.getURL().getFile(), "UTF-8" ) );
+    } catch ( Exception e ) {
+      return null;
+    }
+  }
 }
@@ -45,6 +45,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -70,6 +71,17 @@ public class PluginRegistry {
   private static final Set<PluginTypeInterface> pluginTypes = Collections.newSetFromMap( new ConcurrentHashMap<PluginTypeInterface, Boolean>() );
   private static final Set<PluginRegistryExtension> extensions = Collections.newSetFromMap( new ConcurrentHashMap<PluginRegistryExtension, Boolean>() );
 
+  /**
+   * The plugin types that are not searched for plugins yet, in lazy mode, see {@link Const#KETTLE_PLUGIN_LAZY_INIT}
+   */
+  private static final Map<Class<? extends PluginTypeInterface>, PluginTypeInterface> deferredTypes =
+    new ConcurrentHashMap<>();
+
+  /**
+   * The deferred plugin types that the thread holding the lock on {@link #deferredTypes} is registering right now
+   */
+  private static final Set<Class<? extends PluginTypeInterface>> registeringTypes = new HashSet<>();
+
   private static final String SUPPLEMENTALS_SUFFIX = "-supplementals";
 
   public static final LogChannelInterface log = new LogChannel( "PluginRegistry", true );
@@ -270,6 +282,7 @@ public class PluginRegistry {
    * @return The list of plugins
    */
   public <T extends PluginInterface, K extends PluginTypeInterface> List<T> getPlugins( Class<K> type ) {
+    registerDeferredTypes( type );
     List<T> result;
     lock.readLock().lock();
     try {
@@ -327,7 +340,8 @@ public class PluginRegistry {
    *         registry in any way.
    */
   public List<String> getCategories( Class<? extends PluginTypeInterface> pluginType ) {
-    
+    registerDeferredTypes( pluginType );
+
     // First attempt to read the cache for the category
     lock.readLock().lock();
     try {
@@ -566,6 +580,19 @@ public class PluginRegistry {
   public static void init( boolean keepCache ) throws KettlePluginException {
     final PluginRegistry registry = getInstance();
 
+    // Find the annotations in the plugin jar files of all the plugin types at once, from the plugin scan index where
+    // possible, before the types are registered one after the other
+    //
+    boolean lazy = isLazyInit();
+    Set<PluginFolderInterface> pluginFolders = new LinkedHashSet<>();
+    addPluginFolders( pluginFolders, PluginRegistryPluginType.getInstance() );
+    if ( !lazy ) {
+      for ( PluginTypeInterface pluginType : pluginTypes ) {
+        addPluginFolders( pluginFolders, pluginType );
+      }
+    }
+    JarFileCache.getInstance().preload( pluginFolders );
+
     log.snap( Metrics.METRIC_PLUGIN_REGISTRY_REGISTER_EXTENSIONS_START );
 
     // Find pluginRegistry extensions
@@ -586,6 +613,12 @@ public class PluginRegistry {
 
     log.snap( Metrics.METRIC_PLUGIN_REGISTRY_PLUGIN_REGISTRATION_START );
     for ( final PluginTypeInterface pluginType : pluginTypes ) {
+      if ( lazy ) {
+        // Searched for plugins when they are asked for the first time
+        registry.registerPluginType( pluginType.getClass() );
+        deferredTypes.put( pluginType.getClass(), pluginType );
+        continue;
+      }
       log.snap( Metrics.METRIC_PLUGIN_REGISTRY_PLUGIN_TYPE_REGISTRATION_START, pluginType.getName() );
       registry.registerType( pluginType );
       log.snap( Metrics.METRIC_PLUGIN_REGISTRY_PLUGIN_TYPE_REGISTRATION_STOP, pluginType.getName() );
@@ -602,13 +635,70 @@ public class PluginRegistry {
      * System.out.println("   - "+duration.toString()+"          Total="+total); }
      */
 
-    // Clear the jar file cache so that we don't waste memory...
+    // Keep the annotations found for the next start, and clear the jar file cache so that we don't waste memory...
     //
+    JarFileCache.getInstance().saveIndex();
     if ( !keepCache ) {
       JarFileCache.getInstance().clear();
     }
   }
 
+  /**
+   * @return true if the plugin types are searched for plugins when they are first used instead of at init
+   */
+  public static boolean isLazyInit() {
+    return "Y".equalsIgnoreCase( EnvUtil.getSystemProperty( Const.KETTLE_PLUGIN_LAZY_INIT, "N" ) );
+  }
+
+  /**
+   * Search the plugin types that are deferred in lazy mode for their plugins, if they are the given type or extend it.
+   * Called before the registry is locked, the plugin types register their plugins themselves. A type stays deferred
+   * until all its plugins are registered, so the other threads asking for it wait until then.
+   */
+  private void registerDeferredTypes( Class<?> type ) {
+    // Don't wait for the other deferred types: the caller may hold the lock they need to register their plugins
+    if ( deferredTypes.isEmpty() || getDeferredTypes( type ).isEmpty() ) {
+      return;
+    }
+    synchronized ( deferredTypes ) {
+      List<Class<? extends PluginTypeInterface>> found = getDeferredTypes( type );
+      for ( Class<? extends PluginTypeInterface> deferred : found ) {
+        PluginTypeInterface pluginType = deferredTypes.get( deferred );
+        if ( pluginType == null || !registeringTypes.add( deferred ) ) {
+          // Registered meanwhile, or asked for by its own registration
+          continue;
+        }
+        log.snap( Metrics.METRIC_PLUGIN_REGISTRY_PLUGIN_TYPE_REGISTRATION_START, pluginType.getName() );
+        try {
+          registerType( pluginType );
+        } catch ( KettlePluginException e ) {
+          log.logError( "Unable to register plugin type '" + pluginType.getName() + "'", e );
+        } finally {
+          deferredTypes.remove( deferred );
+          registeringTypes.remove( deferred );
+        }
+        log.snap( Metrics.METRIC_PLUGIN_REGISTRY_PLUGIN_TYPE_REGISTRATION_STOP, pluginType.getName() );
+      }
+      if ( !found.isEmpty() ) {
+        JarFileCache.getInstance().saveIndex();
+        JarFileCache.getInstance().clear();
+      }
+    }
+  }
+
+  private static List<Class<? extends PluginTypeInterface>> getDeferredTypes( Class<?> type ) {
+    return deferredTypes.keySet().stream()
+      .filter( deferred -> type == null || Const.classIsOrExtends( deferred, type ) )
+      .collect( Collectors.toList() );
+  }
+
+  private static void addPluginFolders( Set<PluginFolderInterface> pluginFolders, PluginTypeInterface pluginType ) {
+    List<PluginFolderInterface> folders = pluginType.getPluginFolders();
+    if ( folders != null ) {
+      pluginFolders.addAll( folders );
+    }
+  }
+
   private void registerType( PluginTypeInterface pluginType ) throws KettlePluginException {
     registerPluginType( pluginType.getClass() );
 
@@ -1016,6 +1106,8 @@ public class PluginRegistry {
     } finally {
       lock.writeLock().unlock();
     }
+    // The listener waits for the plugins of a deferred type
+    registerDeferredTypes( typeToTrack );
   }
 
   public void addClassLoader( URLClassLoader ucl, PluginInterface plugin ) {
@@ -1053,6 +1145,7 @@ public class PluginRegistry {
     if ( path.endsWith( "/" ) ) {
       path = path.substring( 0, path.length() - 1 );
     }
+    registerDeferredTypes( null );
     List<PluginInterface> result = new ArrayList<PluginInterface>();
     lock.readLock().lock();
     try {
@@ -1083,6 +1176,7 @@ public class PluginRegistry {
     lock.writeLock().lock();
     try {
       pluginTypes.clear();
+      deferredTypes.clear();
       extensions.clear();
       pluginMap.clear();
       classLoaderMap.clear();
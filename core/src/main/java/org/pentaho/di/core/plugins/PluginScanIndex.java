@@ -0,0 +1,204 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.plugins;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.logging.KettleLogStore;
+import org.pentaho.di.core.logging.LogChannel;
+import org.pentaho.di.core.util.EnvUtil;
+import org.pentaho.di.version.BuildVersion;
+
+/**
+ * Keeps the annotations found in the plugin jar files in a file, so the jar files don't have to be scanned again at
+ * the next start. A jar file is only scanned again when its size or modification time changed.
+ *
+ * @see Const#KETTLE_PLUGIN_SCAN_INDEX
+ */
+public class PluginScanIndex {
+  private static final int FILE_MAGIC = 0x4B504958;
+  private static final int FILE_VERSION = 1;
+
+  private final File file;
+  private final Map<String, JarEntry> entries = new ConcurrentHashMap<>();
+  private volatile boolean changed;
+
+  /**
+   * Load the index from the file, an index that can't be read is started over.
+   *
+   * @param filename
+   *          the file to keep the index in
+   */
+  public PluginScanIndex( String filename ) {
+    this.file = new File( filename );
+    if ( file.exists() ) {
+      try {
+        load();
+      } catch ( IOException e ) {
+        entries.clear();
+        changed = true;
+        if ( KettleLogStore.isInitialized() ) {
+          LogChannel.GENERAL.logDetailed( "Unable to read plugin scan index '" + file + "', scanning all plugins", e );
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the name of the index file in the Kettle directory
+   */
+  public static String getFilename() {
+    return Const.getKettleDirectory()
+      + Const.FILE_SEPARATOR + "plugin-scan.idx-" + BuildVersion.getInstance().getVersion();
+  }
+
+  /**
+   * @return false if the index is switched off with {@link Const#KETTLE_PLUGIN_SCAN_INDEX}
+   */
+  public static boolean isEnabled() {
+    return !"N".equalsIgnoreCase( EnvUtil.getSystemProperty( Const.KETTLE_PLUGIN_SCAN_INDEX, "Y" ) );
+  }
+
+  /**
+   * @param jarFile
+   *          the jar file to look up
+   * @return the annotation index of the jar file, the names of the annotated classes per annotation, or null if the jar
+   *         file is not in the index or changed since it was scanned
+   */
+  public Map<String, Set<String>> get( File jarFile ) {
+    JarEntry entry = entries.get( jarFile.getAbsolutePath() );
+    if ( entry == null || entry.size != jarFile.length() || entry.lastModified != jarFile.lastModified() ) {
+      return null;
+    }
+    return entry.annotationIndex;
+  }
+
+  /**
+   * Store the annotations found in a jar file.
+   *
+   * @param jarFile
+   *          the scanned jar file
+   * @param annotationIndex
+   *          the names of the annotated classes per annotation
+   */
+  public void put( File jarFile, Map<String, Set<String>> annotationIndex ) {
+    Map<String, Set<String>> copy = new HashMap<>();
+    annotationIndex.forEach( ( annotation, classNames ) -> copy.put( annotation, new HashSet<>( classNames ) ) );
+    entries.put( jarFile.getAbsolutePath(),
+      new JarEntry( jarFile.length(), jarFile.lastModified(), Collections.unmodifiableMap( copy ) ) );
+    changed = true;
+  }
+
+  /**
+   * @return the number of jar files in the index
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Write the index to its file if it changed, leaving out the jar files that no longer exist.
+   */
+  public synchronized void save() throws IOException {
+    if ( entries.keySet().removeIf( path -> !new File( path ).exists() ) ) {
+      changed = true;
+    }
+    if ( !changed ) {
+      return;
+    }
+
+    File parent = file.getAbsoluteFile().getParentFile();
+    if ( parent != null && !parent.exists() ) {
+      parent.mkdirs();
+    }
+    File tempFile = new File( file.getPath() + ".tmp" );
+    try ( DataOutputStream dos =
+            new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ), 65536 ) ) ) {
+      dos.writeInt( FILE_MAGIC );
+      dos.writeInt( FILE_VERSION );
+      dos.writeInt( entries.size() );
+      for ( Map.Entry<String, JarEntry> entry : entries.entrySet() ) {
+        JarEntry jarEntry = entry.getValue();
+        dos.writeUTF( entry.getKey() );
+        dos.writeLong( jarEntry.size );
+        dos.writeLong( jarEntry.lastModified );
+        dos.writeInt( jarEntry.annotationIndex.size() );
+        for ( Map.Entry<String, Set<String>> annotation : jarEntry.annotationIndex.entrySet() ) {
+          dos.writeUTF( annotation.getKey() );
+          dos.writeInt( annotation.getValue().size() );
+          for ( String className : annotation.getValue() ) {
+            dos.writeUTF( className );
+          }
+        }
+      }
+    }
+    Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    changed = false;
+  }
+
+  private void load() throws IOException {
+    try ( DataInputStream dis =
+            new DataInputStream( new BufferedInputStream( new FileInputStream( file ), 65536 ) ) ) {
+      if ( dis.readInt() != FILE_MAGIC || dis.readInt() != FILE_VERSION ) {
+        throw new IOException( "Unknown plugin scan index format" );
+      }
+      int nrEntries = dis.readInt();
+      for ( int i = 0; i < nrEntries; i++ ) {
+        String path = dis.readUTF();
+        long size = dis.readLong();
+        long lastModified = dis.readLong();
+        int nrAnnotations = dis.readInt();
+        Map<String, Set<String>> annotationIndex = new HashMap<>();
+        for ( int a = 0; a < nrAnnotations; a++ ) {
+          String annotation = dis.readUTF();
+          int nrClasses = dis.readInt();
+          Set<String> classNames = new HashSet<>();
+          for ( int c = 0; c < nrClasses; c++ ) {
+            classNames.add( dis.readUTF() );
+          }
+          annotationIndex.put( annotation, classNames );
+        }
+        entries.put( path, new JarEntry( size, lastModified, Collections.unmodifiableMap( annotationIndex ) ) );
+      }
+    }
+  }
+
+  private static final class JarEntry {
+    private final long size;
+    private final long lastModified;
+    private final Map<String, Set<String>> annotationIndex;
+
+    private JarEntry( long size, long lastModified, Map<String, Set<String>> annotationIndex ) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.annotationIndex = annotationIndex;
+    }
+  }
+}
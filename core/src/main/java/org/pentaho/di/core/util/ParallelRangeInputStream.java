@@ -0,0 +1,187 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a range of a remote object as a number of parts that are fetched in parallel, ahead of the reader. This
+ * replaces a single sequential stream, of which the throughput is usually limited by the remote store, with a number
+ * of ranged requests, like the ranged GET requests of S3.
+ * <p>
+ * At most the given number of parts is fetched or buffered at the same time, so the memory used is about the part
+ * size times the number of parts to read ahead.
+ */
+public class ParallelRangeInputStream extends InputStream {
+
+  /**
+   * Opens a range of the remote object.
+   */
+  @FunctionalInterface
+  public interface RangeReader {
+    /**
+     * @param offset
+     *          the offset of the first byte to read
+     * @param length
+     *          the number of bytes to read
+     * @return a stream of the bytes in the range
+     * @throws IOException
+     *           in case the range can't be read
+     */
+    InputStream open( long offset, long length ) throws IOException;
+  }
+
+  private final RangeReader rangeReader;
+  private final long end;
+  private final int partSize;
+  private final int readAheadParts;
+
+  private final Deque<Future<byte[]>> parts = new ArrayDeque<>();
+  private long nextOffset;
+  private byte[] current;
+  private int position;
+  private boolean closed;
+
+  /**
+   * @param rangeReader
+   *          opens the ranges of the remote object
+   * @param start
+   *          the offset of the first byte to read
+   * @param end
+   *          the offset after the last byte to read, usually the size of the object
+   * @param partSize
+   *          the number of bytes to fetch per request
+   * @param readAheadParts
+   *          the number of parts to fetch in parallel
+   */
+  public ParallelRangeInputStream( RangeReader rangeReader, long start, long end, int partSize, int readAheadParts ) {
+    if ( partSize <= 0 || readAheadParts <= 0 ) {
+      throw new IllegalArgumentException( "The part size and the number of parts to read ahead must be positive" );
+    }
+    this.rangeReader = rangeReader;
+    this.end = end;
+    this.partSize = partSize;
+    this.readAheadParts = readAheadParts;
+    this.nextOffset = start;
+    fetchParts();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if ( !fill() ) {
+      return -1;
+    }
+    return current[ position++ ] & 0xFF;
+  }
+
+  @Override
+  public int read( byte[] b, int off, int len ) throws IOException {
+    if ( len == 0 ) {
+      return 0;
+    }
+    if ( !fill() ) {
+      return -1;
+    }
+    int n = Math.min( len, current.length - position );
+    System.arraycopy( current, position, b, off, n );
+    position += n;
+    return n;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return current == null ? 0 : current.length - position;
+  }
+
+  /**
+   * Stop fetching the parts that are not read yet.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    current = null;
+    for ( Future<byte[]> part : parts ) {
+      part.cancel( true );
+    }
+    parts.clear();
+  }
+
+  /**
+   * Make the next part the current one when the current part is read.
+   *
+   * @return false at the end of the range
+   */
+  private boolean fill() throws IOException {
+    if ( closed ) {
+      throw new IOException( "Stream closed" );
+    }
+    while ( current == null || position >= current.length ) {
+      Future<byte[]> next = parts.poll();
+      if ( next == null ) {
+        return false;
+      }
+      current = await( next );
+      position = 0;
+      fetchParts();
+    }
+    return true;
+  }
+
+  private void fetchParts() {
+    while ( parts.size() < readAheadParts && nextOffset < end ) {
+      final long offset = nextOffset;
+      final int length = (int) Math.min( partSize, end - offset );
+      parts.add( ExecutorUtil.getExecutor().submit( () -> readPart( offset, length ) ) );
+      nextOffset += length;
+    }
+  }
+
+  private byte[] readPart( long offset, int length ) throws IOException {
+    byte[] part = new byte[ length ];
+    try ( InputStream inputStream = rangeReader.open( offset, length ) ) {
+      int read = 0;
+      while ( read < length ) {
+        int n = inputStream.read( part, read, length - read );
+        if ( n < 0 ) {
+          throw new EOFException( "Unexpected end of range at offset " + ( offset + read ) );
+        }
+        read += n;
+      }
+    }
+    return part;
+  }
+
+  private byte[] await( Future<byte[]> part ) throws IOException {
+    try {
+      return part.get();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new InterruptedIOException( "Interrupted while reading ahead" );
+    } catch ( ExecutionException e ) {
+      close();
+      if ( e.getCause() instanceof IOException ) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException( e.getCause() );
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.vfs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.util.EnvUtil;
+
+/**
+ * Keeps the resolved VFS files for a while, so looking up the same file again doesn't resolve it again. A file object
+ * keeps the attributes it read, like its type, size and modification time, so asking whether the file exists doesn't
+ * go to a remote file system like S3 or SFTP again either. The files found in a folder listing are added as well: the
+ * listing reads the attributes of all of them at once, instead of one round trip per file.
+ * <p>
+ * A file is refreshed once it is in the cache longer than {@link Const#KETTLE_VFS_CACHE_TTL} milliseconds, so changes
+ * made by other programs are seen after that time. The cache is off by default.
+ */
+public class FileObjectCache {
+
+  private static final int DEFAULT_MAX_SIZE = 10000;
+
+  private static final FileSystemOptions NO_OPTIONS = new FileSystemOptions();
+
+  private final long timeToLive;
+  private final int maxSize;
+
+  private final Map<Key, Entry> entries;
+
+  /**
+   * A cache that is configured with {@link Const#KETTLE_VFS_CACHE_TTL} and {@link Const#KETTLE_VFS_CACHE_SIZE}. The
+   * variables are read on use, they are usually set after the file system is started.
+   */
+  FileObjectCache() {
+    this( -1L, -1 );
+  }
+
+  FileObjectCache( long timeToLive, int maxSize ) {
+    this.timeToLive = timeToLive;
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<Key, Entry>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<Key, Entry> eldest ) {
+        return size() > getMaxSize();
+      }
+    };
+  }
+
+  /**
+   * @param filename
+   *          the filename as it is resolved
+   * @param fsOptions
+   *          the file system options it is resolved with
+   * @return the file from the cache or null if it isn't in the cache or its time is up
+   */
+  public FileObject get( String filename, FileSystemOptions fsOptions ) {
+    if ( getTimeToLive() <= 0 ) {
+      return null;
+    }
+    Key key = new Key( filename, fsOptions );
+    Entry entry;
+    synchronized ( entries ) {
+      entry = entries.get( key );
+      if ( entry == null ) {
+        return null;
+      }
+      if ( entry.expires - System.currentTimeMillis() > 0 ) {
+        return entry.fileObject;
+      }
+      entries.remove( key );
+    }
+
+    // The file system returns the same object as long as it is in use, make it read its attributes again
+    try {
+      entry.fileObject.refresh();
+    } catch ( FileSystemException e ) {
+      // It is resolved again
+    }
+    return null;
+  }
+
+  /**
+   * @param filename
+   *          the filename as it is resolved
+   * @param fsOptions
+   *          the file system options it is resolved with
+   * @param fileObject
+   *          the resolved file
+   */
+  public void put( String filename, FileSystemOptions fsOptions, FileObject fileObject ) {
+    long ttl = getTimeToLive();
+    if ( ttl <= 0 || fileObject == null ) {
+      return;
+    }
+    Entry entry = new Entry( fileObject, System.currentTimeMillis() + ttl );
+    synchronized ( entries ) {
+      entries.put( new Key( filename, fsOptions ), entry );
+    }
+  }
+
+  /**
+   * Add the files of a folder listing, by their URI and for local files by their path as well.
+   *
+   * @param fileObjects
+   *          the files found in a folder
+   */
+  public void putAll( FileObject[] fileObjects ) {
+    if ( getTimeToLive() <= 0 || fileObjects == null ) {
+      return;
+    }
+    for ( FileObject fileObject : fileObjects ) {
+      FileSystemOptions fsOptions = fileObject.getFileSystem().getFileSystemOptions();
+      String uri = fileObject.getName().getURI();
+      put( uri, fsOptions, fileObject );
+      String filename = KettleVFS.getFilename( fileObject );
+      if ( !uri.equals( filename ) ) {
+        put( filename, fsOptions, fileObject );
+      }
+    }
+  }
+
+  /**
+   * @return the number of files in the cache
+   */
+  public int size() {
+    synchronized ( entries ) {
+      return entries.size();
+    }
+  }
+
+  public void clear() {
+    synchronized ( entries ) {
+      entries.clear();
+    }
+  }
+
+  private long getTimeToLive() {
+    if ( timeToLive >= 0 ) {
+      return timeToLive;
+    }
+    return Const.toLong( EnvUtil.getSystemProperty( Const.KETTLE_VFS_CACHE_TTL ), 0L );
+  }
+
+  private int getMaxSize() {
+    if ( maxSize >= 0 ) {
+      return maxSize;
+    }
+    return Const.toInt( EnvUtil.getSystemProperty( Const.KETTLE_VFS_CACHE_SIZE ), DEFAULT_MAX_SIZE );
+  }
+
+  private static final class Key {
+    private final String filename;
+    private final FileSystemOptions fsOptions;
+
+    private Key( String filename, FileSystemOptions fsOptions ) {
+      this.filename = filename;
+      this.fsOptions = fsOptions == null ? NO_OPTIONS : fsOptions;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+      if ( this == o ) {
+        return true;
+      }
+      if ( !( o instanceof Key ) ) {
+        return false;
+      }
+      Key key = (Key) o;
+      return filename.equals( key.filename ) && fsOptions.equals( key.fsOptions );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( filename, fsOptions );
+    }
+  }
+
+  private static final class Entry {
+    private final FileObject fileObject;
+    private final long expires;
+
+    private Entry( FileObject fileObject, long expires ) {
+      this.fileObject = fileObject;
+      this.expires = expires;
+    }
+  }
+}
@@ -57,6 +57,7 @@ public class KettleVFS {
   private static final IKettleVFS ikettleVFS = new KettleVFSImpl( DefaultBowl.getInstance() );
 
   private final DefaultFileSystemManager fsm;
+  private final FileObjectCache fileObjectCache = new FileObjectCache();
   static final String PROVIDER_PATTERN_SCHEME = "^[\\w\\d]+://(.*)";
 
   private KettleVFS() {
@@ -92,6 +93,13 @@ public class KettleVFS {
     return fsm;
   }
 
+  /**
+   * @return the cache of resolved files, see {@link Const#KETTLE_VFS_CACHE_TTL}
+   */
+  public FileObjectCache getFileObjectCache() {
+    return fileObjectCache;
+  }
+
   /**
    * Use only when the caller is positive that a Bowl is not in use.
    */
@@ -538,6 +546,7 @@ public class KettleVFS {
    */
   public void reset() {
     ikettleVFS.reset();
+    fileObjectCache.clear();
     fsm.close();
     try {
       fsm.setFilesCache( new WeakRefFilesCache() );
@@ -114,7 +114,14 @@ public class KettleVFSImpl implements IKettleVFS {
 
       String filename = KettleVFS.normalizePath( vfsFilename, scheme );
 
-      return fsOptions != null ? fsManager.resolveFile( filename, fsOptions ) : fsManager.resolveFile( filename );
+      FileObjectCache fileObjectCache = KettleVFS.getInstance().getFileObjectCache();
+      FileObject fileObject = fileObjectCache.get( filename, fsOptions );
+      if ( fileObject == null ) {
+        fileObject =
+          fsOptions != null ? fsManager.resolveFile( filename, fsOptions ) : fsManager.resolveFile( filename );
+        fileObjectCache.put( filename, fsOptions, fileObject );
+      }
+      return fileObject;
 
     } catch ( IOException e ) {
       throw new KettleFileException( "Unable to get VFS File object for filename '"
@@ -0,0 +1,138 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.util.EnvUtil;
+import org.pentaho.di.core.vfs.KettleVFS;
+import org.w3c.dom.Document;
+
+/**
+ * Keeps the parsed documents of the transformation and job files that are loaded, so loading the same file again only
+ * copies the document instead of parsing it. A document is parsed again when the content of the file changed: the
+ * file is read every time and compared by its hash.
+ * <p>
+ * This pays off when the same file is loaded over and over, by a metadata injection loop or by the executor and
+ * mapping steps for instance. The number of documents to keep is set with
+ * {@link Const#KETTLE_XML_DOCUMENT_CACHE_SIZE}, the cache is off by default.
+ */
+public class XMLDocumentCache {
+
+  private static XMLDocumentCache instance;
+
+  private final int maxEntries;
+
+  private final Map<String, CachedDocument> documents;
+
+  XMLDocumentCache( int maxEntries ) {
+    this.maxEntries = maxEntries;
+    this.documents = new LinkedHashMap<String, CachedDocument>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<String, CachedDocument> eldest ) {
+        return size() > XMLDocumentCache.this.maxEntries;
+      }
+    };
+  }
+
+  public static synchronized XMLDocumentCache getInstance() {
+    if ( instance == null ) {
+      instance =
+        new XMLDocumentCache( Const.toInt( EnvUtil.getSystemProperty( Const.KETTLE_XML_DOCUMENT_CACHE_SIZE ), 0 ) );
+    }
+    return instance;
+  }
+
+  /**
+   * Load a file into an XML document, from the cache if the file didn't change since it was parsed.
+   *
+   * @param fileObject
+   *          the file to load
+   * @return a document of its own for the caller
+   * @throws KettleXMLException
+   *           in case the file can't be read or parsed
+   */
+  public Document loadXMLFile( FileObject fileObject ) throws KettleXMLException {
+    if ( maxEntries <= 0 ) {
+      return XMLHandler.loadXMLFile( fileObject );
+    }
+
+    String key = fileObject.getName().getURI();
+    byte[] content;
+    byte[] hash;
+    try ( InputStream inputStream = KettleVFS.getInputStream( fileObject ) ) {
+      content = IOUtils.toByteArray( inputStream );
+      hash = MessageDigest.getInstance( "SHA-256" ).digest( content );
+    } catch ( IOException | NoSuchAlgorithmException e ) {
+      // Report the problem the usual way
+      return XMLHandler.loadXMLFile( fileObject );
+    }
+
+    CachedDocument cached;
+    synchronized ( documents ) {
+      cached = documents.get( key );
+    }
+    if ( cached == null || !Arrays.equals( cached.hash, hash ) ) {
+      cached = new CachedDocument( hash, XMLHandler.loadXMLFile( new ByteArrayInputStream( content ), null, false,
+        false ) );
+      synchronized ( documents ) {
+        documents.put( key, cached );
+      }
+    }
+    return cached.copy();
+  }
+
+  /**
+   * @return the number of documents in the cache
+   */
+  public int size() {
+    synchronized ( documents ) {
+      return documents.size();
+    }
+  }
+
+  public void clear() {
+    synchronized ( documents ) {
+      documents.clear();
+    }
+  }
+
+  private static final class CachedDocument {
+    private final byte[] hash;
+    private final Document document;
+
+    private CachedDocument( byte[] hash, Document document ) {
+      this.hash = hash;
+      this.document = document;
+    }
+
+    /**
+     * The DOM isn't thread safe, not even to read it: its nodes are expanded on first access.
+     */
+    private synchronized Document copy() {
+      return (Document) document.cloneNode( true );
+    }
+  }
+}
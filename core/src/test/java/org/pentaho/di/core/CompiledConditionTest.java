@@ -0,0 +1,167 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaAndData;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.junit.rules.RestorePDIEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledConditionTest {
+  @ClassRule public static RestorePDIEnvironment env = new RestorePDIEnvironment();
+
+  private static RowMetaInterface createRowMeta() {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    rowMeta.addValueMeta( new ValueMetaString( "name" ) );
+    rowMeta.addValueMeta( new ValueMetaNumber( "amount" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "limit" ) );
+    return rowMeta;
+  }
+
+  private static Object[][] createRows() {
+    return new Object[][] {
+      { 1L, "apple", 10.5, 5L },
+      { 2L, "banana", 3.0, 5L },
+      { 3L, null, null, 5L },
+      { null, "cherry", 7.0, null },
+      { 5L, "avocado", -1.0, 0L },
+      { 6L, "a;b", 5.0, 6L },
+    };
+  }
+
+  private static void assertSameResults( Condition condition ) {
+    RowMetaInterface rowMeta = createRowMeta();
+    CompiledCondition compiled = CompiledCondition.compile( condition, rowMeta );
+    for ( Object[] row : createRows() ) {
+      assertEquals( condition.toString(), condition.evaluate( rowMeta, row ), compiled.evaluate( row ) );
+    }
+  }
+
+  @Test
+  public void testAtomicConditionsMatchInterpretedEvaluation() throws Exception {
+    ValueMetaAndData four = new ValueMetaAndData( "c", 4L );
+    ValueMetaAndData fourString = new ValueMetaAndData( new ValueMetaString( "c" ), "4" );
+    for ( int function = Condition.FUNC_EQUAL; function <= Condition.FUNC_LARGER_EQUAL; function++ ) {
+      assertSameResults( new Condition( "id", function, null, four ) );
+      assertSameResults( new Condition( "id", function, null, fourString ) );
+      assertSameResults( new Condition( "amount", function, null, four ) );
+      assertSameResults( new Condition( "id", function, "limit", null ) );
+      assertSameResults( new Condition( true, "id", function, "limit", null ) );
+    }
+    assertSameResults( new Condition( "name", Condition.FUNC_NULL, null, null ) );
+    assertSameResults( new Condition( "name", Condition.FUNC_NOT_NULL, null, null ) );
+    assertSameResults( new Condition( true, "amount", Condition.FUNC_NULL, null, null ) );
+
+    ValueMetaAndData regexp = new ValueMetaAndData( new ValueMetaString( "c" ), "a.*o.*" );
+    assertSameResults( new Condition( "name", Condition.FUNC_REGEXP, null, regexp ) );
+    ValueMetaAndData like = new ValueMetaAndData( new ValueMetaString( "c" ), "%an?na" );
+    assertSameResults( new Condition( "name", Condition.FUNC_LIKE, null, like ) );
+    ValueMetaAndData part = new ValueMetaAndData( new ValueMetaString( "c" ), "an" );
+    assertSameResults( new Condition( "name", Condition.FUNC_CONTAINS, null, part ) );
+    assertSameResults( new Condition( "name", Condition.FUNC_STARTS_WITH, null, part ) );
+    assertSameResults( new Condition( "name", Condition.FUNC_ENDS_WITH, null, part ) );
+  }
+
+  @Test
+  public void testInListUsesEscapedEntries() throws Exception {
+    ValueMetaAndData list = new ValueMetaAndData( new ValueMetaString( "c" ), "banana;a\\;b;cherry" );
+    Condition condition = new Condition( "name", Condition.FUNC_IN_LIST, null, list );
+    assertSameResults( condition );
+
+    CompiledCondition compiled = CompiledCondition.compile( condition, createRowMeta() );
+    assertTrue( compiled.evaluate( new Object[] { 1L, "a;b", 1.0, 1L } ) );
+    assertTrue( compiled.evaluate( new Object[] { 1L, "banana", 1.0, 1L } ) );
+    assertFalse( compiled.evaluate( new Object[] { 1L, "apple", 1.0, 1L } ) );
+    assertFalse( compiled.evaluate( new Object[] { 1L, null, 1.0, 1L } ) );
+
+    ValueMetaAndData numbers = new ValueMetaAndData( new ValueMetaString( "c" ), "1;3;5" );
+    assertSameResults( new Condition( "id", Condition.FUNC_IN_LIST, null, numbers ) );
+  }
+
+  @Test
+  public void testMissingFieldIsFalseEvenWhenNegated() throws Exception {
+    Condition condition = new Condition( true, "unknown", Condition.FUNC_NULL, null, null );
+    assertSameResults( condition );
+    assertFalse( CompiledCondition.compile( condition, createRowMeta() ).evaluate( createRows()[ 0 ] ) );
+  }
+
+  @Test
+  public void testCompositeConditionsMatchInterpretedEvaluation() throws Exception {
+    int[] operators = {
+      Condition.OPERATOR_AND, Condition.OPERATOR_OR, Condition.OPERATOR_AND_NOT, Condition.OPERATOR_OR_NOT,
+      Condition.OPERATOR_XOR };
+    for ( int first : operators ) {
+      for ( int second : operators ) {
+        Condition condition = new Condition();
+        condition.addCondition( new Condition( "name", Condition.FUNC_NOT_NULL, null, null ) );
+        condition.addCondition( new Condition( first, "amount", Condition.FUNC_LARGER, null,
+          new ValueMetaAndData( "c", 4.0 ) ) );
+        condition.addCondition( new Condition( second, "id", Condition.FUNC_SMALLER_EQUAL, "limit", null ) );
+        assertSameResults( condition );
+        condition.setNegated( true );
+        assertSameResults( condition );
+      }
+    }
+  }
+
+  @Test
+  public void testReorderedConjunctionKeepsResults() throws Exception {
+    Condition condition = new Condition();
+    condition.addCondition( new Condition( "name", Condition.FUNC_LIKE, null,
+      new ValueMetaAndData( new ValueMetaString( "c" ), "%a%" ) ) );
+    condition.addCondition( new Condition( Condition.OPERATOR_AND, "id", Condition.FUNC_LARGER, null,
+      new ValueMetaAndData( "c", 4L ) ) );
+    condition.addCondition( new Condition( Condition.OPERATOR_AND_NOT, "amount", Condition.FUNC_NULL, null, null ) );
+
+    RowMetaInterface rowMeta = createRowMeta();
+    CompiledCondition compiled = CompiledCondition.compile( condition, rowMeta );
+    Object[][] rows = createRows();
+    for ( int i = 0; i < CompiledCondition.REORDER_INTERVAL * 3; i++ ) {
+      Object[] row = rows[ i % rows.length ];
+      assertEquals( condition.evaluate( rowMeta, row ), compiled.evaluate( row ) );
+    }
+  }
+
+  @Test
+  public void testConjunctionWithFailingTermKeepsDeclaredOrder() throws Exception {
+    // The second term fails on every row: converting "abc" to an integer. The first one never lets it run.
+    Condition condition = new Condition();
+    condition.addCondition( new Condition( "id", Condition.FUNC_NULL, null, null ) );
+    condition.addCondition( new Condition( Condition.OPERATOR_AND, "id", Condition.FUNC_EQUAL, null,
+      new ValueMetaAndData( new ValueMetaString( "c" ), "abc" ) ) );
+
+    RowMetaInterface rowMeta = createRowMeta();
+    CompiledCondition compiled = CompiledCondition.compile( condition, rowMeta );
+    Object[] row = createRows()[ 0 ];
+    for ( int i = 0; i < CompiledCondition.REORDER_INTERVAL * 3; i++ ) {
+      assertFalse( compiled.evaluate( row ) );
+    }
+  }
+
+  @Test( expected = RuntimeException.class )
+  public void testUnknownRightFieldFailsLikeInterpretedEvaluation() throws Exception {
+    Condition condition = new Condition( "id", Condition.FUNC_EQUAL, "unknown", null );
+    CompiledCondition.compile( condition, createRowMeta() ).evaluate( createRows()[ 0 ] );
+  }
+}
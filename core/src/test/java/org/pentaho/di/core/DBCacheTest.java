@@ -30,6 +30,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class DBCacheTest {
@@ -71,4 +73,73 @@ public class DBCacheTest {
     dbCache.saveCache();
     assertTrue( FileUtils.readFileToString( tempFile.toFile() ).contains( select ) );
   }
+
+  @Test
+  public void dropsLeastRecentlyUsedEntries() throws IOException {
+    Path tempFile = Files.createTempFile( "dbcache", "test" );
+    DBCache dbCache = new DBCache( tempFile.toString(), 2, 0, 0 );
+    DBCacheEntry first = new DBCacheEntry( "warehouse", "select 1" );
+    DBCacheEntry second = new DBCacheEntry( "warehouse", "select 2" );
+    DBCacheEntry third = new DBCacheEntry( "warehouse", "select 3" );
+    dbCache.put( first, fields( "int1" ) );
+    dbCache.put( second, fields( "int2" ) );
+    assertNotNull( dbCache.get( first ) );
+    dbCache.put( third, fields( "int3" ) );
+
+    assertEquals( 2, dbCache.size() );
+    assertNotNull( dbCache.get( first ) );
+    assertNull( dbCache.get( second ) );
+    assertNotNull( dbCache.get( third ) );
+  }
+
+  @Test
+  public void staysWithinMemoryBound() throws IOException {
+    Path tempFile = Files.createTempFile( "dbcache", "test" );
+    DBCacheEntry entry = new DBCacheEntry( "warehouse", "select 1" );
+    long entrySize = DBCache.estimateSize( entry, fields( "int1" ) );
+    DBCache dbCache = new DBCache( tempFile.toString(), 0, entrySize * 3, 0 );
+    for ( int i = 0; i < 10; i++ ) {
+      dbCache.put( new DBCacheEntry( "warehouse", "select " + i ), fields( "int1" ) );
+    }
+    assertEquals( 3, dbCache.size() );
+    assertEquals( entrySize * 3, dbCache.getSizeInBytes() );
+  }
+
+  @Test
+  public void expiresOldEntries() throws Exception {
+    Path tempFile = Files.createTempFile( "dbcache", "test" );
+    DBCache dbCache = new DBCache( tempFile.toString(), 0, 0, 1 );
+    DBCacheEntry entry = new DBCacheEntry( "warehouse", "select 1" );
+    dbCache.put( entry, fields( "int1" ) );
+    Thread.sleep( 10 );
+    assertNull( dbCache.get( entry ) );
+    assertEquals( 0, dbCache.size() );
+  }
+
+  @Test
+  public void appendsChangesAndReloads() throws Exception {
+    Path tempFile = Files.createTempFile( "dbcache", "test" );
+    DBCache dbCache = new DBCache( tempFile.toString(), 0, 0, 0 );
+    DBCacheEntry sales = new DBCacheEntry( "foodmart", "select * from sales" );
+    DBCacheEntry warehouse = new DBCacheEntry( "warehouse", "select * from warehouse" );
+    dbCache.put( sales, fields( "int1" ) );
+    dbCache.saveCache();
+    long savedLength = Files.size( tempFile );
+
+    dbCache.put( warehouse, fields( "int2" ) );
+    dbCache.clear( "foodmart" );
+    dbCache.saveCache();
+    assertTrue( Files.size( tempFile ) > savedLength );
+
+    DBCache reloaded = new DBCache( tempFile.toString(), 0, 0, 0 );
+    assertEquals( 1, reloaded.size() );
+    assertNull( reloaded.get( sales ) );
+    assertEquals( "int2", reloaded.get( warehouse ).getFieldNames()[0] );
+  }
+
+  private static RowMetaInterface fields( String name ) {
+    RowMetaInterface fields = new RowMeta();
+    fields.addValueMeta( new ValueMetaInteger( name ) );
+    return fields;
+  }
 }
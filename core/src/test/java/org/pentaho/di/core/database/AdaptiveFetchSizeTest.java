@@ -0,0 +1,63 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+public class AdaptiveFetchSizeTest {
+
+  @Test
+  public void testGetFetchSize() {
+    assertEquals( 8192, AdaptiveFetchSize.getFetchSize( 1024 ) );
+    assertEquals( AdaptiveFetchSize.MAX_FETCH_SIZE, AdaptiveFetchSize.getFetchSize( 16 ) );
+    assertEquals( AdaptiveFetchSize.MIN_FETCH_SIZE, AdaptiveFetchSize.getFetchSize( 100L * 1024 * 1024 ) );
+    assertEquals( AdaptiveFetchSize.MAX_FETCH_SIZE, AdaptiveFetchSize.getFetchSize( 0 ) );
+  }
+
+  @Test
+  public void testEstimateWidth() {
+    long empty = AdaptiveFetchSize.estimateWidth( new Object[] { null, null } );
+    assertEquals( 32, empty );
+    assertEquals( empty + 40 + 2 * 5, AdaptiveFetchSize.estimateWidth( new Object[] { "Ghent", null } ) );
+    assertEquals( empty + 16 + 1000, AdaptiveFetchSize.estimateWidth( new Object[] { new byte[1000], null } ) );
+    assertEquals( empty + 16, AdaptiveFetchSize.estimateWidth( new Object[] { 42L, null } ) );
+  }
+
+  @Test
+  public void testSample() throws SQLException {
+    ResultSet resultSet = mock( ResultSet.class );
+    AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize( resultSet );
+    assertTrue( adaptiveFetchSize.isFor( resultSet ) );
+    assertFalse( adaptiveFetchSize.isFor( mock( ResultSet.class ) ) );
+
+    Object[] row = new Object[] { new byte[8000] };
+    int expected = AdaptiveFetchSize.getFetchSize( AdaptiveFetchSize.estimateWidth( row ) );
+    for ( int i = 1; i < AdaptiveFetchSize.SAMPLE_ROWS; i++ ) {
+      assertEquals( 0, adaptiveFetchSize.sample( row ) );
+    }
+    verify( resultSet, never() ).setFetchSize( expected );
+    assertEquals( expected, adaptiveFetchSize.sample( row ) );
+    verify( resultSet ).setFetchSize( expected );
+  }
+}
@@ -25,20 +25,29 @@ import org.pentaho.di.core.KettleClientEnvironment;
 import org.pentaho.di.core.exception.KettleDatabaseException;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.core.xml.XMLHandler;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.DriverPropertyInfo;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.logging.Logger;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
@@ -125,6 +134,141 @@ public class ConnectionPoolUtilTest implements Driver {
     assertNotNull( conn );
   }
 
+  @Test
+  public void testLightConnectionPool() throws Exception {
+    DatabaseMeta lightMeta = mock( DatabaseMeta.class );
+    Properties poolProperties = new Properties();
+    poolProperties.setProperty( ConnectionPoolUtil.POOL_PROVIDER, "light" );
+    poolProperties.setProperty( ConnectionPoolUtil.MAX_WAIT, "100" );
+    when( lightMeta.getName() ).thenReturn( "CP5" );
+    when( lightMeta.getPassword() ).thenReturn( PASSWORD );
+    when( lightMeta.getDriverClass() ).thenReturn( this.getClass().getCanonicalName() );
+    when( lightMeta.getConnectionPoolingProperties() ).thenReturn( poolProperties );
+    when( lightMeta.environmentSubstitute( anyString() ) ).thenAnswer( invocation -> invocation.getArguments()[0] );
+    when( lightMeta.getInitialPoolSize() ).thenReturn( 1 );
+    when( lightMeta.getMaximumPoolSize() ).thenReturn( 2 );
+
+    DataSource ds = ConnectionPoolUtil.getDataSource( logChannelInterface, lightMeta, "" );
+    try {
+      assertTrue( ds instanceof LightConnectionPool );
+      Connection first = ds.getConnection();
+      Connection second = ds.getConnection();
+      try {
+        ds.getConnection();
+        fail( "All connections are in use" );
+      } catch ( SQLException e ) {
+        // expected
+      }
+      first.close();
+      // Closing a connection twice returns it once
+      first.close();
+      assertTrue( first.isClosed() );
+      Connection third = ds.getConnection();
+
+      ConnectionPoolStatus status = findPoolStatus( "CP5" );
+      assertEquals( LightConnectionPoolProvider.NAME, status.getProvider() );
+      assertEquals( 2, status.getActive() );
+      assertEquals( 0, status.getIdle() );
+      assertEquals( 2, status.getMaximum() );
+      // The pool is tested once when it is created
+      assertEquals( 5, status.getRequests() );
+      assertEquals( 1, status.getTimeouts() );
+      assertEquals( 4, Arrays.stream( status.getWaitHistogram() ).sum() );
+
+      third.close();
+      second.close();
+      status = findPoolStatus( "CP5" );
+      assertEquals( 0, status.getActive() );
+      assertEquals( 2, status.getIdle() );
+
+      ConnectionPoolStatus copy = new ConnectionPoolStatus(
+        XMLHandler.getSubNode( XMLHandler.loadXMLString( status.getXML() ), ConnectionPoolStatus.XML_TAG ) );
+      assertEquals( status.getName(), copy.getName() );
+      assertEquals( status.getProvider(), copy.getProvider() );
+      assertEquals( status.getIdle(), copy.getIdle() );
+      assertEquals( status.getRequests(), copy.getRequests() );
+      assertEquals( status.getTimeouts(), copy.getTimeouts() );
+      assertArrayEquals( status.getWaitHistogram(), copy.getWaitHistogram() );
+    } finally {
+      ConnectionPoolUtil.removeDataSource( ConnectionPoolUtil.getDataSourceName( lightMeta, "" ) );
+      ( (LightConnectionPool) ds ).close();
+    }
+  }
+
+  @Test
+  public void testLightConnectionPoolStatements() throws Exception {
+    Driver driver = mock( Driver.class );
+    Connection physical = mock( Connection.class );
+    Statement statement = mock( Statement.class );
+    when( driver.connect( anyString(), any( Properties.class ) ) ).thenReturn( physical );
+    when( physical.isValid( anyInt() ) ).thenReturn( true );
+    when( physical.getAutoCommit() ).thenReturn( true );
+    when( physical.createStatement() ).thenReturn( statement );
+
+    LightConnectionPool pool = new LightConnectionPool( driver, "jdbc:foo://server:111", new Properties(), 1 );
+    pool.setMaximumWait( 100 );
+    try {
+      Connection connection = pool.getConnection();
+      Statement pooled = connection.createStatement();
+      // The statement leads back to the pooled connection, so closing that returns it to the pool
+      assertSame( connection, pooled.getConnection() );
+      pooled.getConnection().close();
+      // The statement that was left open is closed with the connection
+      verify( statement ).close();
+      verify( physical, never() ).close();
+
+      Connection again = pool.getConnection();
+      again.close();
+      assertEquals( 1, pool.getStatus().getIdle() );
+    } finally {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void testLightConnectionPoolHidesPhysicalObjects() throws Exception {
+    Driver driver = mock( Driver.class );
+    Connection physical = mock( Connection.class );
+    Statement statement = mock( Statement.class );
+    ResultSet resultSet = mock( ResultSet.class );
+    DatabaseMetaData metaData = mock( DatabaseMetaData.class );
+    when( driver.connect( anyString(), any( Properties.class ) ) ).thenReturn( physical );
+    when( physical.isValid( anyInt() ) ).thenReturn( true );
+    when( physical.getAutoCommit() ).thenReturn( true );
+    when( physical.createStatement() ).thenReturn( statement );
+    when( physical.getMetaData() ).thenReturn( metaData );
+    when( statement.executeQuery( "select 1" ) ).thenReturn( resultSet );
+    when( resultSet.getStatement() ).thenReturn( statement );
+
+    LightConnectionPool pool = new LightConnectionPool( driver, "jdbc:foo://server:111", new Properties(), 1 );
+    pool.setMaximumWait( 100 );
+    try {
+      Connection connection = pool.getConnection();
+      Statement pooled = connection.createStatement();
+      // Every way back to the statement or the connection gives the pooled one
+      assertSame( pooled, pooled.executeQuery( "select 1" ).getStatement() );
+      assertSame( connection, connection.getMetaData().getConnection() );
+      assertSame( connection, connection.unwrap( Connection.class ) );
+      assertSame( pooled, pooled.unwrap( Statement.class ) );
+
+      connection.close();
+      verify( statement ).close();
+      verify( physical, never() ).close();
+    } finally {
+      pool.close();
+    }
+  }
+
+  private static ConnectionPoolStatus findPoolStatus( String connectionName ) {
+    for ( ConnectionPoolStatus status : ConnectionPoolUtil.getPoolStatusList() ) {
+      if ( status.getName().startsWith( connectionName ) ) {
+        return status;
+      }
+    }
+    fail( "No connection pool for " + connectionName );
+    return null;
+  }
+
   @Test
   public void testGetConnectionName() {
     when( dbMeta.getName() ).thenReturn( "CP2" );
@@ -49,6 +49,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.List;
 import java.util.Properties;
@@ -628,6 +629,70 @@ public class DatabaseTest {
     return sb.toString();
   }
 
+  @Test
+  public void testGetOneRowRestoresAutoCommitAfterStreaming() throws Exception {
+    Statement statement = mockStreamingQuery();
+    when( statement.executeQuery( sql ) ).thenReturn( rs );
+    when( rs.getMetaData() ).thenReturn( rsMetaData );
+
+    Database db = new Database( log, meta );
+    db.setConnection( conn );
+    db.getOneRow( sql );
+
+    verify( conn ).setAutoCommit( false );
+    verify( conn ).setAutoCommit( true );
+  }
+
+  @Test
+  public void testFailedStreamingQueryRestoresAutoCommit() throws Exception {
+    Statement statement = mockStreamingQuery();
+    when( statement.executeQuery( sql ) ).thenThrow( new SQLException( "Broken query" ) );
+
+    Database db = new Database( log, meta );
+    db.setConnection( conn );
+    try {
+      db.openQuery( sql );
+      fail( "The failed query should be reported" );
+    } catch ( KettleDatabaseException e ) {
+      // expected
+    }
+
+    verify( conn ).rollback();
+    verify( conn ).setAutoCommit( true );
+  }
+
+  @Test
+  public void testQueryWithRowLimitIsNotStreamed() throws Exception {
+    Statement statement = mockStreamingQuery();
+    when( statement.executeQuery( sql ) ).thenReturn( rs );
+    when( rs.getMetaData() ).thenReturn( rsMetaData );
+    when( meta.supportsSetMaxRows() ).thenReturn( true );
+
+    Database db = new Database( log, meta );
+    db.setConnection( conn );
+    db.setQueryLimit( 10 );
+    db.closeQuery( db.openQuery( sql ) );
+
+    verify( conn, never() ).setAutoCommit( false );
+    verify( statement ).setMaxRows( 10 );
+  }
+
+  /**
+   * A PostgreSQL connection in auto-commit mode that streams its results.
+   */
+  private Statement mockStreamingQuery() throws SQLException {
+    Statement statement = mock( Statement.class );
+    when( conn.createStatement() ).thenReturn( statement );
+    when( conn.getAutoCommit() ).thenReturn( true );
+    when( meta.stripCR( anyString() ) ).thenReturn( sql );
+    when( meta.getDatabaseInterface() ).thenReturn( new PostgreSQLDatabaseMeta() );
+    when( meta.isFetchSizeSupported() ).thenReturn( true );
+    when( meta.isStreamingResults() ).thenReturn( true );
+    when( meta.isStreamingRequiresNoAutoCommit() ).thenReturn( true );
+    when( meta.getStreamingFetchSize( anyInt() ) ).thenReturn( Const.FETCH_SIZE );
+    return statement;
+  }
+
   private Connection mockConnection( DatabaseMetaData dbMetaData ) throws SQLException {
     Connection conn = mock( Connection.class );
     MockDriver.conn = conn;
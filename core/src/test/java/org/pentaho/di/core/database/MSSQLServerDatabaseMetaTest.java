@@ -264,4 +264,14 @@ public class MSSQLServerDatabaseMetaTest {
 
     assertTrue( dbMeta.isUsingDoubleDecimalAsSchemaTableSeparator() );
   }
+
+  @Test
+  public void testMergeStatement() {
+    String[] keys = new String[] { "ID" };
+    String[] updates = new String[] { "NAME", "CITY" };
+    String[] inserts = new String[] { "ID", "NAME", "CITY" };
+    assertEquals( "MERGE INTO CUSTOMER t USING STAGE s ON ( t.ID = s.ID )"
+        + " WHEN NOT MATCHED THEN INSERT ( ID, NAME, CITY ) VALUES ( s.ID, s.NAME, s.CITY );",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, new String[0], inserts ) );
+  }
 }
@@ -132,4 +132,9 @@ public class MariaDBDatabaseMetaTest extends MySQLDatabaseMetaTest {
 
     // The fullExceptionLog method is covered by another test case.
   }
+
+  @Test
+  public void testMariaDBStreamingFetchSize() {
+    assertEquals( 10000, new MariaDBDatabaseMeta().getStreamingFetchSize( 10000 ) );
+  }
 }
@@ -62,6 +62,7 @@ public class MySQLDatabaseMetaTest {
     assertEquals( "com.mysql.cj.jdbc.Driver", nativeMeta.getDriverClass() );
     assertEquals( "jdbc:mysql://FOO:BAR/WIBBLE", nativeMeta.getURL( "FOO", "BAR", "WIBBLE" ) );
     assertEquals( "jdbc:mysql://FOO/WIBBLE", nativeMeta.getURL( "FOO", "", "WIBBLE" ) );
+    assertEquals( "MOD( CRC32( FOO ), 4 )", nativeMeta.getHashModuloExpression( "FOO", 4 ) );
     assertEquals( "&", nativeMeta.getExtraOptionSeparator() );
     assertEquals( "?", nativeMeta.getExtraOptionIndicator() );
     assertFalse( nativeMeta.supportsTransactions() );
@@ -396,4 +397,28 @@ public class MySQLDatabaseMetaTest {
       assert( key.startsWith( "foobar." ) );
     }
   }
+
+  @Test
+  public void testMergeStatement() {
+    String[] keys = new String[] { "ID" };
+    String[] updates = new String[] { "NAME", "CITY" };
+    String[] inserts = new String[] { "ID", "NAME", "CITY" };
+    assertEquals( "INSERT INTO CUSTOMER ( ID, NAME, CITY ) SELECT ID, NAME, CITY FROM STAGE"
+        + " ON DUPLICATE KEY UPDATE NAME = VALUES( NAME ), CITY = VALUES( CITY )",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, inserts ) );
+    assertEquals( "INSERT INTO CUSTOMER ( ID, NAME, CITY ) SELECT ID, NAME, CITY FROM STAGE"
+        + " ON DUPLICATE KEY UPDATE ID = ID",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, new String[0], inserts ) );
+    assertEquals( "UPDATE CUSTOMER t INNER JOIN STAGE s ON t.ID = s.ID SET t.NAME = s.NAME, t.CITY = s.CITY",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, null ) );
+  }
+
+  @Test
+  public void testStreamingFetchSize() {
+    nativeMeta.setPluginId( "MYSQL" );
+    assertEquals( Integer.MIN_VALUE, nativeMeta.getStreamingFetchSize( 10000 ) );
+    nativeMeta.addExtraOption( "MYSQL", "useCursorFetch", "true" );
+    assertEquals( 10000, nativeMeta.getStreamingFetchSize( 10000 ) );
+    assertFalse( nativeMeta.isStreamingRequiresNoAutoCommit() );
+  }
 }
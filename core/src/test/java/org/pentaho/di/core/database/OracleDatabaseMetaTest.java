@@ -71,6 +71,7 @@ public class OracleDatabaseMetaTest {
     assertEquals( "jdbc:oracle:thin:@FOO:1024:BAR", nativeMeta.getURL( "FOO", "1024", "BAR" ) );
     assertEquals( "jdbc:oracle:thin:@FOO:11:BAR", nativeMeta.getURL( "FOO", "11", ":BAR" ) );
     assertEquals( "jdbc:oracle:thin:@BAR:65534/FOO", nativeMeta.getURL( "BAR", "65534", "/FOO" ) );
+    assertEquals( "ORA_HASH( FOO, 3 )", nativeMeta.getHashModuloExpression( "FOO", 4 ) );
     assertEquals( "jdbc:oracle:thin:@FOO", nativeMeta.getURL( "", "", "FOO" ) );
     assertEquals( "jdbc:oracle:thin:@FOO", nativeMeta.getURL( null, "-1", "FOO" ) );
     assertEquals( "jdbc:oracle:thin:@FOO", nativeMeta.getURL( null, null, "FOO" ) );
@@ -315,4 +316,18 @@ public class OracleDatabaseMetaTest {
 
     assertTrue( dbMeta.strictBigNumberInterpretation() );
   }
+
+  @Test
+  public void testMergeStatement() {
+    String[] keys = new String[] { "ID" };
+    String[] updates = new String[] { "NAME", "CITY" };
+    String[] inserts = new String[] { "ID", "NAME", "CITY" };
+    assertEquals( "MERGE INTO CUSTOMER t USING STAGE s ON ( t.ID = s.ID )"
+        + " WHEN MATCHED THEN UPDATE SET NAME = s.NAME, CITY = s.CITY"
+        + " WHEN NOT MATCHED THEN INSERT ( ID, NAME, CITY ) VALUES ( s.ID, s.NAME, s.CITY )",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, inserts ) );
+    assertEquals( "MERGE INTO CUSTOMER t USING STAGE s ON ( t.ID = s.ID )"
+        + " WHEN MATCHED THEN UPDATE SET NAME = s.NAME, CITY = s.CITY",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, null ) );
+  }
 }
@@ -51,6 +51,7 @@ public class PostgreSQLDatabaseMetaTest {
 
     assertTrue( nativeMeta.isFetchSizeSupported() );
     assertFalse( nativeMeta.supportsBitmapIndex() );
+    assertEquals( "ABS( MOD( HASHTEXT( CAST( FOO AS TEXT ) ), 4 ) )", nativeMeta.getHashModuloExpression( "FOO", 4 ) );
     assertFalse( nativeMeta.supportsSynonyms() );
     assertTrue( nativeMeta.supportsSequences() );
     assertTrue( nativeMeta.supportsSequenceNoMaxValueOption() );
@@ -232,4 +233,25 @@ public class PostgreSQLDatabaseMetaTest {
     assertNull( nativeMeta.getSQLUnlockTables(  new String[] { "FOO" } ) );
   }
 
+  @Test
+  public void testMergeStatement() {
+    String[] keys = new String[] { "ID" };
+    String[] updates = new String[] { "NAME", "CITY" };
+    String[] inserts = new String[] { "ID", "NAME", "CITY" };
+    assertEquals( "INSERT INTO CUSTOMER ( ID, NAME, CITY ) SELECT ID, NAME, CITY FROM STAGE"
+        + " ON CONFLICT ( ID ) DO UPDATE SET NAME = EXCLUDED.NAME, CITY = EXCLUDED.CITY",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, inserts ) );
+    assertEquals( "INSERT INTO CUSTOMER ( ID, NAME, CITY ) SELECT ID, NAME, CITY FROM STAGE"
+        + " ON CONFLICT ( ID ) DO NOTHING",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, new String[0], inserts ) );
+    assertEquals( "UPDATE CUSTOMER t SET NAME = s.NAME, CITY = s.CITY FROM STAGE s WHERE t.ID = s.ID",
+      nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, updates, null ) );
+    assertNull( nativeMeta.getMergeStatement( "CUSTOMER", "STAGE", keys, new String[0], null ) );
+  }
+
+  @Test
+  public void testStreaming() {
+    assertEquals( 10000, nativeMeta.getStreamingFetchSize( 10000 ) );
+    assertTrue( nativeMeta.isStreamingRequiresNoAutoCommit() );
+  }
 }
@@ -17,11 +17,15 @@ package org.pentaho.di.core.logging;
 import org.junit.Assert;
 
 import org.junit.Test;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.pentaho.di.core.Const;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class LoggingBufferTest {
 
@@ -179,4 +183,129 @@ public class LoggingBufferTest {
     Assert.assertEquals( 10, loggingBuffer.size() );
   }
 
+  @Test
+  public void testAsyncDelivery() throws Exception {
+    LoggingBuffer loggingBuffer = new LoggingBuffer( 0 );
+    loggingBuffer.startAsync( 4 );
+    try {
+      Assert.assertTrue( loggingBuffer.isAsync() );
+      final AtomicInteger delivered = new AtomicInteger();
+      loggingBuffer.addLoggingEventListener( event -> delivered.incrementAndGet() );
+
+      final LogChannel channel = new LogChannel( "async" );
+      Thread[] threads = new Thread[ 4 ];
+      for ( int t = 0; t < threads.length; t++ ) {
+        threads[ t ] = new Thread( () -> {
+          for ( int i = 0; i < 250; i++ ) {
+            KettleLoggingEvent event = new KettleLoggingEvent();
+            event.setMessage( new LogMessage( "line " + i, channel.getLogChannelId(), LogLevel.BASIC ) );
+            loggingBuffer.publish( event, channel );
+          }
+        } );
+        threads[ t ].start();
+      }
+      for ( Thread thread : threads ) {
+        thread.join();
+      }
+
+      // Reading the buffer waits for the lines on their way
+      Assert.assertEquals( 1000, loggingBuffer.size() );
+      Assert.assertEquals( 1000, delivered.get() );
+    } finally {
+      loggingBuffer.stopAsync();
+    }
+    Assert.assertFalse( loggingBuffer.isAsync() );
+  }
+
+  @Test
+  public void testStopAsyncWhilePublishing() throws Exception {
+    LoggingBuffer loggingBuffer = new LoggingBuffer( 0 );
+    loggingBuffer.startAsync( 4 );
+    final AtomicInteger delivered = new AtomicInteger();
+    loggingBuffer.addLoggingEventListener( event -> delivered.incrementAndGet() );
+
+    final LogChannel channel = new LogChannel( "closing" );
+    final CountDownLatch started = new CountDownLatch( 4 );
+    Thread[] threads = new Thread[ 4 ];
+    for ( int t = 0; t < threads.length; t++ ) {
+      threads[ t ] = new Thread( () -> {
+        started.countDown();
+        for ( int i = 0; i < 2500; i++ ) {
+          KettleLoggingEvent event = new KettleLoggingEvent();
+          event.setMessage( new LogMessage( "line " + i, channel.getLogChannelId(), LogLevel.BASIC ) );
+          loggingBuffer.publish( event, channel );
+        }
+      } );
+      threads[ t ].start();
+    }
+    started.await();
+    loggingBuffer.stopAsync();
+    for ( Thread thread : threads ) {
+      thread.join();
+    }
+
+    // The lines published while the ring closed are delivered too
+    Assert.assertEquals( 10000, loggingBuffer.size() );
+    Assert.assertEquals( 10000, delivered.get() );
+  }
+
+  @Test
+  public void testTrimsToMaxNrLines() {
+    LoggingBuffer loggingBuffer = new LoggingBuffer( 5 );
+    for ( int i = 0; i < 12; i++ ) {
+      KettleLoggingEvent event = new KettleLoggingEvent();
+      event.setMessage( new LogMessage( "line " + i, LogLevel.BASIC ) );
+      loggingBuffer.addLogggingEvent( event );
+    }
+    Assert.assertEquals( 5, loggingBuffer.size() );
+    loggingBuffer.clear();
+    Assert.assertEquals( 0, loggingBuffer.size() );
+  }
+
+  @Test
+  public void testGetLogBufferFromToPerChannel() {
+    LoggingBuffer loggingBuffer = new LoggingBuffer( 30 );
+    for ( int i = 0; i < 40; i++ ) {
+      KettleLoggingEvent event = new KettleLoggingEvent();
+      event.setMessage( new LogMessage( "line " + i, "channel" + ( i % 4 ), LogLevel.BASIC ) );
+      loggingBuffer.addLogggingEvent( event );
+    }
+    int last = loggingBuffer.getLastBufferLineNr();
+
+    // The 10 oldest lines are trimmed, the lines of both channels come back in the order they are logged
+    List<KettleLoggingEvent> events =
+      loggingBuffer.getLogBufferFromTo( Arrays.asList( "channel3", "channel1" ), false, 0, last );
+    Assert.assertEquals( 15, events.size() );
+    for ( int i = 0; i < events.size(); i++ ) {
+      Assert.assertEquals( "line " + ( 11 + 2 * i ), ( (LogMessage) events.get( i ).getMessage() ).getMessage() );
+    }
+    Assert.assertEquals( 3, loggingBuffer.getLogBufferFromTo( Arrays.asList( "channel2" ), false, last - 9, last )
+      .size() );
+
+    loggingBuffer.removeChannelFromBuffer( "channel1" );
+    Assert.assertEquals( 23, loggingBuffer.size() );
+    Assert.assertTrue( loggingBuffer.getLogBufferFromTo( Arrays.asList( "channel1" ), false, 0, last ).isEmpty() );
+  }
+
+  @Test
+  public void testGetLogBufferSince() {
+    LoggingBuffer loggingBuffer = new LoggingBuffer( 0 );
+    MutableInt lastNr = new MutableInt( 0 );
+    for ( int i = 0; i < 5; i++ ) {
+      KettleLoggingEvent event = new KettleLoggingEvent();
+      event.setMessage( new LogMessage( "line " + i, i % 2 == 0 ? "since" : "other", LogLevel.BASIC ) );
+      loggingBuffer.addLogggingEvent( event );
+    }
+    Assert.assertEquals( 3, loggingBuffer.getLogBufferSince( "since", false, lastNr ).size() );
+    Assert.assertEquals( loggingBuffer.getLastBufferLineNr(), lastNr.intValue() );
+    Assert.assertTrue( loggingBuffer.getLogBufferSince( "since", false, lastNr ).isEmpty() );
+
+    KettleLoggingEvent event = new KettleLoggingEvent();
+    event.setMessage( new LogMessage( "line 5", "since", LogLevel.BASIC ) );
+    loggingBuffer.addLogggingEvent( event );
+    List<KettleLoggingEvent> events = loggingBuffer.getLogBufferSince( "since", false, lastNr );
+    Assert.assertEquals( 1, events.size() );
+    Assert.assertEquals( "line 5", ( (LogMessage) events.get( 0 ).getMessage() ).getMessage() );
+  }
+
 }
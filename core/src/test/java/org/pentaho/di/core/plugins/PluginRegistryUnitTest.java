@@ -15,6 +15,7 @@ package org.pentaho.di.core.plugins;
 
 import org.junit.ClassRule;
 import org.junit.Test;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettlePluginClassMapException;
 import org.pentaho.di.core.exception.KettlePluginException;
 import org.pentaho.di.core.extension.PluginMockInterface;
@@ -27,6 +28,11 @@ import org.pentaho.di.junit.rules.RestorePDIEnvironment;
 import java.lang.annotation.Annotation;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -39,6 +45,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -218,4 +225,66 @@ public class PluginRegistryUnitTest {
     registry.registerPlugin( ValueMetaPluginType.class, plugin );
     assertEquals( 1, registry.getCategories( ValueMetaPluginType.class ).size() );
   }
+
+  @Test
+  public void testLazyInit() throws KettlePluginException {
+    PluginRegistry registry = PluginRegistry.getInstance();
+    registry.reset();
+    PluginTypeInterface pluginType = mock( PluginTypeInterface.class );
+    PluginRegistry.addPluginType( pluginType );
+
+    System.setProperty( Const.KETTLE_PLUGIN_LAZY_INIT, "Y" );
+    try {
+      PluginRegistry.init();
+    } finally {
+      System.clearProperty( Const.KETTLE_PLUGIN_LAZY_INIT );
+    }
+    verify( pluginType, never() ).searchPlugins();
+    assertTrue( registry.getPluginTypes().contains( pluginType.getClass() ) );
+
+    // The plugin type is searched the first time its plugins are asked for, and only then
+    assertTrue( registry.getPlugins( pluginType.getClass() ).isEmpty() );
+    registry.getPlugins( pluginType.getClass() );
+    verify( pluginType, times( 1 ) ).searchPlugins();
+    registry.reset();
+  }
+
+  @Test
+  public void testLazyInitConcurrentGetPlugins() throws Exception {
+    PluginRegistry registry = PluginRegistry.getInstance();
+    registry.reset();
+    PluginTypeInterface pluginType = mock( PluginTypeInterface.class );
+    PluginInterface first = mock( PluginInterface.class );
+    when( first.getIds() ).thenReturn( new String[] { "first" } );
+    PluginInterface second = mock( PluginInterface.class );
+    when( second.getIds() ).thenReturn( new String[] { "second" } );
+    doAnswer( invocation -> {
+      registry.registerPlugin( pluginType.getClass(), first );
+      // Give the other thread the time to ask for the plugins halfway through the search
+      Thread.sleep( 200 );
+      registry.registerPlugin( pluginType.getClass(), second );
+      return null;
+    } ).when( pluginType ).searchPlugins();
+    PluginRegistry.addPluginType( pluginType );
+
+    System.setProperty( Const.KETTLE_PLUGIN_LAZY_INIT, "Y" );
+    try {
+      PluginRegistry.init();
+    } finally {
+      System.clearProperty( Const.KETTLE_PLUGIN_LAZY_INIT );
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool( 2 );
+    try {
+      Callable<Integer> getPlugins = () -> registry.getPlugins( pluginType.getClass() ).size();
+      Future<Integer> one = executor.submit( getPlugins );
+      Future<Integer> other = executor.submit( getPlugins );
+      assertEquals( 2, (int) one.get( 10, TimeUnit.SECONDS ) );
+      assertEquals( 2, (int) other.get( 10, TimeUnit.SECONDS ) );
+      verify( pluginType, times( 1 ) ).searchPlugins();
+    } finally {
+      executor.shutdownNow();
+      registry.reset();
+    }
+  }
 }
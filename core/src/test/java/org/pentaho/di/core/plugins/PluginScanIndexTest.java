@@ -0,0 +1,88 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginScanIndexTest {
+  private static final String STEP_ANNOTATION = "org.pentaho.di.core.annotations.Step";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    File jarFile = temporaryFolder.newFile( "plugin.jar" );
+    Files.write( jarFile.toPath(), new byte[] { 1, 2, 3 } );
+    String filename = new File( temporaryFolder.getRoot(), "plugin-scan.idx" ).getPath();
+
+    PluginScanIndex index = new PluginScanIndex( filename );
+    assertNull( index.get( jarFile ) );
+    Map<String, Set<String>> annotationIndex = new HashMap<>();
+    annotationIndex.put( STEP_ANNOTATION, Collections.singleton( "org.example.MyStep" ) );
+    index.put( jarFile, annotationIndex );
+    index.save();
+
+    PluginScanIndex loaded = new PluginScanIndex( filename );
+    assertEquals( 1, loaded.size() );
+    Map<String, Set<String>> found = loaded.get( jarFile );
+    assertNotNull( found );
+    assertEquals( Collections.singleton( "org.example.MyStep" ), found.get( STEP_ANNOTATION ) );
+  }
+
+  @Test
+  public void testChangedAndRemovedJarFiles() throws IOException {
+    File jarFile = temporaryFolder.newFile( "changed.jar" );
+    File removedFile = temporaryFolder.newFile( "removed.jar" );
+    String filename = new File( temporaryFolder.getRoot(), "plugin-scan.idx" ).getPath();
+
+    PluginScanIndex index = new PluginScanIndex( filename );
+    index.put( jarFile, Collections.emptyMap() );
+    index.put( removedFile, Collections.emptyMap() );
+    assertNotNull( index.get( jarFile ) );
+
+    // A jar file that changed is scanned again
+    Files.write( jarFile.toPath(), new byte[] { 1, 2, 3 } );
+    assertNull( index.get( jarFile ) );
+
+    // A jar file that no longer exists is left out of the file
+    assertTrue( removedFile.delete() );
+    index.save();
+    assertEquals( 1, new PluginScanIndex( filename ).size() );
+  }
+
+  @Test
+  public void testUnreadableFile() throws IOException {
+    File file = temporaryFolder.newFile( "plugin-scan.idx" );
+    Files.write( file.toPath(), new byte[] { 1, 2, 3, 4, 5 } );
+
+    PluginScanIndex index = new PluginScanIndex( file.getPath() );
+    assertEquals( 0, index.size() );
+  }
+}
@@ -0,0 +1,88 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ParallelRangeInputStreamTest {
+
+  private static byte[] createData( int size ) {
+    byte[] data = new byte[ size ];
+    for ( int i = 0; i < size; i++ ) {
+      data[ i ] = (byte) ( i * 31 );
+    }
+    return data;
+  }
+
+  @Test
+  public void testReadAllParts() throws IOException {
+    byte[] data = createData( 10000 );
+    AtomicInteger requests = new AtomicInteger();
+    ParallelRangeInputStream.RangeReader rangeReader = ( offset, length ) -> {
+      requests.incrementAndGet();
+      return new ByteArrayInputStream( data, (int) offset, (int) length );
+    };
+
+    try ( InputStream inputStream = new ParallelRangeInputStream( rangeReader, 0, data.length, 1024, 3 ) ) {
+      assertArrayEquals( data, IOUtils.toByteArray( inputStream ) );
+    }
+    assertEquals( 10, requests.get() );
+  }
+
+  @Test
+  public void testReadRange() throws IOException {
+    byte[] data = createData( 5000 );
+    ParallelRangeInputStream.RangeReader rangeReader =
+      ( offset, length ) -> new ByteArrayInputStream( data, (int) offset, (int) length );
+
+    ByteArrayOutputStream read = new ByteArrayOutputStream();
+    try ( InputStream inputStream = new ParallelRangeInputStream( rangeReader, 100, 4100, 300, 2 ) ) {
+      int b;
+      while ( ( b = inputStream.read() ) >= 0 ) {
+        read.write( b );
+      }
+    }
+    assertArrayEquals( Arrays.copyOfRange( data, 100, 4100 ), read.toByteArray() );
+  }
+
+  @Test
+  public void testFailedPart() throws IOException {
+    byte[] data = createData( 5000 );
+    ParallelRangeInputStream.RangeReader rangeReader = ( offset, length ) -> {
+      if ( offset > 0 ) {
+        throw new IOException( "Unable to read the range" );
+      }
+      return new ByteArrayInputStream( data, (int) offset, (int) length );
+    };
+
+    try ( InputStream inputStream = new ParallelRangeInputStream( rangeReader, 0, data.length, 1000, 2 ) ) {
+      IOUtils.toByteArray( inputStream );
+      fail( "The failure to read a part should be reported" );
+    } catch ( IOException e ) {
+      assertEquals( "Unable to read the range", e.getMessage() );
+    }
+  }
+}
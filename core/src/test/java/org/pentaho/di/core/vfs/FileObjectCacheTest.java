@@ -0,0 +1,84 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.vfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+
+import org.apache.commons.vfs2.FileObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileObjectCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testGetAndExpire() throws Exception {
+    FileObject fileObject = KettleVFS.getInstance().getFileSystemManager().resolveFile(
+      temporaryFolder.newFile( "test.txt" ).toURI().toString() );
+    FileObjectCache cache = new FileObjectCache( 200L, 10 );
+
+    assertNull( cache.get( "test.txt", null ) );
+    cache.put( "test.txt", null, fileObject );
+    assertSame( fileObject, cache.get( "test.txt", null ) );
+
+    Thread.sleep( 300L );
+    assertNull( cache.get( "test.txt", null ) );
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testMaxSize() throws Exception {
+    FileObjectCache cache = new FileObjectCache( 60000L, 2 );
+    for ( int i = 0; i < 3; i++ ) {
+      File file = temporaryFolder.newFile( "test" + i + ".txt" );
+      cache.put( file.getPath(), null,
+        KettleVFS.getInstance().getFileSystemManager().resolveFile( file.toURI().toString() ) );
+    }
+    assertEquals( 2, cache.size() );
+  }
+
+  @Test
+  public void testPutAll() throws Exception {
+    temporaryFolder.newFile( "a.txt" );
+    temporaryFolder.newFile( "b.txt" );
+    FileObject folder =
+      KettleVFS.getInstance().getFileSystemManager().resolveFile( temporaryFolder.getRoot().toURI().toString() );
+    FileObject[] children = folder.getChildren();
+    FileObjectCache cache = new FileObjectCache( 60000L, 10 );
+
+    cache.putAll( children );
+    for ( FileObject child : children ) {
+      assertSame( child, cache.get( child.getName().getURI(), child.getFileSystem().getFileSystemOptions() ) );
+      assertSame( child, cache.get( KettleVFS.getFilename( child ), child.getFileSystem().getFileSystemOptions() ) );
+    }
+  }
+
+  @Test
+  public void testSwitchedOff() throws Exception {
+    FileObject fileObject = KettleVFS.getInstance().getFileSystemManager().resolveFile(
+      temporaryFolder.newFile( "test.txt" ).toURI().toString() );
+    FileObjectCache cache = new FileObjectCache( 0L, 10 );
+
+    cache.put( "test.txt", null, fileObject );
+    assertNull( cache.get( "test.txt", null ) );
+    assertEquals( 0, cache.size() );
+  }
+}
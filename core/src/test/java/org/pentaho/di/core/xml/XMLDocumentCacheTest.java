@@ -0,0 +1,90 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.VFS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+public class XMLDocumentCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testLoadFromCache() throws Exception {
+    File file = temporaryFolder.newFile( "test.ktr" );
+    write( file, "first" );
+    FileObject fileObject = VFS.getManager().resolveFile( file.toURI().toString() );
+    XMLDocumentCache cache = new XMLDocumentCache( 2 );
+
+    Document document = cache.loadXMLFile( fileObject );
+    assertEquals( "first", getName( document ) );
+    assertEquals( 1, cache.size() );
+
+    // Every caller gets a document of its own
+    Document again = cache.loadXMLFile( fileObject );
+    assertNotSame( document, again );
+    assertEquals( "first", getName( again ) );
+    XMLHandler.getSubNode( again, "transformation" ).setTextContent( "changed by the caller" );
+    assertEquals( "first", getName( cache.loadXMLFile( fileObject ) ) );
+
+    // A file that changed is parsed again
+    write( file, "second" );
+    fileObject.refresh();
+    assertEquals( "second", getName( cache.loadXMLFile( fileObject ) ) );
+    assertEquals( 1, cache.size() );
+  }
+
+  @Test
+  public void testMaxEntries() throws Exception {
+    XMLDocumentCache cache = new XMLDocumentCache( 2 );
+    for ( int i = 0; i < 3; i++ ) {
+      File file = temporaryFolder.newFile( "test" + i + ".ktr" );
+      write( file, "trans" + i );
+      cache.loadXMLFile( VFS.getManager().resolveFile( file.toURI().toString() ) );
+    }
+    assertEquals( 2, cache.size() );
+  }
+
+  @Test
+  public void testSwitchedOff() throws Exception {
+    File file = temporaryFolder.newFile( "test.ktr" );
+    write( file, "off" );
+    XMLDocumentCache cache = new XMLDocumentCache( 0 );
+    assertEquals( "off", getName( cache.loadXMLFile( VFS.getManager().resolveFile( file.toURI().toString() ) ) ) );
+    assertEquals( 0, cache.size() );
+  }
+
+  private static void write( File file, String name ) throws Exception {
+    String xml = "<transformation><info><name>" + name + "</name></info></transformation>";
+    Files.write( file.toPath(), xml.getBytes( StandardCharsets.UTF_8 ) );
+  }
+
+  private static String getName( Document document ) {
+    Node info = XMLHandler.getSubNode( XMLHandler.getSubNode( document, "transformation" ), "info" );
+    return XMLHandler.getTagValue( info, "name" );
+  }
+}
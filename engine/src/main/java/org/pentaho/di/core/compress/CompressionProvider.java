@@ -16,6 +16,8 @@ package org.pentaho.di.core.compress;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The CompressionProvider interface specifies the operations needed to interact with a stream whose data is compressed
@@ -80,4 +82,30 @@ public interface CompressionProvider {
    * @return A String containing the default file extension for this provider
    */
   String getDefaultExtension();
+
+  /**
+   * Whether the compressed data of this provider can be cut in splits that are decompressed independently, so the
+   * splits of one file can be read in parallel.
+   *
+   * @return true if {@link #getSplits(InputStream, long)} can find more than one split, false otherwise
+   */
+  default boolean supportsSplits() {
+    return false;
+  }
+
+  /**
+   * Finds the splits of the compressed data. To read a split, skip to its offset and create an input stream with
+   * {@link #createInputStream(InputStream)}. Data that can't be split, because the provider or the format of the data
+   * doesn't allow it, is returned as a single split.
+   *
+   * @param in
+   *          the compressed data, from the start
+   * @param splitSize
+   *          the approximate number of compressed bytes per split
+   * @return the splits in the order of the data
+   * @throws IOException
+   */
+  default List<CompressionSplit> getSplits( InputStream in, long splitSize ) throws IOException {
+    return Collections.singletonList( new CompressionSplit( 0L, -1L, -1L ) );
+  }
 }
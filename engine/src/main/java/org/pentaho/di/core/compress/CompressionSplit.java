@@ -0,0 +1,52 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress;
+
+/**
+ * A part of a compressed file that can be decompressed on its own: an input stream created by
+ * {@link CompressionProvider#createInputStream(java.io.InputStream)} can start reading at its offset. Reading past the
+ * end of the split continues with the data of the next split.
+ */
+public class CompressionSplit {
+
+  private final long offset;
+  private final long length;
+  private final long uncompressedLength;
+
+  /**
+   * @param offset
+   *          the offset of the split in the compressed data
+   * @param length
+   *          the number of compressed bytes in the split, or -1 for the rest of the data
+   * @param uncompressedLength
+   *          the number of bytes the split decompresses to, or -1 if it isn't known
+   */
+  public CompressionSplit( long offset, long length, long uncompressedLength ) {
+    this.offset = offset;
+    this.length = length;
+    this.uncompressedLength = uncompressedLength;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  public long getUncompressedLength() {
+    return uncompressedLength;
+  }
+}
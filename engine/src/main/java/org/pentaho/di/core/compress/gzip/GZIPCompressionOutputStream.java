@@ -18,16 +18,30 @@ import java.io.OutputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipOutputStream;
 
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.compress.CompressionOutputStream;
 import org.pentaho.di.core.compress.CompressionProvider;
+import org.pentaho.di.core.util.EnvUtil;
 
 public class GZIPCompressionOutputStream extends CompressionOutputStream {
 
   public GZIPCompressionOutputStream( OutputStream out, CompressionProvider provider ) throws IOException {
-    super( getDelegate( out ), provider );
+    super( createDelegate( out ), provider );
 
   }
 
+  /**
+   * @return a stream that compresses blocks of data in parallel if {@link Const#KETTLE_GZIP_OUTPUT_THREADS} is more
+   *         than 1, a plain gzip stream otherwise
+   */
+  private static OutputStream createDelegate( OutputStream out ) throws IOException {
+    int threads = Const.toInt( EnvUtil.getSystemProperty( Const.KETTLE_GZIP_OUTPUT_THREADS ), 1 );
+    if ( threads > 1 ) {
+      return new ParallelGZIPOutputStream( out, threads, ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE );
+    }
+    return getDelegate( out );
+  }
+
   protected static GZIPOutputStream getDelegate( OutputStream out ) throws IOException {
     GZIPOutputStream delegate = null;
     if ( out instanceof ZipOutputStream ) {
@@ -40,7 +54,6 @@ public class GZIPCompressionOutputStream extends CompressionOutputStream {
 
   @Override
   public void close() throws IOException {
-    GZIPOutputStream zos = (GZIPOutputStream) delegate;
-    zos.close();
+    delegate.close();
   }
 }
@@ -13,14 +13,22 @@
 
 package org.pentaho.di.core.compress.gzip;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.pentaho.di.core.compress.CompressionProvider;
+import org.pentaho.di.core.compress.CompressionSplit;
 
 public class GZIPCompressionProvider implements CompressionProvider {
 
+  private static final int HEADER_SIZE = 12;
+
   @Override
   public GZIPCompressionInputStream createInputStream( InputStream in ) throws IOException {
     return new GZIPCompressionInputStream( in, this );
@@ -41,6 +49,115 @@ public class GZIPCompressionProvider implements CompressionProvider {
     return true;
   }
 
+  /**
+   * Files in the BGZF format (blocked gzip, as written by bgzip) can be split at the start of each block.
+   */
+  @Override
+  public boolean supportsSplits() {
+    return true;
+  }
+
+  /**
+   * Reads the block headers of a BGZF file, which hold the compressed size of each block, and groups the blocks into
+   * splits. Only the headers and trailers of the blocks are read, the compressed data is skipped with
+   * {@link InputStream#skip(long)}, which seeks on a file stream. Other gzip files are returned as a single split.
+   */
+  @Override
+  public List<CompressionSplit> getSplits( InputStream in, long splitSize ) throws IOException {
+    List<CompressionSplit> splits = new ArrayList<>();
+    byte[] header = new byte[ HEADER_SIZE ];
+    byte[] trailer = new byte[ 8 ];
+    long offset = 0L;
+    long splitOffset = 0L;
+    long splitUncompressedLength = 0L;
+
+    int read;
+    while ( ( read = IOUtils.read( in, header ) ) > 0 ) {
+      if ( read < HEADER_SIZE || !isGzipHeader( header ) ) {
+        return wholeFile();
+      }
+      int extraLength = readUnsignedShort( header, 10 );
+      byte[] extra = new byte[ extraLength ];
+      if ( IOUtils.read( in, extra ) < extraLength ) {
+        return wholeFile();
+      }
+      int blockSize = getBlockSize( extra );
+      if ( blockSize < HEADER_SIZE + extraLength + trailer.length ) {
+        return wholeFile();
+      }
+
+      // Skip the compressed data, the trailer holds the uncompressed size of the block
+      skip( in, blockSize - HEADER_SIZE - extraLength - trailer.length );
+      IOUtils.readFully( in, trailer );
+      offset += blockSize;
+      splitUncompressedLength += readUnsignedInt( trailer, 4 );
+
+      if ( offset - splitOffset >= splitSize ) {
+        splits.add( new CompressionSplit( splitOffset, offset - splitOffset, splitUncompressedLength ) );
+        splitOffset = offset;
+        splitUncompressedLength = 0L;
+      }
+    }
+    if ( offset > splitOffset ) {
+      splits.add( new CompressionSplit( splitOffset, offset - splitOffset, splitUncompressedLength ) );
+    }
+    return splits.isEmpty() ? wholeFile() : splits;
+  }
+
+  /**
+   * Unlike IOUtils.skipFully this doesn't read the skipped bytes: the stream can seek. A stream that skips past its
+   * end fails on the next read.
+   */
+  private static void skip( InputStream in, long count ) throws IOException {
+    long skipped = 0L;
+    while ( skipped < count ) {
+      long n = in.skip( count - skipped );
+      if ( n <= 0 ) {
+        // A stream may skip nothing without being at the end, read a byte to find out
+        if ( in.read() < 0 ) {
+          throw new EOFException( "End of data in a BGZF block" );
+        }
+        n = 1;
+      }
+      skipped += n;
+    }
+  }
+
+  private static List<CompressionSplit> wholeFile() {
+    return Collections.singletonList( new CompressionSplit( 0L, -1L, -1L ) );
+  }
+
+  /**
+   * @return true for a deflate compressed gzip member with extra fields
+   */
+  private static boolean isGzipHeader( byte[] header ) {
+    return ( header[ 0 ] & 0xFF ) == 31 && ( header[ 1 ] & 0xFF ) == 139 && header[ 2 ] == 8
+      && ( header[ 3 ] & 4 ) != 0;
+  }
+
+  /**
+   * @return the size of the BGZF block from the BC extra field, or -1 if there is none
+   */
+  private static int getBlockSize( byte[] extra ) {
+    int i = 0;
+    while ( i + 4 <= extra.length ) {
+      int fieldLength = readUnsignedShort( extra, i + 2 );
+      if ( extra[ i ] == 'B' && extra[ i + 1 ] == 'C' && fieldLength == 2 && i + 6 <= extra.length ) {
+        return readUnsignedShort( extra, i + 4 ) + 1;
+      }
+      i += 4 + fieldLength;
+    }
+    return -1;
+  }
+
+  private static int readUnsignedShort( byte[] bytes, int offset ) {
+    return ( bytes[ offset ] & 0xFF ) | ( bytes[ offset + 1 ] & 0xFF ) << 8;
+  }
+
+  private static long readUnsignedInt( byte[] bytes, int offset ) {
+    return readUnsignedShort( bytes, offset ) | (long) readUnsignedShort( bytes, offset + 2 ) << 16;
+  }
+
   @Override
   public String getDescription() {
     return "GZIP compression";
@@ -0,0 +1,166 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import org.pentaho.di.core.util.ExecutorUtil;
+
+/**
+ * Compresses blocks of the written data on a number of threads, like pigz. The data is collected in blocks on the
+ * writing thread, every block is compressed to a gzip member of its own in the background and the members are written
+ * in order. A file of concatenated gzip members is a valid gzip file, it is read by gunzip and
+ * {@link java.util.zip.GZIPInputStream} like any other.
+ * <p>
+ * At most the given number of blocks is compressed at the same time, writing waits for the oldest block when all
+ * threads are busy.
+ */
+public class ParallelGZIPOutputStream extends OutputStream {
+
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  private final OutputStream out;
+  private final int threads;
+  private final int blockSize;
+
+  private final Deque<Future<byte[]>> blocks = new ArrayDeque<>();
+  private byte[] block;
+  private int count;
+  private boolean written;
+  private boolean closed;
+
+  /**
+   * @param out
+   *          the stream to write the compressed data to
+   * @param threads
+   *          the number of blocks to compress at the same time
+   * @param blockSize
+   *          the number of bytes to compress per block
+   */
+  public ParallelGZIPOutputStream( OutputStream out, int threads, int blockSize ) {
+    if ( threads <= 0 || blockSize <= 0 ) {
+      throw new IllegalArgumentException( "The number of threads and the block size must be positive" );
+    }
+    this.out = out;
+    this.threads = threads;
+    this.blockSize = blockSize;
+    this.block = new byte[ blockSize ];
+  }
+
+  @Override
+  public void write( int b ) throws IOException {
+    ensureOpen();
+    block[ count++ ] = (byte) b;
+    if ( count == blockSize ) {
+      compressBlock();
+    }
+  }
+
+  @Override
+  public void write( byte[] b, int off, int len ) throws IOException {
+    ensureOpen();
+    while ( len > 0 ) {
+      int n = Math.min( len, blockSize - count );
+      System.arraycopy( b, off, block, count, n );
+      count += n;
+      off += n;
+      len -= n;
+      if ( count == blockSize ) {
+        compressBlock();
+      }
+    }
+  }
+
+  /**
+   * Writes the blocks that are handed to the threads. Like {@link GZIPOutputStream#flush()}, the data of the block that
+   * isn't full yet stays in this stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    while ( !blocks.isEmpty() ) {
+      writeBlock();
+    }
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if ( closed ) {
+      return;
+    }
+    closed = true;
+    try {
+      // An empty file still gets a gzip member
+      if ( count > 0 || !written ) {
+        compressBlock();
+      }
+      flush();
+    } finally {
+      for ( Future<byte[]> pending : blocks ) {
+        pending.cancel( true );
+      }
+      blocks.clear();
+      out.close();
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if ( closed ) {
+      throw new IOException( "Stream closed" );
+    }
+  }
+
+  private void compressBlock() throws IOException {
+    final byte[] data = block;
+    final int length = count;
+    block = new byte[ blockSize ];
+    count = 0;
+    written = true;
+    blocks.add( ExecutorUtil.getExecutor().submit( () -> compress( data, length ) ) );
+    while ( blocks.size() > threads ) {
+      writeBlock();
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    Future<byte[]> next = blocks.poll();
+    try {
+      out.write( next.get() );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while compressing" );
+    } catch ( ExecutionException e ) {
+      if ( e.getCause() instanceof IOException ) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException( e.getCause() );
+    }
+  }
+
+  private static byte[] compress( byte[] data, int length ) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream( length / 2 + 64 );
+    try ( GZIPOutputStream gzipOutputStream = new GZIPOutputStream( compressed ) ) {
+      gzipOutputStream.write( data, 0, length );
+    }
+    return compressed.toByteArray();
+  }
+}
@@ -149,6 +149,10 @@ public class LogChannelFileWriter {
   }
 
   public void stopLogging() {
+    if ( KettleLogStore.isInitialized() ) {
+      // The last lines may still be on their way in asynchronous logging mode
+      KettleLogStore.getAppender().flush();
+    }
     flush();
     active.set( false );
     while ( !finished.get() ) {
@@ -67,6 +67,7 @@ import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.util.StringUtil;
 import org.pentaho.di.core.variables.VariableSpace;
 import org.pentaho.di.core.vfs.KettleVFS;
+import org.pentaho.di.core.xml.XMLDocumentCache;
 import org.pentaho.di.core.xml.XMLFormatter;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.core.xml.XMLInterface;
@@ -872,7 +873,8 @@ public class JobMeta extends AbstractMeta
     setBowl( bowl );
     try {
       // OK, try to load using the VFS stuff...
-      Document doc = XMLHandler.loadXMLFile( KettleVFS.getInstance( bowl ).getFileObject( fname, this ) );
+      Document doc =
+        XMLDocumentCache.getInstance().loadXMLFile( KettleVFS.getInstance( bowl ).getFileObject( fname, this ) );
       if ( doc != null ) {
         // The jobnode
         Node jobnode = XMLHandler.getSubNode( doc, XML_TAG );
@@ -23,7 +23,9 @@ import org.pentaho.di.trans.step.BaseStepData.StepExecutionStatus;
 import org.pentaho.di.trans.step.RowAdapter;
 import org.pentaho.di.trans.step.StepMetaDataCombi;
 import org.pentaho.di.trans.step.StepStatus;
+import org.pentaho.di.trans.TransMeta.TransformationType;
 import org.pentaho.di.trans.steps.TransStepUtil;
+import org.pentaho.di.trans.steps.rowsfromresult.RowsFromResultMeta;
 import org.pentaho.di.trans.steps.transexecutor.TransExecutorParameters;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,11 +34,18 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 
 /**
- * Will run the given sub-transformation with the rows passed to execute
+ * Will run the given sub-transformation with the rows passed to execute.
+ * <p>
+ * By default a new sub-transformation is created for every call. In persistent mode every sub-transformation is started
+ * once on the single threaded engine and fed one batch per call through a {@link RowProducer}: the batch is complete
+ * when one iteration of the engine has passed all of its rows through every step. Steps such as Group By and Sort
+ * rows flush their output at the end of every iteration, so each call still returns the rows of its own batch.
  */
 public class SubtransExecutor {
   private static final Class<?> PKG = SubtransExecutor.class;
@@ -51,9 +60,25 @@ public class SubtransExecutor {
   Set<Trans> running;
   private Semaphore semaphore;
   private final int prefetchCount;
+  private final boolean persistent;
+
+  // Started sub-transformations that are not executing a batch, only used in persistent mode
+  private final Queue<PersistentSubtrans> idle = new ConcurrentLinkedQueue<>();
 
   public SubtransExecutor( String subTransName, Trans parentTrans, TransMeta subtransMeta, boolean shareVariables,
                            TransExecutorParameters parameters, String subStep, int prefetchCount ) {
+    this( subTransName, parentTrans, subtransMeta, shareVariables, parameters, subStep, prefetchCount, false );
+  }
+
+  /**
+   * @param persistent
+   *          start the sub-transformation once and feed it batch after batch instead of creating one per batch. One
+   *          sub-transformation is started per batch executing at the same time. The parameters are bound once when a
+   *          sub-transformation is started, so they can't be mapped from input fields.
+   */
+  public SubtransExecutor( String subTransName, Trans parentTrans, TransMeta subtransMeta, boolean shareVariables,
+                           TransExecutorParameters parameters, String subStep, int prefetchCount,
+                           boolean persistent ) {
     this.subTransName = subTransName;
     this.parentTrans = parentTrans;
     this.subtransMeta = subtransMeta;
@@ -64,14 +89,18 @@ public class SubtransExecutor {
     this.running = ConcurrentHashMap.newKeySet();
     this.prefetchCount = prefetchCount;
     this.semaphore = new Semaphore( prefetchCount );
+    this.persistent = persistent;
   }
 
   public Optional<Result> execute( List<RowMetaAndData> rows ) throws KettleException {
     if ( rows.isEmpty() || stopped ) {
       return Optional.empty();
     }
+    if ( persistent ) {
+      return Optional.of( executePersistent( rows ) );
+    }
 
-    Trans subtrans = this.createSubtrans();
+    Trans subtrans = this.createSubtrans( this.subtransMeta );
     running.add( subtrans );
     parentTrans.addActiveSubTransformation( subTransName, subtrans );
 
@@ -104,6 +133,81 @@ public class SubtransExecutor {
     return Optional.of( subtransResult );
   }
 
+  private Result executePersistent( List<RowMetaAndData> rows ) throws KettleException {
+    PersistentSubtrans subtrans = idle.poll();
+    if ( subtrans == null ) {
+      subtrans = startPersistentSubtrans( rows.get( 0 ) );
+    }
+    running.add( subtrans.trans );
+
+    Result subtransResult;
+    try {
+      subtransResult = subtrans.execute( rows );
+    } catch ( KettleException e ) {
+      subtrans.dispose();
+      throw e;
+    } finally {
+      running.remove( subtrans.trans );
+    }
+    updateStatuses( subtrans.trans );
+
+    // A sub-transformation with errors or finished steps can't take the next batch
+    if ( stopped || subtrans.finished || subtransResult.getNrErrors() > 0 ) {
+      subtrans.dispose();
+    } else {
+      idle.add( subtrans );
+      if ( stopped && idle.remove( subtrans ) ) {
+        subtrans.dispose();
+      }
+    }
+    releaseBufferPermits( rows.size() );
+    return subtransResult;
+  }
+
+  private PersistentSubtrans startPersistentSubtrans( RowMetaAndData firstRow ) throws KettleException {
+    // A running sub-transformation would keep the values of the first row for every later batch
+    for ( String fieldName : this.parameters.getField() ) {
+      if ( !Utils.isEmpty( fieldName ) ) {
+        throw new KettleException( BaseMessages.getString( PKG, "SubtransExecutor.Exception.PersistentFieldParameter",
+          subTransName, fieldName ) );
+      }
+    }
+
+    TransMeta transMeta = (TransMeta) this.subtransMeta.clone();
+    transMeta.setTransformationType( TransformationType.SingleThreaded );
+    Trans subtrans = createSubtrans( transMeta );
+    parentTrans.addActiveSubTransformation( subTransName, subtrans );
+
+    passParametersToTrans( subtrans, firstRow );
+    subtrans.prepareExecution( this.parentTrans.getArguments() );
+
+    // The batches are injected into the step that would otherwise read the rows from the result
+    StepMetaDataCombi input = subtrans.getSteps().stream()
+      .filter( c -> c.meta instanceof RowsFromResultMeta )
+      .findFirst()
+      .orElseThrow( () -> new KettleException(
+        BaseMessages.getString( PKG, "SubtransExecutor.Exception.NoRowsFromResultStep", subTransName ) ) );
+    RowProducer rowProducer = subtrans.addRowProducer( input.stepname, input.copy );
+
+    PersistentSubtrans persistentSubtrans = new PersistentSubtrans( subtrans, rowProducer );
+    subtrans.getSteps().stream()
+      .filter( c -> c.step.getStepname().equalsIgnoreCase( subStep ) )
+      .findFirst()
+      .ifPresent( c -> c.step.addRowListener( new RowAdapter() {
+        @Override public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) {
+          persistentSubtrans.output.add( new RowMetaAndData( rowMeta, row ) );
+        }
+      } ) );
+    subtrans.startThreads();
+
+    if ( !persistentSubtrans.executor.init() ) {
+      persistentSubtrans.dispose();
+      throw new KettleException(
+        BaseMessages.getString( PKG, "SubtransExecutor.Exception.UnableToInitSubtrans", subTransName ) );
+    }
+    return persistentSubtrans;
+  }
+
   private synchronized void updateStatuses( Trans subtrans ) {
     List<StepMetaDataCombi> steps = subtrans.getSteps();
     for ( StepMetaDataCombi combi : steps ) {
@@ -120,8 +224,8 @@ public class SubtransExecutor {
     }
   }
 
-  private Trans createSubtrans() {
-    Trans subTrans = new Trans( this.subtransMeta, this.parentTrans );
+  private Trans createSubtrans( TransMeta transMeta ) {
+    Trans subTrans = new Trans( transMeta, this.parentTrans );
     subTrans.setParentTrans( this.parentTrans );
     subTrans.setRepository( this.parentTrans.getRepository() );
     subTrans.setLogLevel( this.parentTrans.getLogLevel() );
@@ -131,7 +235,7 @@ public class SubtransExecutor {
     }
 
     subTrans.setInternalKettleVariables( this.parentTrans );
-    subTrans.copyParametersFrom( this.subtransMeta );
+    subTrans.copyParametersFrom( transMeta );
     subTrans.setPreview( this.parentTrans.isPreview() );
     TransStepUtil.initServletConfig( this.parentTrans, subTrans );
     return subTrans;
@@ -174,11 +278,26 @@ public class SubtransExecutor {
       subTrans.stopAll();
     }
     running.clear();
+    dispose();
     for ( Map.Entry<String, StepStatus> entry : statuses.entrySet() ) {
       entry.getValue().setStatusDescription( StepExecutionStatus.STATUS_STOPPED.getDescription() );
     }
   }
 
+  /**
+   * Dispose of the started sub-transformations that are not executing a batch, only used in persistent mode.
+   */
+  public void dispose() {
+    PersistentSubtrans subtrans;
+    while ( ( subtrans = idle.poll() ) != null ) {
+      subtrans.dispose();
+    }
+  }
+
+  public boolean isPersistent() {
+    return persistent;
+  }
+
   public Map<String, StepStatus> getStatuses() {
     return statuses;
   }
@@ -198,4 +317,43 @@ public class SubtransExecutor {
   public int getPrefetchCount() {
     return prefetchCount;
   }
+
+  /**
+   * A sub-transformation on the single threaded engine that executes one batch per iteration.
+   */
+  private class PersistentSubtrans {
+    private final Trans trans;
+    private final RowProducer rowProducer;
+    private final SingleThreadedTransExecutor executor;
+    private List<RowMetaAndData> output = new ArrayList<>();
+    private boolean finished;
+
+    PersistentSubtrans( Trans trans, RowProducer rowProducer ) {
+      this.trans = trans;
+      this.rowProducer = rowProducer;
+      this.executor = new SingleThreadedTransExecutor( trans );
+    }
+
+    Result execute( List<RowMetaAndData> rows ) throws KettleException {
+      for ( RowMetaAndData row : rows ) {
+        rowProducer.putRow( row.getRowMeta(), row.getData() );
+      }
+      finished = !executor.oneIteration();
+
+      // The counters and result files are those of all batches so far
+      Result result = trans.getResult();
+      result.setRows( output );
+      output = new ArrayList<>();
+      return result;
+    }
+
+    void dispose() {
+      parentTrans.removeActiveSubTransformation( subTransName );
+      try {
+        executor.dispose();
+      } catch ( KettleException e ) {
+        trans.getLogChannel().logError( "Error disposing of sub-transformation: ", e );
+      }
+    }
+  }
 }
@@ -71,6 +71,7 @@ import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.variables.VariableSpace;
 import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.core.vfs.KettleVFS;
+import org.pentaho.di.core.xml.XMLDocumentCache;
 import org.pentaho.di.core.xml.XMLFormatter;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.core.xml.XMLInterface;
@@ -3076,7 +3077,7 @@ public class TransMeta extends AbstractMeta
       if ( !transFile.exists() ) {
         throw new KettleXMLException( BaseMessages.getString( PKG, "TransMeta.Exception.InvalidXMLPath", fname ) );
       }
-      doc = XMLHandler.loadXMLFile( transFile );
+      doc = XMLDocumentCache.getInstance().loadXMLFile( transFile );
     } catch ( KettleXMLException ke ) {
       // if we have a KettleXMLException, simply re-throw it
       throw ke;
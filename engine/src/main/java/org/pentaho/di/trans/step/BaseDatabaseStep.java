@@ -35,6 +35,11 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
    */
   private boolean connectToDatabaseOnInit;
 
+  /**
+   * True if the connection is opened by the warm-up, which leaves the auto-commit setting to the step thread
+   */
+  private boolean connectionWarmedUp;
+
   public BaseDatabaseStep( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta, Trans trans ) {
     this( stepMeta, stepDataInterface, copyNr, transMeta, trans, false );
   }
@@ -60,6 +65,13 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
 
     try {
       connectToDatabaseOrInitDataSource( meta, data );
+
+      // Open the connection while the other steps are initialized, a unique connection is shared by the steps and
+      // opened in turn. The subclasses set the commit size after this, so auto-commit is set in beforeStartProcessing.
+      if ( !isConnectToDatabaseOnInit() && isWarmUpEnabled() && !getTransMeta().isUsingUniqueConnections() ) {
+        connectionWarmedUp = true;
+        warmUp( () -> openConnection( data ) );
+      }
       return true;
     } catch ( KettleDatabaseException e ) {
       logError( BaseMessages.getString( getPKG(), "BaseDatabaseStep.Log.ErrorOccurred", e.getMessage() ) );
@@ -85,6 +97,8 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
   public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
     if ( sdi instanceof BaseDatabaseStepData ) {
       BaseDatabaseStepData data = (BaseDatabaseStepData) sdi;
+      // Don't close the connection while it is being opened
+      finishWarmUp();
       if ( data.db != null ) {
         data.db.close();
       }
@@ -101,8 +115,12 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
       return false;
     }
     BaseDatabaseStepData data = (BaseDatabaseStepData) sdi;
-    // Connection might have been made on step init, if connectToDatabaseOnInit was set to true
+    awaitWarmUp();
+    // Connection might have been made on step init, if connectToDatabaseOnInit was set to true or by the warm-up
     if ( data.db.getConnection() != null ) {
+      if ( connectionWarmedUp ) {
+        data.db.setAutoCommit();
+      }
       return true;
     }
     connectToDatabase( data );
@@ -124,6 +142,15 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
   }
 
   protected boolean connectToDatabase( BaseDatabaseStepData data ) throws KettleDatabaseException {
+    openConnection( data );
+    data.db.setAutoCommit();
+    return true;
+  }
+
+  /**
+   * Open the connection without setting auto-commit, which depends on the commit size of the step.
+   */
+  private boolean openConnection( BaseDatabaseStepData data ) throws KettleDatabaseException {
     try {
       if ( getTransMeta().isUsingUniqueConnections() ) {
         synchronized ( getTrans() ) {
@@ -136,7 +163,6 @@ public abstract class BaseDatabaseStep extends BaseStep implements StepInterface
       if ( log.isDetailed() ) {
         logDetailed( BaseMessages.getString( getPKG(), "TableInput.Log.ConnectedToDatabase" ) );
       }
-      data.db.setAutoCommit();
 
       return true;
     } catch ( KettleDatabaseException e ) {
@@ -29,7 +29,10 @@ import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -61,6 +64,7 @@ import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaDate;
 import org.pentaho.di.core.row.value.ValueMetaNumber;
 import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.variables.VariableSpace;
 import org.pentaho.di.core.variables.Variables;
@@ -440,6 +444,11 @@ public class BaseStep implements VariableSpace, StepInterface, LoggingObjectInte
    */
   private RowHandler rowHandler;
 
+  /**
+   * The warm-up work of the step that runs in the background, see {@link #warmUp(Callable)}
+   */
+  private final List<Future<?>> warmUpTasks = new ArrayList<>();
+
   /**
    * This is the base step that forms that basis for all steps. You can derive from this class to implement your own
    * steps.
@@ -811,6 +820,7 @@ public class BaseStep implements VariableSpace, StepInterface, LoggingObjectInte
    */
   @Override
   public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    finishWarmUp();
     sdi.setStatus( StepExecutionStatus.STATUS_DISPOSED );
   }
 
@@ -4051,9 +4061,83 @@ public class BaseStep implements VariableSpace, StepInterface, LoggingObjectInte
 
   @Override
   public boolean beforeStartProcessing( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
+    awaitWarmUp();
     return true;
   }
 
+  /**
+   * @return true if the steps can do their warm-up work in the background, see {@link Const#KETTLE_STEP_WARM_UP}
+   */
+  protected boolean isWarmUpEnabled() {
+    return "Y".equalsIgnoreCase( getVariable( Const.KETTLE_STEP_WARM_UP, "N" ) );
+  }
+
+  /**
+   * Start work in the background while the step is initialized, like opening a connection or loading a cache. The
+   * work overlaps with the initialization and the start of the other steps of the transformation. The step waits for
+   * it in {@link #beforeStartProcessing(StepMetaInterface, StepDataInterface)}, before the first row is processed,
+   * and in {@link #dispose(StepMetaInterface, StepDataInterface)}.
+   *
+   * @param task
+   *          the work to do
+   */
+  protected void warmUp( Callable<?> task ) {
+    synchronized ( warmUpTasks ) {
+      warmUpTasks.add( ExecutorUtil.getExecutor().submit( task ) );
+    }
+  }
+
+  /**
+   * Wait until the warm-up work of the step is done.
+   *
+   * @throws KettleException
+   *           in case the warm-up work failed
+   */
+  protected void awaitWarmUp() throws KettleException {
+    Throwable error = finishWarmUp();
+    if ( error != null ) {
+      throw new KettleException( BaseMessages.getString( PKG, "BaseStep.Exception.WarmUpFailed", getStepname() ),
+        error );
+    }
+  }
+
+  /**
+   * Wait for all the warm-up work, also after a failure, so nothing runs in the background once the step is disposed.
+   *
+   * @return the first failure or null
+   */
+  protected Throwable finishWarmUp() {
+    List<Future<?>> tasks;
+    synchronized ( warmUpTasks ) {
+      if ( warmUpTasks.isEmpty() ) {
+        return null;
+      }
+      tasks = new ArrayList<>( warmUpTasks );
+      warmUpTasks.clear();
+    }
+    Throwable error = null;
+    boolean interrupted = false;
+    for ( Future<?> task : tasks ) {
+      while ( true ) {
+        try {
+          task.get();
+          break;
+        } catch ( InterruptedException e ) {
+          interrupted = true;
+        } catch ( ExecutionException e ) {
+          if ( error == null ) {
+            error = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if ( interrupted ) {
+      Thread.currentThread().interrupt();
+    }
+    return error;
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -144,6 +144,18 @@ public class Calculator extends BaseStep implements StepInterface {
       for ( int i = 0; i < data.getTempIndexes().length; i++ ) {
         data.getTempIndexes()[i] = tempIndexes.get( i );
       }
+
+      // Turn the calculations into a single generated class if so desired
+      //
+      if ( meta.isCompiled() ) {
+        CalculatorCompiler compiler = new CalculatorCompiler( meta.getCalculation(), data.getCalcRowMeta(),
+          getInputRowMeta().size(), data.getFieldIndexes() );
+        data.setCompiledCalculation( compiler.compile( this ) );
+        if ( log.isDetailed() ) {
+          logDetailed( BaseMessages.getString( PKG, "Calculator.Log.Compiled", "" + compiler.getNrCompiled(),
+            "" + meta.getCalculation().length ) );
+        }
+      }
     }
 
     if ( log.isRowLevel() ) {
@@ -190,7 +202,38 @@ public class Calculator extends BaseStep implements StepInterface {
     // First copy the input data to the new result...
     Object[] calcData = RowDataUtil.resizeArray( r, data.getCalcRowMeta().size() );
 
-    for ( int i = 0, index = inputRowMeta.size() + i; i < meta.getCalculation().length; i++, index++ ) {
+    if ( data.getCompiledCalculation() != null ) {
+      data.getCompiledCalculation().calculate( calcData );
+    } else {
+      calculateFields( calcData, 0, meta.getCalculation().length, inputRowMeta.size() );
+    }
+
+    // OK, now we should refrain from adding the temporary fields to the result.
+    // So we remove them.
+    //
+    return RowDataUtil.removeItems( calcData, data.getTempIndexes() );
+  }
+
+  /**
+   * Performs calculation number <code>i</code> on the row and stores the result in it.
+   *
+   * @param calcData
+   *          the row including the temporary values
+   * @param i
+   *          the number of the calculation
+   * @param index
+   *          the index of the result of the calculation in the row
+   * @throws KettleValueException
+   *           in case there is a calculation error.
+   */
+  void calculateField( Object[] calcData, int i, int index ) throws KettleValueException,
+          KettleFileNotFoundException {
+    calculateFields( calcData, i, i + 1, index );
+  }
+
+  private void calculateFields( Object[] calcData, int from, int to, int fromIndex ) throws KettleValueException,
+          KettleFileNotFoundException {
+    for ( int i = from, index = fromIndex; i < to; i++, index++ ) {
       CalculatorMetaFunction fn = meta.getCalculation()[i];
       if ( !Utils.isEmpty( fn.getFieldName() ) ) {
         ValueMetaInterface targetMeta = data.getCalcRowMeta().getValueMeta( index );
@@ -645,11 +688,6 @@ public class Calculator extends BaseStep implements StepInterface {
         }
       }
     }
-
-    // OK, now we should refrain from adding the temporary fields to the result.
-    // So we remove them.
-    //
-    return RowDataUtil.removeItems( calcData, data.getTempIndexes() );
   }
 
   @Override
@@ -0,0 +1,324 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.calculator;
+
+import java.math.BigDecimal;
+
+import org.codehaus.janino.ClassBodyEvaluator;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.i18n.BaseMessages;
+
+/**
+ * Compiles the calculations of a Calculator step into one class using Janino.<br>
+ * <br>
+ * Arithmetic on Integer and Number values is generated as primitive <code>long</code> and <code>double</code> code,
+ * and results of earlier calculations are passed on in local variables instead of being unboxed from the row again.
+ * Constants are converted to their target type once. A calculation is only compiled when its arguments and result
+ * share the same type with normal storage, so no conversion is involved; all other calculations are handed back to
+ * {@link Calculator#calculateField(Object[], int, int)} and behave exactly as in the interpreted mode.
+ */
+public class CalculatorCompiler {
+  private static Class<?> PKG = CalculatorMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private static final int KIND_NONE = 0;
+  private static final int KIND_LONG = 1;
+  private static final int KIND_DOUBLE = 2;
+
+  private final CalculatorMetaFunction[] calculations;
+  private final RowMetaInterface calcRowMeta;
+  private final int inputSize;
+  private final Calculator.FieldIndexes[] fieldIndexes;
+
+  /** The kind of the local variables holding the value of an index in the row, KIND_NONE if there are none */
+  private int[] localKind;
+  private boolean[] folded;
+  private Object[] constants;
+  /** The index of the static field c&lt;n&gt; holding the primitive value of a folded constant, copies share it */
+  private int[] constantField;
+  private int nrCompiled;
+
+  public CalculatorCompiler( CalculatorMetaFunction[] calculations, RowMetaInterface calcRowMeta, int inputSize,
+    Calculator.FieldIndexes[] fieldIndexes ) {
+    this.calculations = calculations;
+    this.calcRowMeta = calcRowMeta;
+    this.inputSize = inputSize;
+    this.fieldIndexes = fieldIndexes;
+  }
+
+  /**
+   * Generates and compiles the calculation class.
+   *
+   * @param calculator
+   *          the step to hand the calculations back to that could not be compiled
+   * @return the compiled calculation
+   * @throws KettleException
+   *           in case the generated source could not be compiled
+   */
+  public CompiledCalculation compile( Calculator calculator ) throws KettleException {
+    String source = generateSource();
+    try {
+      ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+      evaluator.setParentClassLoader( CompiledCalculation.class.getClassLoader() );
+      evaluator.setExtendedClass( CompiledCalculation.class );
+      evaluator.cook( source );
+      CompiledCalculation compiled =
+        (CompiledCalculation) evaluator.getClazz().getDeclaredConstructor().newInstance();
+      compiled.initialize( calculator, constants );
+      return compiled;
+    } catch ( Exception e ) {
+      throw new KettleStepException( BaseMessages.getString( PKG, "Calculator.Error.UnableToCompile" ), e );
+    }
+  }
+
+  /**
+   * @return the number of calculations compiled by the last call to {@link #generateSource()}, the others are
+   *         performed by the step.
+   */
+  public int getNrCompiled() {
+    return nrCompiled;
+  }
+
+  /**
+   * @return the body of the class performing the calculations
+   */
+  String generateSource() {
+    localKind = new int[ calcRowMeta.size() ];
+    folded = new boolean[ calcRowMeta.size() ];
+    constants = new Object[ calcRowMeta.size() ];
+    constantField = new int[ calcRowMeta.size() ];
+    nrCompiled = 0;
+
+    StringBuilder fields = new StringBuilder();
+    StringBuilder body = new StringBuilder();
+    for ( int i = 0, index = inputSize; i < calculations.length; i++, index++ ) {
+      body.append( "    // #" ).append( i + 1 ).append( " : " ).append( calculations[ i ].getCalcTypeDesc() )
+        .append( '\n' );
+      if ( generateCalculation( fields, body, i, index ) ) {
+        nrCompiled++;
+      } else {
+        body.append( "    fallback( calcData, " ).append( i ).append( ", " ).append( index ).append( " );\n" );
+      }
+    }
+
+    return fields
+      + "  public void calculate( Object[] calcData ) throws org.pentaho.di.core.exception.KettleValueException,"
+      + " org.pentaho.di.core.exception.KettleFileNotFoundException {\n"
+      + body
+      + "  }\n";
+  }
+
+  private boolean generateCalculation( StringBuilder fields, StringBuilder body, int i, int index ) {
+    CalculatorMetaFunction fn = calculations[ i ];
+    Calculator.FieldIndexes indexes = fieldIndexes[ i ];
+    ValueMetaInterface targetMeta = calcRowMeta.getValueMeta( index );
+    if ( targetMeta.getType() == ValueMetaInterface.TYPE_NONE ) {
+      // Leave the error reporting to the step
+      return false;
+    }
+
+    switch ( fn.getCalcType() ) {
+      case CalculatorMetaFunction.CALC_CONSTANT:
+        return foldConstant( fields, body, fn, index, targetMeta );
+      case CalculatorMetaFunction.CALC_COPY_OF_FIELD:
+        return generateCopy( body, indexes.indexA, index, targetMeta );
+      case CalculatorMetaFunction.CALC_ADD:
+        return generateBinary( body, indexes.indexA, indexes.indexB, index, targetMeta, "a + b" );
+      case CalculatorMetaFunction.CALC_SUBTRACT:
+        return generateBinary( body, indexes.indexA, indexes.indexB, index, targetMeta, "a - b" );
+      case CalculatorMetaFunction.CALC_MULTIPLY:
+        return generateBinary( body, indexes.indexA, indexes.indexB, index, targetMeta, "a * b" );
+      case CalculatorMetaFunction.CALC_DIVIDE:
+        return generateBinary( body, indexes.indexA, indexes.indexB, index, targetMeta, "a / b" );
+      case CalculatorMetaFunction.CALC_REMAINDER:
+        return generateBinary( body, indexes.indexA, indexes.indexB, index, targetMeta, "a % b" );
+      case CalculatorMetaFunction.CALC_SQUARE:
+        return generateBinary( body, indexes.indexA, indexes.indexA, index, targetMeta, "a * b" );
+      case CalculatorMetaFunction.CALC_ABS:
+        // ValueDataUtil.abs() takes an Integer through its Number value, keep doing so
+        return generateBinary( body, indexes.indexA, indexes.indexA, index, targetMeta,
+          kindOf( indexes.indexA ) == KIND_LONG ? "Math.abs( (long) (double) a )" : "Math.abs( a )" );
+      case CalculatorMetaFunction.CALC_NVL:
+        return generateNvl( body, indexes.indexA, indexes.indexB, index, targetMeta );
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Converts a constant to the target type once, the same way the step converts it for every row.
+   */
+  private boolean foldConstant( StringBuilder fields, StringBuilder body, CalculatorMetaFunction fn, int index,
+    ValueMetaInterface targetMeta ) {
+    Object value = fn.getFieldA();
+    if ( value != null && targetMeta.getType() != ValueMetaInterface.TYPE_STRING ) {
+      ValueMetaInterface resultMeta = new ValueMetaString( "result" );
+      resultMeta.setConversionMask( fn.getConversionMask() );
+      resultMeta.setGroupingSymbol( fn.getGroupingSymbol() );
+      resultMeta.setDecimalSymbol( fn.getDecimalSymbol() );
+      resultMeta.setCurrencySymbol( fn.getCurrencySymbol() );
+      try {
+        value = targetMeta.convertData( resultMeta, value );
+      } catch ( KettleValueException e ) {
+        // Let the step report the conversion error for every row, as before
+        return false;
+      }
+    }
+    if ( value != null && !( value instanceof String || value instanceof Long || value instanceof Double
+      || value instanceof BigDecimal || value instanceof Boolean ) ) {
+      // Mutable values such as dates can't be shared between rows
+      return false;
+    }
+
+    folded[ index ] = true;
+    constants[ index ] = value;
+    constantField[ index ] = index;
+    body.append( "    calcData[" ).append( index ).append( "] = constants[" ).append( index ).append( "];\n" );
+    if ( value instanceof Long && kindOf( index ) == KIND_LONG ) {
+      fields.append( "  private static final long c" ).append( index ).append( " = " ).append( value )
+        .append( "L;\n" );
+    } else if ( value instanceof Double && kindOf( index ) == KIND_DOUBLE ) {
+      fields.append( "  private static final double c" ).append( index ).append( " = Double.longBitsToDouble( 0x" )
+        .append( Long.toHexString( Double.doubleToRawLongBits( (Double) value ) ) ).append( "L );\n" );
+    }
+    return true;
+  }
+
+  private boolean generateCopy( StringBuilder body, int indexA, int index, ValueMetaInterface targetMeta ) {
+    if ( indexA < 0 ) {
+      return false;
+    }
+    ValueMetaInterface metaA = calcRowMeta.getValueMeta( indexA );
+    if ( metaA.getStorageType() != ValueMetaInterface.STORAGE_TYPE_NORMAL || metaA.getType() != targetMeta.getType() ) {
+      return false;
+    }
+
+    body.append( "    calcData[" ).append( index ).append( "] = calcData[" ).append( indexA ).append( "];\n" );
+    if ( folded[ indexA ] ) {
+      folded[ index ] = true;
+      constants[ index ] = constants[ indexA ];
+      constantField[ index ] = constantField[ indexA ];
+    } else if ( localKind[ indexA ] != KIND_NONE ) {
+      String type = javaType( localKind[ indexA ] );
+      body.append( "    boolean n" ).append( index ).append( " = n" ).append( indexA ).append( ";\n" );
+      body.append( "    " ).append( type ).append( " v" ).append( index ).append( " = v" ).append( indexA )
+        .append( ";\n" );
+      localKind[ index ] = localKind[ indexA ];
+    }
+    return true;
+  }
+
+  private boolean generateBinary( StringBuilder body, int indexA, int indexB, int index,
+    ValueMetaInterface targetMeta, String expression ) {
+    int kind = kindOf( indexA );
+    if ( kind == KIND_NONE || kindOf( indexB ) != kind || kindOf( index ) != kind
+      || calcRowMeta.getValueMeta( indexA ).getType() != targetMeta.getType() ) {
+      return false;
+    }
+
+    String type = javaType( kind );
+    body.append( "    boolean n" ).append( index ).append( ";\n" );
+    body.append( "    " ).append( type ).append( " v" ).append( index ).append( ";\n" );
+    body.append( "    {\n" );
+    appendOperand( body, "a", indexA, kind );
+    appendOperand( body, "b", indexB, kind );
+    body.append( "      n" ).append( index ).append( " = na || nb;\n" );
+    body.append( "      v" ).append( index ).append( " = n" ).append( index ).append( " ? 0 : " ).append( expression )
+      .append( ";\n" );
+    appendStore( body, index, kind );
+    body.append( "    }\n" );
+    localKind[ index ] = kind;
+    return true;
+  }
+
+  private boolean generateNvl( StringBuilder body, int indexA, int indexB, int index,
+    ValueMetaInterface targetMeta ) {
+    int kind = kindOf( indexA );
+    if ( kind == KIND_NONE || kindOf( indexB ) != kind || kindOf( index ) != kind
+      || calcRowMeta.getValueMeta( indexA ).getType() != targetMeta.getType() ) {
+      return false;
+    }
+
+    String type = javaType( kind );
+    body.append( "    boolean n" ).append( index ).append( ";\n" );
+    body.append( "    " ).append( type ).append( " v" ).append( index ).append( ";\n" );
+    body.append( "    {\n" );
+    appendOperand( body, "a", indexA, kind );
+    appendOperand( body, "b", indexB, kind );
+    body.append( "      n" ).append( index ).append( " = na && nb;\n" );
+    body.append( "      v" ).append( index ).append( " = na ? b : a;\n" );
+    appendStore( body, index, kind );
+    body.append( "    }\n" );
+    localKind[ index ] = kind;
+    return true;
+  }
+
+  /**
+   * Declares the null flag n&lt;name&gt; and the primitive value &lt;name&gt; of an argument.
+   */
+  private void appendOperand( StringBuilder body, String name, int index, int kind ) {
+    String type = javaType( kind );
+    if ( localKind[ index ] != KIND_NONE ) {
+      body.append( "      boolean n" ).append( name ).append( " = n" ).append( index ).append( ";\n" );
+      body.append( "      " ).append( type ).append( ' ' ).append( name ).append( " = v" ).append( index )
+        .append( ";\n" );
+    } else if ( folded[ index ] && constants[ index ] == null ) {
+      body.append( "      boolean n" ).append( name ).append( " = true;\n" );
+      body.append( "      " ).append( type ).append( ' ' ).append( name ).append( " = 0;\n" );
+    } else if ( folded[ index ] ) {
+      body.append( "      boolean n" ).append( name ).append( " = false;\n" );
+      body.append( "      " ).append( type ).append( ' ' ).append( name ).append( " = c" )
+        .append( constantField[ index ] ).append( ";\n" );
+    } else {
+      body.append( "      Object o" ).append( name ).append( " = calcData[" ).append( index ).append( "];\n" );
+      body.append( "      boolean n" ).append( name ).append( " = o" ).append( name ).append( " == null;\n" );
+      body.append( "      " ).append( type ).append( ' ' ).append( name ).append( " = n" ).append( name )
+        .append( " ? 0 : ( (Number) o" ).append( name ).append( " )." ).append( type ).append( "Value();\n" );
+    }
+  }
+
+  private void appendStore( StringBuilder body, int index, int kind ) {
+    body.append( "      calcData[" ).append( index ).append( "] = n" ).append( index ).append( " ? null : " )
+      .append( kind == KIND_LONG ? "Long" : "Double" ).append( ".valueOf( v" ).append( index ).append( " );\n" );
+  }
+
+  /**
+   * @return the kind of primitive the values at the index in the row can be compiled to
+   */
+  private int kindOf( int index ) {
+    if ( index < 0 ) {
+      return KIND_NONE;
+    }
+    ValueMetaInterface valueMeta = calcRowMeta.getValueMeta( index );
+    if ( valueMeta.getStorageType() != ValueMetaInterface.STORAGE_TYPE_NORMAL ) {
+      return KIND_NONE;
+    }
+    switch ( valueMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        return KIND_LONG;
+      case ValueMetaInterface.TYPE_NUMBER:
+        return KIND_DOUBLE;
+      default:
+        return KIND_NONE;
+    }
+  }
+
+  private static String javaType( int kind ) {
+    return kind == KIND_LONG ? "long" : "double";
+  }
+}
@@ -35,6 +35,8 @@ public class CalculatorData extends BaseStepData implements StepDataInterface {
 
   private int[] tempIndexes;
 
+  private CompiledCalculation compiledCalculation;
+
   private final Map<Integer, ValueMetaInterface> resultMetaMapping;
 
   public CalculatorData() {
@@ -74,6 +76,17 @@ public class CalculatorData extends BaseStepData implements StepDataInterface {
     this.tempIndexes = tempIndexes;
   }
 
+  /**
+   * @return the calculations compiled by {@link CalculatorCompiler} or null when running interpreted
+   */
+  public CompiledCalculation getCompiledCalculation() {
+    return compiledCalculation;
+  }
+
+  public void setCompiledCalculation( CompiledCalculation compiledCalculation ) {
+    this.compiledCalculation = compiledCalculation;
+  }
+
   public ValueMetaInterface getValueMetaFor( int resultType, String name ) throws KettlePluginException {
     // don't need any synchronization as data instance belongs only to one step instance
     ValueMetaInterface meta = resultMetaMapping.get( resultType );
@@ -57,6 +57,9 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   /** Raise an error if file does not exist */
   private boolean failIfNoFile;
 
+  /** Compile the calculations into a generated class instead of interpreting them for every row */
+  private boolean compiled;
+
   public CalculatorMetaFunction[] getCalculation() {
     return calculation;
   }
@@ -73,6 +76,14 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
     this.failIfNoFile = failIfNoFile;
   }
 
+  public boolean isCompiled() {
+    return compiled;
+  }
+
+  public void setCompiled( boolean compiled ) {
+    this.compiled = compiled;
+  }
+
   public void allocate( int nrCalcs ) {
     calculation = new CalculatorMetaFunction[nrCalcs];
   }
@@ -80,6 +91,7 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   @Override
   public void loadXML( Node stepnode, List<DatabaseMeta> databases, IMetaStore metaStore ) throws KettleXMLException {
     failIfNoFile = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "failIfNoFile" ) );
+    compiled = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "compiled" ) );
 
     int nrCalcs = XMLHandler.countNodes( stepnode, CalculatorMetaFunction.XML_TAG );
     allocate( nrCalcs );
@@ -94,6 +106,7 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
     StringBuilder retval = new StringBuilder( 300 );
 
     retval.append( "    " ).append( XMLHandler.addTagValue( "failIfNoFile", failIfNoFile ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( "compiled", compiled ) );
 
     if ( calculation != null ) {
       for ( CalculatorMetaFunction aCalculation : calculation ) {
@@ -123,6 +136,7 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   public Object clone() {
     CalculatorMeta retval = (CalculatorMeta) super.clone();
     retval.setFailIfNoFile( isFailIfNoFile() );
+    retval.setCompiled( isCompiled() );
     if ( calculation != null ) {
       retval.allocate( calculation.length );
       for ( int i = 0; i < calculation.length; i++ ) {
@@ -137,12 +151,14 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   @Override
   public void setDefault() {
     failIfNoFile = true;
+    compiled = false;
     calculation = new CalculatorMetaFunction[0];
   }
 
   @Override
   public void readRep( Repository rep, IMetaStore metaStore, ObjectId id_step, List<DatabaseMeta> databases ) throws KettleException {
     failIfNoFile = rep.getStepAttributeBoolean( id_step, "failIfNoFile" );
+    compiled = rep.getStepAttributeBoolean( id_step, "compiled" );
 
     int nrCalcs = rep.countNrStepAttributes( id_step, "field_name" );
     allocate( nrCalcs );
@@ -154,6 +170,7 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   @Override
   public void saveRep( Repository rep, IMetaStore metaStore, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
     rep.saveStepAttribute( id_transformation, id_step, "failIfNoFile", failIfNoFile );
+    rep.saveStepAttribute( id_transformation, id_step, "compiled", compiled );
     for ( int i = 0; i < calculation.length; i++ ) {
       calculation[i].saveRep( rep, metaStore, id_transformation, id_step, i );
     }
@@ -0,0 +1,52 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.calculator;
+
+import org.pentaho.di.core.exception.KettleFileNotFoundException;
+import org.pentaho.di.core.exception.KettleValueException;
+
+/**
+ * Base class of the calculations generated by {@link CalculatorCompiler}. The generated subclass performs the whole
+ * list of calculations of a Calculator step in a single method call and hands the calculations it could not compile
+ * back to the step.
+ */
+public abstract class CompiledCalculation {
+  private Calculator calculator;
+
+  /** The folded constants, by index in the row including the temporary values */
+  protected Object[] constants;
+
+  void initialize( Calculator calculator, Object[] constants ) {
+    this.calculator = calculator;
+    this.constants = constants;
+  }
+
+  /**
+   * Performs all calculations on the row.
+   *
+   * @param calcData
+   *          the row including the temporary values
+   * @throws KettleValueException
+   *           in case there is a calculation error.
+   */
+  public abstract void calculate( Object[] calcData ) throws KettleValueException, KettleFileNotFoundException;
+
+  /**
+   * Performs a calculation that was not compiled the same way the interpreted Calculator step does.
+   */
+  protected final void fallback( Object[] calcData, int calcNr, int index ) throws KettleValueException,
+    KettleFileNotFoundException {
+    calculator.calculateField( calcData, calcNr, index );
+  }
+}
@@ -462,49 +462,85 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
   }
 
   private void loadAllTableDataIntoTheCache() throws KettleException {
+    // The table data might have been read in the background already
+    //
+    if ( data.preloadedRows != null ) {
+      if ( data.allEquals ) {
+        final int keysAmount = meta.getStreamKeyField1().length;
+        RowMetaInterface keyMeta = copyValueMetasFrom( data.preloadedRowMeta, keysAmount );
+        for ( Object[] row : data.preloadedRows ) {
+          putRowToDefaultCache( keyMeta, keysAmount, row );
+        }
+      } else {
+        putToReadOnlyCache( data.preloadedRowMeta, data.preloadedRows );
+      }
+      data.preloadedRowMeta = null;
+      data.preloadedRows = null;
+      return;
+    }
+
     DatabaseMeta dbMeta = meta.getDatabaseMeta();
 
     try ( Database db = getDatabase( dbMeta ) ) {
       connectDatabase( db );
+      String sql = getAllTableDataSql( dbMeta );
 
-      // We only want to get the used table fields...
-      //
-      StringBuilder sql = new StringBuilder( "SELECT " );
-
-      for ( int i = 0; i < meta.getStreamKeyField1().length; i++ ) {
-        if ( i > 0 ) {
-          sql.append( ", " );
-        }
-        sql.append( dbMeta.quoteField( meta.getTableKeyField()[ i ] ) );
+      if ( data.allEquals ) {
+        putToDefaultCache( db, sql );
+      } else {
+        List<Object[]> rows = db.getRows( sql, 0 );
+        putToReadOnlyCache( db.getReturnRowMeta(), rows );
       }
+    } catch ( Exception e ) {
+      throw new KettleException( e );
+    }
+  }
 
-      // Also grab the return field...
-      //
-      for ( int i = 0; i < meta.getReturnValueField().length; i++ ) {
-        sql.append( ", " ).append( dbMeta.quoteField( meta.getReturnValueField()[ i ] ) );
-      }
-      // The schema/table
-      //
-      sql.append( " FROM " ).append(
-        dbMeta.getQuotedSchemaTableCombination( environmentSubstitute( meta.getSchemaName() ),
-          environmentSubstitute( meta.getTablename() ) ) );
+  /**
+   * Read the table data for the cache while the step and the transformation start, the cache itself is loaded when the
+   * first row arrives.
+   */
+  private void preloadAllTableData() throws KettleException {
+    DatabaseMeta dbMeta = meta.getDatabaseMeta();
 
-      // order by?
-      if ( !Utils.isEmpty( meta.getOrderByClause() ) ) {
-        sql.append( " ORDER BY " ).append( meta.getOrderByClause() );
-      }
+    try ( Database db = getDatabase( dbMeta ) ) {
+      connectDatabase( db );
+      List<Object[]> rows = db.getRows( getAllTableDataSql( dbMeta ), 0 );
+      data.preloadedRowMeta = db.getReturnRowMeta();
+      data.preloadedRows = rows;
+    } catch ( Exception e ) {
+      throw new KettleException( e );
+    }
+  }
 
-      // Now that we have the SQL constructed, let's store the rows...
-      //
+  private String getAllTableDataSql( DatabaseMeta dbMeta ) {
+    // We only want to get the used table fields...
+    //
+    StringBuilder sql = new StringBuilder( "SELECT " );
 
-      if ( data.allEquals ) {
-        putToDefaultCache( db, sql.toString() );
-      } else {
-        putToReadOnlyCache( db, db.getRows( sql.toString(), 0 ) );
+    for ( int i = 0; i < meta.getStreamKeyField1().length; i++ ) {
+      if ( i > 0 ) {
+        sql.append( ", " );
       }
-    } catch ( Exception e ) {
-      throw new KettleException( e );
+      sql.append( dbMeta.quoteField( meta.getTableKeyField()[ i ] ) );
     }
+
+    // Also grab the return field...
+    //
+    for ( int i = 0; i < meta.getReturnValueField().length; i++ ) {
+      sql.append( ", " ).append( dbMeta.quoteField( meta.getReturnValueField()[ i ] ) );
+    }
+    // The schema/table
+    //
+    sql.append( " FROM " ).append(
+      dbMeta.getQuotedSchemaTableCombination( environmentSubstitute( meta.getSchemaName() ),
+        environmentSubstitute( meta.getTablename() ) ) );
+
+    // order by?
+    if ( !Utils.isEmpty( meta.getOrderByClause() ) ) {
+      sql.append( " ORDER BY " ).append( meta.getOrderByClause() );
+    }
+    return sql.toString();
   }
 
   private void putToDefaultCache( Database db, String sql ) throws KettleDatabaseException {
@@ -552,12 +588,11 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
     return result;
   }
 
-  private void putToReadOnlyCache( Database db, List<Object[]> rows ) {
+  private void putToReadOnlyCache( RowMetaInterface returnRowMeta, List<Object[]> rows ) {
     ReadAllCache.Builder cacheBuilder = new ReadAllCache.Builder( data, rows.size() );
 
     // all keys have the same row meta,
     // it is useless to re-create it each time
-    RowMetaInterface returnRowMeta = db.getReturnRowMeta();
     cacheBuilder.setKeysMeta( returnRowMeta.clone() );
 
     final int keysAmount = meta.getStreamKeyField1().length;
@@ -624,6 +659,16 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
           }
         }
 
+        // Read the table for the cache in the background, in its own connection like on the first row
+        //
+        if ( meta.isCached() && meta.isLoadingAllDataInCache() && isWarmUpEnabled()
+          && !getTransMeta().isUsingUniqueConnections() ) {
+          warmUp( () -> {
+            preloadAllTableData();
+            return null;
+          } );
+        }
+
         return true;
       } catch ( Exception e ) {
         logError( BaseMessages.getString( PKG, "DatabaseLookup.ERROR0004.UnexpectedErrorDuringInit" )
@@ -641,6 +686,10 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
     meta = (DatabaseLookupMeta) smi;
     data = (DatabaseLookupData) sdi;
 
+    // The table might still be read in the background
+    //
+    finishWarmUp();
+
     if ( data.db != null ) {
       data.db.close();
     }
@@ -648,6 +697,8 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
     // Recover memory immediately, allow in-memory data to be garbage collected
     //
     data.cache = null;
+    data.preloadedRowMeta = null;
+    data.preloadedRows = null;
 
     super.dispose( smi, sdi );
   }
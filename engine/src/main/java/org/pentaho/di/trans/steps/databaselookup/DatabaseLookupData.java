@@ -13,9 +13,12 @@
 
 package org.pentaho.di.trans.steps.databaselookup;
 
+import java.util.List;
+
 import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.trans.step.BaseStep;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
@@ -40,6 +43,10 @@ public class DatabaseLookupData extends BaseStepData implements StepDataInterfac
   public int[] conditions;
   public boolean hasDBCondition;
 
+  /** The table data that is read in the background to load it in the cache, see {@link BaseStep#warmUp} */
+  public RowMetaInterface preloadedRowMeta;
+  public List<Object[]> preloadedRows;
+
   public DatabaseLookupData() {
     super();
 
@@ -13,17 +13,21 @@
 
 package org.pentaho.di.trans.steps.dimensionlookup;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.RowMetaAndData;
+import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.database.DatabaseMeta;
 import org.pentaho.di.core.exception.KettleDatabaseException;
 import org.pentaho.di.core.exception.KettleException;
@@ -55,6 +59,9 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
   private static final int CREATION_METHOD_SEQUENCE = 2;
   private static final int CREATION_METHOD_TABLEMAX = 3;
 
+  /** The number of rows per commit interval in bulk update mode when no commit size is set */
+  private static final int DEFAULT_BULK_BATCH_SIZE = 1000;
+
   private int techKeyCreation;
 
   private DimensionLookupMeta meta;
@@ -102,6 +109,9 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
 
     Object[] r = getRow(); // Get row from input rowset & set row busy!
     if ( r == null ) { // no more input to be expected...
+      if ( data.bulkStore != null ) {
+        flushBulkUpdate();
+      }
 
       setOutputDone(); // signal end to receiver(s)
       return false;
@@ -201,6 +211,15 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
       data.notFoundTk = new Long( meta.getDatabaseMeta().getNotFoundTK( isAutoIncrement() ) );
       // if (meta.getKeyRename()!=null && meta.getKeyRename().length()>0) data.notFoundTk.setName(meta.getKeyRename());
 
+      if ( meta.isUpdate() && meta.isBulkUpdate() ) {
+        if ( isAutoIncrement() ) {
+          // The generated keys can't be retrieved from a batch
+          logBasic( BaseMessages.getString( PKG, "DimensionLookup.Log.BulkUpdateNotPossible" ) );
+        } else {
+          preloadVersions();
+        }
+      }
+
       if ( getCopy() == 0 ) {
         checkDimZero();
       }
@@ -216,9 +235,18 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
     }
 
     try {
-      Object[] outputRow = lookupValues( data.inputRowMeta, r ); // add new values to the row in rowset[0].
+      Object[] outputRow;
+      if ( data.bulkStore != null ) {
+        outputRow = bulkLookupValues( r );
+      } else {
+        outputRow = lookupValues( data.inputRowMeta, r ); // add new values to the row in rowset[0].
+      }
       putRow( data.outputRowMeta, outputRow ); // copy row to output rowset(s);
 
+      if ( data.bulkStore != null && ++data.bulkRows >= data.bulkBatchSize ) {
+        flushBulkUpdate();
+      }
+
       if ( checkFeedback( getLinesRead() ) ) {
         if ( log.isBasic() ) {
           logBasic( BaseMessages.getString( PKG, "DimensionLookup.Log.LineNumber" ) + getLinesRead() );
@@ -321,6 +349,229 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
     }
   }
 
+  /**
+   * Read the current version of every dimension entry into the version store, for the bulk update. The current
+   * version of an entry is the one with the highest version number.
+   *
+   * @throws KettleException in case there is a database problem.
+   */
+  private void preloadVersions() throws KettleException {
+    DatabaseMeta databaseMeta = meta.getDatabaseMeta();
+    int keyCount = meta.getKeyLookup().length;
+
+    // natural keys, tk, version, compared fields...
+    //
+    StringBuilder sql = new StringBuilder( "SELECT " );
+    for ( int i = 0; i < keyCount; i++ ) {
+      sql.append( databaseMeta.quoteField( meta.getKeyLookup()[ i ] ) ).append( ", " );
+    }
+    sql.append( databaseMeta.quoteField( meta.getKeyField() ) );
+    sql.append( ", " ).append( databaseMeta.quoteField( meta.getVersionField() ) );
+    List<Integer> fieldIndexes = new ArrayList<>();
+    for ( int i = 0; i < data.fieldnrs.length; i++ ) {
+      if ( data.fieldnrs[ i ] >= 0 ) {
+        sql.append( ", " ).append( databaseMeta.quoteField( meta.getFieldLookup()[ i ] ) );
+        fieldIndexes.add( data.fieldnrs[ i ] );
+      }
+    }
+    sql.append( " FROM " ).append( data.schemaTable );
+    logDetailed( "Pre-loading the current dimension versions with: " + Const.CR + sql + Const.CR );
+
+    ResultSet resultSet = data.db.openQuery( sql.toString() );
+    try {
+      RowMetaInterface tableRowMeta = data.db.getReturnRowMeta();
+      RowMetaInterface keyRowMeta = new RowMeta();
+      for ( int i = 0; i < keyCount; i++ ) {
+        keyRowMeta.addValueMeta( tableRowMeta.getValueMeta( i ).clone() );
+      }
+      RowMetaInterface versionRowMeta = new RowMeta();
+      versionRowMeta.addValueMeta( new ValueMetaInteger( meta.getKeyField() ) );
+      versionRowMeta.addValueMeta( new ValueMetaInteger( meta.getVersionField() ) );
+      for ( int i = keyCount + 2; i < tableRowMeta.size(); i++ ) {
+        versionRowMeta.addValueMeta( tableRowMeta.getValueMeta( i ).clone() );
+      }
+      data.bulkStore =
+        new DimensionVersionStore( keyRowMeta, versionRowMeta, meta.getCacheSize() > 0 ? meta.getCacheSize() : 5000 );
+
+      Object[] tableRow;
+      while ( ( tableRow = data.db.getRow( resultSet ) ) != null ) {
+        Long technicalKey = tableRowMeta.getInteger( tableRow, keyCount );
+        Object[] key = Arrays.copyOf( tableRow, keyCount );
+        // The unknown entry and the entries without a natural key can't be found by a lookup either
+        //
+        if ( technicalKey == null || technicalKey.equals( data.notFoundTk ) || hasNullValue( key ) ) {
+          continue;
+        }
+        Object[] version = new Object[ versionRowMeta.size() ];
+        version[ DimensionVersionStore.TECHNICAL_KEY_INDEX ] = technicalKey;
+        version[ DimensionVersionStore.VERSION_INDEX ] = tableRowMeta.getInteger( tableRow, keyCount + 1 );
+        System.arraycopy( tableRow, keyCount + 2, version, 2, version.length - 2 );
+        data.bulkStore.putIfLater( key, version );
+      }
+    } finally {
+      data.db.closeQuery( resultSet );
+    }
+
+    data.bulkFieldIndexes = new int[ fieldIndexes.size() ];
+    for ( int i = 0; i < data.bulkFieldIndexes.length; i++ ) {
+      data.bulkFieldIndexes[ i ] = fieldIndexes.get( i );
+    }
+    data.bulkBatches = new HashSet<>();
+    data.bulkRows = 0;
+    data.bulkBatchSize = meta.getCommitSize() > 0 ? meta.getCommitSize() : DEFAULT_BULK_BATCH_SIZE;
+
+    logBasic( BaseMessages.getString( PKG, "DimensionLookup.Log.BulkUpdate",
+      String.valueOf( data.bulkStore.size() ), String.valueOf( data.bulkBatchSize ) ) );
+  }
+
+  private static boolean hasNullValue( Object[] values ) {
+    for ( Object value : values ) {
+      if ( value == null ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The bulk update version of lookupValues(): the row is compared with the current version in the version store
+   * instead of the version in the table at the date of the row. The inserts and updates it takes are batched until
+   * the end of the commit interval, the version store is kept up to date for the rows that follow.
+   */
+  private Object[] bulkLookupValues( Object[] row ) throws KettleException {
+    Date valueDate = determineDimensionUpdatedDate( row );
+    RowMetaInterface keyRowMeta = data.bulkStore.getKeyRowMeta();
+    RowMetaInterface versionRowMeta = data.bulkStore.getVersionRowMeta();
+
+    Object[] key = new Object[ keyRowMeta.size() ];
+    DimensionVersionStore.convert( data.inputRowMeta, row, data.keynrs, keyRowMeta, key, 0 );
+    boolean nullKey = hasNullValue( key );
+    Object[] current = nullKey ? null : data.bulkStore.get( key );
+
+    Long technicalKey;
+    Long versionNr;
+    boolean changed = true;
+    if ( current == null ) {
+      if ( isRowLevel() ) {
+        logRowlevel( BaseMessages.getString( PKG, "DimensionLookup.Log.NoDimensionEntryFound" )
+          + keyRowMeta.getString( key ) + ")" );
+      }
+      Date valueDateFrom =
+        data.startDateChoice == DimensionLookupMeta.START_DATE_ALTERNATIVE_SYSDATE ? valueDate : data.min_date;
+      versionNr = 1L;
+      technicalKey =
+        dimInsert( data.inputRowMeta, row, getNextTechnicalKey(), true, versionNr, valueDateFrom, data.max_date );
+      incrementLinesOutput();
+    } else {
+      technicalKey = versionRowMeta.getInteger( current, DimensionVersionStore.TECHNICAL_KEY_INDEX );
+      versionNr = versionRowMeta.getInteger( current, DimensionVersionStore.VERSION_INDEX );
+
+      boolean insert = false;
+      boolean punch = false;
+      changed = false;
+      int versionIndex = 2;
+      for ( int i = 0; i < data.fieldnrs.length; i++ ) {
+        if ( data.fieldnrs[ i ] >= 0 ) {
+          ValueMetaInterface valueMeta = data.outputRowMeta.getValueMeta( data.fieldnrs[ i ] );
+          int cmp = valueMeta.compare( row[ data.fieldnrs[ i ] ], versionRowMeta.getValueMeta( versionIndex ),
+            current[ versionIndex ] );
+          versionIndex++;
+          if ( cmp != 0 ) {
+            changed = true;
+            insert |= meta.getFieldUpdate()[ i ] == DimensionLookupMeta.TYPE_UPDATE_DIM_INSERT;
+            punch |= meta.getFieldUpdate()[ i ] == DimensionLookupMeta.TYPE_UPDATE_DIM_PUNCHTHROUGH;
+          }
+        }
+      }
+
+      if ( !insert ) {
+        if ( changed ) {
+          dimUpdate( data.inputRowMeta, row, technicalKey, valueDate );
+          incrementLinesUpdated();
+        } else {
+          incrementLinesSkipped();
+        }
+      } else {
+        versionNr++;
+        technicalKey =
+          dimInsert( data.inputRowMeta, row, getNextTechnicalKey(), false, versionNr, valueDate, data.max_date );
+        incrementLinesOutput();
+      }
+      if ( punch ) {
+        dimPunchThrough( data.inputRowMeta, row );
+        incrementLinesUpdated();
+      }
+    }
+
+    // A lookup can't find an entry without a natural key, so neither can the next row
+    //
+    if ( changed && !nullKey ) {
+      Object[] version = new Object[ versionRowMeta.size() ];
+      version[ DimensionVersionStore.TECHNICAL_KEY_INDEX ] = technicalKey;
+      version[ DimensionVersionStore.VERSION_INDEX ] = versionNr;
+      DimensionVersionStore.convert( data.outputRowMeta, row, data.bulkFieldIndexes, versionRowMeta, version, 2 );
+      data.bulkStore.put( key, version );
+    }
+
+    Object[] outputRow = new Object[ data.outputRowMeta.size() ];
+    System.arraycopy( row, 0, outputRow, 0, data.inputRowMeta.size() );
+    outputRow[ data.inputRowMeta.size() ] = technicalKey;
+    return outputRow;
+  }
+
+  private Long getNextTechnicalKey() throws KettleDatabaseException {
+    if ( getTechKeyCreation() == CREATION_METHOD_SEQUENCE ) {
+      return data.db.getNextSequenceValue( data.realSchemaName, meta.getSequenceName(), meta.getKeyField() );
+    }
+    return data.db.getNextValue( getTrans().getCounters(), data.realSchemaName, data.realTableName, meta
+      .getKeyField() );
+  }
+
+  /**
+   * Execute an insert or update of the dimension, or add it to the batch of its statement in bulk update mode.
+   */
+  private void executeDimStatement( PreparedStatement statement ) throws KettleDatabaseException {
+    if ( data.bulkStore == null ) {
+      data.db.insertRow( statement );
+      return;
+    }
+    try {
+      statement.addBatch();
+    } catch ( SQLException ex ) {
+      throw new KettleDatabaseException( "Unable to add a row to the dimension batch", ex );
+    }
+    data.bulkBatches.add( statement );
+  }
+
+  /**
+   * Execute the batched inserts and updates of the commit interval and commit them. The new versions are inserted
+   * first, so the updates find the versions that were inserted in the same interval. The version numbers and
+   * technical keys make the expirations independent of the order of the rows.
+   */
+  private void flushBulkUpdate() throws KettleDatabaseException {
+    PreparedStatement[] statements = {
+      data.prepStatementInsert, data.prepStatementDimensionUpdate, data.prepStatementUpdate,
+      data.prepStatementPunchThrough };
+    try {
+      for ( PreparedStatement statement : statements ) {
+        if ( statement != null && data.bulkBatches.contains( statement ) ) {
+          statement.executeBatch();
+          statement.clearBatch();
+        }
+      }
+    } catch ( SQLException ex ) {
+      throw Database.createKettleDatabaseBatchException( "Error updating the dimension in bulk", ex );
+    }
+    data.bulkBatches.clear();
+    data.db.commit();
+
+    if ( isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "DimensionLookup.Log.BulkBatchApplied",
+        String.valueOf( data.bulkRows ) ) );
+    }
+    data.bulkRows = 0;
+  }
+
   private synchronized Object[] lookupValues( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
     Object[] outputRow = new Object[ data.outputRowMeta.size() ];
 
@@ -1163,7 +1414,7 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
 
     // INSERT NEW VALUE!
     data.db.setValues( data.insertRowMeta, insertRow, data.prepStatementInsert );
-    data.db.insertRow( data.prepStatementInsert );
+    executeDimStatement( data.prepStatementInsert );
 
     if ( isDebug() ) {
       logDebug( "Row inserted!" );
@@ -1248,7 +1499,7 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
       if ( isDebug() ) {
         logDebug( "Values set for update (" + data.updateRowMeta.size() + ")" );
       }
-      data.db.insertRow( data.prepStatementUpdate ); // do the actual update
+      executeDimStatement( data.prepStatementUpdate ); // do the actual update
       if ( isDebug() ) {
         logDebug( "Row updated!" );
       }
@@ -1357,7 +1608,7 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
     dimensionUpdateRow[ updateIndex++ ] = dimkey;
 
     data.db.setValues( data.dimensionUpdateRowMeta, dimensionUpdateRow, data.prepStatementDimensionUpdate );
-    data.db.insertRow( data.prepStatementDimensionUpdate );
+    executeDimStatement( data.prepStatementDimensionUpdate );
   }
 
   // This updates all versions of a dimension entry.
@@ -1447,7 +1698,7 @@ public class DimensionLookup extends BaseDatabaseStep implements StepInterface {
     // UPDATE VALUES
     data.db.setValues( data.punchThroughRowMeta, punchThroughRow, data.prepStatementPunchThrough ); // set values for
     // update
-    data.db.insertRow( data.prepStatementPunchThrough ); // do the actual punch through update
+    executeDimStatement( data.prepStatementPunchThrough ); // do the actual punch through update
   }
 
   /**
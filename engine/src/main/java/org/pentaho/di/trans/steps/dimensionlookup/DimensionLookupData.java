@@ -16,6 +16,7 @@ package org.pentaho.di.trans.steps.dimensionlookup;
 import java.sql.PreparedStatement;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.hash.ByteArrayHashMap;
@@ -84,6 +85,21 @@ public class DimensionLookupData extends BaseDatabaseStepData implements StepDat
 
   public List<Integer> lazyList;
 
+  /** The current version of every dimension entry in bulk update mode, null when the rows are handled one by one */
+  public DimensionVersionStore bulkStore;
+
+  /** The indexes in the row of the compared fields, in the order of the version store */
+  public int[] bulkFieldIndexes;
+
+  /** The statements with rows in their batch, to execute at the end of the commit interval */
+  public Set<PreparedStatement> bulkBatches;
+
+  /** The number of rows handled since the last commit in bulk update mode */
+  public int bulkRows;
+
+  /** The number of rows per commit interval in bulk update mode */
+  public int bulkBatchSize;
+
   /**
    * The input row metadata, but converted to normal storage type
    */
@@ -226,6 +226,13 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
   @Injection( name = "PRELOAD_CACHE" )
   private boolean preloadingCache;
 
+  /**
+   * Flag to indicate the dimension is updated in bulk: the current versions are pre-loaded and the changes are applied
+   * in batches per commit interval
+   */
+  @Injection( name = "BULK_UPDATE" )
+  private boolean bulkUpdate;
+
   public DimensionLookupMeta() {
     super(); // allocate BaseStepMeta
   }
@@ -730,6 +737,7 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
 
     cacheSize = 5000;
     preloadingCache = false;
+    bulkUpdate = false;
   }
 
   @Override
@@ -869,6 +877,7 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
 
     retval.append( "      " ).append( XMLHandler.addTagValue( "cache_size", cacheSize ) );
     retval.append( "      " ).append( XMLHandler.addTagValue( "preload_cache", preloadingCache ) );
+    retval.append( "      " ).append( XMLHandler.addTagValue( "bulk_update", bulkUpdate ) );
 
     retval.append( "      " ).append( XMLHandler.addTagValue( "use_start_date_alternative",
         usingStartDateAlternative ) );
@@ -948,6 +957,7 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
 
       cacheSize = Const.toInt( XMLHandler.getTagValue( stepnode, "cache_size" ), -1 );
       preloadingCache = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "preload_cache" ) );
+      bulkUpdate = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "bulk_update" ) );
       useBatchUpdate = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "useBatch" ) );
 
       usingStartDateAlternative =
@@ -1008,6 +1018,7 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
 
       cacheSize = (int) rep.getStepAttributeInteger( id_step, "cache_size" );
       preloadingCache = rep.getStepAttributeBoolean( id_step, "preload_cache" );
+      bulkUpdate = rep.getStepAttributeBoolean( id_step, "bulk_update" );
       useBatchUpdate = rep.getStepAttributeBoolean( id_step, "useBatch" );
 
       usingStartDateAlternative = rep.getStepAttributeBoolean( id_step, "use_start_date_alternative" );
@@ -1063,6 +1074,7 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
 
       rep.saveStepAttribute( id_transformation, id_step, "cache_size", cacheSize );
       rep.saveStepAttribute( id_transformation, id_step, "preload_cache", preloadingCache );
+      rep.saveStepAttribute( id_transformation, id_step, "bulk_update", bulkUpdate );
       rep.saveStepAttribute( id_transformation, id_step, "useBatch", useBatchUpdate );
 
       rep.saveStepAttribute( id_transformation, id_step, "use_start_date_alternative", usingStartDateAlternative );
@@ -1129,6 +1141,11 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
       }
     }
 
+    if ( update && bulkUpdate && CREATION_METHOD_AUTOINC.equals( techKeyCreation ) ) {
+      remarks.add( new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString( PKG,
+          "DimensionLookupMeta.CheckResult.BulkUpdateWithAutoIncrement" ), stepMeta ) );
+    }
+
     // See if we have input streams leading to this step!
     if ( input.length > 0 ) {
       CheckResult cr =
@@ -1882,6 +1899,22 @@ public class DimensionLookupMeta extends BaseDatabaseStepMeta implements StepMet
     this.preloadingCache = preloadingCache;
   }
 
+  /**
+   * @return true if the dimension is updated in bulk: the current version of every entry is pre-loaded, the rows are
+   *         compared with it in memory and the inserts and updates are applied in batches per commit interval
+   */
+  public boolean isBulkUpdate() {
+    return bulkUpdate;
+  }
+
+  /**
+   * @param bulkUpdate
+   *          the bulkUpdate to set
+   */
+  public void setBulkUpdate( boolean bulkUpdate ) {
+    this.bulkUpdate = bulkUpdate;
+  }
+
   /**
    * @return the useBatchUpdate
    */
@@ -0,0 +1,141 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.dimensionlookup;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.hash.ByteArrayHashMap;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * Keeps the current version of every dimension entry, keyed by the natural key, for the bulk update of a slowly
+ * changing dimension.
+ * <p>
+ * The keys and versions are serialized to byte arrays, so a large dimension takes a fraction of the memory it would
+ * take as rows of objects. A version holds the technical key, the version number and the values of the fields that
+ * are compared with the incoming rows, in the data types of the dimension table.
+ *
+ * @see DimensionLookupMeta#isBulkUpdate()
+ */
+public class DimensionVersionStore {
+  /** The index of the technical key in a version */
+  public static final int TECHNICAL_KEY_INDEX = 0;
+
+  /** The index of the version number in a version */
+  public static final int VERSION_INDEX = 1;
+
+  private final RowMetaInterface keyRowMeta;
+  private final RowMetaInterface versionRowMeta;
+  private final ByteArrayHashMap versions;
+
+  /**
+   * @param keyRowMeta
+   *          the natural key fields
+   * @param versionRowMeta
+   *          the technical key and the version number, both integers, followed by the compared fields
+   * @param initialCapacity
+   *          the number of entries to make room for up front
+   */
+  public DimensionVersionStore( RowMetaInterface keyRowMeta, RowMetaInterface versionRowMeta, int initialCapacity ) {
+    this.keyRowMeta = keyRowMeta;
+    this.versionRowMeta = versionRowMeta;
+    this.versions = new ByteArrayHashMap( initialCapacity, keyRowMeta );
+  }
+
+  /**
+   * @return the natural key fields
+   */
+  public RowMetaInterface getKeyRowMeta() {
+    return keyRowMeta;
+  }
+
+  /**
+   * @return the technical key and the version number, followed by the compared fields
+   */
+  public RowMetaInterface getVersionRowMeta() {
+    return versionRowMeta;
+  }
+
+  /**
+   * Convert values to the data types of the store.
+   *
+   * @param rowMeta
+   *          the metadata of the row the values come from
+   * @param row
+   *          the row the values come from
+   * @param indexes
+   *          the indexes of the values in the row, in the order of the target metadata
+   * @param targetRowMeta
+   *          the metadata to convert to, the key or version metadata
+   * @param target
+   *          the row to convert to
+   * @param offset
+   *          the index in the target row to put the first value
+   */
+  public static void convert( RowMetaInterface rowMeta, Object[] row, int[] indexes, RowMetaInterface targetRowMeta,
+    Object[] target, int offset ) throws KettleValueException {
+    for ( int i = 0; i < indexes.length; i++ ) {
+      ValueMetaInterface targetMeta = targetRowMeta.getValueMeta( offset + i );
+      target[offset + i] = targetMeta.convertData( rowMeta.getValueMeta( indexes[i] ), row[indexes[i]] );
+    }
+  }
+
+  /**
+   * @param key
+   *          the natural key, in the data types of the store
+   * @return the current version of the entry, null if there is none
+   */
+  public Object[] get( Object[] key ) throws KettleValueException {
+    byte[] version = versions.get( RowMeta.extractData( keyRowMeta, key ) );
+    return version == null ? null : RowMeta.getRow( versionRowMeta, version );
+  }
+
+  /**
+   * Store the current version of an entry, replacing the previous one.
+   *
+   * @param key
+   *          the natural key, in the data types of the store
+   * @param version
+   *          the technical key, the version number and the compared fields, in the data types of the store
+   */
+  public void put( Object[] key, Object[] version ) throws KettleValueException {
+    versions.put( RowMeta.extractData( keyRowMeta, key ), RowMeta.extractData( versionRowMeta, version ) );
+  }
+
+  /**
+   * Store a version that is read from the dimension table, unless a later version of the entry is stored already.
+   *
+   * @return true if the version is stored
+   */
+  public boolean putIfLater( Object[] key, Object[] version ) throws KettleValueException {
+    Object[] current = get( key );
+    if ( current != null ) {
+      Long currentNr = versionRowMeta.getInteger( current, VERSION_INDEX );
+      Long versionNr = versionRowMeta.getInteger( version, VERSION_INDEX );
+      if ( currentNr != null && ( versionNr == null || versionNr <= currentNr ) ) {
+        return false;
+      }
+    }
+    put( key, version );
+    return true;
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return versions.size();
+  }
+}
@@ -15,6 +15,7 @@ package org.pentaho.di.trans.steps.filterrows;
 
 import java.util.List;
 
+import org.pentaho.di.core.CompiledCondition;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
@@ -46,9 +47,13 @@ public class FilterRows extends BaseStep implements StepInterface {
     super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
   }
 
-  private synchronized boolean keepRow( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+  private boolean keepRow( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
     try {
-      return meta.getCondition().evaluate( rowMeta, row );
+      if ( data.condition == null || data.condition.getRowMeta() != rowMeta ) {
+        // Resolve field positions, constants and lists once per row layout
+        data.condition = CompiledCondition.compile( meta.getCondition(), rowMeta );
+      }
+      return data.condition.evaluate( row );
     } catch ( Exception e ) {
       String message =
         BaseMessages.getString( PKG, "FilterRows.Exception.UnexpectedErrorFoundInEvaluationFuction" );
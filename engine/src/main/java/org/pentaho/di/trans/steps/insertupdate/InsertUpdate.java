@@ -19,6 +19,7 @@ import java.util.List;
 import org.apache.commons.lang.ArrayUtils;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.database.MergeStagingTable;
 import org.pentaho.di.core.exception.KettleDatabaseException;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
@@ -173,6 +174,9 @@ public class InsertUpdate extends BaseDatabaseStep implements StepInterface {
     Object[] r = getRow(); // Get row from input rowset & set row busy!
     if ( r == null ) {
       // no more input to be expected...
+      if ( data.mergeStaging != null ) {
+        mergeBatch();
+      }
 
       setOutputDone();
       return false;
@@ -252,46 +256,60 @@ public class InsertUpdate extends BaseDatabaseStep implements StepInterface {
         }
       }
 
-      setLookup( getInputRowMeta() );
-
-      data.insertRowMeta = new RowMeta();
-
-      // Insert the update fields: just names. Type doesn't matter!
-      for ( int i = 0; i < meta.getUpdateFields().length; i++ ) {
-        ValueMetaInterface insValue =
-          data.insertRowMeta.searchValueMeta( meta.getUpdateFields()[ i ].getUpdateLookup() );
-        if ( insValue == null ) {
-          // Don't add twice!
-
-          // we already checked that this value exists so it's probably safe to ignore lookup failure...
-          ValueMetaInterface insertValue =
-            getInputRowMeta().searchValueMeta( meta.getUpdateFields()[ i ].getUpdateStream() ).clone();
-          insertValue.setName( meta.getUpdateFields()[ i ].getUpdateLookup() );
-          data.insertRowMeta.addValueMeta( insertValue );
+      if ( meta.isSetBasedMerge() ) {
+        if ( meta.isSetBasedMergePossible() ) {
+          prepareMerge( getInputRowMeta() );
         } else {
-          throw new KettleStepException( "The same column can't be inserted into the target row twice: "
-            + insValue.getName() ); // TODO i18n
+          logBasic( BaseMessages.getString( PKG, "InsertUpdate.Log.SetBasedMergeNotPossible" ) );
         }
       }
-      data.db.prepareInsert(
-        data.insertRowMeta, environmentSubstitute( meta.getSchemaName() ), environmentSubstitute( meta
-          .getTableName() ) );
 
-      if ( !meta.isUpdateBypassed() ) {
-        List<String> updateColumns = new ArrayList<String>();
+      if ( data.mergeStaging == null ) {
+        setLookup( getInputRowMeta() );
+
+        data.insertRowMeta = new RowMeta();
+
+        // Insert the update fields: just names. Type doesn't matter!
         for ( int i = 0; i < meta.getUpdateFields().length; i++ ) {
-          if ( meta.getUpdateFields()[ i ].getUpdate().booleanValue() ) {
-            updateColumns.add( meta.getUpdateFields()[ i ].getUpdateLookup() );
+          ValueMetaInterface insValue =
+            data.insertRowMeta.searchValueMeta( meta.getUpdateFields()[ i ].getUpdateLookup() );
+          if ( insValue == null ) {
+            // Don't add twice!
+
+            // we already checked that this value exists so it's probably safe to ignore lookup failure...
+            ValueMetaInterface insertValue =
+              getInputRowMeta().searchValueMeta( meta.getUpdateFields()[ i ].getUpdateStream() ).clone();
+            insertValue.setName( meta.getUpdateFields()[ i ].getUpdateLookup() );
+            data.insertRowMeta.addValueMeta( insertValue );
+          } else {
+            throw new KettleStepException( "The same column can't be inserted into the target row twice: "
+              + insValue.getName() ); // TODO i18n
           }
         }
-        prepareUpdate( getInputRowMeta() );
+        data.db.prepareInsert(
+          data.insertRowMeta, environmentSubstitute( meta.getSchemaName() ), environmentSubstitute( meta
+            .getTableName() ) );
+
+        if ( !meta.isUpdateBypassed() ) {
+          List<String> updateColumns = new ArrayList<String>();
+          for ( int i = 0; i < meta.getUpdateFields().length; i++ ) {
+            if ( meta.getUpdateFields()[ i ].getUpdate().booleanValue() ) {
+              updateColumns.add( meta.getUpdateFields()[ i ].getUpdateLookup() );
+            }
+          }
+          prepareUpdate( getInputRowMeta() );
+        }
       }
     }
 
     try {
-      lookupValues( getInputRowMeta(), r ); // add new values to the row in rowset[0].
-      putRow( data.outputRowMeta, r ); // Nothing changed to the input, return the same row, pass a "cloned" metadata
-      // row.
+      if ( data.mergeStaging != null ) {
+        addToMerge( r ); // the row is passed on once its batch is applied
+      } else {
+        lookupValues( getInputRowMeta(), r ); // add new values to the row in rowset[0].
+        putRow( data.outputRowMeta, r ); // Nothing changed to the input, return the same row, pass a "cloned" metadata
+        // row.
+      }
 
       if ( checkFeedback( getLinesRead() ) ) {
         if ( log.isBasic() ) {
@@ -321,6 +339,107 @@ public class InsertUpdate extends BaseDatabaseStep implements StepInterface {
 
 
 
+  /**
+   * Prepare to apply the rows in batches, through a staging table and a single merge statement per batch.
+   */
+  private void prepareMerge( RowMetaInterface rowMeta ) throws KettleException {
+    RowMetaInterface mergeRowMeta = new RowMeta();
+    List<Integer> mergeValuenrs = new ArrayList<Integer>();
+
+    String[] keyColumns = new String[ meta.getKeyFields().length ];
+    for ( int i = 0; i < meta.getKeyFields().length; i++ ) {
+      keyColumns[ i ] = meta.getKeyFields()[ i ].getKeyLookup();
+      addMergeColumn( rowMeta, mergeRowMeta, mergeValuenrs, keyColumns[ i ], data.keynrs[ i ] );
+    }
+    int nrKeyColumns = mergeRowMeta.size();
+
+    List<String> updateColumns = new ArrayList<String>();
+    String[] insertColumns = new String[ meta.getUpdateFields().length ];
+    for ( int i = 0; i < meta.getUpdateFields().length; i++ ) {
+      String column = meta.getUpdateFields()[ i ].getUpdateLookup();
+      insertColumns[ i ] = column;
+      addMergeColumn( rowMeta, mergeRowMeta, mergeValuenrs, column, data.valuenrs[ i ] );
+      // The key columns keep their values
+      if ( !meta.isUpdateBypassed() && meta.getUpdateFields()[ i ].getUpdate().booleanValue()
+        && mergeRowMeta.indexOfValue( column ) >= nrKeyColumns ) {
+        updateColumns.add( column );
+      }
+    }
+
+    data.mergeValuenrs = ArrayUtils.toPrimitive( mergeValuenrs.toArray( new Integer[ 0 ] ) );
+    data.mergeRows = new ArrayList<Object[]>();
+    int commitSize = meta.getCommitSize( this );
+    data.mergeBatchSize = commitSize > 0 ? commitSize : MergeStagingTable.DEFAULT_BATCH_SIZE;
+    data.mergeStaging = new MergeStagingTable( data.db, environmentSubstitute( meta.getSchemaName() ),
+      environmentSubstitute( meta.getTableName() ), mergeRowMeta, keyColumns,
+      updateColumns.toArray( new String[ 0 ] ), insertColumns );
+    data.mergeStaging.createStagingTable( MergeStagingTable.getStagingTableName( getLogChannelId() ) );
+
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "InsertUpdate.Log.SetBasedMerge",
+        String.valueOf( data.mergeBatchSize ) ) );
+    }
+  }
+
+  private static void addMergeColumn( RowMetaInterface rowMeta, RowMetaInterface mergeRowMeta,
+    List<Integer> mergeValuenrs, String column, int valuenr ) {
+    if ( mergeRowMeta.indexOfValue( column ) < 0 ) {
+      ValueMetaInterface valueMeta = rowMeta.getValueMeta( valuenr ).clone();
+      valueMeta.setName( column );
+      mergeRowMeta.addValueMeta( valueMeta );
+      mergeValuenrs.add( valuenr );
+    }
+  }
+
+  private void addToMerge( Object[] row ) throws KettleException {
+    Object[] mergeRow = new Object[ data.mergeValuenrs.length ];
+    for ( int i = 0; i < data.mergeValuenrs.length; i++ ) {
+      mergeRow[ i ] = row[ data.mergeValuenrs[ i ] ];
+    }
+    data.mergeStaging.addRow( mergeRow );
+    data.mergeRows.add( row );
+
+    if ( data.mergeRows.size() >= data.mergeBatchSize ) {
+      mergeBatch();
+    }
+  }
+
+  /**
+   * Apply the current batch to the table, commit it and pass its rows on. If the batch fails and error handling is
+   * used, all its rows go to the error handling.
+   */
+  private void mergeBatch() throws KettleException {
+    if ( data.mergeRows.isEmpty() ) {
+      return;
+    }
+    try {
+      int merged = data.mergeStaging.merge();
+      data.db.commit();
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "InsertUpdate.Log.BatchMerged",
+          String.valueOf( data.mergeRows.size() ), String.valueOf( merged ) ) );
+      }
+    } catch ( KettleException e ) {
+      data.mergeStaging.clear();
+      data.db.rollback();
+      if ( !getStepMeta().isDoingErrorHandling() ) {
+        data.mergeRows.clear();
+        throw e;
+      }
+      for ( Object[] row : data.mergeRows ) {
+        putError( getInputRowMeta(), row, 1, e.toString(), null, "ISU001" );
+      }
+      data.mergeRows.clear();
+      return;
+    }
+
+    for ( Object[] row : data.mergeRows ) {
+      putRow( data.outputRowMeta, row );
+      incrementLinesOutput();
+    }
+    data.mergeRows.clear();
+  }
+
   public void setLookup( RowMetaInterface rowMeta ) throws KettleDatabaseException {
     data.lookupParameterRowMeta = new RowMeta();
     data.lookupReturnRowMeta = new RowMeta();
@@ -497,6 +616,10 @@ public class InsertUpdate extends BaseDatabaseStep implements StepInterface {
         }
         data.db.closeUpdate();
         data.db.closeInsert();
+        if ( data.mergeStaging != null ) {
+          data.mergeStaging.dropStagingTable();
+          data.mergeStaging = null;
+        }
       } catch ( KettleDatabaseException e ) {
         logError( BaseMessages.getString( PKG, "InsertUpdate.Log.UnableToCommitConnection" ) + e.toString() );
         setErrors( 1 );
@@ -13,11 +13,13 @@
 
 package org.pentaho.di.trans.steps.insertupdate;
 
+import org.pentaho.di.core.database.MergeStagingTable;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseDatabaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
 import java.sql.PreparedStatement;
+import java.util.List;
 
 /**
  * Stores data for the Insert/Update step.
@@ -43,6 +45,14 @@ public class InsertUpdateData extends BaseDatabaseStepData implements StepDataIn
   public RowMetaInterface lookupReturnRowMeta;
   public RowMetaInterface insertRowMeta;
 
+  /** Applies the rows in batches when the set based merge is used, null otherwise */
+  public MergeStagingTable mergeStaging;
+  /** The positions in the input row of the columns of the staging table */
+  public int[] mergeValuenrs;
+  /** The input rows of the current batch, passed on once the batch is applied */
+  public List<Object[]> mergeRows;
+  public int mergeBatchSize;
+
   /**
    * Default constructor.
    */
@@ -100,6 +100,12 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
   @Injection( name = "DO_NOT" )
   private boolean updateBypassed;
 
+  /**
+   * Apply the rows in batches of the commit size, through a staging table and a single merge statement per batch
+   */
+  @Injection( name = "SET_BASED_MERGE" )
+  private boolean setBasedMerge;
+
   @Injection( name = "CONNECTIONNAME", required = true )
   public void setConnection( String connectionName ) {
     databaseMeta = DatabaseMeta.findDatabase( databases, connectionName );
@@ -239,6 +245,7 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
       schemaName = XMLHandler.getTagValue( stepnode, "lookup", "schema" );
       tableName = XMLHandler.getTagValue( stepnode, "lookup", "table" );
       updateBypassed = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "update_bypassed" ) );
+      setBasedMerge = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "set_based_merge" ) );
 
       Node lookup = XMLHandler.getSubNode( stepnode, "lookup" );
       nrkeys = XMLHandler.countNodes( lookup, "key" );
@@ -318,6 +325,7 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
         XMLHandler.addTagValue( "connection", databaseMeta == null ? "" : databaseMeta.getName() ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "commit", commitSize ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "update_bypassed", updateBypassed ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( "set_based_merge", setBasedMerge ) );
     retval.append( "    <lookup>" ).append( Const.CR );
     retval.append( "      " ).append( XMLHandler.addTagValue( "schema", schemaName ) );
     retval.append( "      " ).append( XMLHandler.addTagValue( "table", tableName ) );
@@ -366,6 +374,7 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
       schemaName = rep.getStepAttributeString( id_step, "schema" );
       tableName = rep.getStepAttributeString( id_step, "table" );
       updateBypassed = rep.getStepAttributeBoolean( id_step, "update_bypassed" );
+      setBasedMerge = rep.getStepAttributeBoolean( id_step, "set_based_merge" );
 
       int nrkeys = rep.countNrStepAttributes( id_step, "key_field" );
       int nrvalues = rep.countNrStepAttributes( id_step, "value_name" );
@@ -399,6 +408,7 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
       rep.saveStepAttribute( id_transformation, id_step, "schema", schemaName );
       rep.saveStepAttribute( id_transformation, id_step, "table", tableName );
       rep.saveStepAttribute( id_transformation, id_step, "update_bypassed", updateBypassed );
+      rep.saveStepAttribute( id_transformation, id_step, "set_based_merge", setBasedMerge );
 
       for ( int i = 0; i < keyFields.length; i++ ) {
         rep.saveStepAttribute( id_transformation, id_step, i, "key_name", keyFields[ i ].getKeyStream() );
@@ -621,6 +631,11 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
       remarks.add( cr );
     }
 
+    if ( setBasedMerge && !isSetBasedMergePossible() ) {
+      remarks.add( new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString(
+        PKG, "InsertUpdateMeta.CheckResult.SetBasedMergeNeedsEqualKeys" ), stepMeta ) );
+    }
+
     // See if we have input streams leading to this step!
     if ( input.length > 0 ) {
       cr =
@@ -794,6 +809,33 @@ public class InsertUpdateMeta extends BaseDatabaseStepMeta implements StepMetaIn
     this.updateBypassed = updateBypassed;
   }
 
+  /**
+   * @return true if the rows are applied in batches, through a staging table and a single merge statement per batch
+   */
+  public boolean isSetBasedMerge() {
+    return setBasedMerge;
+  }
+
+  /**
+   * @param setBasedMerge
+   *          true to apply the rows in batches, through a staging table and a single merge statement per batch
+   */
+  public void setSetBasedMerge( boolean setBasedMerge ) {
+    this.setBasedMerge = setBasedMerge;
+  }
+
+  /**
+   * @return true if the keys can be matched by a merge statement: all the key conditions are equalities
+   */
+  public boolean isSetBasedMergePossible() {
+    for ( KeyField keyField : keyFields ) {
+      if ( !"=".equals( Const.NVL( keyField.getKeyCondition(), "=" ).trim() ) ) {
+        return false;
+      }
+    }
+    return keyFields.length > 0;
+  }
+
   public RowMetaInterface getRequiredFields( VariableSpace space ) throws KettleException {
     String realSchemaName = space.environmentSubstitute( schemaName );
     String realTableName = space.environmentSubstitute( tableName );
@@ -13,13 +13,19 @@
 
 package org.pentaho.di.trans.steps.parallelgzipcsv;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.vfs2.FileObject;
 import org.pentaho.di.core.ResultFile;
+import org.pentaho.di.core.compress.CompressionProvider;
+import org.pentaho.di.core.compress.CompressionProviderFactory;
+import org.pentaho.di.core.compress.CompressionSplit;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleFileException;
 import org.pentaho.di.core.row.RowDataUtil;
@@ -163,6 +169,21 @@ public class ParGzipCsvInput extends BaseStep implements StepInterface {
     data.totalBytesRead = 0L;
     data.blockNr++;
 
+    if ( data.splits != null ) {
+      // Every step copy reads the next split of its own
+      //
+      data.splitNr += data.totalNumberOfSteps;
+      if ( data.splitNr >= data.splits.size() ) {
+        return true; // next file please!
+      }
+      try {
+        openSplit();
+      } catch ( IOException e ) {
+        throw new KettleException( "Error opening split #" + data.splitNr + " of the file", e );
+      }
+      return false;
+    }
+
     if ( data.parallel ) {
 
       // So our first act is to skip to the correct position in the compressed stream...
@@ -273,6 +294,7 @@ public class ParGzipCsvInput extends BaseStep implements StepInterface {
       logBasic( "Opening file #" + data.filenr + " : " + data.filenames[data.filenr] );
       FileObject fileObject = KettleVFS.getInstance( getTransMeta().getBowl() )
         .getFileObject( data.filenames[data.filenr], getTransMeta() );
+      data.fileObject = fileObject;
       data.fis = KettleVFS.getInputStream( fileObject );
 
       if ( meta.isLazyConversionActive() ) {
@@ -290,9 +312,20 @@ public class ParGzipCsvInput extends BaseStep implements StepInterface {
       //
       data.filenr++;
 
-      // If we are running in parallel and we need to skip bytes in the first file, let's do so here.
+      // A blocked gzip file (BGZF) is read in splits of compressed data: a step copy only decompresses its own splits.
       //
-      if ( data.parallel ) {
+      data.splits = data.parallel ? getSplits( fileObject ) : null;
+      if ( data.splits != null ) {
+        data.splitNr = data.stepNumber;
+        if ( data.splitNr >= data.splits.size() ) {
+          // Fewer splits than step copies, nothing to read in this step copy
+          data.eofReached = true;
+          return false;
+        }
+        openSplit();
+      } else if ( data.parallel ) {
+        // If we are running in parallel and we need to skip bytes in the first file, let's do so here.
+        //
         // Calculate the first block of data to read from the file
         // If the buffer size is 500, we read 0-499 for the first file,
         // 500-999 for the second, 1000-1499 for the third, etc.
@@ -384,6 +417,77 @@ public class ParGzipCsvInput extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * @return the splits of a blocked gzip file or null if the file can't be split. The first step copy to open the file
+   *         finds the splits, the other copies get them from the transformation.
+   */
+  @SuppressWarnings( "unchecked" )
+  private List<CompressionSplit> getSplits( FileObject fileObject ) throws IOException, KettleFileException {
+    CompressionProvider provider = CompressionProviderFactory.getInstance().getCompressionProviderByName( "GZip" );
+    if ( provider == null || !provider.supportsSplits() ) {
+      return null;
+    }
+
+    Map<String, Object> shared = getTrans().getExtensionDataMap();
+    String key = ParGzipCsvInput.class.getName() + ".splits." + getStepname() + "." + fileObject.getName().getURI();
+    List<CompressionSplit> splits;
+    synchronized ( shared ) {
+      splits = (List<CompressionSplit>) shared.get( key );
+      if ( splits == null ) {
+        // About one split per step copy
+        long splitSize = Math.max( data.bufferSize, fileObject.getContent().getSize() / data.totalNumberOfSteps + 1 );
+        try ( InputStream in = KettleVFS.getInputStream( fileObject ) ) {
+          splits = provider.getSplits( in, splitSize );
+        }
+        shared.put( key, splits );
+      }
+    }
+    return splits.size() > 1 ? splits : null;
+  }
+
+  /**
+   * Decompress the file from the start of the current split. The data after the split isn't cut off: the last row of
+   * the split is finished with the data of the next split, the next step copy skips that row.
+   */
+  private void openSplit() throws IOException, KettleException {
+    CompressionSplit split = data.splits.get( data.splitNr );
+    logBasic( "Reading split #"
+      + data.splitNr + " at position " + split.getOffset() + " for step copy " + data.stepNumber );
+
+    data.gzis.close();
+    data.fis = KettleVFS.getInputStream( data.fileObject );
+
+    // Seek to the split, a file stream skips without reading the data in between
+    //
+    long bytesSkipped = 0L;
+    while ( bytesSkipped < split.getOffset() ) {
+      long n = data.fis.skip( split.getOffset() - bytesSkipped );
+      if ( n <= 0 ) {
+        // A stream may skip nothing without being at the end, read a byte to find out
+        //
+        if ( data.fis.read() < 0 ) {
+          throw new EOFException( "End of file before split #" + data.splitNr + " at position " + split.getOffset() );
+        }
+        n = 1;
+      }
+      bytesSkipped += n;
+    }
+    data.gzis = new GZIPInputStream( data.fis, data.bufferSize );
+
+    clearBuffer();
+    data.eofReached = false;
+    data.totalBytesRead = 0L;
+    data.blockSize = split.getUncompressedLength();
+
+    if ( data.splitNr > 0 ) {
+      // Skip the row that started in the previous split
+      //
+      readOneRow( false );
+    } else if ( meta.isHeaderPresent() ) {
+      readOneRow( false );
+    }
+  }
+
   private void clearBuffer() {
     data.startBuffer = 0;
     data.endBuffer = 0;
@@ -15,8 +15,11 @@ package org.pentaho.di.trans.steps.parallelgzipcsv;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.compress.CompressionSplit;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
@@ -35,6 +38,7 @@ public class ParGzipCsvInputData extends BaseStepData implements StepDataInterfa
   public int startFilenr;
   public byte[] binaryFilename;
 
+  public FileObject fileObject;
   public InputStream fis;
 
   public boolean isAddingRowNumber;
@@ -66,6 +70,12 @@ public class ParGzipCsvInputData extends BaseStepData implements StepDataInterfa
   public long fileReadPosition;
   public int blockNr;
 
+  /**
+   * The splits of a blocked gzip file, null if the file is read in blocks of decompressed data.
+   */
+  public List<CompressionSplit> splits;
+  public int splitNr;
+
   public ParGzipCsvInputData() {
     super();
     startBuffer = 0;
@@ -44,6 +44,11 @@ public class RowsFromResult extends BaseStep implements StepInterface {
   }
 
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
+    if ( !getInputRowSets().isEmpty() ) {
+      // The rows are injected batch after batch by a row producer, see SubtransExecutor
+      return processInjectedRow( sdi );
+    }
+
     Result previousResult = getTrans().getPreviousResult();
     if ( previousResult == null || getLinesRead() >= previousResult.getRows().size() ) {
       setOutputDone();
@@ -70,4 +75,24 @@ public class RowsFromResult extends BaseStep implements StepInterface {
 
     return true;
   }
+
+  private boolean processInjectedRow( StepDataInterface sdi ) throws KettleException {
+    Object[] row = getRow();
+    if ( row == null ) {
+      setOutputDone();
+      return false;
+    }
+
+    data = (RowsFromResultData) sdi;
+    data.outputRowMeta = getInputRowMeta();
+    putRow( data.outputRowMeta, row );
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      if ( log.isBasic() ) {
+        logBasic( BaseMessages.getString( PKG, "RowsFromResult.Log.LineNumber" ) + getLinesRead() );
+      }
+    }
+
+    return true;
+  }
 }
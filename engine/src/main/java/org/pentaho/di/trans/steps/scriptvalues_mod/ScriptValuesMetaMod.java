@@ -113,6 +113,9 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
   @Injection( name = "OPTIMIZATION_LEVEL" )
   private String optimizationLevel;
 
+  @Injection( name = "TYPED_BINDINGS" )
+  private boolean typedBindings;
+
   public ScriptValuesMetaMod() {
     super(); // allocate BaseStepMeta
     compatible = true;
@@ -314,6 +317,7 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
       String script = XMLHandler.getTagValue( stepnode, "script" );
       String strCompatible = XMLHandler.getTagValue( stepnode, "compatible" );
       optimizationLevel = XMLHandler.getTagValue( stepnode, "optimizationLevel" );
+      typedBindings = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "typedBindings" ) );
 
       if ( strCompatible == null ) {
         compatible = true;
@@ -385,6 +389,7 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
 
     compatible = false;
     optimizationLevel = OPTIMIZATION_LEVEL_DEFAULT;
+    typedBindings = false;
   }
 
   @Override
@@ -447,6 +452,7 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
 
     retval.append( "    " ).append( XMLHandler.addTagValue( "compatible", compatible ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "optimizationLevel", optimizationLevel ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( "typedBindings", typedBindings ) );
 
     retval.append( "    <jsScripts>" );
     for ( int i = 0; i < jsScripts.length; i++ ) {
@@ -482,6 +488,7 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
       String script = rep.getStepAttributeString( id_step, "script" );
       compatible = rep.getStepAttributeBoolean( id_step, 0, "compatible", true );
       optimizationLevel = rep.getStepAttributeString( id_step, 0, "optimizationLevel" );
+      typedBindings = rep.getStepAttributeBoolean( id_step, 0, "typedBindings", false );
 
       // When in compatibility mode, we load the script, not the other tabs...
       //
@@ -520,6 +527,7 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
     try {
       rep.saveStepAttribute( id_transformation, id_step, 0, "compatible", compatible );
       rep.saveStepAttribute( id_transformation, id_step, 0, "optimizationLevel", optimizationLevel );
+      rep.saveStepAttribute( id_transformation, id_step, 0, "typedBindings", typedBindings );
 
       for ( int i = 0; i < jsScripts.length; i++ ) {
         rep.saveStepAttribute( id_transformation, id_step, i, JSSCRIPT_TAG_NAME, jsScripts[i].getScriptName() );
@@ -1056,4 +1064,20 @@ public class ScriptValuesMetaMod extends BaseStepMeta implements StepMetaInterfa
   public String getOptimizationLevel() {
     return this.optimizationLevel;
   }
+
+  /**
+   * @return true if the used fields are bound to the script as plain JavaScript values instead of wrapper objects.
+   *         Only applies when not running in compatibility mode.
+   */
+  public boolean isTypedBindings() {
+    return typedBindings;
+  }
+
+  /**
+   * @param typedBindings
+   *          true to bind the used fields as plain JavaScript values instead of wrapper objects
+   */
+  public void setTypedBindings( boolean typedBindings ) {
+    this.typedBindings = typedBindings;
+  }
 }
@@ -13,7 +13,9 @@
 
 package org.pentaho.di.trans.steps.scriptvalues_mod;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.mozilla.javascript.Context;
@@ -131,6 +133,81 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * Determines the fields used by the transform script for the typed bindings mode. Unlike
+   * {@link #determineUsedFields(RowMetaInterface)}, a field only counts as used when its name appears in the script as
+   * a whole word, so fields whose name is merely part of another identifier are never marshalled.
+   */
+  private void determineReferencedFields( RowMetaInterface row ) {
+    List<Integer> used = new ArrayList<>();
+    for ( int i = 0; i < row.size(); i++ ) {
+      if ( isReferenced( strTransformScript, row.getValueMeta( i ).getName() ) ) {
+        used.add( i );
+      }
+    }
+
+    data.fields_used = new int[ used.size() ];
+    data.values_used = new Value[ used.size() ];
+    data.usedFieldNames = new String[ used.size() ];
+    data.usedValueMetas = new ValueMetaInterface[ used.size() ];
+    for ( int i = 0; i < used.size(); i++ ) {
+      data.fields_used[ i ] = used.get( i );
+      data.usedValueMetas[ i ] = row.getValueMeta( data.fields_used[ i ] );
+      data.usedFieldNames[ i ] = data.usedValueMetas[ i ].getName();
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "ScriptValuesMod.Log.UsedValueName",
+          String.valueOf( data.fields_used[ i ] ), data.usedFieldNames[ i ] ) );
+      }
+    }
+
+    // The rowMeta object is only bound for every row when a script can actually reach it. The row itself is always
+    // bound: added functions such as createRowCopy() read it from the scope without the script naming it.
+    //
+    data.bindRowMeta = false;
+    for ( ScriptValuesScript jsScript : jsScripts ) {
+      data.bindRowMeta |= isReferenced( Const.NVL( jsScript.getScript(), "" ), "rowMeta" );
+    }
+
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "ScriptValuesMod.Log.UsingValuesFromInputStream", String
+        .valueOf( data.fields_used.length ) ) );
+    }
+  }
+
+  static boolean isReferenced( String script, String name ) {
+    if ( Utils.isEmpty( script ) || Utils.isEmpty( name ) ) {
+      return false;
+    }
+    int index = script.indexOf( name );
+    while ( index >= 0 ) {
+      int end = index + name.length();
+      boolean wordStart = index == 0 || !Character.isJavaIdentifierPart( script.charAt( index - 1 ) );
+      boolean wordEnd = end == script.length() || !Character.isJavaIdentifierPart( script.charAt( end ) );
+      if ( wordStart && wordEnd ) {
+        return true;
+      }
+      index = script.indexOf( name, index + 1 );
+    }
+    return false;
+  }
+
+  /**
+   * Binds the current row to the scope for the typed bindings mode: strings, numbers and booleans are handed to the
+   * script as plain JavaScript values, so no wrapper object is allocated per field and per row.
+   */
+  private void bindTypedValues( Object[] row ) throws KettleValueException {
+    data.scope.put( "row", data.scope, Context.toObject( row, data.scope ) );
+    for ( int i = 0; i < data.fields_used.length; i++ ) {
+      Object normalStorageValueData =
+        data.usedValueMetas[ i ].convertToNormalStorageType( row[ data.fields_used[ i ] ] );
+      data.scope.put( data.usedFieldNames[ i ], data.scope,
+        normalStorageValueData == null ? null : Context.javaToJS( normalStorageValueData, data.scope ) );
+    }
+    if ( data.bindRowMeta ) {
+      data.scope.put( "rowMeta", data.scope, data.jsRowMeta );
+    }
+  }
+
   private boolean addValues( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
     if ( first ) {
       first = false;
@@ -143,7 +220,12 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
 
       // Determine the indexes of the fields used!
       //
-      determineUsedFields( rowMeta );
+      data.typedBindings = meta.isTypedBindings() && !meta.isCompatible();
+      if ( data.typedBindings ) {
+        determineReferencedFields( rowMeta );
+      } else {
+        determineUsedFields( rowMeta );
+      }
 
       // Get the indexes of the replaced fields...
       //
@@ -247,6 +329,7 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         //
         Scriptable jsrowMeta = Context.toObject( rowMeta, data.scope );
         data.scope.put( "rowMeta", data.scope, jsrowMeta );
+        data.jsRowMeta = jsrowMeta;
 
         // Modification for Additional Script parsing
         //
@@ -334,7 +417,9 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
 
     try {
       try {
-        if ( meta.isCompatible() ) {
+        if ( data.typedBindings ) {
+          bindTypedValues( row );
+        } else if ( meta.isCompatible() ) {
           Row v2Row = RowMeta.createOriginalRow( rowMeta, row );
           Scriptable jsV2Row = Context.toObject( v2Row, data.scope );
           data.scope.put( "row", data.scope, jsV2Row );
@@ -348,30 +433,32 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
           data.scope.put( "row", data.scope, jsrow );
         }
 
-        for ( int i = 0; i < data.fields_used.length; i++ ) {
-          ValueMetaInterface valueMeta = rowMeta.getValueMeta( data.fields_used[ i ] );
-          Object valueData = row[ data.fields_used[ i ] ];
+        if ( !data.typedBindings ) {
+          for ( int i = 0; i < data.fields_used.length; i++ ) {
+            ValueMetaInterface valueMeta = rowMeta.getValueMeta( data.fields_used[ i ] );
+            Object valueData = row[ data.fields_used[ i ] ];
 
-          if ( meta.isCompatible() ) {
-            data.values_used[ i ] = valueMeta.createOriginalValue( valueData );
+            if ( meta.isCompatible() ) {
+              data.values_used[ i ] = valueMeta.createOriginalValue( valueData );
 
-            Scriptable jsarg = Context.toObject( data.values_used[ i ], data.scope );
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
-          } else {
-            Object normalStorageValueData = valueMeta.convertToNormalStorageType( valueData );
-            Scriptable jsarg;
-            if ( normalStorageValueData != null ) {
-              jsarg = Context.toObject( normalStorageValueData, data.scope );
+              Scriptable jsarg = Context.toObject( data.values_used[ i ], data.scope );
+              data.scope.put( valueMeta.getName(), data.scope, jsarg );
             } else {
-              jsarg = null;
+              Object normalStorageValueData = valueMeta.convertToNormalStorageType( valueData );
+              Scriptable jsarg;
+              if ( normalStorageValueData != null ) {
+                jsarg = Context.toObject( normalStorageValueData, data.scope );
+              } else {
+                jsarg = null;
+              }
+              data.scope.put( valueMeta.getName(), data.scope, jsarg );
             }
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
           }
-        }
 
-        // also add the meta information for the hole row
-        Scriptable jsrowMeta = Context.toObject( rowMeta, data.scope );
-        data.scope.put( "rowMeta", data.scope, jsrowMeta );
+          // also add the meta information for the hole row
+          Scriptable jsrowMeta = Context.toObject( rowMeta, data.scope );
+          data.scope.put( "rowMeta", data.scope, jsrowMeta );
+        }
       } catch ( Exception e ) {
         throw new KettleValueException( BaseMessages.getString( PKG, "ScriptValuesMod.Log.UnexpectedeError" ), e );
       }
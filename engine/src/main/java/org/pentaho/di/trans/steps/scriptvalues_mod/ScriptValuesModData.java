@@ -18,6 +18,7 @@ import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 import org.pentaho.di.compatibility.Value;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
@@ -37,6 +38,13 @@ public class ScriptValuesModData extends BaseStepData implements StepDataInterfa
   public RowMetaInterface outputRowMeta;
   public int[] replaceIndex;
 
+  /** True when the used fields are bound as plain values, see {@link ScriptValuesMetaMod#isTypedBindings()} */
+  public boolean typedBindings;
+  public String[] usedFieldNames;
+  public ValueMetaInterface[] usedValueMetas;
+  public boolean bindRowMeta;
+  public Scriptable jsRowMeta;
+
   public ScriptValuesModData() {
     super();
     cx = null;
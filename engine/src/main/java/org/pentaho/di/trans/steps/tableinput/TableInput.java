@@ -15,7 +15,15 @@ package org.pentaho.di.trans.steps.tableinput;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.json.simple.JSONObject;
@@ -33,6 +41,7 @@ import org.pentaho.di.core.row.RowDataUtil;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
@@ -52,6 +61,12 @@ import org.pentaho.di.trans.step.StepMetaInterface;
 public class TableInput extends BaseDatabaseStep implements StepInterface {
   private static Class<?> PKG = TableInputMeta.class; // for i18n purposes, needed by Translator2!!
 
+  /** Marks the end of the rows of a part of a split query */
+  private static final Object[] SPLIT_END = new Object[0];
+
+  /** The number of milliseconds to wait for the queue of split rows before checking if the step is stopped */
+  private static final long SPLIT_POLL_MILLIS = 100L;
+
   private final ReentrantLock dbLock = new ReentrantLock();
 
   private TableInputMeta meta;
@@ -96,6 +111,9 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
     dbLock.lock();
     try {
+      if ( data.splitQueue != null ) {
+        return processSplitRow();
+      }
 
       if ( first ) { // we just got started
 
@@ -103,6 +121,12 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
         RowMetaInterface parametersMeta;
         first = false;
 
+        // Read the parts of a split query in parallel, unless the query takes parameters
+        if ( data.splitCount > 1 && data.infoStream.getStepMeta() == null ) {
+          startSplitQueries();
+          return processSplitRow();
+        }
+
         // Make sure we read data from source steps...
         if ( data.infoStream.getStepMeta() != null ) {
           if ( meta.isExecuteEachInputRow() ) {
@@ -216,6 +240,184 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
     }
   }
 
+  /**
+   * Split the query on the split column and start reading the parts, each on its own connection.
+   */
+  private void startSplitQueries() throws KettleException {
+    String sql = meta.isVariableReplacementActive() ? environmentSubstitute( meta.getSQL() ) : meta.getSQL();
+    DatabaseMeta databaseMeta = meta.getDatabaseMeta();
+    String column = databaseMeta.quoteField( environmentSubstitute( meta.getSplitColumn() ) );
+
+    List<TableInputSplit> splits;
+    if ( meta.isSplitByHash() ) {
+      splits = TableInputSplit.getHashSplits( databaseMeta, sql, column, data.splitCount );
+    } else {
+      RowMetaAndData bounds = data.db.getOneRow( TableInputSplit.getBoundsSQL( sql, column ) );
+      Object[] values = bounds.getData() == null ? new Object[2] : bounds.getData();
+      splits = TableInputSplit.getRangeSplits( sql, column, bounds.getValueMeta( 0 ), values[0], values[1],
+        data.splitCount );
+    }
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "TableInput.Log.SplittingQuery", String.valueOf( splits.size() ),
+        column ) );
+    }
+
+    data.splitQueue = new ArrayBlockingQueue<>( Math.max( getTransMeta().getSizeRowset(), 1 ) );
+    data.splitDatabases = new CopyOnWriteArrayList<>();
+    data.splitError = new AtomicReference<>();
+    data.splitFutures = new ArrayList<>( splits.size() );
+    data.splitsRunning = splits.size();
+    for ( TableInputSplit split : splits ) {
+      data.splitFutures.add( ExecutorUtil.getExecutor().submit( () -> readSplit( split ) ) );
+    }
+  }
+
+  /**
+   * Read the rows of one part of a split query into the queue. This runs in its own thread.
+   */
+  private void readSplit( TableInputSplit split ) {
+    Database db = new Database( this, meta.getDatabaseMeta() );
+    db.shareVariablesWith( this );
+    data.splitDatabases.add( db );
+    try {
+      if ( meta.getDatabaseMeta().isRequiringTransactionsOnQueries() ) {
+        db.setCommitSize( 100 ); // needed for PGSQL it seems...
+      }
+      db.connect( getPartitionID() );
+      db.setAutoCommit();
+      db.setQueryLimit( data.rowLimit );
+
+      if ( log.isDebug() ) {
+        logDebug( BaseMessages.getString( PKG, "TableInput.Log.SqlQuery", split.getSQL() ) );
+      }
+      ResultSet rs = db.openQuery( split.getSQL(), split.getParametersMeta(), split.getParameters(),
+        ResultSet.FETCH_FORWARD, meta.isLazyConversionActive() );
+      if ( rs == null ) {
+        throw new KettleDatabaseException( BaseMessages.getString( PKG, "TableInput.Log.CanNotOpenQuery",
+          split.getSQL() ) );
+      }
+      try {
+        publishSplitRowMeta( db.getReturnRowMeta() );
+        Object[] row = db.getRow( rs, meta.isLazyConversionActive() );
+        while ( row != null && offerSplitRow( row ) ) {
+          row = db.getRow( rs, meta.isLazyConversionActive() );
+        }
+      } finally {
+        db.closeQuery( rs );
+      }
+    } catch ( Exception e ) {
+      // Errors of a canceled query are expected
+      if ( !data.splitsCancelled && !isStopped() ) {
+        data.splitError.compareAndSet( null, e );
+      }
+    } finally {
+      data.splitDatabases.remove( db );
+      db.disconnect();
+      offerSplitRow( SPLIT_END );
+    }
+  }
+
+  private void publishSplitRowMeta( RowMetaInterface rowMeta ) {
+    synchronized ( data ) {
+      if ( data.rowMeta == null && rowMeta != null ) {
+        for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+          valueMeta.setOrigin( getStepname() );
+        }
+        data.rowMeta = rowMeta;
+      }
+    }
+  }
+
+  /**
+   * @return false if the row was not queued because reading stopped
+   */
+  private boolean offerSplitRow( Object[] row ) {
+    try {
+      while ( !data.splitsCancelled && !isStopped() ) {
+        if ( data.splitQueue.offer( row, SPLIT_POLL_MILLIS, TimeUnit.MILLISECONDS ) ) {
+          return true;
+        }
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private boolean processSplitRow() throws KettleException {
+    Object[] row = takeSplitRow();
+    if ( row == null ) {
+      setOutputDone(); // signal end to receiver(s)
+      return false;
+    }
+    incrementLinesInput();
+    putRow( data.rowMeta, row ); // fill the rowset(s). (wait for empty)
+
+    if ( checkFeedback( getLinesInput() ) ) {
+      if ( log.isBasic() ) {
+        logBasic( BaseMessages.getString( PKG, "TableInput.Log.LineNumber", String.valueOf( getLinesInput() ) ) );
+      }
+    }
+
+    // Every part has the limit, so the parts together read too many rows
+    if ( data.rowLimit > 0 && getLinesInput() >= data.rowLimit ) {
+      data.splitsCancelled = true;
+      setOutputDone();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return the next row of any of the parts of the split query, null when all the parts are read
+   */
+  private Object[] takeSplitRow() throws KettleException {
+    try {
+      while ( data.splitsRunning > 0 && !isStopped() ) {
+        Throwable error = data.splitError.get();
+        if ( error != null ) {
+          data.splitsCancelled = true;
+          throw new KettleException( BaseMessages.getString( PKG, "TableInput.Exception.SplitQueryFailed" ), error );
+        }
+        Object[] row = data.splitQueue.poll( SPLIT_POLL_MILLIS, TimeUnit.MILLISECONDS );
+        if ( row == SPLIT_END ) {
+          data.splitsRunning--;
+        } else if ( row != null ) {
+          return row;
+        }
+      }
+      Throwable error = data.splitError.get();
+      if ( error != null ) {
+        throw new KettleException( BaseMessages.getString( PKG, "TableInput.Exception.SplitQueryFailed" ), error );
+      }
+      return null;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * Stop reading the parts of a split query and wait for the reading threads to close their connections.
+   */
+  private void stopSplitQueries() {
+    if ( data.splitFutures == null ) {
+      return;
+    }
+    data.splitsCancelled = true;
+    for ( Future<?> future : data.splitFutures ) {
+      try {
+        future.get();
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch ( ExecutionException e ) {
+        logError( BaseMessages.getString( PKG, "TableInput.Log.ErrorClosingQuery", e.getCause().toString() ) );
+      }
+    }
+    data.splitFutures = null;
+  }
+
   private void closePreviousQuery() throws KettleDatabaseException {
     if ( data.db != null ) {
       data.db.closeQuery( data.rs );
@@ -279,6 +481,7 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
         logBasic( BaseMessages.getString( PKG, "TableInput.Log.FinishedReadingQuery" ) );
       }
       try {
+        stopSplitQueries();
         closePreviousQuery();
       } catch ( KettleException e ) {
         logError( BaseMessages.getString( PKG, "TableInput.Log.ErrorClosingQuery", e.toString() ) );
@@ -309,6 +512,17 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
         data.db.cancelQuery();
         data.isCanceled = true;
       }
+      if ( data.splitDatabases != null ) {
+        data.splitsCancelled = true;
+        for ( Database db : data.splitDatabases ) {
+          try {
+            db.cancelQuery();
+          } catch ( KettleDatabaseException e ) {
+            // The part may have finished meanwhile
+            logDebug( e.getMessage() );
+          }
+        }
+      }
     } finally {
       dbLock.unlock();
     }
@@ -327,7 +541,17 @@ public class TableInput extends BaseDatabaseStep implements StepInterface {
           return false;
         }
         data.infoStream = meta.getStepIOMeta().getInfoStreams().get( 0 );
-        data.db.setQueryLimit( Const.toInt( environmentSubstitute( meta.getRowLimit() ), 0 ) );
+        data.rowLimit = Const.toInt( environmentSubstitute( meta.getRowLimit() ), 0 );
+        data.db.setQueryLimit( data.rowLimit );
+
+        data.splitCount = Const.toInt( environmentSubstitute( meta.getSplitCount() ), 0 );
+        if ( data.splitCount > 1 && Utils.isEmpty( meta.getSplitColumn() ) ) {
+          logError( BaseMessages.getString( PKG, "TableInput.Exception.SplitColumnIsNeeded" ) );
+          return false;
+        }
+        if ( data.splitCount > 1 && data.infoStream.getStepMeta() != null ) {
+          logBasic( BaseMessages.getString( PKG, "TableInput.Log.SplitIgnoredWithInfoStep" ) );
+        }
 
         if ( meta.getDatabaseMeta().isRequiringTransactionsOnQueries() ) {
           data.db.setCommitSize( 100 ); // needed for PGSQL it seems...
@@ -14,6 +14,10 @@
 package org.pentaho.di.trans.steps.tableinput;
 
 import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.database.Database;
@@ -36,6 +40,20 @@ public class TableInputData extends BaseDatabaseStepData implements StepDataInte
   public boolean isCanceled;
   public StreamInterface infoStream;
 
+  /** The maximum number of rows to read, 0 for no limit */
+  public int rowLimit;
+
+  /** The number of parts to split the query into, 1 or less to read it in one go */
+  public int splitCount;
+  /** The rows read from the parts of the query, with an end marker per part */
+  public BlockingQueue<Object[]> splitQueue;
+  public List<Future<?>> splitFutures;
+  /** The connections that are reading a part of the query, for canceling purposes */
+  public List<Database> splitDatabases;
+  public AtomicReference<Throwable> splitError;
+  public int splitsRunning;
+  public volatile boolean splitsCancelled;
+
   public TableInputData() {
     super();
 
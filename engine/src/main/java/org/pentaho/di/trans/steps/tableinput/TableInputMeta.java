@@ -85,6 +85,18 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
   @Injection( name = "CACHED_ROW_META" )
   private boolean cachedRowMetaActive;
 
+  /** The column to split the query on, to read the parts in parallel */
+  @Injection( name = "SPLIT_COLUMN" )
+  private String splitColumn;
+
+  /** The number of parts to split the query into */
+  @Injection( name = "SPLIT_COUNT" )
+  private String splitCount;
+
+  /** Split on a hash of the split column instead of on ranges of its values */
+  @Injection( name = "SPLIT_BY_HASH" )
+  private boolean splitByHash;
+
   private RowMetaInterface cachedRowMeta;
 
   public TableInputMeta() {
@@ -181,6 +193,9 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
       variableReplacementActive = "Y".equals( XMLHandler.getTagValue( stepnode, "variables_active" ) );
       lazyConversionActive = "Y".equals( XMLHandler.getTagValue( stepnode, "lazy_conversion_active" ) );
       cachedRowMetaActive = "Y".equals( XMLHandler.getTagValue( stepnode, "cached_row_meta_active" ) );
+      splitColumn = XMLHandler.getTagValue( stepnode, "split_column" );
+      splitCount = XMLHandler.getTagValue( stepnode, "split_count" );
+      splitByHash = "Y".equals( XMLHandler.getTagValue( stepnode, "split_by_hash" ) );
       cachedRowMeta = new RowMeta( XMLHandler.getSubNode( stepnode, RowMeta.XML_META_TAG ) );
 
     } catch ( Exception e ) {
@@ -301,6 +316,9 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
     retval.append( "    " + XMLHandler.addTagValue( "variables_active", variableReplacementActive ) );
     retval.append( "    " + XMLHandler.addTagValue( "lazy_conversion_active", lazyConversionActive ) );
     retval.append( "    " + XMLHandler.addTagValue( "cached_row_meta_active", cachedRowMetaActive ) );
+    retval.append( "    " + XMLHandler.addTagValue( "split_column", splitColumn ) );
+    retval.append( "    " + XMLHandler.addTagValue( "split_count", splitCount ) );
+    retval.append( "    " + XMLHandler.addTagValue( "split_by_hash", splitByHash ) );
     storeCachedRowMeta( retval );
     return retval.toString();
   }
@@ -354,6 +372,9 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
       variableReplacementActive = rep.getStepAttributeBoolean( id_step, "variables_active" );
       lazyConversionActive = rep.getStepAttributeBoolean( id_step, "lazy_conversion_active" );
       cachedRowMetaActive = rep.getStepAttributeBoolean( id_step, "cached_row_meta_active" );
+      splitColumn = rep.getStepAttributeString( id_step, "split_column" );
+      splitCount = rep.getStepAttributeString( id_step, "split_count" );
+      splitByHash = rep.getStepAttributeBoolean( id_step, "split_by_hash" );
 
       String sRowMeta = rep.getStepAttributeString( id_step, RowMeta.XML_META_TAG );
       if ( sRowMeta != null ) {
@@ -380,6 +401,9 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
       rep.saveStepAttribute( id_transformation, id_step, "variables_active", variableReplacementActive );
       rep.saveStepAttribute( id_transformation, id_step, "lazy_conversion_active", lazyConversionActive );
       rep.saveStepAttribute( id_transformation, id_step, "cached_row_meta_active", cachedRowMetaActive );
+      rep.saveStepAttribute( id_transformation, id_step, "split_column", splitColumn );
+      rep.saveStepAttribute( id_transformation, id_step, "split_count", splitCount );
+      rep.saveStepAttribute( id_transformation, id_step, "split_by_hash", splitByHash );
       if ( cachedRowMeta != null ) {
         rep.saveStepAttribute( id_transformation, id_step, RowMeta.XML_META_TAG, cachedRowMeta.getMetaXML() );
       }
@@ -454,6 +478,13 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
         remarks.add( cr );
       }
 
+      if ( Const.toInt( transMeta.environmentSubstitute( splitCount ), 0 ) > 1 ) {
+        cr =
+          new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString( PKG,
+            "TableInputMeta.CheckResult.SplitIgnoredWithInfoStep" ), stepMeta );
+        remarks.add( cr );
+      }
+
       // Count the number of ? in the SQL string:
       int count = 0;
       for ( int i = 0; i < sql.length(); i++ ) {
@@ -620,6 +651,51 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
     this.cachedRowMeta = cachedRowMeta;
   }
 
+  /**
+   * @return the column to split the query on, to read the parts in parallel
+   */
+  public String getSplitColumn() {
+    return splitColumn;
+  }
+
+  /**
+   * @param splitColumn
+   *          the column to split the query on, to read the parts in parallel
+   */
+  public void setSplitColumn( String splitColumn ) {
+    this.splitColumn = splitColumn;
+  }
+
+  /**
+   * @return the number of parts to split the query into
+   */
+  public String getSplitCount() {
+    return splitCount;
+  }
+
+  /**
+   * @param splitCount
+   *          the number of parts to split the query into
+   */
+  public void setSplitCount( String splitCount ) {
+    this.splitCount = splitCount;
+  }
+
+  /**
+   * @return true to split on a hash of the split column, false to split on ranges of its values
+   */
+  public boolean isSplitByHash() {
+    return splitByHash;
+  }
+
+  /**
+   * @param splitByHash
+   *          true to split on a hash of the split column, false to split on ranges of its values
+   */
+  public void setSplitByHash( boolean splitByHash ) {
+    this.splitByHash = splitByHash;
+  }
+
   /**
    * Returns the Input/Output metadata for this step. The generator step only produces output, does not accept input!
    */
@@ -0,0 +1,220 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.tableinput;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.i18n.BaseMessages;
+
+/**
+ * One part of a query that is split to be read in parallel: the query restricted to a range of values or to a hash
+ * bucket of the split column. The query is used as a sub-query, so the split column has to be one of its result
+ * columns. The rows with a null value in the split column are read by the first part.
+ *
+ * @see TableInputMeta#getSplitColumn()
+ */
+class TableInputSplit {
+  private static Class<?> PKG = TableInputMeta.class; // for i18n purposes, needed by Translator2!!
+
+  /** The alias of the query that is split */
+  static final String ALIAS = "kettle_split";
+
+  private final String sql;
+  private final RowMetaInterface parametersMeta;
+  private final Object[] parameters;
+
+  TableInputSplit( String sql, RowMetaInterface parametersMeta, Object[] parameters ) {
+    this.sql = sql;
+    this.parametersMeta = parametersMeta;
+    this.parameters = parameters;
+  }
+
+  /**
+   * @return the query of this part
+   */
+  String getSQL() {
+    return sql;
+  }
+
+  /**
+   * @return the metadata of the parameters of the query, null if there are none
+   */
+  RowMetaInterface getParametersMeta() {
+    return parametersMeta;
+  }
+
+  /**
+   * @return the parameters of the query, null if there are none
+   */
+  Object[] getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the query that gets the lowest and highest value of the split column
+   */
+  static String getBoundsSQL( String sql, String column ) {
+    return "SELECT MIN( " + column + " ), MAX( " + column + " ) FROM ( " + sql + " ) " + ALIAS;
+  }
+
+  private static String restrict( String sql, String condition ) {
+    return "SELECT * FROM ( " + sql + " ) " + ALIAS + " WHERE " + condition;
+  }
+
+  /**
+   * Split a query on a hash of the split column.
+   *
+   * @param databaseMeta
+   *          the database to generate the hash expression for
+   * @param sql
+   *          the query to split
+   * @param column
+   *          the quoted split column
+   * @param count
+   *          the number of parts
+   * @return the parts
+   */
+  static List<TableInputSplit> getHashSplits( DatabaseMeta databaseMeta, String sql, String column, int count ) {
+    String hash = databaseMeta.getHashModuloExpression( column, count );
+    List<TableInputSplit> splits = new ArrayList<>( count );
+    for ( int i = 0; i < count; i++ ) {
+      String condition = hash + " = " + i;
+      if ( i == 0 ) {
+        condition = "( " + condition + " OR " + column + " IS NULL )";
+      }
+      splits.add( new TableInputSplit( restrict( sql, condition ), null, null ) );
+    }
+    return splits;
+  }
+
+  /**
+   * Split a query on ranges of equal width between the lowest and highest value of the split column.
+   *
+   * @param sql
+   *          the query to split
+   * @param column
+   *          the quoted split column
+   * @param valueMeta
+   *          the metadata of the split column, a number or a date
+   * @param min
+   *          the lowest value of the split column, null if there are no values
+   * @param max
+   *          the highest value of the split column, null if there are no values
+   * @param count
+   *          the maximum number of parts
+   * @return the parts, fewer than the maximum if there are not enough distinct values
+   * @throws KettleException
+   *           if the split column is not a number or a date
+   */
+  static List<TableInputSplit> getRangeSplits( String sql, String column, ValueMetaInterface valueMeta, Object min,
+    Object max, int count ) throws KettleException {
+    List<Object> bounds = min == null || max == null
+      ? Collections.emptyList()
+      : getRangeBounds( column, valueMeta, min, max, count );
+    if ( bounds.isEmpty() ) {
+      return Collections.singletonList( new TableInputSplit( sql, null, null ) );
+    }
+
+    ValueMetaInterface lowerMeta = valueMeta.clone();
+    lowerMeta.setName( "lower" );
+    ValueMetaInterface upperMeta = valueMeta.clone();
+    upperMeta.setName( "upper" );
+    RowMetaInterface upperRowMeta = new RowMeta();
+    upperRowMeta.addValueMeta( upperMeta );
+    RowMetaInterface lowerRowMeta = new RowMeta();
+    lowerRowMeta.addValueMeta( lowerMeta );
+    RowMetaInterface rangeRowMeta = new RowMeta();
+    rangeRowMeta.addValueMeta( lowerMeta );
+    rangeRowMeta.addValueMeta( upperMeta );
+
+    List<TableInputSplit> splits = new ArrayList<>( bounds.size() + 1 );
+    splits.add( new TableInputSplit( restrict( sql, "( " + column + " < ? OR " + column + " IS NULL )" ),
+      upperRowMeta, new Object[] { bounds.get( 0 ) } ) );
+    for ( int i = 1; i < bounds.size(); i++ ) {
+      splits.add( new TableInputSplit( restrict( sql, column + " >= ? AND " + column + " < ?" ),
+        rangeRowMeta, new Object[] { bounds.get( i - 1 ), bounds.get( i ) } ) );
+    }
+    splits.add( new TableInputSplit( restrict( sql, column + " >= ?" ),
+      lowerRowMeta, new Object[] { bounds.get( bounds.size() - 1 ) } ) );
+    return splits;
+  }
+
+  /**
+   * @return the distinct values that divide the range from min to max into the given number of parts
+   */
+  static List<Object> getRangeBounds( String column, ValueMetaInterface valueMeta, Object min, Object max,
+    int count ) throws KettleException {
+    BigDecimal low = toDecimal( column, valueMeta, min );
+    BigDecimal span = toDecimal( column, valueMeta, max ).subtract( low );
+    BigDecimal parts = BigDecimal.valueOf( count );
+
+    List<Object> bounds = new ArrayList<>();
+    Object previous = fromDecimal( valueMeta, low );
+    for ( int i = 1; i < count; i++ ) {
+      BigDecimal bound = low.add( span.multiply( BigDecimal.valueOf( i ) ).divide( parts, MathContext.DECIMAL64 ) );
+      Object value = fromDecimal( valueMeta, bound );
+      if ( valueMeta.compare( value, previous ) > 0 ) {
+        bounds.add( value );
+        previous = value;
+      }
+    }
+    return bounds;
+  }
+
+  private static BigDecimal toDecimal( String column, ValueMetaInterface valueMeta, Object value )
+    throws KettleException {
+    switch ( valueMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        return BigDecimal.valueOf( valueMeta.getInteger( value ) );
+      case ValueMetaInterface.TYPE_NUMBER:
+        return BigDecimal.valueOf( valueMeta.getNumber( value ) );
+      case ValueMetaInterface.TYPE_BIGNUMBER:
+        return valueMeta.getBigNumber( value );
+      case ValueMetaInterface.TYPE_DATE:
+      case ValueMetaInterface.TYPE_TIMESTAMP:
+        return BigDecimal.valueOf( valueMeta.getDate( value ).getTime() );
+      default:
+        throw new KettleException( BaseMessages.getString( PKG, "TableInput.Exception.SplitColumnNotRangeable",
+          column, valueMeta.getTypeDesc() ) );
+    }
+  }
+
+  private static Object fromDecimal( ValueMetaInterface valueMeta, BigDecimal value ) {
+    switch ( valueMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        // Round up, so a range of a few values still gets a bound above the lowest value
+        return value.setScale( 0, RoundingMode.CEILING ).longValue();
+      case ValueMetaInterface.TYPE_NUMBER:
+        return value.doubleValue();
+      case ValueMetaInterface.TYPE_DATE:
+        return new Date( value.setScale( 0, RoundingMode.FLOOR ).longValue() );
+      case ValueMetaInterface.TYPE_TIMESTAMP:
+        return new Timestamp( value.setScale( 0, RoundingMode.FLOOR ).longValue() );
+      default:
+        return value;
+    }
+  }
+}
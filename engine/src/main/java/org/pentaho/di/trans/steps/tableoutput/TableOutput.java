@@ -38,6 +38,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -73,6 +74,9 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
       if ( first && meta.truncateTable() ) {
         truncateTable();
       }
+      if ( data.asyncWriter != null ) {
+        finishAsyncWriter();
+      }
       return false;
     }
 
@@ -236,6 +240,12 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
       throw new KettleStepException( "The tablename is not defined (empty)" );
     }
 
+    if ( data.asyncWriter != null ) {
+      // The row is passed on or sent to error handling once its batch is written
+      addToAsyncBatch( tableName, insertRowData, outputRowData );
+      return null;
+    }
+
     insertStatement = data.preparedStatements.get( tableName );
     if ( insertStatement == null ) {
       String sql =
@@ -333,16 +343,7 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
       } else {
         data.db.clearBatch( insertStatement );
         data.db.rollback();
-        StringBuilder msg = new StringBuilder( "Error batch inserting rows into table [" + tableName + "]." );
-        msg.append( Const.CR );
-        msg.append( "Errors encountered (first 10):" ).append( Const.CR );
-        for ( int x = 0; x < be.getExceptionsList().size() && x < 10; x++ ) {
-          Exception exception = be.getExceptionsList().get( x );
-          if ( exception.getMessage() != null ) {
-            msg.append( exception.getMessage() ).append( Const.CR );
-          }
-        }
-        throw new KettleException( msg.toString(), be );
+        throw new KettleException( getBatchErrorMessage( tableName, be ), be );
       }
     } catch ( KettleDatabaseException dbe ) {
       if ( getStepMeta().isDoingErrorHandling() ) {
@@ -424,18 +425,127 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
     return outputRowData;
   }
 
+  private static String getBatchErrorMessage( String tableName, KettleDatabaseBatchException be ) {
+    StringBuilder msg = new StringBuilder( "Error batch inserting rows into table [" + tableName + "]." );
+    msg.append( Const.CR );
+    msg.append( "Errors encountered (first 10):" ).append( Const.CR );
+    for ( int x = 0; x < be.getExceptionsList().size() && x < 10; x++ ) {
+      Exception exception = be.getExceptionsList().get( x );
+      if ( exception.getMessage() != null ) {
+        msg.append( exception.getMessage() ).append( Const.CR );
+      }
+    }
+    return msg.toString();
+  }
+
+  /**
+   * Add a row to the batch of its table, and hand the batch to the background writers once it's full.
+   */
+  private void addToAsyncBatch( String tableName, Object[] insertRowData, Object[] outputRowData )
+    throws KettleException {
+    TableOutputAsyncWriter.Batch batch = data.asyncBatches.get( tableName );
+    if ( batch == null ) {
+      batch = new TableOutputAsyncWriter.Batch( tableName, data.insertRowMeta );
+      data.asyncBatches.put( tableName, batch );
+    }
+    batch.add( insertRowData, outputRowData );
+    if ( batch.size() >= data.commitSize ) {
+      data.asyncBatches.remove( tableName );
+      data.asyncWriter.submit( batch );
+    }
+
+    // Pass on the rows of the batches that are written meanwhile
+    TableOutputAsyncWriter.Batch written = data.asyncWriter.pollCompleted();
+    while ( written != null ) {
+      processAsyncBatch( written );
+      written = data.asyncWriter.pollCompleted();
+    }
+  }
+
+  /**
+   * Hand the last batches to the background writers and wait until all the batches are written.
+   */
+  private void finishAsyncWriter() throws KettleException {
+    for ( TableOutputAsyncWriter.Batch batch : data.asyncBatches.values() ) {
+      data.asyncWriter.submit( batch );
+    }
+    data.asyncBatches.clear();
+
+    TableOutputAsyncWriter.Batch written = data.asyncWriter.takeCompleted();
+    while ( written != null ) {
+      processAsyncBatch( written );
+      written = data.asyncWriter.takeCompleted();
+    }
+  }
+
+  /**
+   * Pass on the rows of a batch that is written in the background, or send them to error handling.
+   */
+  private void processAsyncBatch( TableOutputAsyncWriter.Batch batch ) throws KettleException {
+    for ( int i = 0; i < batch.getRejectedRows().size(); i++ ) {
+      Object[] row = batch.getRejectedRows().get( i );
+      String message = batch.getRejectedMessages().get( i );
+      if ( getStepMeta().isDoingErrorHandling() ) {
+        putError( data.outputRowMeta, row, 1L, message, null, "TOP001" );
+      } else {
+        if ( data.warnings < 20 ) {
+          if ( log.isBasic() ) {
+            logBasic( "WARNING: Couldn't insert row into table: "
+              + data.outputRowMeta.getString( row ) + Const.CR + message );
+          }
+        } else if ( data.warnings == 20 ) {
+          if ( log.isBasic() ) {
+            logBasic( "FINAL WARNING (no more then 20 displayed): Couldn't insert row into table: "
+              + data.outputRowMeta.getString( row ) + Const.CR + message );
+          }
+        }
+        data.warnings++;
+      }
+    }
+
+    if ( batch.getException() != null ) {
+      setErrors( getErrors() + 1 );
+      throw new KettleException( "Error inserting rows into table [" + batch.getTableName() + "]",
+        batch.getException() );
+    }
+
+    KettleDatabaseBatchException be = batch.getBatchException();
+    if ( be != null ) {
+      if ( !getStepMeta().isDoingErrorHandling() ) {
+        throw new KettleException( getBatchErrorMessage( batch.getTableName(), be ), be );
+      }
+      processBatchException( be.toString(), be.getUpdateCounts(), be.getExceptionsList(), batch.getWritten() );
+    } else {
+      for ( Object[] row : batch.getWritten() ) {
+        putRow( data.outputRowMeta, row );
+        incrementLinesOutput();
+      }
+    }
+  }
+
   public boolean isRowLevel() {
     return log.isRowLevel();
   }
 
   private void processBatchException( String errorMessage, int[] updateCounts, List<Exception> exceptionsList ) throws KettleException {
+    processBatchException( errorMessage, updateCounts, exceptionsList, data.batchBuffer );
+  }
+
+  /**
+   * Pass on the rows of a failed batch that made it, and send the others to error handling.
+   *
+   * @param batchRows
+   *          the rows of the batch, in the order of the update counts. The list is cleared afterwards.
+   */
+  private void processBatchException( String errorMessage, int[] updateCounts, List<Exception> exceptionsList,
+    List<Object[]> batchRows ) throws KettleException {
     // There was an error with the commit
     // We should put all the failing rows out there...
     //
     if ( updateCounts != null ) {
       int errNr = 0;
       for ( int i = 0; i < updateCounts.length; i++ ) {
-        Object[] row = data.batchBuffer.get( i );
+        Object[] row = batchRows.get( i );
         if ( updateCounts[i] > 0 ) {
           // send the error foward
           putRow( data.outputRowMeta, row );
@@ -454,14 +564,14 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
       // If we don't have update counts, it probably means the DB doesn't support it.
       // In this case we don't have a choice but to consider all inserted rows to be error rows.
       //
-      for ( int i = 0; i < data.batchBuffer.size(); i++ ) {
-        Object[] row = data.batchBuffer.get( i );
+      for ( int i = 0; i < batchRows.size(); i++ ) {
+        Object[] row = batchRows.get( i );
         putError( data.outputRowMeta, row, 1L, errorMessage, null, "TOP0003" );
       }
     }
 
     // Clear the buffer afterwards...
-    data.batchBuffer.clear();
+    batchRows.clear();
   }
 
   public boolean init( StepMetaInterface smi, StepDataInterface sdi ) {
@@ -520,6 +630,22 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
           data.tableName = environmentSubstitute( meta.getTableName() );
         }
 
+        int writerConnections = Const.toInt( environmentSubstitute( meta.getWriterConnections() ), 0 );
+        if ( writerConnections > 0 ) {
+          if ( data.batchMode ) {
+            data.asyncBatches = new HashMap<>();
+            data.asyncWriter = new TableOutputAsyncWriter( this, data.databaseMeta,
+              environmentSubstitute( meta.getSchemaName() ), writerConnections,
+              getStepMeta().isDoingErrorHandling() || meta.ignoreErrors() );
+            if ( log.isDetailed() ) {
+              logDetailed( BaseMessages.getString( PKG, "TableOutput.Log.WritingInBackground",
+                String.valueOf( writerConnections ) ) );
+            }
+          } else {
+            logBasic( BaseMessages.getString( PKG, "TableOutput.Log.WriterConnectionsNeedBatchMode" ) );
+          }
+        }
+
         return true;
       } catch ( KettleException e ) {
         logError( "An error occurred intialising this step: " + e.getMessage() );
@@ -543,6 +669,10 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
         && ( ( getCopy() == 0 && getUniqueStepNrAcrossSlaves() == 0 ) || !Utils.isEmpty( getPartitionID() ) ) ) {
         data.db.truncateTable( environmentSubstitute( meta.getSchemaName() ), environmentSubstitute( meta
           .getTableName() ) );
+        if ( data.asyncWriter != null ) {
+          // The writer connections would wait for the lock of the truncate
+          data.db.commit();
+        }
 
       }
     }
@@ -552,6 +682,11 @@ public class TableOutput extends BaseDatabaseStep implements StepInterface {
     meta = (TableOutputMeta) smi;
     data = (TableOutputData) sdi;
 
+    if ( data.asyncWriter != null ) {
+      data.asyncWriter.close();
+      data.asyncWriter = null;
+    }
+
     if ( data.db != null ) {
       try {
         for ( String schemaTable : data.preparedStatements.keySet() ) {
@@ -0,0 +1,345 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.tableoutput;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.pentaho.di.core.database.Database;
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.exception.KettleDatabaseBatchException;
+import org.pentaho.di.core.exception.KettleDatabaseException;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.ExecutorUtil;
+import org.pentaho.di.trans.step.BaseStep;
+
+/**
+ * Writes batches of rows to the database in background threads, each with its own connection, so the step can fill
+ * the next batch while the previous ones are written. Every batch is executed and committed in one go. The outcome
+ * of a batch is handed back to the step thread, which passes the rows on or sends them to the error handling.
+ */
+class TableOutputAsyncWriter {
+  /** The number of milliseconds to wait for a queue before checking if the step is stopped */
+  private static final long POLL_MILLIS = 100L;
+
+  /** Tells a writer thread to stop */
+  private static final Batch STOP = new Batch( null, null );
+
+  private final BaseStep step;
+  private final DatabaseMeta databaseMeta;
+  private final String schemaName;
+  private final boolean keepGoingOnErrors;
+
+  private final BlockingQueue<Batch> pending;
+  private final BlockingQueue<Batch> completed = new LinkedBlockingQueue<>();
+  private final List<Future<?>> writers = new ArrayList<>();
+  private int outstanding;
+
+  /**
+   * @param step
+   *          the step that writes, the parent of the connections
+   * @param databaseMeta
+   *          the database to write to
+   * @param schemaName
+   *          the schema of the tables
+   * @param connections
+   *          the number of connections to write over, in as many threads
+   * @param keepGoingOnErrors
+   *          true to leave out the rows that can't be added to a batch, instead of failing the batch
+   */
+  TableOutputAsyncWriter( BaseStep step, DatabaseMeta databaseMeta, String schemaName, int connections,
+    boolean keepGoingOnErrors ) {
+    this.step = step;
+    this.databaseMeta = databaseMeta;
+    this.schemaName = schemaName;
+    this.keepGoingOnErrors = keepGoingOnErrors;
+    // One batch waiting per connection: it's being filled while the previous one is written
+    this.pending = new ArrayBlockingQueue<>( connections );
+    for ( int i = 0; i < connections; i++ ) {
+      writers.add( ExecutorUtil.getExecutor().submit( this::writeBatches ) );
+    }
+  }
+
+  /**
+   * Hand a batch to the writers, wait if they are all busy and have a batch waiting.
+   *
+   * @return false if the batch was not handed over because the step stopped
+   */
+  boolean submit( Batch batch ) throws KettleException {
+    try {
+      while ( !step.isStopped() ) {
+        if ( pending.offer( batch, POLL_MILLIS, TimeUnit.MILLISECONDS ) ) {
+          outstanding++;
+          return true;
+        }
+      }
+      return false;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * @return a written batch, or null if none is written yet
+   */
+  Batch pollCompleted() {
+    Batch batch = completed.poll();
+    if ( batch != null ) {
+      outstanding--;
+    }
+    return batch;
+  }
+
+  /**
+   * @return a written batch, waiting for one if needed, or null if all the batches are handed back
+   */
+  Batch takeCompleted() throws KettleException {
+    try {
+      while ( outstanding > 0 && !step.isStopped() ) {
+        Batch batch = completed.poll( POLL_MILLIS, TimeUnit.MILLISECONDS );
+        if ( batch != null ) {
+          outstanding--;
+          return batch;
+        }
+      }
+      return null;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * Stop the writer threads once the batches that are handed over are written, and close their connections.
+   */
+  void close() {
+    for ( int i = 0; i < writers.size(); i++ ) {
+      try {
+        while ( !pending.offer( STOP, POLL_MILLIS, TimeUnit.MILLISECONDS ) ) {
+          if ( step.isStopped() ) {
+            // Nobody waits for the remaining batches
+            pending.clear();
+          }
+        }
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    for ( Future<?> writer : writers ) {
+      try {
+        writer.get();
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch ( ExecutionException e ) {
+        step.logError( "Unexpected error closing a writer connection", e.getCause() );
+      }
+    }
+  }
+
+  /**
+   * The loop of a writer thread.
+   */
+  private void writeBatches() {
+    Database db = new Database( step, databaseMeta );
+    db.shareVariablesWith( step );
+    Map<String, PreparedStatement> statements = new HashMap<>();
+    KettleException connectException = null;
+    try {
+      db.connect( step.getPartitionID() );
+      db.setCommitSize( Integer.MAX_VALUE ); // the commits are done per batch
+      db.setAutoCommit();
+    } catch ( KettleException e ) {
+      connectException = e;
+    } catch ( RuntimeException e ) {
+      connectException = new KettleException( e );
+    }
+    try {
+      Batch batch = pending.take();
+      while ( batch != STOP ) {
+        if ( connectException != null ) {
+          batch.exception = connectException;
+        } else {
+          write( db, statements, batch );
+        }
+        completed.add( batch );
+        batch = pending.take();
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    } finally {
+      for ( PreparedStatement statement : statements.values() ) {
+        try {
+          db.closePreparedStatement( statement );
+        } catch ( KettleDatabaseException e ) {
+          step.logError( "Unexpected error closing a prepared statement of a writer connection", e );
+        }
+      }
+      db.disconnect();
+    }
+  }
+
+  private void write( Database db, Map<String, PreparedStatement> statements, Batch batch ) {
+    PreparedStatement insertStatement = null;
+    try {
+      insertStatement = statements.get( batch.tableName );
+      if ( insertStatement == null ) {
+        String sql = db.getInsertStatement( schemaName, batch.tableName, batch.insertRowMeta );
+        insertStatement = db.prepareSQL( sql );
+        statements.put( batch.tableName, insertStatement );
+      }
+
+      for ( int i = 0; i < batch.insertRows.size(); i++ ) {
+        try {
+          db.setValues( batch.insertRowMeta, batch.insertRows.get( i ), insertStatement );
+          db.insertRow( insertStatement, true, false ); // false: no commit, it is done for the batch as a whole
+          batch.written.add( batch.outputRows.get( i ) );
+        } catch ( KettleDatabaseBatchException be ) {
+          throw be;
+        } catch ( KettleDatabaseException dbe ) {
+          if ( !keepGoingOnErrors ) {
+            throw dbe;
+          }
+          batch.rejectedRows.add( batch.outputRows.get( i ) );
+          batch.rejectedMessages.add( dbe.toString() );
+        }
+      }
+
+      if ( db.getUseBatchInsert( true ) ) {
+        try {
+          insertStatement.executeBatch();
+          db.commit();
+          insertStatement.clearBatch();
+        } catch ( SQLException ex ) {
+          throw Database.createKettleDatabaseBatchException( "Error updating batch", ex );
+        }
+      } else {
+        db.commit();
+      }
+    } catch ( KettleDatabaseBatchException be ) {
+      batch.batchException = be;
+      finishFailedBatch( db, insertStatement, keepGoingOnErrors );
+    } catch ( KettleException e ) {
+      batch.exception = e;
+      finishFailedBatch( db, insertStatement, false );
+    } catch ( Throwable t ) {
+      // A driver or a value conversion failing unexpectedly must still hand the batch back, or the step waits for it
+      batch.exception = new KettleException( t );
+      finishFailedBatch( db, insertStatement, false );
+    }
+  }
+
+  private void finishFailedBatch( Database db, PreparedStatement insertStatement, boolean commit ) {
+    try {
+      if ( insertStatement != null ) {
+        db.clearBatch( insertStatement );
+      }
+      if ( commit ) {
+        db.commit( true );
+      } else {
+        db.rollback();
+      }
+    } catch ( KettleDatabaseException | RuntimeException e ) {
+      step.logError( "Unexpected error finishing a failed batch", e );
+    }
+  }
+
+  /**
+   * The rows to insert into one table in one go, and after writing, the outcome.
+   */
+  static class Batch {
+    private final String tableName;
+    private final RowMetaInterface insertRowMeta;
+    private final List<Object[]> insertRows = new ArrayList<>();
+    private final List<Object[]> outputRows = new ArrayList<>();
+
+    private final List<Object[]> written = new ArrayList<>();
+    private final List<Object[]> rejectedRows = new ArrayList<>();
+    private final List<String> rejectedMessages = new ArrayList<>();
+    private KettleDatabaseBatchException batchException;
+    private KettleException exception;
+
+    Batch( String tableName, RowMetaInterface insertRowMeta ) {
+      this.tableName = tableName;
+      this.insertRowMeta = insertRowMeta;
+    }
+
+    /**
+     * @param insertRow
+     *          the values to insert
+     * @param outputRow
+     *          the row to pass on once it's written, or to send to the error handling
+     */
+    void add( Object[] insertRow, Object[] outputRow ) {
+      insertRows.add( insertRow );
+      outputRows.add( outputRow );
+    }
+
+    int size() {
+      return insertRows.size();
+    }
+
+    String getTableName() {
+      return tableName;
+    }
+
+    /**
+     * @return the output rows that went into the JDBC batch, in the order of its update counts
+     */
+    List<Object[]> getWritten() {
+      return written;
+    }
+
+    /**
+     * @return the output rows that could not be added to the batch
+     */
+    List<Object[]> getRejectedRows() {
+      return rejectedRows;
+    }
+
+    /**
+     * @return the errors of the rejected rows
+     */
+    List<String> getRejectedMessages() {
+      return rejectedMessages;
+    }
+
+    /**
+     * @return the error executing the JDBC batch, null if it succeeded
+     */
+    KettleDatabaseBatchException getBatchException() {
+      return batchException;
+    }
+
+    /**
+     * @return the error that failed the batch as a whole, null if there was none
+     */
+    KettleException getException() {
+      return exception;
+    }
+  }
+}
@@ -69,6 +69,12 @@ public class TableOutputData extends BaseDatabaseStepData implements StepDataInt
 
   public int commitSize;
 
+  /** Writes the batches in the background, null to write them in the step thread */
+  TableOutputAsyncWriter asyncWriter;
+
+  /** The batches that are being filled for the background writers, per table */
+  Map<String, TableOutputAsyncWriter.Batch> asyncBatches;
+
   public TableOutputData() {
     super();
 
@@ -137,6 +137,10 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
   @Injection( name = "AUTO_GENERATED_KEY_FIELD" )
   private String generatedKeyField;
 
+  /** The number of connections to write the batches over in the background, empty or 0 to write in the step */
+  @Injection( name = "WRITER_CONNECTIONS" )
+  private String writerConnections;
+
   // This follows the naming convention on TableInputMeta see
   // @See https://github.com/pentaho/pentaho-kettle/blob/285c5962c8bc73c5bec30933fe0b8fee00426043/engine/src/main/java/org/pentaho/di/trans/steps/tableinput/TableInputMeta.java#L100
   @Injection( name = "CONNECTIONNAME" )
@@ -154,6 +158,23 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
   private String[] fieldStream;
 
 
+  /**
+   * @return the number of connections to write the batches over in the background, empty or 0 to write them in the
+   *         step thread
+   */
+  public String getWriterConnections() {
+    return writerConnections;
+  }
+
+  /**
+   * @param writerConnections
+   *          the number of connections to write the batches over in the background, empty or 0 to write them in the
+   *          step thread
+   */
+  public void setWriterConnections( String writerConnections ) {
+    this.writerConnections = writerConnections;
+  }
+
   /**
    * @return Returns the generatedKeyField.
    */
@@ -463,6 +484,7 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
 
       returningGeneratedKeys = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "return_keys" ) );
       generatedKeyField = XMLHandler.getTagValue( stepnode, "return_field" );
+      writerConnections = XMLHandler.getTagValue( stepnode, "writer_connections" );
 
       Node fields = XMLHandler.getSubNode( stepnode, "fields" );
       int nrRows = XMLHandler.countNodes( fields, "field" );
@@ -519,6 +541,7 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
 
     retval.append( "    " + XMLHandler.addTagValue( "return_keys", returningGeneratedKeys ) );
     retval.append( "    " + XMLHandler.addTagValue( "return_field", generatedKeyField ) );
+    retval.append( "    " + XMLHandler.addTagValue( "writer_connections", writerConnections ) );
 
     retval.append( "    <fields>" ).append( Const.CR );
 
@@ -556,6 +579,7 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
 
       returningGeneratedKeys = rep.getStepAttributeBoolean( id_step, "return_keys" );
       generatedKeyField = rep.getStepAttributeString( id_step, "return_field" );
+      writerConnections = rep.getStepAttributeString( id_step, "writer_connections" );
 
       int nrCols = rep.countNrStepAttributes( id_step, "column_name" );
       int nrStreams = rep.countNrStepAttributes( id_step, "stream_name" );
@@ -595,6 +619,7 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
 
       rep.saveStepAttribute( id_transformation, id_step, "return_keys", returningGeneratedKeys );
       rep.saveStepAttribute( id_transformation, id_step, "return_field", generatedKeyField );
+      rep.saveStepAttribute( id_transformation, id_step, "writer_connections", writerConnections );
 
       int nrRows = ( fieldDatabase.length < fieldStream.length ? fieldStream.length : fieldDatabase.length );
       for ( int idx = 0; idx < nrRows; idx++ ) {
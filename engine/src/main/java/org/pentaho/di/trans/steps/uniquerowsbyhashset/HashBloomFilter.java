@@ -0,0 +1,102 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+/**
+ * A Bloom filter over 128-bit hashes.
+ * <p>
+ * The two halves of the hash are combined to derive the bit positions (Kirsch-Mitzenmacher), so no further hashing
+ * is needed per key.
+ */
+// Package private
+class HashBloomFilter {
+  /** The largest number of bits: a long array can hold a little under 2^31 words */
+  static final long MAX_BITS = ( (long) Integer.MAX_VALUE - 8 ) * 64;
+
+  private final long[] words;
+  private final long nrBits;
+  private final int nrHashes;
+
+  private HashBloomFilter( long nrBits, int nrHashes ) {
+    this.words = new long[(int) ( ( nrBits + 63 ) / 64 )];
+    this.nrBits = nrBits;
+    this.nrHashes = nrHashes;
+  }
+
+  /**
+   * Create a filter sized for the expected number of keys and the wanted false positive rate.
+   *
+   * @param expectedKeys
+   *          the expected number of distinct keys
+   * @param falsePositiveRate
+   *          the wanted probability that an unseen key is reported as seen, between 0 and 1 (exclusive)
+   * @return the filter
+   */
+  static HashBloomFilter create( long expectedKeys, double falsePositiveRate ) {
+    long n = Math.max( 1L, expectedKeys );
+    double log2 = Math.log( 2 );
+    long nrBits = (long) Math.ceil( -n * Math.log( falsePositiveRate ) / ( log2 * log2 ) );
+    nrBits = Math.max( 64L, Math.min( MAX_BITS, nrBits ) );
+    int nrHashes = (int) Math.round( (double) nrBits / n * log2 );
+    nrHashes = Math.max( 1, Math.min( 30, nrHashes ) );
+    return new HashBloomFilter( nrBits, nrHashes );
+  }
+
+  /**
+   * Add a key.
+   *
+   * @return true if the key was not in the filter yet, false if it might have been added before.
+   */
+  boolean put( long hi, long lo ) {
+    boolean changed = false;
+    long combined = hi;
+    for ( int i = 0; i < nrHashes; i++ ) {
+      long bit = ( combined & Long.MAX_VALUE ) % nrBits;
+      int word = (int) ( bit >>> 6 );
+      long mask = 1L << bit;
+      if ( ( words[word] & mask ) == 0L ) {
+        words[word] |= mask;
+        changed = true;
+      }
+      combined += lo;
+    }
+    return changed;
+  }
+
+  /**
+   * @return false if the key was certainly never added, true if it might have been.
+   */
+  boolean mightContain( long hi, long lo ) {
+    long combined = hi;
+    for ( int i = 0; i < nrHashes; i++ ) {
+      long bit = ( combined & Long.MAX_VALUE ) % nrBits;
+      if ( ( words[(int) ( bit >>> 6 )] & ( 1L << bit ) ) == 0L ) {
+        return false;
+      }
+      combined += lo;
+    }
+    return true;
+  }
+
+  int getNrHashes() {
+    return nrHashes;
+  }
+
+  /**
+   * @return the number of bytes used by the filter.
+   */
+  long getMemoryUsage() {
+    return words.length * 8L;
+  }
+}
@@ -0,0 +1,235 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import java.util.Arrays;
+
+/**
+ * A set of 128-bit hashes in a primitive open-addressing table with linear probing.
+ * <p>
+ * Every key takes 16 bytes in a single long array, there are no entry objects. The all-zero hash, which marks an empty
+ * slot, is tracked separately.
+ */
+// Package private
+class HashKeySet {
+  static final int MIN_CAPACITY = 1024;
+
+  /** The largest number of slots: the key array can't grow beyond 2^30 longs */
+  static final int MAX_CAPACITY = 1 << 29;
+
+  private static final double LOAD_FACTOR = 0.7;
+
+  private long[] keys;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean containsZero;
+
+  HashKeySet( int capacity ) {
+    allocate( Math.max( MIN_CAPACITY, Integer.highestOneBit( Math.min( capacity, MAX_CAPACITY ) ) ) );
+  }
+
+  private void allocate( int capacity ) {
+    keys = new long[capacity * 2];
+    mask = capacity - 1;
+    threshold = (int) ( capacity * LOAD_FACTOR );
+  }
+
+  private int slot( long lo ) {
+    return (int) ( lo ^ ( lo >>> 32 ) ) & mask;
+  }
+
+  /**
+   * @return true if the key was added, false if it was already present.
+   */
+  boolean add( long hi, long lo ) {
+    if ( hi == 0L && lo == 0L ) {
+      if ( containsZero ) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    if ( size >= threshold ) {
+      resize();
+    }
+    int slot = slot( lo );
+    while ( true ) {
+      int index = slot * 2;
+      long h = keys[index];
+      long l = keys[index + 1];
+      if ( h == 0L && l == 0L ) {
+        keys[index] = hi;
+        keys[index + 1] = lo;
+        size++;
+        return true;
+      }
+      if ( h == hi && l == lo ) {
+        return false;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+  }
+
+  boolean contains( long hi, long lo ) {
+    if ( hi == 0L && lo == 0L ) {
+      return containsZero;
+    }
+    int slot = slot( lo );
+    while ( true ) {
+      int index = slot * 2;
+      long h = keys[index];
+      long l = keys[index + 1];
+      if ( h == 0L && l == 0L ) {
+        return false;
+      }
+      if ( h == hi && l == lo ) {
+        return true;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+  }
+
+  /**
+   * @return true if adding another key grows the table.
+   */
+  boolean isFull() {
+    return size >= threshold;
+  }
+
+  /**
+   * @return true if the table can't grow anymore.
+   */
+  boolean isAtMaxCapacity() {
+    return mask + 1 >= MAX_CAPACITY;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    allocate( ( mask + 1 ) * 2 );
+    for ( int index = 0; index < oldKeys.length; index += 2 ) {
+      long hi = oldKeys[index];
+      long lo = oldKeys[index + 1];
+      if ( hi != 0L || lo != 0L ) {
+        int slot = slot( lo );
+        while ( keys[slot * 2] != 0L || keys[slot * 2 + 1] != 0L ) {
+          slot = ( slot + 1 ) & mask;
+        }
+        keys[slot * 2] = hi;
+        keys[slot * 2 + 1] = lo;
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of bytes used by the table.
+   */
+  long getMemoryUsage() {
+    return keys.length * 8L;
+  }
+
+  /**
+   * @return the number of bytes used by the table after it grew once more.
+   */
+  long getMemoryUsageAfterGrowth() {
+    return getMemoryUsage() * 2;
+  }
+
+  /**
+   * @return the keys as consecutive (high, low) pairs, sorted by {@link #compare(long, long, long, long)}.
+   */
+  long[] toSortedArray() {
+    long[] sorted = new long[size * 2];
+    int n = 0;
+    if ( containsZero ) {
+      n += 2;
+    }
+    for ( int index = 0; index < keys.length; index += 2 ) {
+      if ( keys[index] != 0L || keys[index + 1] != 0L ) {
+        sorted[n++] = keys[index];
+        sorted[n++] = keys[index + 1];
+      }
+    }
+    sortPairs( sorted, 0, size - 1 );
+    return sorted;
+  }
+
+  /**
+   * Remove all keys, keeping the capacity of the table.
+   */
+  void clear() {
+    Arrays.fill( keys, 0L );
+    size = 0;
+    containsZero = false;
+  }
+
+  /**
+   * Compare two 128-bit keys.
+   */
+  static int compare( long hi1, long lo1, long hi2, long lo2 ) {
+    int cmp = Long.compare( hi1, hi2 );
+    return cmp != 0 ? cmp : Long.compare( lo1, lo2 );
+  }
+
+  /**
+   * Sort the pairs with indexes from-to (inclusive) in place.
+   */
+  private static void sortPairs( long[] a, int from, int to ) {
+    while ( to - from > 16 ) {
+      int middle = ( from + to ) >>> 1;
+      long pivotHi = a[middle * 2];
+      long pivotLo = a[middle * 2 + 1];
+      int i = from;
+      int j = to;
+      while ( i <= j ) {
+        while ( compare( a[i * 2], a[i * 2 + 1], pivotHi, pivotLo ) < 0 ) {
+          i++;
+        }
+        while ( compare( a[j * 2], a[j * 2 + 1], pivotHi, pivotLo ) > 0 ) {
+          j--;
+        }
+        if ( i <= j ) {
+          swap( a, i++, j-- );
+        }
+      }
+      // Recurse into the smaller part, loop over the larger one
+      if ( j - from < to - i ) {
+        sortPairs( a, from, j );
+        from = i;
+      } else {
+        sortPairs( a, i, to );
+        to = j;
+      }
+    }
+    for ( int i = from + 1; i <= to; i++ ) {
+      for ( int j = i; j > from && compare( a[j * 2 - 2], a[j * 2 - 1], a[j * 2], a[j * 2 + 1] ) > 0; j-- ) {
+        swap( a, j - 1, j );
+      }
+    }
+  }
+
+  private static void swap( long[] a, int i, int j ) {
+    long hi = a[i * 2];
+    long lo = a[i * 2 + 1];
+    a[i * 2] = a[j * 2];
+    a[i * 2 + 1] = a[j * 2 + 1];
+    a[j * 2] = hi;
+    a[j * 2 + 1] = lo;
+  }
+}
@@ -0,0 +1,101 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Calculates a 128-bit hash of the key fields of a row.
+ * <p>
+ * Every key value is fed to the hash function as a type tag followed by a normalized binary form of the value, so two
+ * keys have the same hash when their values are equal the way {@link RowKey} compares them, and otherwise only by a
+ * (negligible) 128-bit collision.
+ */
+// Package private
+class RowKeyHasher {
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final int[] fieldnrs;
+
+  /**
+   * @param fieldnrs
+   *          the indexes of the key fields in the row
+   */
+  RowKeyHasher( int[] fieldnrs ) {
+    this.fieldnrs = fieldnrs;
+  }
+
+  /**
+   * Hash the key of a row.
+   *
+   * @param row
+   *          the row
+   * @param hash
+   *          receives the high and low 64 bits of the hash
+   */
+  void hash( Object[] row, long[] hash ) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    for ( int fieldnr : fieldnrs ) {
+      putValue( hasher, row[fieldnr] );
+    }
+    byte[] bytes = hasher.hash().asBytes();
+    hash[0] = toLong( bytes, 0 );
+    hash[1] = toLong( bytes, 8 );
+  }
+
+  private static void putValue( Hasher hasher, Object value ) {
+    if ( value == null ) {
+      hasher.putByte( (byte) 0 );
+    } else if ( value instanceof byte[] ) {
+      // Binary values and fields in binary string storage
+      byte[] bytes = (byte[]) value;
+      hasher.putByte( (byte) 1 ).putInt( bytes.length ).putBytes( bytes );
+    } else if ( value instanceof String ) {
+      String string = (String) value;
+      hasher.putByte( (byte) 2 ).putInt( string.length() ).putUnencodedChars( string );
+    } else if ( value instanceof Long ) {
+      hasher.putByte( (byte) 3 ).putLong( (Long) value );
+    } else if ( value instanceof Double ) {
+      hasher.putByte( (byte) 4 ).putLong( Double.doubleToLongBits( (Double) value ) );
+    } else if ( value instanceof Timestamp ) {
+      Timestamp timestamp = (Timestamp) value;
+      hasher.putByte( (byte) 5 ).putLong( timestamp.getTime() ).putInt( timestamp.getNanos() );
+    } else if ( value instanceof Date ) {
+      hasher.putByte( (byte) 6 ).putLong( ( (Date) value ).getTime() );
+    } else if ( value instanceof BigDecimal ) {
+      BigDecimal bigDecimal = (BigDecimal) value;
+      byte[] unscaled = bigDecimal.unscaledValue().toByteArray();
+      hasher.putByte( (byte) 7 ).putInt( bigDecimal.scale() ).putInt( unscaled.length ).putBytes( unscaled );
+    } else if ( value instanceof Boolean ) {
+      hasher.putByte( (byte) 8 ).putBoolean( (Boolean) value );
+    } else {
+      String string = value.toString();
+      hasher.putByte( (byte) 9 ).putInt( string.length() ).putUnencodedChars( string );
+    }
+  }
+
+  private static long toLong( byte[] bytes, int offset ) {
+    long value = 0L;
+    for ( int i = 7; i >= 0; i-- ) {
+      value = ( value << 8 ) | ( bytes[offset + i] & 0xFFL );
+    }
+    return value;
+  }
+}
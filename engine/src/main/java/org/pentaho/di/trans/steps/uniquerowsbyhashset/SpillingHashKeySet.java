@@ -0,0 +1,367 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pentaho.di.core.exception.KettleException;
+
+/**
+ * A set of 128-bit hashes that stays within a memory budget by spilling to disk.
+ * <p>
+ * The hashes are divided over {@link #NR_PARTITIONS} partitions by their highest bits, each with its own
+ * {@link HashKeySet}. When a table would have to grow beyond the memory budget, its keys are written to a sorted run
+ * file and the table is emptied. Every run keeps a Bloom filter and a sparse index in memory, so that looking up a key
+ * that isn't on disk rarely touches the file, and looking up one that is reads a single block. When a partition has
+ * {@link #MAX_RUNS} runs they are merged into one.
+ * <p>
+ * Spilled keys still take a little under 2 bytes each in memory for the Bloom filters and indexes, that is not counted
+ * against the budget.
+ */
+// Package private
+class SpillingHashKeySet implements Closeable {
+  static final int NR_PARTITIONS = 16;
+  static final int MAX_RUNS = 8;
+
+  /** The number of keys per block of a run file: one block is read per lookup */
+  static final int BLOCK_SIZE = 256;
+
+  /** The false positive rate of the Bloom filters of the run files */
+  private static final double RUN_FALSE_POSITIVE_RATE = 0.01;
+
+  private static final int PARTITION_SHIFT = 64 - Integer.numberOfTrailingZeros( NR_PARTITIONS );
+
+  private final long memoryLimit;
+  private final File directory;
+  private final HashKeySet[] tables;
+  private final List<List<SpillRun>> runs;
+
+  private long memoryUsage;
+  private long nrSpilledKeys;
+  private int nrSpills;
+
+  /**
+   * @param memoryLimit
+   *          the number of bytes the in-memory tables may use together
+   * @param directory
+   *          the directory to write run files to, null for the default temporary directory
+   */
+  SpillingHashKeySet( long memoryLimit, File directory ) {
+    this.memoryLimit = memoryLimit;
+    this.directory = directory;
+    tables = new HashKeySet[NR_PARTITIONS];
+    runs = new ArrayList<>( NR_PARTITIONS );
+    for ( int i = 0; i < NR_PARTITIONS; i++ ) {
+      tables[i] = new HashKeySet( HashKeySet.MIN_CAPACITY );
+      memoryUsage += tables[i].getMemoryUsage();
+      runs.add( new ArrayList<SpillRun>() );
+    }
+  }
+
+  /**
+   * Add a key.
+   *
+   * @return true if the key was not seen before, false if it was.
+   * @throws KettleException
+   *           in case a run file can't be read or written
+   */
+  boolean add( long hi, long lo ) throws KettleException {
+    int partition = (int) ( hi >>> PARTITION_SHIFT );
+    HashKeySet table = tables[partition];
+    if ( table.contains( hi, lo ) ) {
+      return false;
+    }
+    List<SpillRun> partitionRuns = runs.get( partition );
+    for ( SpillRun run : partitionRuns ) {
+      if ( run.contains( hi, lo ) ) {
+        return false;
+      }
+    }
+    if ( table.isFull() ) {
+      if ( table.isAtMaxCapacity()
+        || memoryUsage - table.getMemoryUsage() + table.getMemoryUsageAfterGrowth() > memoryLimit ) {
+        spill( partition );
+      } else {
+        memoryUsage += table.getMemoryUsageAfterGrowth() - table.getMemoryUsage();
+      }
+    }
+    return table.add( hi, lo );
+  }
+
+  private void spill( int partition ) throws KettleException {
+    HashKeySet table = tables[partition];
+    List<SpillRun> partitionRuns = runs.get( partition );
+    try {
+      long[] sorted = table.toSortedArray();
+      nrSpilledKeys += table.size();
+      table.clear();
+      nrSpills++;
+
+      File file = File.createTempFile( "uniquerows_", ".hashes", directory );
+      if ( partitionRuns.size() + 1 >= MAX_RUNS ) {
+        SpillRun merged = SpillRun.merge( file, sorted, partitionRuns );
+        for ( SpillRun run : partitionRuns ) {
+          run.close();
+        }
+        partitionRuns.clear();
+        partitionRuns.add( merged );
+      } else {
+        partitionRuns.add( SpillRun.write( file, sorted ) );
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( "Unable to write hashes to a temporary file in " + directory, e );
+    }
+  }
+
+  /**
+   * @return the number of times keys were written to disk.
+   */
+  int getNrSpills() {
+    return nrSpills;
+  }
+
+  /**
+   * @return the number of keys written to disk.
+   */
+  long getNrSpilledKeys() {
+    return nrSpilledKeys;
+  }
+
+  /**
+   * Delete all run files.
+   */
+  @Override
+  public void close() {
+    for ( List<SpillRun> partitionRuns : runs ) {
+      for ( SpillRun run : partitionRuns ) {
+        run.close();
+      }
+      partitionRuns.clear();
+    }
+  }
+
+  /**
+   * A file with sorted keys of one partition.
+   */
+  static final class SpillRun {
+    private static final int KEY_SIZE = 16;
+
+    private final File file;
+    private final long nrKeys;
+    private final HashBloomFilter bloomFilter;
+
+    /** The first key of every block as (high, low) pairs */
+    private final long[] index;
+
+    private final RandomAccessFile randomAccessFile;
+    private final byte[] block = new byte[BLOCK_SIZE * KEY_SIZE];
+    private final ByteBuffer blockBuffer = ByteBuffer.wrap( block );
+
+    private SpillRun( File file, long nrKeys, HashBloomFilter bloomFilter, long[] index ) throws IOException {
+      this.file = file;
+      this.nrKeys = nrKeys;
+      this.bloomFilter = bloomFilter;
+      this.index = index;
+      this.randomAccessFile = new RandomAccessFile( file, "r" );
+    }
+
+    /**
+     * Write sorted keys to a new run file.
+     */
+    static SpillRun write( File file, long[] sorted ) throws IOException {
+      RunWriter writer = new RunWriter( file, sorted.length / 2 );
+      try {
+        for ( int i = 0; i < sorted.length; i += 2 ) {
+          writer.write( sorted[i], sorted[i + 1] );
+        }
+      } finally {
+        writer.close();
+      }
+      return writer.toRun();
+    }
+
+    /**
+     * Merge sorted keys and the keys of existing runs into a new run file.
+     */
+    static SpillRun merge( File file, long[] sorted, List<SpillRun> runs ) throws IOException {
+      long nrKeys = sorted.length / 2;
+      for ( SpillRun run : runs ) {
+        nrKeys += run.nrKeys;
+      }
+
+      int nrSources = runs.size();
+      DataInputStream[] inputs = new DataInputStream[nrSources];
+      long[] heads = new long[nrSources * 2];
+      boolean[] available = new boolean[nrSources];
+      RunWriter writer = new RunWriter( file, nrKeys );
+      try {
+        for ( int i = 0; i < nrSources; i++ ) {
+          inputs[i] = new DataInputStream( new BufferedInputStream( new FileInputStream( runs.get( i ).file ) ) );
+          available[i] = readKey( inputs[i], heads, i );
+        }
+        int position = 0;
+        while ( true ) {
+          // Find the smallest of the heads of the runs and the in-memory keys
+          int smallest = -1;
+          long hi = 0L;
+          long lo = 0L;
+          if ( position < sorted.length ) {
+            hi = sorted[position];
+            lo = sorted[position + 1];
+          }
+          for ( int i = 0; i < nrSources; i++ ) {
+            if ( available[i] && ( ( smallest < 0 && position >= sorted.length )
+              || HashKeySet.compare( heads[i * 2], heads[i * 2 + 1], hi, lo ) < 0 ) ) {
+              smallest = i;
+              hi = heads[i * 2];
+              lo = heads[i * 2 + 1];
+            }
+          }
+          if ( smallest < 0 ) {
+            if ( position >= sorted.length ) {
+              break;
+            }
+            position += 2;
+          } else {
+            available[smallest] = readKey( inputs[smallest], heads, smallest );
+          }
+          writer.write( hi, lo );
+        }
+      } finally {
+        for ( DataInputStream input : inputs ) {
+          if ( input != null ) {
+            input.close();
+          }
+        }
+        writer.close();
+      }
+      return writer.toRun();
+    }
+
+    private static boolean readKey( DataInputStream input, long[] heads, int i ) throws IOException {
+      try {
+        heads[i * 2] = input.readLong();
+        heads[i * 2 + 1] = input.readLong();
+        return true;
+      } catch ( EOFException e ) {
+        return false;
+      }
+    }
+
+    boolean contains( long hi, long lo ) throws KettleException {
+      if ( !bloomFilter.mightContain( hi, lo ) ) {
+        return false;
+      }
+
+      // Find the last block starting at or before the key
+      int low = 0;
+      int high = index.length / 2 - 1;
+      while ( low < high ) {
+        int middle = ( low + high + 1 ) >>> 1;
+        if ( HashKeySet.compare( index[middle * 2], index[middle * 2 + 1], hi, lo ) <= 0 ) {
+          low = middle;
+        } else {
+          high = middle - 1;
+        }
+      }
+      long first = (long) low * BLOCK_SIZE;
+      int count = (int) Math.min( BLOCK_SIZE, nrKeys - first );
+      try {
+        randomAccessFile.seek( first * KEY_SIZE );
+        randomAccessFile.readFully( block, 0, count * KEY_SIZE );
+      } catch ( IOException e ) {
+        throw new KettleException( "Unable to read hashes from temporary file " + file, e );
+      }
+
+      low = 0;
+      high = count - 1;
+      while ( low <= high ) {
+        int middle = ( low + high ) >>> 1;
+        int cmp =
+          HashKeySet.compare( blockBuffer.getLong( middle * KEY_SIZE ), blockBuffer.getLong( middle * KEY_SIZE + 8 ),
+            hi, lo );
+        if ( cmp == 0 ) {
+          return true;
+        } else if ( cmp < 0 ) {
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return false;
+    }
+
+    void close() {
+      try {
+        randomAccessFile.close();
+      } catch ( IOException e ) {
+        // Ignore, we're cleaning up
+      }
+      file.delete();
+    }
+  }
+
+  /**
+   * Writes sorted keys to a run file, building the Bloom filter and index as it goes.
+   */
+  private static final class RunWriter {
+    private final File file;
+    private final long nrKeys;
+    private final DataOutputStream output;
+    private final HashBloomFilter bloomFilter;
+    private final long[] index;
+    private long written;
+
+    RunWriter( File file, long nrKeys ) throws IOException {
+      this.file = file;
+      this.nrKeys = nrKeys;
+      this.output = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ), 65536 ) );
+      this.bloomFilter = HashBloomFilter.create( nrKeys, RUN_FALSE_POSITIVE_RATE );
+      this.index = new long[(int) ( ( nrKeys + BLOCK_SIZE - 1 ) / BLOCK_SIZE ) * 2];
+    }
+
+    void write( long hi, long lo ) throws IOException {
+      if ( written % BLOCK_SIZE == 0 ) {
+        int block = (int) ( written / BLOCK_SIZE );
+        index[block * 2] = hi;
+        index[block * 2 + 1] = lo;
+      }
+      output.writeLong( hi );
+      output.writeLong( lo );
+      bloomFilter.put( hi, lo );
+      written++;
+    }
+
+    void close() throws IOException {
+      output.close();
+    }
+
+    SpillRun toRun() throws IOException {
+      return new SpillRun( file, nrKeys, bloomFilter, index );
+    }
+  }
+}
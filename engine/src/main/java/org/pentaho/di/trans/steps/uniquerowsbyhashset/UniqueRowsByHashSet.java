@@ -13,6 +13,9 @@
 
 package org.pentaho.di.trans.steps.uniquerowsbyhashset;
 
+import java.io.File;
+
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
@@ -38,8 +41,67 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
     data = (UniqueRowsByHashSetData) stepDataInterface; // create new data object.
   }
 
-  private boolean isUniqueRow( Object[] row ) {
-    return data.seen.add( new RowKey( row, data ) );
+  private boolean isUniqueRow( Object[] row ) throws KettleException {
+    if ( data.hasher == null ) {
+      return data.seen.add( new RowKey( row, data ) );
+    }
+    data.hasher.hash( row, data.hash );
+    if ( data.bloomFilter != null ) {
+      return data.bloomFilter.put( data.hash[0], data.hash[1] );
+    }
+    return data.hashedKeys.add( data.hash[0], data.hash[1] );
+  }
+
+  private void initKeyStore() throws KettleException {
+    String dedupMode = meta.getDedupMode();
+    if ( !UniqueRowsByHashSetMeta.DEDUP_MODE_HASHED.equals( dedupMode )
+      && !UniqueRowsByHashSetMeta.DEDUP_MODE_APPROXIMATE.equals( dedupMode ) ) {
+      return;
+    }
+
+    int[] keyFieldnrs = data.fieldnrs;
+    if ( keyFieldnrs.length == 0 ) {
+      // Keying on the entire row
+      keyFieldnrs = new int[getInputRowMeta().size()];
+      for ( int i = 0; i < keyFieldnrs.length; i++ ) {
+        keyFieldnrs[i] = i;
+      }
+    }
+    data.hasher = new RowKeyHasher( keyFieldnrs );
+
+    if ( UniqueRowsByHashSetMeta.DEDUP_MODE_HASHED.equals( dedupMode ) ) {
+      String realMemoryLimit = environmentSubstitute( meta.getMemoryLimit() );
+      long memoryLimit = Const.toLong( realMemoryLimit, -1L );
+      if ( memoryLimit <= 0 ) {
+        throw new KettleException( BaseMessages.getString(
+          PKG, "UniqueRowsByHashSet.Exception.InvalidMemoryLimit", realMemoryLimit ) );
+      }
+      String realDirectory = environmentSubstitute( meta.getSpillDirectory() );
+      File directory = Utils.isEmpty( realDirectory ) ? null : new File( realDirectory );
+      if ( directory != null && !directory.isDirectory() ) {
+        throw new KettleException( BaseMessages.getString(
+          PKG, "UniqueRowsByHashSet.Exception.SpillDirectoryDoesNotExist", realDirectory ) );
+      }
+      data.hashedKeys = new SpillingHashKeySet( memoryLimit * 1024 * 1024, directory );
+    } else {
+      String realExpectedRows = environmentSubstitute( meta.getExpectedRows() );
+      long expectedRows = Const.toLong( realExpectedRows, -1L );
+      if ( expectedRows <= 0 ) {
+        throw new KettleException( BaseMessages.getString(
+          PKG, "UniqueRowsByHashSet.Exception.InvalidExpectedRows", realExpectedRows ) );
+      }
+      String realFalsePositiveRate = environmentSubstitute( meta.getFalsePositiveRate() );
+      double falsePositiveRate = Const.toDouble( realFalsePositiveRate, -1.0 );
+      if ( falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0 ) {
+        throw new KettleException( BaseMessages.getString(
+          PKG, "UniqueRowsByHashSet.Exception.InvalidFalsePositiveRate", realFalsePositiveRate ) );
+      }
+      data.bloomFilter = HashBloomFilter.create( expectedRows, falsePositiveRate );
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "UniqueRowsByHashSet.Log.BloomFilterCreated",
+          data.bloomFilter.getMemoryUsage() / 1024 / 1024, data.bloomFilter.getNrHashes() ) );
+      }
+    }
   }
 
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
@@ -49,7 +111,12 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
     Object[] r = getRow(); // get row!
     if ( r == null ) { // no more input to be expected...
 
+      if ( data.hashedKeys != null && data.hashedKeys.getNrSpills() > 0 && log.isBasic() ) {
+        logBasic( BaseMessages.getString( PKG, "UniqueRowsByHashSet.Log.SpilledHashes",
+          data.hashedKeys.getNrSpilledKeys(), data.hashedKeys.getNrSpills() ) );
+      }
       data.clearHashSet();
+      data.releaseKeys();
       setOutputDone();
       return false;
     }
@@ -85,6 +152,8 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
       if ( data.sendDuplicateRows && !Utils.isEmpty( meta.getErrorDescription() ) ) {
         data.realErrorDescription = environmentSubstitute( meta.getErrorDescription() );
       }
+
+      initKeyStore();
     }
 
     if ( isUniqueRow( r ) ) {
@@ -119,4 +188,10 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
     return false;
   }
 
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (UniqueRowsByHashSetData) sdi;
+    data.releaseKeys();
+    super.dispose( smi, sdi );
+  }
 }
@@ -30,6 +30,12 @@ public class UniqueRowsByHashSetData extends BaseStepData implements StepDataInt
 
   public HashSet<RowKey> seen = new HashSet<RowKey>();
 
+  /** Hashes the keys in hashed and approximate mode, null in row keys mode */
+  RowKeyHasher hasher;
+  final long[] hash = new long[2];
+  SpillingHashKeySet hashedKeys;
+  HashBloomFilter bloomFilter;
+
   public UniqueRowsByHashSetData() {
     super();
   }
@@ -39,4 +45,16 @@ public class UniqueRowsByHashSetData extends BaseStepData implements StepDataInt
     compareFields = null;
     realErrorDescription = null;
   }
+
+  /**
+   * Release the remembered keys and remove the files they were spilled to.
+   */
+  public void releaseKeys() {
+    seen.clear();
+    if ( hashedKeys != null ) {
+      hashedKeys.close();
+      hashedKeys = null;
+    }
+    bloomFilter = null;
+  }
 }
@@ -18,6 +18,7 @@ import java.util.List;
 import org.pentaho.di.core.bowl.Bowl;
 import org.pentaho.di.core.CheckResult;
 import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.database.DatabaseMeta;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
@@ -41,6 +42,22 @@ import org.w3c.dom.Node;
 public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInterface {
   private static Class<?> PKG = UniqueRowsByHashSetMeta.class; // for i18n purposes, needed by Translator2!!
 
+  /** Keep the key values (or their 32-bit hash code) of every distinct row in a hash set */
+  public static final String DEDUP_MODE_ROW_KEYS = "row_keys";
+
+  /** Keep a 128-bit hash of every distinct key in a compact table, spilling to disk beyond the memory limit */
+  public static final String DEDUP_MODE_HASHED = "hashed";
+
+  /** Keep a Bloom filter of the keys: duplicates are always removed, a few unique rows may be removed as well */
+  public static final String DEDUP_MODE_APPROXIMATE = "approximate";
+
+  public static final String[] DEDUP_MODES = { DEDUP_MODE_ROW_KEYS, DEDUP_MODE_HASHED, DEDUP_MODE_APPROXIMATE };
+
+  public static final String DEFAULT_MEMORY_LIMIT = "512";
+  public static final String DEFAULT_SPILL_DIRECTORY = "%%java.io.tmpdir%%";
+  public static final String DEFAULT_EXPECTED_ROWS = "10000000";
+  public static final String DEFAULT_FALSE_POSITIVE_RATE = "0.001";
+
   /** Whether to compare strictly by hash value or to store the row values for strict equality checking */
   private boolean storeValues;
 
@@ -50,6 +67,21 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
   private boolean rejectDuplicateRow;
   private String errorDescription;
 
+  /** How distinct keys are remembered, one of the DEDUP_MODE_ codes */
+  private String dedupMode;
+
+  /** The memory the hash tables may use in hashed mode, in MB */
+  private String memoryLimit;
+
+  /** The directory to spill hashes to in hashed mode */
+  private String spillDirectory;
+
+  /** The expected number of distinct rows, used to size the Bloom filter in approximate mode */
+  private String expectedRows;
+
+  /** The wanted false positive rate in approximate mode */
+  private String falsePositiveRate;
+
   public UniqueRowsByHashSetMeta() {
     super(); // allocate BaseStepMeta
   }
@@ -111,6 +143,81 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
     return errorDescription;
   }
 
+  /**
+   * @return the dedup mode, one of the DEDUP_MODE_ codes.
+   */
+  public String getDedupMode() {
+    return dedupMode;
+  }
+
+  /**
+   * @param dedupMode
+   *          the dedup mode to set, one of the DEDUP_MODE_ codes.
+   */
+  public void setDedupMode( String dedupMode ) {
+    this.dedupMode = dedupMode;
+  }
+
+  /**
+   * @return the memory limit of the hash tables in hashed mode, in MB.
+   */
+  public String getMemoryLimit() {
+    return memoryLimit;
+  }
+
+  /**
+   * @param memoryLimit
+   *          the memory limit of the hash tables in hashed mode to set, in MB.
+   */
+  public void setMemoryLimit( String memoryLimit ) {
+    this.memoryLimit = memoryLimit;
+  }
+
+  /**
+   * @return the directory to spill hashes to in hashed mode.
+   */
+  public String getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  /**
+   * @param spillDirectory
+   *          the directory to spill hashes to in hashed mode to set.
+   */
+  public void setSpillDirectory( String spillDirectory ) {
+    this.spillDirectory = spillDirectory;
+  }
+
+  /**
+   * @return the expected number of distinct rows in approximate mode.
+   */
+  public String getExpectedRows() {
+    return expectedRows;
+  }
+
+  /**
+   * @param expectedRows
+   *          the expected number of distinct rows in approximate mode to set.
+   */
+  public void setExpectedRows( String expectedRows ) {
+    this.expectedRows = expectedRows;
+  }
+
+  /**
+   * @return the false positive rate in approximate mode.
+   */
+  public String getFalsePositiveRate() {
+    return falsePositiveRate;
+  }
+
+  /**
+   * @param falsePositiveRate
+   *          the false positive rate in approximate mode to set.
+   */
+  public void setFalsePositiveRate( String falsePositiveRate ) {
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
   public void loadXML( Node stepnode, List<DatabaseMeta> databases, IMetaStore metaStore ) throws KettleXMLException {
     readData( stepnode );
   }
@@ -131,6 +238,12 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
       storeValues = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "store_values" ) );
       rejectDuplicateRow = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "reject_duplicate_row" ) );
       errorDescription = XMLHandler.getTagValue( stepnode, "error_description" );
+      dedupMode = Const.NVL( XMLHandler.getTagValue( stepnode, "dedup_mode" ), DEDUP_MODE_ROW_KEYS );
+      memoryLimit = Const.NVL( XMLHandler.getTagValue( stepnode, "memory_limit" ), DEFAULT_MEMORY_LIMIT );
+      spillDirectory = Const.NVL( XMLHandler.getTagValue( stepnode, "spill_directory" ), DEFAULT_SPILL_DIRECTORY );
+      expectedRows = Const.NVL( XMLHandler.getTagValue( stepnode, "expected_rows" ), DEFAULT_EXPECTED_ROWS );
+      falsePositiveRate =
+        Const.NVL( XMLHandler.getTagValue( stepnode, "false_positive_rate" ), DEFAULT_FALSE_POSITIVE_RATE );
 
       Node fields = XMLHandler.getSubNode( stepnode, "fields" );
       int nrfields = XMLHandler.countNodes( fields, "field" );
@@ -152,6 +265,11 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
   public void setDefault() {
     rejectDuplicateRow = false;
     errorDescription = null;
+    dedupMode = DEDUP_MODE_ROW_KEYS;
+    memoryLimit = DEFAULT_MEMORY_LIMIT;
+    spillDirectory = DEFAULT_SPILL_DIRECTORY;
+    expectedRows = DEFAULT_EXPECTED_ROWS;
+    falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
     int nrfields = 0;
 
     allocate( nrfields );
@@ -172,6 +290,11 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
     retval.append( "      " + XMLHandler.addTagValue( "store_values", storeValues ) );
     retval.append( "      " + XMLHandler.addTagValue( "reject_duplicate_row", rejectDuplicateRow ) );
     retval.append( "      " + XMLHandler.addTagValue( "error_description", errorDescription ) );
+    retval.append( "      " + XMLHandler.addTagValue( "dedup_mode", dedupMode ) );
+    retval.append( "      " + XMLHandler.addTagValue( "memory_limit", memoryLimit ) );
+    retval.append( "      " + XMLHandler.addTagValue( "spill_directory", spillDirectory ) );
+    retval.append( "      " + XMLHandler.addTagValue( "expected_rows", expectedRows ) );
+    retval.append( "      " + XMLHandler.addTagValue( "false_positive_rate", falsePositiveRate ) );
     retval.append( "    <fields>" );
     for ( int i = 0; i < compareFields.length; i++ ) {
       retval.append( "      <field>" );
@@ -188,6 +311,13 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
       storeValues = rep.getStepAttributeBoolean( id_step, "store_values" );
       rejectDuplicateRow = rep.getStepAttributeBoolean( id_step, "reject_duplicate_row" );
       errorDescription = rep.getStepAttributeString( id_step, "error_description" );
+      dedupMode = Const.NVL( rep.getStepAttributeString( id_step, "dedup_mode" ), DEDUP_MODE_ROW_KEYS );
+      memoryLimit = Const.NVL( rep.getStepAttributeString( id_step, "memory_limit" ), DEFAULT_MEMORY_LIMIT );
+      spillDirectory =
+        Const.NVL( rep.getStepAttributeString( id_step, "spill_directory" ), DEFAULT_SPILL_DIRECTORY );
+      expectedRows = Const.NVL( rep.getStepAttributeString( id_step, "expected_rows" ), DEFAULT_EXPECTED_ROWS );
+      falsePositiveRate =
+        Const.NVL( rep.getStepAttributeString( id_step, "false_positive_rate" ), DEFAULT_FALSE_POSITIVE_RATE );
       int nrfields = rep.countNrStepAttributes( id_step, "field_name" );
 
       allocate( nrfields );
@@ -206,6 +336,11 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
       rep.saveStepAttribute( id_transformation, id_step, "store_values", storeValues );
       rep.saveStepAttribute( id_transformation, id_step, "reject_duplicate_row", rejectDuplicateRow );
       rep.saveStepAttribute( id_transformation, id_step, "error_description", errorDescription );
+      rep.saveStepAttribute( id_transformation, id_step, "dedup_mode", dedupMode );
+      rep.saveStepAttribute( id_transformation, id_step, "memory_limit", memoryLimit );
+      rep.saveStepAttribute( id_transformation, id_step, "spill_directory", spillDirectory );
+      rep.saveStepAttribute( id_transformation, id_step, "expected_rows", expectedRows );
+      rep.saveStepAttribute( id_transformation, id_step, "false_positive_rate", falsePositiveRate );
       for ( int i = 0; i < compareFields.length; i++ ) {
         rep.saveStepAttribute( id_transformation, id_step, i, "field_name", compareFields[i] );
       }
@@ -231,6 +366,13 @@ public class UniqueRowsByHashSetMeta extends BaseStepMeta implements StepMetaInt
           PKG, "UniqueRowsByHashSetMeta.CheckResult.NoInputReceivedFromOtherSteps" ), stepMeta );
       remarks.add( cr );
     }
+
+    if ( DEDUP_MODE_APPROXIMATE.equals( dedupMode ) ) {
+      cr =
+        new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString(
+          PKG, "UniqueRowsByHashSetMeta.CheckResult.ApproximateMode", falsePositiveRate ), stepMeta );
+      remarks.add( cr );
+    }
   }
 
   public StepInterface getStep( StepMeta stepMeta, StepDataInterface stepDataInterface, int cnr,
@@ -15,6 +15,7 @@ package org.pentaho.di.trans.steps.update;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.ArrayUtils;
@@ -23,6 +24,7 @@ import org.pentaho.di.core.Const;
 import org.pentaho.di.core.SQLStatement;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.database.MergeStagingTable;
 import org.pentaho.di.core.exception.KettleDatabaseException;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
@@ -200,6 +202,9 @@ public class Update extends BaseDatabaseStep implements StepInterface {
 
     Object[] r = getRow(); // Get row from input rowset & set row busy!
     if ( r == null ) { // no more input to be expected...
+      if ( data.mergeStaging != null ) {
+        mergeBatch();
+      }
 
       setOutputDone();
       return false;
@@ -276,39 +281,52 @@ public class Update extends BaseDatabaseStep implements StepInterface {
             + "" + data.valuenrs[i] );
         }
       }
-      if ( meta.isSkipLookup() ) {
-        // We skip lookup
-        // but we need fields for update
-        data.lookupParameterRowMeta = new RowMeta();
-        for ( int i = 0; i < meta.getKeyLookup().length; i++ ) {
-          if ( "BETWEEN".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
-            data.lookupParameterRowMeta.addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
-            data.lookupParameterRowMeta
-              .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream2()[i] ) );
-          } else {
-            if ( "= ~NULL".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
-              data.lookupParameterRowMeta
-                .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
-              data.lookupParameterRowMeta.addValueMeta( getInputRowMeta()
-                .searchValueMeta( meta.getKeyStream()[i] ).clone() );
-            } else if ( !"IS NULL".equalsIgnoreCase( meta.getKeyCondition()[i] )
-              && !"IS NOT NULL".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
+      if ( meta.isSetBasedMerge() ) {
+        if ( meta.isSetBasedMergePossible() ) {
+          prepareMerge( getInputRowMeta() );
+        } else {
+          logBasic( BaseMessages.getString( PKG, "Update.Log.SetBasedMergeNotPossible" ) );
+        }
+      }
+      if ( data.mergeStaging == null ) {
+        if ( meta.isSkipLookup() ) {
+          // We skip lookup
+          // but we need fields for update
+          data.lookupParameterRowMeta = new RowMeta();
+          for ( int i = 0; i < meta.getKeyLookup().length; i++ ) {
+            if ( "BETWEEN".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
+              data.lookupParameterRowMeta.addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
               data.lookupParameterRowMeta
-                .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
-            }
+                .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream2()[i] ) );
+            } else {
+              if ( "= ~NULL".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
+                data.lookupParameterRowMeta
+                  .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
+                data.lookupParameterRowMeta.addValueMeta( getInputRowMeta()
+                  .searchValueMeta( meta.getKeyStream()[i] ).clone() );
+              } else if ( !"IS NULL".equalsIgnoreCase( meta.getKeyCondition()[i] )
+                && !"IS NOT NULL".equalsIgnoreCase( meta.getKeyCondition()[i] ) ) {
+                data.lookupParameterRowMeta
+                  .addValueMeta( getInputRowMeta().searchValueMeta( meta.getKeyStream()[i] ) );
+              }
 
+            }
           }
+        } else {
+          setLookup( getInputRowMeta() );
         }
-      } else {
-        setLookup( getInputRowMeta() );
+        prepareUpdate( getInputRowMeta() );
       }
-      prepareUpdate( getInputRowMeta() );
     }
 
     try {
-      Object[] outputRow = lookupValues( getInputRowMeta(), r ); // add new values to the row in rowset[0].
-      if ( outputRow != null ) {
-        putRow( data.outputRowMeta, outputRow ); // copy non-ignored rows to output rowset(s);
+      if ( data.mergeStaging != null ) {
+        addToMerge( r ); // the row is passed on once its batch is applied
+      } else {
+        Object[] outputRow = lookupValues( getInputRowMeta(), r ); // add new values to the row in rowset[0].
+        if ( outputRow != null ) {
+          putRow( data.outputRowMeta, outputRow ); // copy non-ignored rows to output rowset(s);
+        }
       }
       if ( checkFeedback( getLinesRead() ) ) {
         if ( log.isBasic() ) {
@@ -336,6 +354,108 @@ public class Update extends BaseDatabaseStep implements StepInterface {
     return true;
   }
 
+  /**
+   * Prepare to apply the rows in batches, through a staging table and a single update statement per batch.
+   */
+  private void prepareMerge( RowMetaInterface rowMeta ) throws KettleException {
+    RowMetaInterface mergeRowMeta = new RowMeta();
+    List<Integer> mergeValuenrs = new ArrayList<Integer>();
+
+    for ( int i = 0; i < meta.getKeyLookup().length; i++ ) {
+      addMergeColumn( rowMeta, mergeRowMeta, mergeValuenrs, meta.getKeyLookup()[i], data.keynrs[i] );
+    }
+    int nrKeyColumns = mergeRowMeta.size();
+
+    List<String> updateColumns = new ArrayList<String>();
+    for ( int i = 0; i < meta.getUpdateLookup().length; i++ ) {
+      String column = meta.getUpdateLookup()[i];
+      addMergeColumn( rowMeta, mergeRowMeta, mergeValuenrs, column, data.valuenrs[i] );
+      // The key columns keep their values
+      if ( mergeRowMeta.indexOfValue( column ) >= nrKeyColumns ) {
+        updateColumns.add( column );
+      }
+    }
+
+    data.mergeValuenrs = ArrayUtils.toPrimitive( mergeValuenrs.toArray( new Integer[0] ) );
+    data.mergeRows = new ArrayList<Object[]>();
+    int commitSize = meta.getCommitSize( this );
+    data.mergeBatchSize = commitSize > 0 ? commitSize : MergeStagingTable.DEFAULT_BATCH_SIZE;
+    data.mergeStaging = new MergeStagingTable( data.db, environmentSubstitute( meta.getSchemaName() ),
+      environmentSubstitute( meta.getTableName() ), mergeRowMeta, meta.getKeyLookup(),
+      updateColumns.toArray( new String[0] ), null );
+    data.mergeStaging.createStagingTable( MergeStagingTable.getStagingTableName( getLogChannelId() ) );
+
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "Update.Log.SetBasedMerge", String.valueOf( data.mergeBatchSize ) ) );
+    }
+  }
+
+  private static void addMergeColumn( RowMetaInterface rowMeta, RowMetaInterface mergeRowMeta,
+    List<Integer> mergeValuenrs, String column, int valuenr ) {
+    if ( mergeRowMeta.indexOfValue( column ) < 0 ) {
+      ValueMetaInterface valueMeta = rowMeta.getValueMeta( valuenr ).clone();
+      valueMeta.setName( column );
+      mergeRowMeta.addValueMeta( valueMeta );
+      mergeValuenrs.add( valuenr );
+    }
+  }
+
+  private void addToMerge( Object[] row ) throws KettleException {
+    Object[] mergeRow = new Object[data.mergeValuenrs.length];
+    for ( int i = 0; i < data.mergeValuenrs.length; i++ ) {
+      mergeRow[i] = row[data.mergeValuenrs[i]];
+    }
+    data.mergeStaging.addRow( mergeRow );
+    data.mergeRows.add( row );
+
+    if ( data.mergeRows.size() >= data.mergeBatchSize ) {
+      mergeBatch();
+    }
+  }
+
+  /**
+   * Apply the current batch to the table, commit it and pass its rows on. Unless lookup failures are ignored, the
+   * batch fails when not all its keys are found. If the batch fails and error handling is used, all its rows go to
+   * the error handling.
+   */
+  private void mergeBatch() throws KettleException {
+    if ( data.mergeRows.isEmpty() ) {
+      return;
+    }
+    try {
+      int keys = data.mergeStaging.size();
+      int updated = data.mergeStaging.merge();
+      int missingKeys = data.mergeStaging.getMissingKeys();
+      if ( missingKeys > 0 && !meta.isErrorIgnored() ) {
+        throw new KettleDatabaseException( BaseMessages.getString( PKG, "Update.Exception.KeysNotFoundInBatch",
+          String.valueOf( missingKeys ), String.valueOf( keys ) ) );
+      }
+      data.db.commit();
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "Update.Log.BatchMerged", String.valueOf( data.mergeRows.size() ),
+          String.valueOf( updated ) ) );
+      }
+    } catch ( KettleException e ) {
+      data.mergeStaging.clear();
+      data.db.rollback();
+      if ( !getStepMeta().isDoingErrorHandling() ) {
+        data.mergeRows.clear();
+        throw e;
+      }
+      for ( Object[] row : data.mergeRows ) {
+        putError( getInputRowMeta(), row, 1, e.toString(), null, "UPD001" );
+      }
+      data.mergeRows.clear();
+      return;
+    }
+
+    for ( Object[] row : data.mergeRows ) {
+      putRow( data.outputRowMeta, row );
+      incrementLinesUpdated();
+    }
+    data.mergeRows.clear();
+  }
+
   public void setLookup( RowMetaInterface rowMeta ) throws KettleDatabaseException {
     data.lookupParameterRowMeta = new RowMeta();
     data.lookupReturnRowMeta = new RowMeta();
@@ -499,6 +619,10 @@ public class Update extends BaseDatabaseStep implements StepInterface {
         }
         data.db.closePreparedStatement( data.prepStatementUpdate );
         data.db.closePreparedStatement( data.prepStatementLookup );
+        if ( data.mergeStaging != null ) {
+          data.mergeStaging.dropStagingTable();
+          data.mergeStaging = null;
+        }
       } catch ( KettleDatabaseException e ) {
         logError( BaseMessages.getString( PKG, "Update.Log.UnableToCommitUpdateConnection" )
           + data.db + "] :" + e.toString() );
@@ -14,8 +14,10 @@
 package org.pentaho.di.trans.steps.update;
 
 import java.sql.PreparedStatement;
+import java.util.List;
 
 import org.pentaho.di.core.database.Database;
+import org.pentaho.di.core.database.MergeStagingTable;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseDatabaseStepData;
 import org.pentaho.di.trans.step.BaseStepData;
@@ -47,6 +49,14 @@ public class UpdateData extends BaseDatabaseStepData implements StepDataInterfac
   public RowMetaInterface lookupReturnRowMeta;
   public RowMetaInterface updateParameterRowMeta;
 
+  /** Applies the rows in batches when the set based merge is used, null otherwise */
+  public MergeStagingTable mergeStaging;
+  /** The positions in the input row of the columns of the staging table */
+  public int[] mergeValuenrs;
+  /** The input rows of the current batch, passed on once the batch is applied */
+  public List<Object[]> mergeRows;
+  public int mergeBatchSize;
+
   public UpdateData() {
     super();
 
@@ -114,6 +114,10 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
   @Injection( name = "BATCH_UPDATE" )
   private boolean useBatchUpdate;
 
+  /** Apply the rows in batches of the commit size, through a staging table and a single update statement per batch */
+  @Injection( name = "SET_BASED_MERGE" )
+  private boolean setBasedMerge;
+
   @Injection( name = "CONNECTIONNAME" )
   public void setConnection( String connectionName ) {
     databaseMeta = DatabaseMeta.findDatabase( databases, connectionName );
@@ -373,6 +377,7 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
       csize = XMLHandler.getTagValue( stepnode, "commit" );
       commitSize = ( csize == null ) ? "0" : csize;
       useBatchUpdate = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "use_batch" ) );
+      setBasedMerge = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "set_based_merge" ) );
       skipLookup = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "skip_lookup" ) );
       errorIgnored = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "error_ignored" ) );
       ignoreFlagField = XMLHandler.getTagValue( stepnode, "ignore_flag_field" );
@@ -449,6 +454,7 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
     retval.append( "    " + XMLHandler.addTagValue( "skip_lookup", skipLookup ) );
     retval.append( "    " + XMLHandler.addTagValue( "commit", commitSize ) );
     retval.append( "    " + XMLHandler.addTagValue( "use_batch", useBatchUpdate ) );
+    retval.append( "    " + XMLHandler.addTagValue( "set_based_merge", setBasedMerge ) );
     retval.append( "    " + XMLHandler.addTagValue( "error_ignored", errorIgnored ) );
     retval.append( "    " + XMLHandler.addTagValue( "ignore_flag_field", ignoreFlagField ) );
     retval.append( "    <lookup>" + Const.CR );
@@ -495,6 +501,7 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
         }
       }
       useBatchUpdate = rep.getStepAttributeBoolean( id_step, "use_batch" );
+      setBasedMerge = rep.getStepAttributeBoolean( id_step, "set_based_merge" );
       schemaName = rep.getStepAttributeString( id_step, "schema" );
       tableName = rep.getStepAttributeString( id_step, "table" );
 
@@ -539,6 +546,7 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
       rep.saveStepAttribute( id_transformation, id_step, "skip_lookup", skipLookup );
       rep.saveStepAttribute( id_transformation, id_step, "commit", commitSize );
       rep.saveStepAttribute( id_transformation, id_step, "use_batch", useBatchUpdate );
+      rep.saveStepAttribute( id_transformation, id_step, "set_based_merge", setBasedMerge );
       rep.saveStepAttribute( id_transformation, id_step, "schema", schemaName );
       rep.saveStepAttribute( id_transformation, id_step, "table", tableName );
 
@@ -761,6 +769,11 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
       remarks.add( cr );
     }
 
+    if ( setBasedMerge && !isSetBasedMergePossible() ) {
+      remarks.add( new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString(
+        PKG, "UpdateMeta.CheckResult.SetBasedMergeNotPossible" ), stepMeta ) );
+    }
+
     // See if we have input streams leading to this step!
     if ( input.length > 0 ) {
       cr =
@@ -929,6 +942,38 @@ public class UpdateMeta extends BaseDatabaseStepMeta implements StepMetaInterfac
     this.useBatchUpdate = useBatchUpdate;
   }
 
+  /**
+   * @return true if the rows are applied in batches, through a staging table and a single update statement per batch
+   */
+  public boolean isSetBasedMerge() {
+    return setBasedMerge;
+  }
+
+  /**
+   * @param setBasedMerge
+   *          true to apply the rows in batches, through a staging table and a single update statement per batch
+   */
+  public void setSetBasedMerge( boolean setBasedMerge ) {
+    this.setBasedMerge = setBasedMerge;
+  }
+
+  /**
+   * @return true if the rows can be applied in batches: all the key conditions are equalities and there is no flag
+   *         field, which would need a lookup per row
+   */
+  public boolean isSetBasedMergePossible() {
+    if ( !Utils.isEmpty( ignoreFlagField ) || keyLookup == null || keyLookup.length == 0
+      || updateLookup == null || updateLookup.length == 0 ) {
+      return false;
+    }
+    for ( String condition : keyCondition ) {
+      if ( !"=".equals( Const.NVL( condition, "=" ).trim() ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * If we use injection we can have different arrays lengths.
    * We need synchronize them for consistency behavior with UI
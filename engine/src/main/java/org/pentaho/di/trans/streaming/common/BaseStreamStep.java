@@ -75,7 +75,8 @@ public class BaseStreamStep extends BaseStep {
       variablizedStepMeta = (BaseStreamStepMeta) variablizedStepMeta.withVariables( this );
       subtransExecutor = new SubtransExecutor( getStepname(),
         getTrans(), transMeta, true,
-        new TransExecutorParameters(), variablizedStepMeta.getSubStep(), getPrefetchCount() );
+        new TransExecutorParameters(), variablizedStepMeta.getSubStep(), getPrefetchCount(),
+        variablizedStepMeta.isPersistentSubtrans() );
 
     } catch ( KettleException e ) {
       log.logError( e.getLocalizedMessage(), e );
@@ -145,6 +146,15 @@ public class BaseStreamStep extends BaseStep {
     super.stopRunning( stepMetaInterface, stepDataInterface );
   }
 
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    if ( subtransExecutor != null ) {
+      // Dispose of the sub-transformations kept running between batches
+      subtransExecutor.dispose();
+    }
+    super.dispose( smi, sdi );
+  }
+
   @Override public void resumeRunning() {
     if ( source != null ) {
       source.resume();
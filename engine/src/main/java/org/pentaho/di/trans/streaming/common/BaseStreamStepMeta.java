@@ -51,6 +51,7 @@ public abstract class BaseStreamStepMeta extends StepWithMappingMeta implements
   public static final String DURATION = "DURATION";
   public static final String SUB_STEP = "SUB_STEP";
   public static final String PARALLELISM = "PARALLELISM";
+  public static final String PERSISTENT_SUBTRANS = "PERSISTENT_SUBTRANS";
   public static final String MESSAGE_DATA_TYPE = "MESSAGE_DATA_TYPE";
 
   public static final int PREFETCH = 100000;
@@ -74,6 +75,9 @@ public abstract class BaseStreamStepMeta extends StepWithMappingMeta implements
   @Injection( name =  PARALLELISM )
   protected String parallelism = "1";
 
+  @Injection( name = PERSISTENT_SUBTRANS )
+  protected boolean persistentSubtrans = false;
+
   MappingMetaRetriever mappingMetaRetriever = TransExecutorMeta::loadMappingMeta;
 
   @FunctionalInterface interface MappingMetaRetriever {
@@ -108,10 +112,15 @@ public abstract class BaseStreamStepMeta extends StepWithMappingMeta implements
   public void setParallelism( String parallelism ) {
     this.parallelism = parallelism;
   }
+
+  public void setPersistentSubtrans( boolean persistentSubtrans ) {
+    this.persistentSubtrans = persistentSubtrans;
+  }
   @Override public void setDefault() {
     batchSize = "1000";
     batchDuration = "1000";
     parallelism = "1";
+    persistentSubtrans = false;
     prefetchCount = PREFETCH_DEFAULT;
   }
 
@@ -135,6 +144,13 @@ public abstract class BaseStreamStepMeta extends StepWithMappingMeta implements
     return parallelism;
   }
 
+  /**
+   * @return true if the sub-transformation is started once and fed batch after batch instead of once per batch.
+   */
+  public boolean isPersistentSubtrans() {
+    return persistentSubtrans;
+  }
+
   public int getMessageDataType() {
     throw new UnsupportedOperationException();
   }
@@ -14,6 +14,7 @@
 package org.pentaho.di.trans.streaming.common;
 
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.schedulers.Schedulers;
@@ -33,6 +34,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -40,6 +42,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 /**
  * A StreamWindow implementation which buffers rows of I by a fixed amount of time and size, executing each batch in a
  * subtransformation.
+ * <p>
+ * By default the batches are executed in parallel in no particular order. When a lane selector is given, the rows are
+ * divided over {@code parallelism} lanes instead. Every lane buffers and executes its own batches one after the other,
+ * so rows that are sent to the same lane are processed in the order they arrived.
  */
 public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Result> {
 
@@ -52,6 +58,7 @@ public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Re
   private int parallelism;
   private final Consumer<Map.Entry<List<I>, Result>> postProcessor;
   private final Function<List<I>, List<I>> bufferFilter;
+  private final ToIntFunction<I> laneSelector;
   private int sharedStreamingBatchPoolSize = 0;
   private static ThreadPoolExecutor sharedStreamingBatchPool;
   private final int rxBatchCount;
@@ -68,6 +75,17 @@ public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Re
 
   public FixedTimeStreamWindow( SubtransExecutor subtransExecutor, RowMetaInterface rowMeta, long millis,
                                 int batchSize, int parallelism, Consumer<Map.Entry<List<I>, Result>> postProcessor, Function<List<I>, List<I>> bufferFilter ) {
+    this( subtransExecutor, rowMeta, millis, batchSize, parallelism, postProcessor, bufferFilter, null );
+  }
+
+  /**
+   * @param laneSelector
+   *          returns the lane of a row, for example a hash of its partition. Rows with the same lane are executed in
+   *          order. Null to execute the batches in parallel without a particular order.
+   */
+  public FixedTimeStreamWindow( SubtransExecutor subtransExecutor, RowMetaInterface rowMeta, long millis,
+                                int batchSize, int parallelism, Consumer<Map.Entry<List<I>, Result>> postProcessor,
+                                Function<List<I>, List<I>> bufferFilter, ToIntFunction<I> laneSelector ) {
     this.subtransExecutor = subtransExecutor;
     this.rowMeta = rowMeta;
     this.millis = millis;
@@ -75,6 +93,7 @@ public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Re
     this.parallelism = parallelism;
     this.postProcessor = postProcessor;
     this.bufferFilter = bufferFilter;
+    this.laneSelector = laneSelector;
 
     //When only batchSize is provided and it is greater than 0 and less than the prefetchCount we can exactly
     //calculate how many batches rx will have to handle. When a time value is provided handle the full prefetchCount
@@ -100,14 +119,12 @@ public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Re
   }
 
   @Override public Iterable<Result> buffer( Flowable<I> flowable ) {
-    Flowable<List<I>> buffer = millis > 0
-      ? batchSize > 0 ? flowable.buffer( millis, MILLISECONDS, Schedulers.io(), batchSize, ArrayList::new, true )
-      : flowable.buffer( millis, MILLISECONDS )
-      : flowable.buffer( batchSize );
-    return buffer
+    if ( laneSelector != null ) {
+      return bufferLanes( flowable );
+    }
+    return batches( flowable )
       .parallel( parallelism, rxBatchCount )
-      .runOn( sharedStreamingBatchPoolSize > 0 ? Schedulers.from( sharedStreamingBatchPool ) : Schedulers.io(),
-        rxBatchCount )
+      .runOn( getScheduler(), rxBatchCount )
       .filter( list -> !list.isEmpty() )
       .map( this.bufferFilter ) // apply any filtering for data that should no longer be processed
       .filter( list -> !list.isEmpty() ) // ensure at least one record is left before sending to subtrans
@@ -121,6 +138,39 @@ public class FixedTimeStreamWindow<I extends List> implements StreamWindow<I, Re
       .blockingIterable();
   }
 
+  private Iterable<Result> bufferLanes( Flowable<I> flowable ) {
+    Scheduler scheduler = getScheduler();
+    // The source doesn't support backpressure, the buffer permits of the executor bound the rows in flight
+    int laneBufferSize = Math.max( 1, subtransExecutor.getPrefetchCount() );
+    return flowable
+      .groupBy( row -> Math.floorMod( laneSelector.applyAsInt( row ), parallelism ), row -> row, false,
+        laneBufferSize )
+      .flatMap( lane -> batches( lane )
+        .onBackpressureBuffer()
+        .observeOn( scheduler, false, rxBatchCount )
+        .filter( list -> !list.isEmpty() )
+        .map( this.bufferFilter )
+        .filter( list -> !list.isEmpty() )
+        .map( this::sendBufferToSubtrans )
+        .filter( Optional::isPresent )
+        .map( Optional::get ), parallelism )
+      .doOnNext( this::failOnError )
+      .doOnNext( postProcessor )
+      .map( Map.Entry::getValue )
+      .blockingIterable();
+  }
+
+  private Flowable<List<I>> batches( Flowable<I> flowable ) {
+    return millis > 0
+      ? batchSize > 0 ? flowable.buffer( millis, MILLISECONDS, Schedulers.io(), batchSize, ArrayList::new, true )
+      : flowable.buffer( millis, MILLISECONDS )
+      : flowable.buffer( batchSize );
+  }
+
+  private Scheduler getScheduler() {
+    return sharedStreamingBatchPoolSize > 0 ? Schedulers.from( sharedStreamingBatchPool ) : Schedulers.io();
+  }
+
   private void failOnError( Map.Entry<List<I>, Result> pair ) throws KettleException {
     if ( pair.getValue().getNrErrors() > 0 ) {
       throw new KettleException( BaseMessages.getString( PKG, "FixedTimeStreamWindow.SubtransFailed"  ) );
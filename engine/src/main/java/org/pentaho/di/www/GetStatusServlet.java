@@ -15,6 +15,7 @@ package org.pentaho.di.www;
 
 import org.owasp.encoder.Encode;
 import org.pentaho.di.core.Const;
+import org.pentaho.di.core.database.ConnectionPoolUtil;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.i18n.BaseMessages;
@@ -57,7 +58,10 @@ public class GetStatusServlet extends BaseHttpServlet implements CartePluginInte
    <a name="GET"></a>
    <h2>GET</h2>
    <p>Retrieve server status. The status contains information about the server itself (OS, memory, etc)
-   and information about jobs and transformations present on the server.</p>
+   and information about jobs and transformations present on the server. The XML status also has the statistics
+   of the database connection pools: the connections in use and idle, the number of requests, the requests that
+   timed out and the total wait time in milliseconds, and a histogram of the wait times with buckets up to 1, 10,
+   100, 1000 and 10000 milliseconds and longer.</p>
 
    <p><b>Example Request:</b><br />
    <pre function="syntax.xml">
@@ -152,6 +156,19 @@ public class GetStatusServlet extends BaseHttpServlet implements CartePluginInte
    <last_log_line_nr>0</last_log_line_nr>
    </jobstatus>
    </jobstatuslist>
+   <connectionpoollist>
+   <connectionpool>
+   <name>warehousewarehousedb.example.com5432</name>
+   <provider>LIGHT</provider>
+   <active>3</active>
+   <idle>7</idle>
+   <maximum>10</maximum>
+   <requests>1520</requests>
+   <timeouts>0</timeouts>
+   <wait_time>96</wait_time>
+   <wait_histogram>1490,25,5,0,0,0</wait_histogram>
+   </connectionpool>
+   </connectionpoollist>
    </serverstatus>
    </pre>
 
@@ -1012,6 +1029,7 @@ public class GetStatusServlet extends BaseHttpServlet implements CartePluginInte
     serverStatus.setOsArchitecture( osArch );
     serverStatus.setMemoryFree( freeMemory );
     serverStatus.setMemoryTotal( totalMemory );
+    serverStatus.setConnectionPoolStatusList( ConnectionPoolUtil.getPoolStatusList() );
   }
 
   public String toString() {
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.pentaho.di.core.Const;
+import org.pentaho.di.core.database.ConnectionPoolStatus;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.xml.XMLHandler;
@@ -31,6 +32,7 @@ public class SlaveServerStatus {
 
   private List<SlaveServerTransStatus> transStatusList;
   private List<SlaveServerJobStatus> jobStatusList;
+  private List<ConnectionPoolStatus> connectionPoolStatusList;
 
   private long memoryFree;
   private long memoryTotal;
@@ -53,6 +55,7 @@ public class SlaveServerStatus {
   public SlaveServerStatus() {
     transStatusList = new ArrayList<SlaveServerTransStatus>();
     jobStatusList = new ArrayList<SlaveServerJobStatus>();
+    connectionPoolStatusList = new ArrayList<ConnectionPoolStatus>();
   }
 
   public SlaveServerStatus( String statusDescription ) {
@@ -70,6 +73,7 @@ public class SlaveServerStatus {
     this.statusDescription = statusDescription;
     this.transStatusList = transStatusList;
     this.jobStatusList = jobStatusList;
+    this.connectionPoolStatusList = new ArrayList<ConnectionPoolStatus>();
   }
 
   public String getXML() throws KettleException {
@@ -107,6 +111,12 @@ public class SlaveServerStatus {
     }
     xml.append( "  </jobstatuslist>" ).append( Const.CR );
 
+    xml.append( "  <connectionpoollist>" ).append( Const.CR );
+    for ( ConnectionPoolStatus poolStatus : connectionPoolStatusList ) {
+      xml.append( "    " ).append( poolStatus.getXML() ).append( Const.CR );
+    }
+    xml.append( "  </connectionpoollist>" ).append( Const.CR );
+
     xml.append( "</" + XML_TAG + ">" ).append( Const.CR );
 
     return xml.toString();
@@ -147,6 +157,14 @@ public class SlaveServerStatus {
       Node jobStatusNode = XMLHandler.getSubNodeByNr( listJobsNode, SlaveServerJobStatus.XML_TAG, i );
       jobStatusList.add( new SlaveServerJobStatus( jobStatusNode ) );
     }
+
+    // Servers of older versions don't report their connection pools
+    Node listPoolsNode = XMLHandler.getSubNode( statusNode, "connectionpoollist" );
+    int nrPools = XMLHandler.countNodes( listPoolsNode, ConnectionPoolStatus.XML_TAG );
+    for ( int i = 0; i < nrPools; i++ ) {
+      Node poolStatusNode = XMLHandler.getSubNodeByNr( listPoolsNode, ConnectionPoolStatus.XML_TAG, i );
+      connectionPoolStatusList.add( new ConnectionPoolStatus( poolStatusNode ) );
+    }
   }
 
   public static SlaveServerStatus fromXML( String xml ) throws KettleException {
@@ -236,6 +254,21 @@ public class SlaveServerStatus {
     this.jobStatusList = jobStatusList;
   }
 
+  /**
+   * @return the statistics of the connection pools of the server
+   */
+  public List<ConnectionPoolStatus> getConnectionPoolStatusList() {
+    return connectionPoolStatusList;
+  }
+
+  /**
+   * @param connectionPoolStatusList
+   *          the connectionPoolStatusList to set
+   */
+  public void setConnectionPoolStatusList( List<ConnectionPoolStatus> connectionPoolStatusList ) {
+    this.connectionPoolStatusList = connectionPoolStatusList;
+  }
+
   /**
    * @return the memoryFree
    */
@@ -20,9 +20,16 @@ import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.io.IOUtils;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -31,6 +38,7 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.pentaho.di.core.compress.CompressionPluginType;
 import org.pentaho.di.core.compress.CompressionProviderFactory;
+import org.pentaho.di.core.compress.CompressionSplit;
 import org.pentaho.di.core.plugins.PluginRegistry;
 import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
 
@@ -115,4 +123,76 @@ public class GZIPCompressionProviderTest {
     GZIPCompressionOutputStream ncis2 = provider.createOutputStream( gos );
     assertNotNull( ncis2 );
   }
+
+  @Test
+  public void testGetSplitsOfBgzf() throws IOException {
+    GZIPCompressionProvider provider = (GZIPCompressionProvider) factory.getCompressionProviderByName( PROVIDER_NAME );
+    assertTrue( provider.supportsSplits() );
+
+    ByteArrayOutputStream bgzf = new ByteArrayOutputStream();
+    StringBuilder text = new StringBuilder();
+    for ( int i = 0; i < 4; i++ ) {
+      String block = "block " + i + "\n";
+      text.append( block );
+      writeBgzfBlock( bgzf, block.getBytes( StandardCharsets.UTF_8 ) );
+    }
+    writeBgzfBlock( bgzf, new byte[ 0 ] ); // end of file marker
+    byte[] data = bgzf.toByteArray();
+
+    // One block per split, then two blocks per split
+    List<CompressionSplit> splits = provider.getSplits( new ByteArrayInputStream( data ), 1L );
+    assertEquals( 5, splits.size() );
+    splits = provider.getSplits( new ByteArrayInputStream( data ), splits.get( 0 ).getLength() * 2 );
+    assertEquals( 3, splits.size() );
+    assertEquals( 0L, splits.get( 0 ).getOffset() );
+    assertEquals( "block 0\nblock 1\n".length(), splits.get( 0 ).getUncompressedLength() );
+    assertEquals( data.length, splits.get( 2 ).getOffset() + splits.get( 2 ).getLength() );
+
+    // A split is read from its offset to the end of the data
+    InputStream in = new ByteArrayInputStream( data );
+    IOUtils.skipFully( in, splits.get( 1 ).getOffset() );
+    assertEquals( "block 2\nblock 3\n",
+      new String( IOUtils.toByteArray( provider.createInputStream( in ) ), StandardCharsets.UTF_8 ) );
+  }
+
+  @Test
+  public void testGetSplitsOfGzip() throws IOException {
+    GZIPCompressionProvider provider = (GZIPCompressionProvider) factory.getCompressionProviderByName( PROVIDER_NAME );
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try ( GZIPOutputStream gos = new GZIPOutputStream( baos ) ) {
+      gos.write( "Test".getBytes() );
+    }
+
+    List<CompressionSplit> splits = provider.getSplits( new ByteArrayInputStream( baos.toByteArray() ), 1L );
+    assertEquals( 1, splits.size() );
+    assertEquals( 0L, splits.get( 0 ).getOffset() );
+    assertEquals( -1L, splits.get( 0 ).getLength() );
+  }
+
+  /**
+   * Writes a gzip member with the BC extra field of BGZF, which holds the size of the member.
+   */
+  private static void writeBgzfBlock( ByteArrayOutputStream out, byte[] data ) {
+    Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, true );
+    deflater.setInput( data );
+    deflater.finish();
+    byte[] compressed = new byte[ data.length + 64 ];
+    int compressedLength = deflater.deflate( compressed );
+    deflater.end();
+    CRC32 crc = new CRC32();
+    crc.update( data );
+
+    int blockSize = 18 + compressedLength + 8;
+    out.write( new byte[] { 31, (byte) 139, 8, 4, 0, 0, 0, 0, 0, (byte) 255, 6, 0, 'B', 'C', 2, 0,
+      (byte) ( blockSize - 1 ), (byte) ( ( blockSize - 1 ) >> 8 ) }, 0, 18 );
+    out.write( compressed, 0, compressedLength );
+    writeInt( out, crc.getValue() );
+    writeInt( out, data.length );
+  }
+
+  private static void writeInt( ByteArrayOutputStream out, long value ) {
+    for ( int i = 0; i < 4; i++ ) {
+      out.write( (int) ( value >> ( 8 * i ) ) & 0xFF );
+    }
+  }
 }
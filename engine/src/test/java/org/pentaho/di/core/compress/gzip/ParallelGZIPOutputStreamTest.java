@@ -0,0 +1,71 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress.gzip;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ParallelGZIPOutputStreamTest {
+
+  @Test
+  public void testWriteBlocks() throws IOException {
+    byte[] data = new byte[ 10000 ];
+    for ( int i = 0; i < data.length; i++ ) {
+      data[ i ] = (byte) ( i % 97 );
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( ParallelGZIPOutputStream gzipOutputStream = new ParallelGZIPOutputStream( out, 3, 1024 ) ) {
+      gzipOutputStream.write( data, 0, 5000 );
+      for ( int i = 5000; i < data.length; i++ ) {
+        gzipOutputStream.write( data[ i ] );
+      }
+    }
+
+    assertArrayEquals( data, decompress( out.toByteArray() ) );
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ParallelGZIPOutputStream( out, 2, 1024 ).close();
+
+    assertEquals( 0, decompress( out.toByteArray() ).length );
+  }
+
+  @Test
+  public void testWriteAfterClose() throws IOException {
+    ParallelGZIPOutputStream gzipOutputStream = new ParallelGZIPOutputStream( new ByteArrayOutputStream(), 2, 1024 );
+    gzipOutputStream.close();
+    try {
+      gzipOutputStream.write( "Test".getBytes() );
+      fail();
+    } catch ( IOException e ) {
+      // The stream is closed
+    }
+  }
+
+  private static byte[] decompress( byte[] compressed ) throws IOException {
+    return IOUtils.toByteArray( new GZIPInputStream( new ByteArrayInputStream( compressed ) ) );
+  }
+}
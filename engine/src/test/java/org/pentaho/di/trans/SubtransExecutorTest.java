@@ -66,6 +66,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith( MockitoJUnitRunner.class )
@@ -151,6 +152,68 @@ public class SubtransExecutorTest {
     verify( parentTrans, atLeastOnce() ).addActiveSubTransformation( eq( "subtransname" ), any( Trans.class ) );
   }
 
+  @Test
+  public void testPersistentSubtransRunsEveryBatch() throws Exception {
+    TransMeta parentMeta =
+      new TransMeta( DefaultBowl.getInstance(), this.getClass().getResource( "subtrans-executor-parent.ktr" ).getPath(),
+        new Variables() );
+    TransMeta subMeta =
+      new TransMeta( DefaultBowl.getInstance(), this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(),
+        new Variables() );
+    LoggingObjectInterface loggingObject = new LoggingObject( "anything" );
+    Trans parentTrans = spy( new Trans( parentMeta, loggingObject ) );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", parentTrans, subMeta, true, new TransExecutorParameters(), "Group By",
+        1001, true );
+    RowMetaInterface rowMeta = parentMeta.getStepFields( "Data Grid" );
+
+    Optional<Result> first = subtransExecutor.execute( Arrays.asList(
+      new RowMetaAndData( rowMeta, "Pentaho", 1L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 2L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 3L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 4L ) ) );
+    List<RowMetaAndData> firstRows = first.orElseThrow( AssertionError::new ).getRows();
+    assertEquals( 1, firstRows.size() );
+    assertEquals( 10L, firstRows.get( 0 ).getInteger( "sum" ).longValue() );
+
+    // The second batch is aggregated on its own by the same sub-transformation
+    Optional<Result> second = subtransExecutor.execute( Arrays.asList(
+      new RowMetaAndData( rowMeta, "Pentaho", 5L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 6L ) ) );
+    List<RowMetaAndData> secondRows = second.orElseThrow( AssertionError::new ).getRows();
+    assertEquals( 1, secondRows.size() );
+    assertEquals( 11L, secondRows.get( 0 ).getInteger( "sum" ).longValue() );
+
+    verify( parentTrans, times( 1 ) ).addActiveSubTransformation( eq( "subtransname" ), any( Trans.class ) );
+    assertEquals( 3, subtransExecutor.getStatuses().size() );
+    assertTrue( subtransExecutor.running.isEmpty() );
+
+    subtransExecutor.dispose();
+  }
+
+  @Test( expected = KettleException.class )
+  public void testPersistentSubtransRejectsFieldParameters() throws Exception {
+    TransMeta parentMeta =
+      new TransMeta( DefaultBowl.getInstance(), this.getClass().getResource( "subtrans-executor-parent.ktr" ).getPath(),
+        new Variables() );
+    TransMeta subMeta =
+      new TransMeta( DefaultBowl.getInstance(), this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(),
+        new Variables() );
+    LoggingObjectInterface loggingObject = new LoggingObject( "anything" );
+    Trans parentTrans = new Trans( parentMeta, loggingObject );
+    TransExecutorParameters parameters = new TransExecutorParameters();
+    parameters.allocate( 1 );
+    parameters.setVariable( new String[] { "NAME" } );
+    parameters.setField( new String[] { "name" } );
+    parameters.setInput( new String[] { "" } );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", parentTrans, subMeta, true, parameters, "Group By", 1001, true );
+    RowMetaInterface rowMeta = parentMeta.getStepFields( "Data Grid" );
+
+    // Every later batch would see the name of the first row
+    subtransExecutor.execute( Arrays.asList( new RowMetaAndData( rowMeta, "Pentaho", 1L ) ) );
+  }
+
   @Test
   public void stopsAll() throws KettleException {
     TransMeta parentMeta =
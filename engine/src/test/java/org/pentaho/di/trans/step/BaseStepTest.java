@@ -509,4 +509,40 @@ public class BaseStepTest {
     baseStepSpy.getRow();
     verify( mockHelper.transMeta, times( 1 ) ).checkRowMixingStatically( any( StepMeta.class ), any() );
   }
+
+  @Test
+  public void testWarmUpIsAwaitedBeforeStartProcessing() throws KettleException {
+    BaseStep baseStep =
+      new BaseStep( mockHelper.stepMeta, mockHelper.stepDataInterface, 0, mockHelper.transMeta, mockHelper.trans );
+    AtomicBoolean warmedUp = new AtomicBoolean();
+    baseStep.warmUp( () -> {
+      Thread.sleep( 100 );
+      warmedUp.set( true );
+      return null;
+    } );
+
+    assertTrue( baseStep.beforeStartProcessing( mockHelper.processRowsStepMetaInterface,
+      mockHelper.processRowsStepDataInterface ) );
+    assertTrue( warmedUp.get() );
+  }
+
+  @Test
+  public void testWarmUpFailure() {
+    BaseStep baseStep =
+      new BaseStep( mockHelper.stepMeta, mockHelper.stepDataInterface, 0, mockHelper.transMeta, mockHelper.trans );
+    baseStep.warmUp( () -> {
+      throw new IOException( "warm-up failed" );
+    } );
+
+    try {
+      baseStep.beforeStartProcessing( mockHelper.processRowsStepMetaInterface,
+        mockHelper.processRowsStepDataInterface );
+      fail( "The warm-up failure should be reported" );
+    } catch ( KettleException e ) {
+      assertTrue( e.getCause() instanceof IOException );
+    }
+
+    // The failure is reported once
+    baseStep.dispose( mockHelper.processRowsStepMetaInterface, mockHelper.processRowsStepDataInterface );
+  }
 }
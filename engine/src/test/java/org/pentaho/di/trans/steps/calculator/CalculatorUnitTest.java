@@ -1058,4 +1058,111 @@ public class CalculatorUnitTest {
     }
   }
 
+  @Test
+  public void testCompiledCalculations() throws KettleException {
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "A" ) );
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "B" ) );
+    inputRowMeta.addValueMeta( new ValueMetaNumber( "N" ) );
+    inputRowMeta.addValueMeta( new ValueMetaString( "S" ) );
+
+    RowSet inputRowSet = smh.getMockInputRowSet( new Object[][] {
+      { 7L, 2L, 1.5, "abc" },
+      { -7L, null, null, "def" } } );
+    inputRowSet.setRowMeta( inputRowMeta );
+
+    Calculator calculator = new Calculator( smh.stepMeta, smh.stepDataInterface, 0, smh.transMeta, smh.trans );
+    calculator.addRowSetToInputRowSets( inputRowSet );
+    calculator.setInputRowMeta( inputRowMeta );
+    calculator.init( smh.initStepMetaInterface, smh.initStepDataInterface );
+
+    CalculatorMeta meta = new CalculatorMeta();
+    meta.setCompiled( true );
+    meta.setCalculation( new CalculatorMetaFunction[] {
+      new CalculatorMetaFunction( "ten", CalculatorMetaFunction.CALC_CONSTANT, "10", null, null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, true, "", "", "", "" ),
+      new CalculatorMetaFunction( "a_times_ten", CalculatorMetaFunction.CALC_MULTIPLY, "A", "ten", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "plus_b", CalculatorMetaFunction.CALC_ADD, "a_times_ten", "B", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "b_or_a", CalculatorMetaFunction.CALC_NVL, "B", "A", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "abs_a", CalculatorMetaFunction.CALC_ABS, "A", null, null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "n_squared", CalculatorMetaFunction.CALC_SQUARE, "N", null, null,
+        ValueMetaInterface.TYPE_NUMBER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "upper_s", CalculatorMetaFunction.CALC_UPPER_CASE, "S", null, null,
+        ValueMetaInterface.TYPE_STRING, 0, 0, false, "", "", "", "" ) } );
+
+    List<Object[]> results = new ArrayList<>();
+    calculator.addRowListener( new RowAdapter() {
+      @Override
+      public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) throws KettleStepException {
+        results.add( row );
+      }
+    } );
+
+    CalculatorData data = new CalculatorData();
+    calculator.processRow( meta, data );
+    calculator.processRow( meta, data );
+
+    Assert.assertNotNull( data.getCompiledCalculation() );
+    Assert.assertEquals( 2, results.size() );
+    assertEquals( 70L, results.get( 0 )[ 4 ] );
+    assertEquals( 72L, results.get( 0 )[ 5 ] );
+    assertEquals( 2L, results.get( 0 )[ 6 ] );
+    assertEquals( 7L, results.get( 0 )[ 7 ] );
+    assertEquals( 2.25, results.get( 0 )[ 8 ] );
+    assertEquals( "ABC", results.get( 0 )[ 9 ] );
+    assertEquals( -70L, results.get( 1 )[ 4 ] );
+    assertEquals( null, results.get( 1 )[ 5 ] );
+    assertEquals( -7L, results.get( 1 )[ 6 ] );
+    assertEquals( 7L, results.get( 1 )[ 7 ] );
+    assertEquals( null, results.get( 1 )[ 8 ] );
+    assertEquals( "DEF", results.get( 1 )[ 9 ] );
+  }
+
+  @Test
+  public void testCompiledArithmeticOnCopyOfConstant() throws KettleException {
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "A" ) );
+
+    RowSet inputRowSet = smh.getMockInputRowSet( new Object[][] { { 7L }, { null } } );
+    inputRowSet.setRowMeta( inputRowMeta );
+
+    Calculator calculator = new Calculator( smh.stepMeta, smh.stepDataInterface, 0, smh.transMeta, smh.trans );
+    calculator.addRowSetToInputRowSets( inputRowSet );
+    calculator.setInputRowMeta( inputRowMeta );
+    calculator.init( smh.initStepMetaInterface, smh.initStepDataInterface );
+
+    CalculatorMeta meta = new CalculatorMeta();
+    meta.setCompiled( true );
+    meta.setCalculation( new CalculatorMetaFunction[] {
+      new CalculatorMetaFunction( "ten", CalculatorMetaFunction.CALC_CONSTANT, "10", null, null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "copy_of_ten", CalculatorMetaFunction.CALC_COPY_OF_FIELD, "ten", null, null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ),
+      new CalculatorMetaFunction( "a_plus_ten", CalculatorMetaFunction.CALC_ADD, "A", "copy_of_ten", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ) } );
+
+    List<Object[]> results = new ArrayList<>();
+    calculator.addRowListener( new RowAdapter() {
+      @Override
+      public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) throws KettleStepException {
+        results.add( row );
+      }
+    } );
+
+    CalculatorData data = new CalculatorData();
+    calculator.processRow( meta, data );
+    calculator.processRow( meta, data );
+
+    // The copy refers to the field of the folded constant in the generated class
+    Assert.assertNotNull( data.getCompiledCalculation() );
+    Assert.assertEquals( 2, results.size() );
+    assertEquals( 10L, results.get( 0 )[ 2 ] );
+    assertEquals( 17L, results.get( 0 )[ 3 ] );
+    assertEquals( 10L, results.get( 1 )[ 2 ] );
+    assertEquals( null, results.get( 1 )[ 3 ] );
+  }
 }
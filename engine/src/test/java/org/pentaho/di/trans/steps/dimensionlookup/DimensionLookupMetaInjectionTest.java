@@ -165,6 +165,12 @@ public class DimensionLookupMetaInjectionTest extends BaseMetadataInjectionTest<
         return meta.isPreloadingCache();
       }
     } );
+    check( "BULK_UPDATE", new BooleanGetter() {
+      @Override
+      public boolean get() {
+        return meta.isBulkUpdate();
+      }
+    } );
     check( "CONNECTION_NAME", new StringGetter() {
       public String get() {
         return "My Connection";
@@ -0,0 +1,86 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.dimensionlookup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DimensionVersionStoreTest {
+
+  private DimensionVersionStore store;
+
+  @Before
+  public void setUp() {
+    RowMetaInterface keyRowMeta = new RowMeta();
+    keyRowMeta.addValueMeta( new ValueMetaString( "customer_id" ) );
+    RowMetaInterface versionRowMeta = new RowMeta();
+    versionRowMeta.addValueMeta( new ValueMetaInteger( "customer_tk" ) );
+    versionRowMeta.addValueMeta( new ValueMetaInteger( "version" ) );
+    versionRowMeta.addValueMeta( new ValueMetaString( "city" ) );
+    store = new DimensionVersionStore( keyRowMeta, versionRowMeta, 16 );
+  }
+
+  @Test
+  public void testPutAndGet() throws KettleValueException {
+    store.put( new Object[] { "C1" }, new Object[] { 1L, 1L, "Ghent" } );
+    store.put( new Object[] { "C2" }, new Object[] { 2L, 1L, null } );
+
+    assertEquals( 2, store.size() );
+    assertArrayEquals( new Object[] { 1L, 1L, "Ghent" }, store.get( new Object[] { "C1" } ) );
+    assertArrayEquals( new Object[] { 2L, 1L, null }, store.get( new Object[] { "C2" } ) );
+    assertNull( store.get( new Object[] { "C3" } ) );
+
+    // A new version replaces the current one
+    store.put( new Object[] { "C1" }, new Object[] { 3L, 2L, "Brussels" } );
+    assertEquals( 2, store.size() );
+    assertArrayEquals( new Object[] { 3L, 2L, "Brussels" }, store.get( new Object[] { "C1" } ) );
+  }
+
+  @Test
+  public void testPutIfLater() throws KettleValueException {
+    assertTrue( store.putIfLater( new Object[] { "C1" }, new Object[] { 5L, 2L, "Brussels" } ) );
+    assertFalse( store.putIfLater( new Object[] { "C1" }, new Object[] { 1L, 1L, "Ghent" } ) );
+    assertArrayEquals( new Object[] { 5L, 2L, "Brussels" }, store.get( new Object[] { "C1" } ) );
+
+    assertTrue( store.putIfLater( new Object[] { "C1" }, new Object[] { 9L, 3L, "Antwerp" } ) );
+    assertArrayEquals( new Object[] { 9L, 3L, "Antwerp" }, store.get( new Object[] { "C1" } ) );
+  }
+
+  @Test
+  public void testConvert() throws KettleValueException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "city" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "customer_id" ) );
+    Object[] row = new Object[] { "Ghent", 42L };
+
+    Object[] key = new Object[ 1 ];
+    DimensionVersionStore.convert( rowMeta, row, new int[] { 1 }, store.getKeyRowMeta(), key, 0 );
+    assertArrayEquals( new Object[] { "42" }, key );
+
+    Object[] version = new Object[] { 1L, 1L, null };
+    DimensionVersionStore.convert( rowMeta, row, new int[] { 0 }, store.getVersionRowMeta(), version, 2 );
+    assertArrayEquals( new Object[] { 1L, 1L, "Ghent" }, version );
+  }
+}
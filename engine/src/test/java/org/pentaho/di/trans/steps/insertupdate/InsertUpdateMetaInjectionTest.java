@@ -49,6 +49,11 @@ public class InsertUpdateMetaInjectionTest extends BaseMetadataInjectionTest<Ins
         return meta.isUpdateBypassed();
       }
     } );
+    check( "SET_BASED_MERGE", new BooleanGetter() {
+      public boolean get() {
+        return meta.isSetBasedMerge();
+      }
+    } );
     check( "KEY_STREAM", new StringGetter() {
       public String get() {
         return meta.getKeyFields()[ 0 ].getKeyStream();
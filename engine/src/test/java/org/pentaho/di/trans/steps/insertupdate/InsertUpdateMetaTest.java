@@ -159,7 +159,7 @@ public class InsertUpdateMetaTest {
   public void setUpLoadSave() throws Exception {
     List<String> attributes =
       Arrays.asList( "schemaName", "tableName", "databaseMeta", "keyFields", "updateFields", "commitSize",
-        "updateBypassed" );
+        "updateBypassed", "setBasedMerge" );
 
     Map<String, String> getterMap = new HashMap<String, String>() {
       {
@@ -175,6 +175,7 @@ public class InsertUpdateMetaTest {
         put( "update", "getUpdate" );
         put( "commitSize", "getCommitSizeVar" );
         put( "updateBypassed", "isUpdateBypassed" );
+        put( "setBasedMerge", "isSetBasedMerge" );
       }
     };
 
@@ -192,6 +193,7 @@ public class InsertUpdateMetaTest {
         put( "update", "setUpdate" );
         put( "commitSize", "setCommitSize" );
         put( "updateBypassed", "setUpdateBypassed" );
+        put( "setBasedMerge", "setSetBasedMerge" );
       }
     };
     FieldLoadSaveValidator<String[]> stringArrayLoadSaveValidator =
@@ -0,0 +1,174 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+package org.pentaho.di.trans.steps.parallelgzipcsv;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.step.RowAdapter;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.steps.StepMockUtil;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
+import org.pentaho.di.trans.steps.textfileinput.TextFileInputField;
+
+/**
+ * Reads a blocked gzip file (BGZF) with several step copies, each copy decompresses its own splits of the file.
+ */
+public class ParGzipCsvInputTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private StepMockHelper<ParGzipCsvInputMeta, StepDataInterface> stepMockHelper;
+
+  @BeforeClass
+  public static void initKettle() throws Exception {
+    KettleEnvironment.init();
+  }
+
+  @Before
+  public void setUp() {
+    stepMockHelper = StepMockUtil.getStepMockHelper( ParGzipCsvInputMeta.class, "ParGzipCsvInputTest" );
+    // The step copies share the splits of the file through the transformation
+    when( stepMockHelper.trans.getExtensionDataMap() ).thenReturn( new HashMap<>() );
+  }
+
+  @After
+  public void cleanUp() {
+    stepMockHelper.cleanUp();
+  }
+
+  /**
+   * The blocks are stored without compression so their sizes are known: with 3 step copies every block is a split of
+   * its own, except for the last one which shares its split with the end of file marker.
+   */
+  @Test
+  public void testReadBgzfSplitsInParallel() throws Exception {
+    File file = createBgzfFile(
+      // The header is skipped, row 7 crosses into the next split
+      "id,name\n1,alpha\n2,bravo\n3,charlie\n4,delta\n5,echo\n6,foxtrot\n7,go",
+      // Row 13 ends exactly at the end of the split, row 14 is read by the same step copy
+      "lf\n8,hotel\n9,india\n10,juliet\n11,kilogram\n12,lima\n13,michael\n",
+      "14,november\n15,oscar\n" );
+
+    List<String> firstCopy = readRows( file, 0, 3 );
+    List<String> secondCopy = readRows( file, 1, 3 );
+    List<String> thirdCopy = readRows( file, 2, 3 );
+
+    assertEquals( Arrays.asList( "1", "2", "3", "4", "5", "6", "7" ), firstCopy );
+    assertEquals( Arrays.asList( "8", "9", "10", "11", "12", "13", "14" ), secondCopy );
+    assertEquals( Arrays.asList( "15" ), thirdCopy );
+  }
+
+  private List<String> readRows( File file, int stepNr, int totalNumberOfSteps ) throws Exception {
+    ParGzipCsvInputMeta meta = new ParGzipCsvInputMeta();
+    meta.setDefault();
+    meta.setFilename( file.getAbsolutePath() );
+    meta.setBufferSize( "50" );
+    meta.setDelimiter( "," );
+    meta.setEnclosure( "\"" );
+    meta.setHeaderPresent( true );
+    meta.setLazyConversionActive( false );
+    meta.setRunningInParallel( true );
+    meta.setInputFields( new TextFileInputField[] { createField( "id" ), createField( "name" ) } );
+
+    ParGzipCsvInputData data = new ParGzipCsvInputData();
+    ParGzipCsvInput step = new ParGzipCsvInput( stepMockHelper.stepMeta, stepMockHelper.stepDataInterface, stepNr,
+      stepMockHelper.transMeta, stepMockHelper.trans );
+    step.init( meta, data );
+    data.stepNumber = stepNr;
+    data.totalNumberOfSteps = totalNumberOfSteps;
+
+    final List<String> ids = new ArrayList<>();
+    step.addRowListener( new RowAdapter() {
+      @Override
+      public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) throws KettleStepException {
+        ids.add( (String) row[ 0 ] );
+      }
+    } );
+    while ( step.processRow( meta, data ) ) {
+      // keep reading
+    }
+    step.dispose( meta, data );
+    return ids;
+  }
+
+  private static TextFileInputField createField( String name ) {
+    TextFileInputField field = new TextFileInputField();
+    field.setName( name );
+    field.setType( ValueMetaInterface.TYPE_STRING );
+    return field;
+  }
+
+  private static File createBgzfFile( String... blocks ) throws IOException {
+    ByteArrayOutputStream bgzf = new ByteArrayOutputStream();
+    for ( String block : blocks ) {
+      writeBgzfBlock( bgzf, block.getBytes( StandardCharsets.UTF_8 ) );
+    }
+    writeBgzfBlock( bgzf, new byte[ 0 ] ); // end of file marker
+
+    File file = File.createTempFile( "PDI_tmp", ".gz" );
+    file.deleteOnExit();
+    try ( FileOutputStream out = new FileOutputStream( file ) ) {
+      bgzf.writeTo( out );
+    }
+    return file;
+  }
+
+  /**
+   * Writes a gzip member with the BC extra field of BGZF, which holds the size of the member.
+   */
+  private static void writeBgzfBlock( ByteArrayOutputStream out, byte[] data ) {
+    Deflater deflater = new Deflater( Deflater.NO_COMPRESSION, true );
+    deflater.setInput( data );
+    deflater.finish();
+    byte[] compressed = new byte[ data.length + 64 ];
+    int compressedLength = deflater.deflate( compressed );
+    deflater.end();
+    CRC32 crc = new CRC32();
+    crc.update( data );
+
+    int blockSize = 18 + compressedLength + 8;
+    out.write( new byte[] { 31, (byte) 139, 8, 4, 0, 0, 0, 0, 0, (byte) 255, 6, 0, 'B', 'C', 2, 0,
+      (byte) ( blockSize - 1 ), (byte) ( ( blockSize - 1 ) >> 8 ) }, 0, 18 );
+    out.write( compressed, 0, compressedLength );
+    writeInt( out, crc.getValue() );
+    writeInt( out, data.length );
+  }
+
+  private static void writeInt( ByteArrayOutputStream out, long value ) {
+    for ( int i = 0; i < 4; i++ ) {
+      out.write( (int) ( value >> ( 8 * i ) ) & 0xFF );
+    }
+  }
+}
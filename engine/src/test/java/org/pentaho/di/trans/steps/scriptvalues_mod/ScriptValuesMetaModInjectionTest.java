@@ -46,6 +46,11 @@ public class ScriptValuesMetaModInjectionTest extends BaseMetadataInjectionTest<
         return meta.getOptimizationLevel();
       }
     } );
+    check( "TYPED_BINDINGS", new BooleanGetter() {
+      public boolean get() {
+        return meta.isTypedBindings();
+      }
+    } );
     check( "FIELD_NAME", new StringGetter() {
       public String get() {
         return meta.getFieldname()[ 0 ];
@@ -20,13 +20,18 @@ import org.pentaho.di.core.KettleEnvironment;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaBigNumber;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaString;
 import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
 import org.pentaho.di.trans.TransTestingUtil;
 import org.pentaho.di.trans.steps.StepMockUtil;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 
@@ -103,4 +108,81 @@ public class ScriptValuesModTest {
     Object[] row = TransTestingUtil.execute( step, meta, data, 1, false ).get( 0 );
     TransTestingUtil.assertResult( expectedRow, row );
   }
+
+  @Test
+  public void typedBindingsPassPlainValues() throws Exception {
+    ScriptValuesMod step = StepMockUtil.getStep( ScriptValuesMod.class, ScriptValuesMetaMod.class, "test" );
+
+    RowMeta input = new RowMeta();
+    input.addValueMeta( new ValueMetaString( "str" ) );
+    input.addValueMeta( new ValueMetaInteger( "num" ) );
+    input.addValueMeta( new ValueMetaString( "str_unused" ) );
+    step.setInputRowMeta( input );
+
+    step = spy( step );
+    doReturn( new Object[] { "abc", 5L, "x" } ).when( step ).getRow();
+
+    ScriptValuesMetaMod meta = new ScriptValuesMetaMod();
+    meta.setCompatible( false );
+    meta.setTypedBindings( true );
+    meta.allocate( 2 );
+    meta.setFieldname( new String[] { "str", "num" } );
+    meta.setType( new int[] { ValueMetaInterface.TYPE_STRING, ValueMetaInterface.TYPE_INTEGER } );
+    meta.setReplace( new boolean[] { true, true } );
+
+    meta.setJSScripts( new ScriptValuesScript[] {
+      new ScriptValuesScript( ScriptValuesScript.TRANSFORM_SCRIPT, "script",
+        "str = typeof str + str.toUpperCase();\nnum = num * 2;" )
+    } );
+
+    ScriptValuesModData data = new ScriptValuesModData();
+    step.init( meta, data );
+
+    Object[] expectedRow = { "stringABC", 10L, "x" };
+    Object[] row = TransTestingUtil.execute( step, meta, data, 1, false ).get( 0 );
+    TransTestingUtil.assertResult( expectedRow, row );
+    assertFalse( data.bindRowMeta );
+    assertEquals( 2, data.fields_used.length );
+  }
+
+  @Test
+  public void typedBindingsRebindRowForAddedFunctions() throws Exception {
+    ScriptValuesMod step = StepMockUtil.getStep( ScriptValuesMod.class, ScriptValuesMetaMod.class, "test" );
+
+    RowMeta input = new RowMeta();
+    input.addValueMeta( new ValueMetaString( "str" ) );
+    step.setInputRowMeta( input );
+
+    step = spy( step );
+    doReturn( new Object[] { "a" } ).doReturn( new Object[] { "b" } ).when( step ).getRow();
+
+    ScriptValuesMetaMod meta = new ScriptValuesMetaMod();
+    meta.setCompatible( false );
+    meta.setTypedBindings( true );
+    meta.allocate( 1 );
+    meta.setFieldname( new String[] { "str" } );
+    meta.setType( new int[] { ValueMetaInterface.TYPE_STRING } );
+    meta.setReplace( new boolean[] { true } );
+
+    meta.setJSScripts( new ScriptValuesScript[] {
+      new ScriptValuesScript( ScriptValuesScript.TRANSFORM_SCRIPT, "script",
+        "str = createRowCopy( 1 )[ 0 ] + \"!\";" )
+    } );
+
+    ScriptValuesModData data = new ScriptValuesModData();
+    step.init( meta, data );
+
+    List<Object[]> rows = TransTestingUtil.execute( step, meta, data, 2, false );
+    TransTestingUtil.assertResult( new Object[] { "a!" }, rows.get( 0 ) );
+    TransTestingUtil.assertResult( new Object[] { "b!" }, rows.get( 1 ) );
+  }
+
+  @Test
+  public void isReferencedMatchesWholeWordsOnly() {
+    assertTrue( ScriptValuesMod.isReferenced( "var a = row[0];", "row" ) );
+    assertTrue( ScriptValuesMod.isReferenced( "rowMeta.size()", "rowMeta" ) );
+    assertFalse( ScriptValuesMod.isReferenced( "rowMeta.size()", "row" ) );
+    assertFalse( ScriptValuesMod.isReferenced( "var narrow = 1;", "row" ) );
+    assertTrue( ScriptValuesMod.isReferenced( "x = this[\"my field\"];", "my field" ) );
+  }
 }
@@ -59,6 +59,21 @@ public class TableInputMetaInjectionTest extends BaseMetadataInjectionTest<Table
         return meta.isCachedRowMetaActive();
       }
     } );
+    check( "SPLIT_COLUMN", new StringGetter() {
+      public String get() {
+        return meta.getSplitColumn();
+      }
+    } );
+    check( "SPLIT_COUNT", new StringGetter() {
+      public String get() {
+        return meta.getSplitCount();
+      }
+    } );
+    check( "SPLIT_BY_HASH", new BooleanGetter() {
+      public boolean get() {
+        return meta.isSplitByHash();
+      }
+    } );
     skipPropertyTest( "CONNECTIONNAME" );
   }
 }
@@ -0,0 +1,94 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.tableinput;
+
+import org.junit.Test;
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.database.H2DatabaseMeta;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.value.ValueMetaDate;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TableInputSplitTest {
+
+  private static final String SQL = "SELECT id, name FROM customers";
+
+  @Test
+  public void testRangeSplits() throws KettleException {
+    List<TableInputSplit> splits =
+      TableInputSplit.getRangeSplits( SQL, "id", new ValueMetaInteger( "id" ), 0L, 100L, 4 );
+
+    assertEquals( 4, splits.size() );
+    assertEquals( "SELECT * FROM ( " + SQL + " ) kettle_split WHERE ( id < ? OR id IS NULL )",
+      splits.get( 0 ).getSQL() );
+    assertArrayEquals( new Object[] { 25L }, splits.get( 0 ).getParameters() );
+    assertEquals( "SELECT * FROM ( " + SQL + " ) kettle_split WHERE id >= ? AND id < ?", splits.get( 1 ).getSQL() );
+    assertArrayEquals( new Object[] { 25L, 50L }, splits.get( 1 ).getParameters() );
+    assertEquals( 2, splits.get( 1 ).getParametersMeta().size() );
+    assertArrayEquals( new Object[] { 50L, 75L }, splits.get( 2 ).getParameters() );
+    assertEquals( "SELECT * FROM ( " + SQL + " ) kettle_split WHERE id >= ?", splits.get( 3 ).getSQL() );
+    assertArrayEquals( new Object[] { 75L }, splits.get( 3 ).getParameters() );
+  }
+
+  @Test
+  public void testRangeSplitsWithFewValues() throws KettleException {
+    // Only two distinct values: one bound is enough
+    assertEquals( Arrays.<Object>asList( 2L ),
+      TableInputSplit.getRangeBounds( "id", new ValueMetaInteger( "id" ), 1L, 2L, 4 ) );
+
+    // No values at all: read the query as it is
+    List<TableInputSplit> splits =
+      TableInputSplit.getRangeSplits( SQL, "id", new ValueMetaInteger( "id" ), null, null, 4 );
+    assertEquals( 1, splits.size() );
+    assertEquals( SQL, splits.get( 0 ).getSQL() );
+    assertNull( splits.get( 0 ).getParameters() );
+  }
+
+  @Test
+  public void testDateRangeBounds() throws KettleException {
+    List<Object> bounds =
+      TableInputSplit.getRangeBounds( "created", new ValueMetaDate( "created" ), new Date( 0L ), new Date( 3000L ), 3 );
+
+    assertEquals( Arrays.<Object>asList( new Date( 1000L ), new Date( 2000L ) ), bounds );
+  }
+
+  @Test( expected = KettleException.class )
+  public void testRangeSplitsOnStringColumn() throws KettleException {
+    TableInputSplit.getRangeSplits( SQL, "name", new ValueMetaString( "name" ), "a", "z", 4 );
+  }
+
+  @Test
+  public void testHashSplits() {
+    DatabaseMeta databaseMeta = new DatabaseMeta();
+    databaseMeta.setDatabaseInterface( new H2DatabaseMeta() );
+
+    List<TableInputSplit> splits = TableInputSplit.getHashSplits( databaseMeta, SQL, "id", 3 );
+
+    assertEquals( 3, splits.size() );
+    assertEquals( "SELECT * FROM ( " + SQL + " ) kettle_split WHERE ( ABS( MOD( id, 3 ) ) = 0 OR id IS NULL )",
+      splits.get( 0 ).getSQL() );
+    assertEquals( "SELECT * FROM ( " + SQL + " ) kettle_split WHERE ABS( MOD( id, 3 ) ) = 2",
+      splits.get( 2 ).getSQL() );
+    assertNull( splits.get( 2 ).getParametersMeta() );
+  }
+}
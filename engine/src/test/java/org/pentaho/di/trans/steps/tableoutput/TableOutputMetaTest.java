@@ -212,6 +212,7 @@ public class TableOutputMetaTest {
 
     verify( rep ).saveStepAttribute( id_transformation, id_step, "return_keys", false );
     verify( rep ).saveStepAttribute( id_transformation, id_step, "return_field", null );
+    verify( rep ).saveStepAttribute( id_transformation, id_step, "writer_connections", null );
 
     verify( rep ).saveStepAttribute( id_transformation, id_step, 0, "column_name", "ORDERNUMBER" );
     verify( rep ).saveStepAttribute( id_transformation, id_step, 0, "stream_name", "ORDERNUMBER" );
@@ -294,6 +295,7 @@ public class TableOutputMetaTest {
         + "    <tablename_in_table>Y</tablename_in_table>\n"
         + "    <return_keys>N</return_keys>\n"
         + "    <return_field/>\n"
+        + "    <writer_connections/>\n"
         + "    <fields>\n"
         + "        <field>\n"
         + "          <column_name>ORDERNUMBER</column_name>\n"
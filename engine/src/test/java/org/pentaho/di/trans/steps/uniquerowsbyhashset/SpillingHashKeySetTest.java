@@ -0,0 +1,124 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpillingHashKeySetTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testHashKeySetAddsEveryKeyOnce() throws Exception {
+    HashKeySet set = new HashKeySet( HashKeySet.MIN_CAPACITY );
+    Random random = new Random( 42 );
+    long[] keys = new long[20000];
+    for ( int i = 0; i < keys.length; i += 2 ) {
+      keys[i] = random.nextLong();
+      keys[i + 1] = random.nextLong();
+      assertTrue( set.add( keys[i], keys[i + 1] ) );
+    }
+    assertTrue( set.add( 0L, 0L ) );
+    assertFalse( set.add( 0L, 0L ) );
+    for ( int i = 0; i < keys.length; i += 2 ) {
+      assertFalse( set.add( keys[i], keys[i + 1] ) );
+    }
+    assertEquals( keys.length / 2 + 1, set.size() );
+
+    long[] sorted = set.toSortedArray();
+    assertEquals( set.size() * 2, sorted.length );
+    for ( int i = 2; i < sorted.length; i += 2 ) {
+      assertTrue( HashKeySet.compare( sorted[i - 2], sorted[i - 1], sorted[i], sorted[i + 1] ) < 0 );
+    }
+  }
+
+  @Test
+  public void testSpilledKeysAreStillSeen() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    // Only just enough memory for the initial tables: every partition spills as soon as it fills up
+    long memoryLimit = SpillingHashKeySet.NR_PARTITIONS * HashKeySet.MIN_CAPACITY * 16L;
+    SpillingHashKeySet set = new SpillingHashKeySet( memoryLimit, directory );
+    try {
+      Random random = new Random( 7 );
+      int nrKeys = 200000;
+      long[] keys = new long[nrKeys * 2];
+      for ( int i = 0; i < keys.length; i += 2 ) {
+        keys[i] = random.nextLong();
+        keys[i + 1] = random.nextLong();
+        assertTrue( set.add( keys[i], keys[i + 1] ) );
+      }
+      assertTrue( set.getNrSpills() > SpillingHashKeySet.NR_PARTITIONS * SpillingHashKeySet.MAX_RUNS );
+      assertTrue( set.getNrSpilledKeys() > 0 );
+      for ( int i = 0; i < keys.length; i += 2 ) {
+        assertFalse( set.add( keys[i], keys[i + 1] ) );
+      }
+    } finally {
+      set.close();
+    }
+    assertEquals( 0, directory.list().length );
+  }
+
+  @Test
+  public void testBloomFilterNeverForgetsKeys() throws Exception {
+    HashBloomFilter filter = HashBloomFilter.create( 10000, 0.01 );
+    Random random = new Random( 3 );
+    long[] keys = new long[20000];
+    int added = 0;
+    for ( int i = 0; i < keys.length; i += 2 ) {
+      keys[i] = random.nextLong();
+      keys[i + 1] = random.nextLong();
+      if ( filter.put( keys[i], keys[i + 1] ) ) {
+        added++;
+      }
+    }
+    // At most a few percent of new keys are reported as seen
+    assertTrue( added > 9500 );
+    for ( int i = 0; i < keys.length; i += 2 ) {
+      assertTrue( filter.mightContain( keys[i], keys[i + 1] ) );
+      assertFalse( filter.put( keys[i], keys[i + 1] ) );
+    }
+  }
+
+  @Test
+  public void testRowKeyHasherNormalizesValues() throws Exception {
+    RowKeyHasher hasher = new RowKeyHasher( new int[] { 0, 2 } );
+    long[] hash1 = new long[2];
+    long[] hash2 = new long[2];
+
+    hasher.hash( new Object[] { "a", 1L, new BigDecimal( "1.10" ) }, hash1 );
+    hasher.hash( new Object[] { "a", 2L, new BigDecimal( "1.10" ) }, hash2 );
+    assertEquals( hash1[0], hash2[0] );
+    assertEquals( hash1[1], hash2[1] );
+
+    // Field boundaries are part of the key
+    hasher.hash( new Object[] { "ab", null, "c" }, hash1 );
+    hasher.hash( new Object[] { "a", null, "bc" }, hash2 );
+    assertNotEquals( hash1[0], hash2[0] );
+
+    // So are the types of the values
+    hasher.hash( new Object[] { 1L, null, null }, hash1 );
+    hasher.hash( new Object[] { 1.0, null, null }, hash2 );
+    assertNotEquals( hash1[0], hash2[0] );
+  }
+}
@@ -48,6 +48,11 @@ public class UpdateMetaInjectionTest extends BaseMetadataInjectionTest<UpdateMet
         return meta.useBatchUpdate();
       }
     } );
+    check( "SET_BASED_MERGE", new BooleanGetter() {
+      public boolean get() {
+        return meta.isSetBasedMerge();
+      }
+    } );
     check( "SKIP_LOOKUP", new BooleanGetter() {
       public boolean get() {
         return meta.isSkipLookup();
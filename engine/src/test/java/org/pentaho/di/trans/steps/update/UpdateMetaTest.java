@@ -107,7 +107,7 @@ public class UpdateMetaTest implements InitializerInterface<StepMetaInterface> {
     List<String> attributes =
         Arrays.asList( "schemaName", "tableName", "commitSize", "errorIgnored", "ignoreFlagField",
             "skipLookup", "useBatchUpdate", "keyStream", "keyLookup", "keyCondition", "keyStream2",
-            "updateLookup", "updateStream", "databaseMeta" );
+            "updateLookup", "updateStream", "databaseMeta", "setBasedMerge" );
 
     Map<String, String> getterMap = new HashMap<>() {
       {
@@ -125,6 +125,7 @@ public class UpdateMetaTest implements InitializerInterface<StepMetaInterface> {
         put( "updateLookup", "getUpdateLookup" );
         put( "updateStream", "getUpdateStream" );
         put( "databaseMeta", "getDatabaseMeta" );
+        put( "setBasedMerge", "isSetBasedMerge" );
       }
     };
     Map<String, String> setterMap = new HashMap<>() {
@@ -143,6 +144,7 @@ public class UpdateMetaTest implements InitializerInterface<StepMetaInterface> {
         put( "updateLookup", "setUpdateLookup" );
         put( "updateStream", "setUpdateStream" );
         put( "databaseMeta", "setDatabaseMeta" );
+        put( "setBasedMerge", "setSetBasedMerge" );
       }
     };
     FieldLoadSaveValidator<String[]> stringArrayLoadSaveValidator =
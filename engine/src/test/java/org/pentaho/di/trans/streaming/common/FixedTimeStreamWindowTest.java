@@ -23,6 +23,7 @@ import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaString;
 import org.pentaho.di.trans.SubtransExecutor;
 
@@ -30,13 +31,16 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.pentaho.di.i18n.BaseMessages.getString;
@@ -197,4 +201,43 @@ public class FixedTimeStreamWindowTest {
       .forEach( result -> assertEquals( mockResult, result ) );
     assertEquals( 0, count.get() );
   }
+
+  @Test
+  public void lanesKeepTheOrderOfTheirRows() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "partition" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "offset" ) );
+    Map<Long, List<Long>> offsets = new ConcurrentHashMap<>();
+    when( subtransExecutor.execute( any() ) ).thenAnswer( invocation -> {
+      List<RowMetaAndData> rows = invocation.getArgument( 0 );
+      for ( RowMetaAndData row : rows ) {
+        offsets.computeIfAbsent( row.getInteger( 0 ), partition -> new ArrayList<>() ).add( row.getInteger( 1 ) );
+      }
+      // Give the other lanes the chance to overtake this one
+      Thread.sleep( rows.get( 0 ).getInteger( 0 ) );
+      return Optional.of( new Result() );
+    } );
+    when( subtransExecutor.getPrefetchCount() ).thenReturn( 1000 );
+
+    List<List<Object>> input = new ArrayList<>();
+    for ( long offset = 0; offset < 200; offset++ ) {
+      for ( long partition = 0; partition < 6; partition++ ) {
+        input.add( asList( partition, offset ) );
+      }
+    }
+    AtomicInteger batches = new AtomicInteger();
+    FixedTimeStreamWindow<List<Object>> window =
+      new FixedTimeStreamWindow<>( subtransExecutor, rowMeta, 0, 7, 3, ( p ) -> batches.incrementAndGet(), ( p ) -> p,
+        row -> ( (Long) row.get( 0 ) ).intValue() );
+    window.buffer( Flowable.fromIterable( input ) ).forEach( result -> { } );
+
+    assertEquals( 6, offsets.size() );
+    for ( List<Long> partitionOffsets : offsets.values() ) {
+      assertEquals( 200, partitionOffsets.size() );
+      for ( int i = 0; i < partitionOffsets.size(); i++ ) {
+        assertEquals( i, partitionOffsets.get( i ).longValue() );
+      }
+    }
+    assertTrue( batches.get() >= input.size() / 7 );
+  }
 }
@@ -56,6 +56,8 @@ import org.pentaho.di.trans.step.errorhandling.CompositeFileErrorHandler;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandler;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandlerContentLineNumber;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandlerMissingFiles;
+import org.pentaho.di.trans.steps.excelinput.staxpoi.StaxPoiSheet;
+import org.pentaho.di.trans.steps.excelinput.staxpoi.StaxPoiWorkbook;
 import org.pentaho.di.trans.steps.utils.CommonExcelUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -77,6 +79,9 @@ public class ExcelInput extends BaseStep implements StepInterface {
   private static final String FIELDS = "fields";
   private static final String SHEETS = "sheets";
 
+  /** The number of parsed rows kept ready per sheet when sheets are parsed ahead */
+  private static final int READ_AHEAD_ROWS = 1000;
+
   public ExcelInput( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
                      Trans trans ) {
     super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
@@ -550,7 +555,7 @@ public class ExcelInput extends BaseStep implements StepInterface {
         }
 
         data.workbook = WorkbookFactory.getWorkbook( getTransMeta().getBowl(), meta.getSpreadSheetType(),
-          data.filename, meta.getEncoding(), meta.getPassword() );
+          data.filename, meta.getEncoding(), meta.getPassword(), meta.isSharedStringsOffHeap() );
 
         data.errorHandler.handleFile( data.file );
         // Start at the first sheet again...
@@ -567,6 +572,12 @@ public class ExcelInput extends BaseStep implements StepInterface {
             data.startRow[i] = data.defaultStartRow;
           }
         }
+
+        // Parse the next sheets while the current one is being read
+        if ( data.workbook instanceof StaxPoiWorkbook && meta.getSheetParsingThreads() > 1 ) {
+          ( (StaxPoiWorkbook) data.workbook ).readAhead( data.sheetNames, meta.getSheetParsingThreads(),
+            READ_AHEAD_ROWS );
+        }
       }
 
       boolean nextsheet = false;
@@ -645,6 +656,11 @@ public class ExcelInput extends BaseStep implements StepInterface {
       }
 
       if ( nextsheet ) {
+        // Stop parsing the rest of the sheet, the thread is needed for the next sheets
+        if ( sheet instanceof StaxPoiSheet ) {
+          ( (StaxPoiSheet) sheet ).stopReadAhead();
+        }
+
         // Go to the next sheet
         data.sheetnr++;
 
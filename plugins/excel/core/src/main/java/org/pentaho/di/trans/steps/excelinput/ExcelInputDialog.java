@@ -203,6 +203,14 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
   private CCombo wEncoding;
   private FormData fdlEncoding, fdEncoding;
 
+  private Label wlSharedStringsOffHeap;
+  private Button wSharedStringsOffHeap;
+  private FormData fdlSharedStringsOffHeap, fdSharedStringsOffHeap;
+
+  private Label wlSheetParsingThreads;
+  private Text wSheetParsingThreads;
+  private FormData fdlSheetParsingThreads, fdSheetParsingThreads;
+
   private Button wbGetFields;
 
   private TableView wFields;
@@ -406,6 +414,12 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     for ( SpreadSheetType type : SpreadSheetType.values() ) {
       wSpreadSheetType.add( type.getDescription() );
     }
+    wSpreadSheetType.addModifyListener( new ModifyListener() {
+      @Override
+      public void modifyText( ModifyEvent e ) {
+        setFlags();
+      }
+    } );
 
     // Filename line
     wlFilename = new Label( wFileComp, SWT.RIGHT );
@@ -884,6 +898,44 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
       }
     } );
 
+    wlSharedStringsOffHeap = new Label( wContentComp, SWT.RIGHT );
+    wlSharedStringsOffHeap.setText( BaseMessages.getString( PKG, "ExcelInputDialog.SharedStringsOffHeap.Label" ) );
+    props.setLook( wlSharedStringsOffHeap );
+    fdlSharedStringsOffHeap = new FormData();
+    fdlSharedStringsOffHeap.left = new FormAttachment( 0, 0 );
+    fdlSharedStringsOffHeap.top = new FormAttachment( wEncoding, margin );
+    fdlSharedStringsOffHeap.right = new FormAttachment( middle, -margin );
+    wlSharedStringsOffHeap.setLayoutData( fdlSharedStringsOffHeap );
+    wSharedStringsOffHeap = new Button( wContentComp, SWT.CHECK );
+    props.setLook( wSharedStringsOffHeap );
+    wSharedStringsOffHeap.setToolTipText(
+      BaseMessages.getString( PKG, "ExcelInputDialog.SharedStringsOffHeap.Tooltip" ) );
+    fdSharedStringsOffHeap = new FormData();
+    fdSharedStringsOffHeap.left = new FormAttachment( middle, 0 );
+    fdSharedStringsOffHeap.top = new FormAttachment( wEncoding, margin );
+    fdSharedStringsOffHeap.right = new FormAttachment( 100, 0 );
+    wSharedStringsOffHeap.setLayoutData( fdSharedStringsOffHeap );
+    wSharedStringsOffHeap.addSelectionListener( new ComponentSelectionListener( input ) );
+
+    wlSheetParsingThreads = new Label( wContentComp, SWT.RIGHT );
+    wlSheetParsingThreads.setText( BaseMessages.getString( PKG, "ExcelInputDialog.SheetParsingThreads.Label" ) );
+    props.setLook( wlSheetParsingThreads );
+    fdlSheetParsingThreads = new FormData();
+    fdlSheetParsingThreads.left = new FormAttachment( 0, 0 );
+    fdlSheetParsingThreads.top = new FormAttachment( wSharedStringsOffHeap, margin );
+    fdlSheetParsingThreads.right = new FormAttachment( middle, -margin );
+    wlSheetParsingThreads.setLayoutData( fdlSheetParsingThreads );
+    wSheetParsingThreads = new Text( wContentComp, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSheetParsingThreads );
+    wSheetParsingThreads.setToolTipText(
+      BaseMessages.getString( PKG, "ExcelInputDialog.SheetParsingThreads.Tooltip" ) );
+    wSheetParsingThreads.addModifyListener( lsMod );
+    fdSheetParsingThreads = new FormData();
+    fdSheetParsingThreads.left = new FormAttachment( middle, 0 );
+    fdSheetParsingThreads.top = new FormAttachment( wSharedStringsOffHeap, margin );
+    fdSheetParsingThreads.right = new FormAttachment( 100, 0 );
+    wSheetParsingThreads.setLayoutData( fdSheetParsingThreads );
+
     //
     // START OF AddFileResult GROUP
     //
@@ -901,7 +953,7 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     props.setLook( wlAddResult );
     fdlAddResult = new FormData();
     fdlAddResult.left = new FormAttachment( 0, 0 );
-    fdlAddResult.top = new FormAttachment( wEncoding, margin );
+    fdlAddResult.top = new FormAttachment( wSheetParsingThreads, margin );
     fdlAddResult.right = new FormAttachment( middle, -margin );
     wlAddResult.setLayoutData( fdlAddResult );
     wAddResult = new Button( wAddFileResult, SWT.CHECK );
@@ -909,13 +961,13 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     wAddResult.setToolTipText( BaseMessages.getString( PKG, "ExcelInputDialog.AddResult.Tooltip" ) );
     fdAddResult = new FormData();
     fdAddResult.left = new FormAttachment( middle, 0 );
-    fdAddResult.top = new FormAttachment( wEncoding, margin );
+    fdAddResult.top = new FormAttachment( wSheetParsingThreads, margin );
     wAddResult.setLayoutData( fdAddResult );
     wAddResult.addSelectionListener( new ComponentSelectionListener( input ) );
 
     fdAddFileResult = new FormData();
     fdAddFileResult.left = new FormAttachment( 0, margin );
-    fdAddFileResult.top = new FormAttachment( wEncoding, margin );
+    fdAddFileResult.top = new FormAttachment( wSheetParsingThreads, margin );
     fdAddFileResult.right = new FormAttachment( 100, -margin );
     wAddFileResult.setLayoutData( fdAddFileResult );
 
@@ -1076,6 +1128,7 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     wStepname.addSelectionListener( lsDef );
     wFilename.addSelectionListener( lsDef );
     wLimit.addSelectionListener( lsDef );
+    wSheetParsingThreads.addSelectionListener( lsDef );
     wInclRownumField.addSelectionListener( lsDef );
     wInclFilenameField.addSelectionListener( lsDef );
     wInclSheetnameField.addSelectionListener( lsDef );
@@ -1241,6 +1294,13 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     wLineNrExt.setEnabled( wErrorIgnored.getSelection() );
     wbbLineNrDestDir.setEnabled( wErrorIgnored.getSelection() );
     wbvLineNrDestDir.setEnabled( wErrorIgnored.getSelection() );
+
+    // Only the streaming engine keeps shared strings off heap and parses sheets ahead
+    boolean streaming = SpreadSheetType.SAX_POI.getDescription().equals( wSpreadSheetType.getText() );
+    wlSharedStringsOffHeap.setEnabled( streaming );
+    wSharedStringsOffHeap.setEnabled( streaming );
+    wlSheetParsingThreads.setEnabled( streaming );
+    wSheetParsingThreads.setEnabled( streaming );
   }
 
   /**
@@ -1290,6 +1350,8 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     wLimit.setText( "" + meta.getRowLimit() );
     wEncoding.setText( Const.NVL( meta.getEncoding(), "" ) );
     wSpreadSheetType.setText( meta.getSpreadSheetType().getDescription() );
+    wSharedStringsOffHeap.setSelection( meta.isSharedStringsOffHeap() );
+    wSheetParsingThreads.setText( "" + meta.getSheetParsingThreads() );
     wAddResult.setSelection( meta.isAddResultFile() );
 
     if ( isDebug() ) {
@@ -1454,6 +1516,8 @@ public class ExcelInputDialog extends BaseStepDialog implements StepDialogInterf
     meta.setRowLimit( Const.toLong( wLimit.getText(), 0 ) );
     meta.setEncoding( wEncoding.getText() );
     meta.setSpreadSheetType( SpreadSheetType.values()[ wSpreadSheetType.getSelectionIndex() ] );
+    meta.setSharedStringsOffHeap( wSharedStringsOffHeap.getSelection() );
+    meta.setSheetParsingThreads( Const.toInt( wSheetParsingThreads.getText(), 1 ) );
     meta.setFileField( wInclFilenameField.getText() );
     meta.setSheetField( wInclSheetnameField.getText() );
     meta.setSheetRowNumberField( wInclSheetRownumField.getText() );
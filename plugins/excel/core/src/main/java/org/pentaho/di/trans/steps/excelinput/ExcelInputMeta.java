@@ -286,6 +286,19 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
 
   private String password;
 
+  /**
+   * Keep the shared strings table of XLSX files in memory mapped temporary files instead of on the heap (streaming
+   * engine only)
+   */
+  @Injection( name = "SHARED_STRINGS_OFF_HEAP" )
+  private boolean sharedStringsOffHeap;
+
+  /**
+   * The number of sheets to parse at the same time (streaming engine only)
+   */
+  @Injection( name = "SHEET_PARSING_THREADS" )
+  private int sheetParsingThreads;
+
   public ExcelInputMeta() {
     super(); // allocate BaseStepMeta
   }
@@ -804,6 +817,9 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
       } catch ( Exception e ) {
         spreadSheetType = SpreadSheetType.JXL;
       }
+
+      sharedStringsOffHeap = YES.equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "shared_strings_off_heap" ) );
+      sheetParsingThreads = Const.toInt( XMLHandler.getTagValue( stepnode, "sheet_parsing_threads" ), 1 );
     } catch ( Exception e ) {
       throw new KettleXMLException( "Unable to read step information from XML", e );
     }
@@ -902,6 +918,9 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
     lineNumberFilesExtension = "line";
 
     spreadSheetType = SpreadSheetType.JXL; // default.
+
+    sharedStringsOffHeap = false;
+    sheetParsingThreads = 1;
   }
 
   @Override
@@ -1117,6 +1136,9 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
     retval.append( "    " )
       .append( XMLHandler.addTagValue( "password", Encr.encryptPasswordIfNotUsingVariables( password ) ) );
 
+    retval.append( "    " ).append( XMLHandler.addTagValue( "shared_strings_off_heap", sharedStringsOffHeap ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( "sheet_parsing_threads", sheetParsingThreads ) );
+
     return retval.toString();
   }
 
@@ -1215,6 +1237,9 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
       } catch ( Exception e ) {
         spreadSheetType = SpreadSheetType.JXL;
       }
+
+      sharedStringsOffHeap = rep.getStepAttributeBoolean( id_step, "shared_strings_off_heap" );
+      sheetParsingThreads = (int) rep.getStepAttributeInteger( id_step, "sheet_parsing_threads" );
     } catch ( Exception e ) {
       throw new KettleException( "Unexpected error reading step information from the repository", e );
     }
@@ -1301,6 +1326,9 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
       rep.saveStepAttribute( id_transformation, id_step, "password", Encr
         .encryptPasswordIfNotUsingVariables( password ) );
 
+      rep.saveStepAttribute( id_transformation, id_step, "shared_strings_off_heap", sharedStringsOffHeap );
+      rep.saveStepAttribute( id_transformation, id_step, "sheet_parsing_threads", sheetParsingThreads );
+
     } catch ( Exception e ) {
       throw new KettleException( "Unable to save step information to the repository for id_step=" + id_step, e );
     }
@@ -1684,6 +1712,36 @@ public class ExcelInputMeta extends BaseStepMeta implements StepMetaInterface {
     this.spreadSheetType = spreadSheetType;
   }
 
+  /**
+   * @return true if the shared strings table of XLSX files is kept in memory mapped temporary files
+   */
+  public boolean isSharedStringsOffHeap() {
+    return sharedStringsOffHeap;
+  }
+
+  /**
+   * @param sharedStringsOffHeap
+   *          true to keep the shared strings table of XLSX files in memory mapped temporary files
+   */
+  public void setSharedStringsOffHeap( boolean sharedStringsOffHeap ) {
+    this.sharedStringsOffHeap = sharedStringsOffHeap;
+  }
+
+  /**
+   * @return the number of sheets to parse at the same time
+   */
+  public int getSheetParsingThreads() {
+    return sheetParsingThreads;
+  }
+
+  /**
+   * @param sheetParsingThreads
+   *          the number of sheets to parse at the same time
+   */
+  public void setSheetParsingThreads( int sheetParsingThreads ) {
+    this.sheetParsingThreads = sheetParsingThreads;
+  }
+
   /**
    * If we use injection we can have different arrays lengths. We need synchronize them for consistency behavior with
    * UI
@@ -32,13 +32,22 @@ public class WorkbookFactory {
 
   public static KWorkbook getWorkbook( Bowl bowl, SpreadSheetType type, String filename, String encoding, String password )
     throws KettleException {
+    return getWorkbook( bowl, type, filename, encoding, password, false );
+  }
+
+  /**
+   * @param sharedStringsOffHeap
+   *          keep the shared strings table out of the heap, only used by {@link SpreadSheetType#SAX_POI}
+   */
+  public static KWorkbook getWorkbook( Bowl bowl, SpreadSheetType type, String filename, String encoding,
+    String password, boolean sharedStringsOffHeap ) throws KettleException {
     switch ( type ) {
       case JXL:
         return new XLSWorkbook( bowl, filename, encoding );
       case POI:
         return new PoiWorkbook( bowl, filename, encoding, password ); // encoding is not used, perhaps detected automatically?
       case SAX_POI:
-        return new StaxPoiWorkbook( filename, encoding );
+        return new StaxPoiWorkbook( filename, encoding, sharedStringsOffHeap );
       case ODS:
         return new OdfWorkbook( bowl, filename, encoding ); // encoding is not used, perhaps detected automatically?
       default:
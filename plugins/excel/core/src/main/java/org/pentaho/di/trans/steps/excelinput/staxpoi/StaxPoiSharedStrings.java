@@ -0,0 +1,235 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+package org.pentaho.di.trans.steps.excelinput.staxpoi;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.pentaho.di.core.xml.XMLParserFactoryProducer;
+
+/**
+ * Shared strings table of an XLSX file that is kept out of the Java heap.<br>
+ * The strings are parsed once with StAX and written as UTF-8 to a temporary file, together with an index of their
+ * offsets. Both files are memory mapped, so the operating system pages them in and out as needed and the heap only
+ * holds the strings of the rows that are being read. The table is read-only and safe to use from several threads.
+ */
+public class StaxPoiSharedStrings implements SharedStrings, Closeable {
+
+  private static final String TAG_SI = "si";
+  private static final String TAG_T = "t";
+  private static final String TAG_RPH = "rPh";
+
+  private final File dataFile;
+  private final File indexFile;
+  private final MappedFile data;
+  private final MappedFile index;
+  private final int uniqueCount;
+  private final int count;
+
+  /**
+   * Parse the shared strings part of a workbook.
+   *
+   * @param sharedStringsData
+   *          the sharedStrings.xml part, it is not closed
+   * @throws IOException
+   *           in case the temporary files can't be written
+   * @throws XMLStreamException
+   *           in case the part can't be parsed
+   */
+  public StaxPoiSharedStrings( InputStream sharedStringsData ) throws IOException, XMLStreamException {
+    dataFile = File.createTempFile( "sst_", ".data" );
+    indexFile = File.createTempFile( "sst_", ".index" );
+    int strings = 0;
+    int references = -1;
+    try {
+      try ( DataOutputStream dataOut = new DataOutputStream( new BufferedOutputStream(
+              new FileOutputStream( dataFile ), 65536 ) );
+            DataOutputStream indexOut = new DataOutputStream( new BufferedOutputStream(
+              new FileOutputStream( indexFile ), 65536 ) ) ) {
+        XMLInputFactory factory = XMLParserFactoryProducer.createSecureXMLInputFactory();
+        XMLStreamReader reader = factory.createXMLStreamReader( sharedStringsData );
+        try {
+          StringBuilder text = new StringBuilder();
+          int phoneticDepth = 0;
+          long offset = 0L;
+          while ( reader.hasNext() ) {
+            int event = reader.next();
+            if ( event == XMLStreamConstants.START_ELEMENT ) {
+              String name = reader.getLocalName();
+              if ( name.equals( "sst" ) ) {
+                String countAttribute = reader.getAttributeValue( null, "count" );
+                if ( countAttribute != null ) {
+                  references = Integer.parseInt( countAttribute );
+                }
+              } else if ( name.equals( TAG_SI ) ) {
+                text.setLength( 0 );
+              } else if ( name.equals( TAG_RPH ) ) {
+                // phonetic runs are not part of the string
+                phoneticDepth++;
+              } else if ( name.equals( TAG_T ) && phoneticDepth == 0 ) {
+                text.append( reader.getElementText() );
+              }
+            } else if ( event == XMLStreamConstants.END_ELEMENT ) {
+              String name = reader.getLocalName();
+              if ( name.equals( TAG_RPH ) ) {
+                phoneticDepth--;
+              } else if ( name.equals( TAG_SI ) ) {
+                byte[] bytes = text.toString().getBytes( StandardCharsets.UTF_8 );
+                indexOut.writeLong( offset );
+                dataOut.write( bytes );
+                offset += bytes.length;
+                strings++;
+              }
+            }
+          }
+          // the end of the last string
+          indexOut.writeLong( offset );
+        } finally {
+          reader.close();
+        }
+      }
+      data = new MappedFile( dataFile );
+      index = new MappedFile( indexFile );
+    } catch ( IOException | XMLStreamException | RuntimeException e ) {
+      dataFile.delete();
+      indexFile.delete();
+      throw e;
+    }
+    uniqueCount = strings;
+    count = references < 0 ? strings : references;
+  }
+
+  /**
+   * @return the string at the given index of the table
+   */
+  public String getString( int idx ) {
+    if ( idx < 0 || idx >= uniqueCount ) {
+      throw new ArrayIndexOutOfBoundsException( idx );
+    }
+    long start = index.getLong( idx * 8L );
+    long end = index.getLong( idx * 8L + 8L );
+    byte[] bytes = new byte[(int) ( end - start )];
+    data.get( start, bytes );
+    return new String( bytes, StandardCharsets.UTF_8 );
+  }
+
+  @Override
+  public RichTextString getItemAt( int idx ) {
+    return new XSSFRichTextString( getString( idx ) );
+  }
+
+  @Override
+  public int getCount() {
+    return count;
+  }
+
+  @Override
+  public int getUniqueCount() {
+    return uniqueCount;
+  }
+
+  /**
+   * Unmap and remove the temporary files.
+   */
+  @Override
+  public void close() {
+    data.close();
+    index.close();
+    // Some platforms don't allow removing a file while it is still mapped
+    if ( !dataFile.delete() ) {
+      dataFile.deleteOnExit();
+    }
+    if ( !indexFile.delete() ) {
+      indexFile.deleteOnExit();
+    }
+  }
+
+  /**
+   * A read-only memory mapped file, mapped in segments so that it can be larger than 2GB.
+   */
+  private static final class MappedFile {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer[] segments;
+
+    MappedFile( File path ) throws IOException {
+      file = new RandomAccessFile( path, "r" );
+      try {
+        FileChannel channel = file.getChannel();
+        long size = channel.size();
+        int nrSegments = (int) ( ( size + SEGMENT_SIZE - 1 ) >>> SEGMENT_SHIFT );
+        segments = new MappedByteBuffer[nrSegments];
+        for ( int i = 0; i < nrSegments; i++ ) {
+          long position = i * SEGMENT_SIZE;
+          segments[i] =
+            channel.map( FileChannel.MapMode.READ_ONLY, position, Math.min( SEGMENT_SIZE, size - position ) );
+        }
+      } catch ( IOException e ) {
+        file.close();
+        throw e;
+      }
+    }
+
+    long getLong( long position ) {
+      ByteBuffer segment = segments[(int) ( position >>> SEGMENT_SHIFT )];
+      int offset = (int) ( position & ( SEGMENT_SIZE - 1 ) );
+      if ( offset <= segment.limit() - 8 ) {
+        return segment.getLong( offset );
+      }
+      byte[] bytes = new byte[8];
+      get( position, bytes );
+      return ByteBuffer.wrap( bytes ).getLong();
+    }
+
+    void get( long position, byte[] bytes ) {
+      int done = 0;
+      while ( done < bytes.length ) {
+        long current = position + done;
+        // duplicate: the position of a shared buffer can't be used from several threads
+        ByteBuffer segment = segments[(int) ( current >>> SEGMENT_SHIFT )].duplicate();
+        segment.position( (int) ( current & ( SEGMENT_SIZE - 1 ) ) );
+        int length = Math.min( bytes.length - done, segment.remaining() );
+        segment.get( bytes, done, length );
+        done += length;
+      }
+    }
+
+    void close() {
+      try {
+        file.close();
+      } catch ( IOException e ) {
+        // Ignore, the mapping is released when the buffers are collected
+      }
+    }
+  }
+}
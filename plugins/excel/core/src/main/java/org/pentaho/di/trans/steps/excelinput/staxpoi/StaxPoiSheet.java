@@ -22,6 +22,10 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -60,6 +64,9 @@ public class StaxPoiSheet implements KSheet {
   private static final String TAG_T = "t";
   private static final String TAG_V = "v";
 
+  // returned by the read ahead when it never got a thread
+  private static final KCell[] NOT_STARTED = new KCell[0];
+
   private final String sheetName;
   private final String sheetId;
 
@@ -82,13 +89,31 @@ public class StaxPoiSheet implements KSheet {
   // custom styles
   private StylesTable styles;
 
+  // parses rows ahead on another thread, null when reading on the calling thread
+  private ReadAhead readAhead;
+  private Executor readAheadExecutor;
+  private int readAheadRows;
+  // the stopped read ahead parsed rows that weren't read, the XML reader starts again to read them
+  private boolean readerMoved;
+
   public StaxPoiSheet( XSSFReader reader, String sheetName, String sheetID )
       throws InvalidFormatException, IOException, XMLStreamException {
+    this( reader, sheetName, sheetID, reader.getSharedStringsTable(), reader.getStylesTable() );
+  }
+
+  /**
+   * @param sst
+   *          the shared strings table of the workbook, shared by its sheets
+   * @param styles
+   *          the styles table of the workbook, shared by its sheets
+   */
+  public StaxPoiSheet( XSSFReader reader, String sheetName, String sheetID, SharedStrings sst, StylesTable styles )
+      throws InvalidFormatException, IOException, XMLStreamException {
     this.sheetName = sheetName;
     xssfReader = reader;
     sheetId = sheetID;
-    sst = reader.getSharedStringsTable();
-    styles = reader.getStylesTable();
+    this.sst = sst;
+    this.styles = styles;
     sheetStream = reader.getSheet( sheetID );
     XMLInputFactory factory = XMLParserFactoryProducer.createSecureXMLInputFactory();
     sheetReader = factory.createXMLStreamReader( sheetStream );
@@ -211,11 +236,26 @@ public class StaxPoiSheet implements KSheet {
       return new KCell[0];
     }
     try {
-      if ( currentRow >= rownr + 1 ) {
+      if ( currentRow >= rownr + 1 || readerMoved ) {
         // allow random access per api despite performance hit
+        cancelReadAhead();
         resetSheetReader();
+        readerMoved = false;
+        if ( readAheadExecutor != null ) {
+          // read ahead again from the start of the sheet
+          startReadAhead( readAheadExecutor, readAheadRows );
+        }
       }
-      while ( sheetReader.hasNext() ) {
+      if ( readAhead != null ) {
+        KCell[] cells = readAhead.next( rownr );
+        if ( cells == NOT_STARTED ) {
+          // all threads are busy, read the sheet on this thread
+          readAhead = null;
+        } else if ( cells != null ) {
+          return cells;
+        }
+      }
+      while ( readAhead == null && sheetReader.hasNext() ) {
         int event = sheetReader.next();
         if ( event == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals( TAG_ROW ) ) {
           String rowIndicator = sheetReader.getAttributeValue( null, "r" );
@@ -223,7 +263,7 @@ public class StaxPoiSheet implements KSheet {
           if ( currentRow < rownr + 1 ) {
             continue;
           }
-          currentRowCells = parseRow();
+          currentRowCells = parseRow( currentRow );
           return currentRowCells;
         }
         if ( event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals( TAG_SHEET_DATA ) ) {
@@ -242,7 +282,7 @@ public class StaxPoiSheet implements KSheet {
     throw new ArrayIndexOutOfBoundsException( rownr );
   }
 
-  private KCell[] parseRow() throws XMLStreamException {
+  private KCell[] parseRow( int rowNumber ) throws XMLStreamException {
     List<StaxPoiCell> cells;
     if ( isMaxColsNumberDefined() ) {
       cells = new ArrayList<>( numCols );
@@ -316,7 +356,8 @@ public class StaxPoiSheet implements KSheet {
       }
       if ( content != null ) {
         KCellType kcType = getCellType( cellType, cellStyle, isFormula );
-        setCells( cells, undefinedColIndex, columnIndex, new StaxPoiCell( parseValue( kcType, content ), kcType, currentRow ) );
+        setCells( cells, undefinedColIndex, columnIndex,
+          new StaxPoiCell( parseValue( kcType, content ), kcType, rowNumber ) );
       } else {
         // else let cell be null
         setCells( cells, undefinedColIndex, columnIndex, null );
@@ -432,8 +473,168 @@ public class StaxPoiSheet implements KSheet {
     sheetReader = factory.createXMLStreamReader( sheetStream );
   }
 
+  /**
+   * Start parsing the rest of the sheet on another thread, keeping up to the given number of rows ready for
+   * {@link #getRow(int)}. Rows are still returned in order; random access stops the read ahead.
+   *
+   * @param executor
+   *          the executor to parse on
+   * @param bufferRows
+   *          the maximum number of parsed rows to keep ready
+   */
+  public void startReadAhead( Executor executor, int bufferRows ) {
+    readAheadExecutor = executor;
+    readAheadRows = bufferRows;
+    if ( readAhead == null ) {
+      readAhead = new ReadAhead( bufferRows );
+      executor.execute( readAhead );
+    }
+  }
+
+  /**
+   * Stop parsing ahead and free the thread, for instance when the rest of the sheet isn't read. The rows that are still
+   * requested are read on the calling thread.
+   */
+  public void stopReadAhead() {
+    readAheadExecutor = null;
+    readerMoved = readAhead != null;
+    cancelReadAhead();
+  }
+
+  private void cancelReadAhead() {
+    if ( readAhead != null ) {
+      readAhead.stop();
+      readAhead = null;
+    }
+  }
+
   public void close() throws IOException, XMLStreamException {
+    stopReadAhead();
     sheetReader.close();
     sheetStream.close();
   }
+
+  /**
+   * Parses the rows of the sheet into a bounded queue. The XML reader belongs to this task until it has finished or
+   * was stopped.
+   */
+  private class ReadAhead implements Runnable {
+    private final BlockingQueue<Object[]> queue;
+    private final Object lock = new Object();
+    private volatile boolean stopped;
+    private boolean started;
+    private boolean finished;
+
+    ReadAhead( int bufferRows ) {
+      queue = new ArrayBlockingQueue<>( Math.max( 1, bufferRows ) );
+    }
+
+    @Override
+    public void run() {
+      synchronized ( lock ) {
+        if ( stopped ) {
+          finished = true;
+          lock.notifyAll();
+          return;
+        }
+        started = true;
+      }
+      try {
+        while ( !stopped && sheetReader.hasNext() ) {
+          int event = sheetReader.next();
+          if ( event == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals( TAG_ROW ) ) {
+            int rowNumber = Integer.parseInt( sheetReader.getAttributeValue( null, "r" ) );
+            put( new Object[] { rowNumber, parseRow( rowNumber ) } );
+          }
+          if ( event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals( TAG_SHEET_DATA ) ) {
+            break;
+          }
+        }
+        put( new Object[] { null, null } );
+      } catch ( Exception e ) {
+        put( new Object[] { null, e } );
+      } finally {
+        synchronized ( lock ) {
+          finished = true;
+          lock.notifyAll();
+        }
+      }
+    }
+
+    private void put( Object[] entry ) {
+      try {
+        while ( !stopped && !queue.offer( entry, 100, TimeUnit.MILLISECONDS ) ) {
+          // wait for the consumer to catch up
+        }
+      } catch ( InterruptedException e ) {
+        stopped = true;
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * Same as reading the rows directly in {@link StaxPoiSheet#getRow(int)}: skip to the requested row.
+     *
+     * @return the cells of the row, null if there are no more rows or {@link #NOT_STARTED} if the task didn't get a
+     *         thread: it won't touch the XML reader anymore
+     */
+    KCell[] next( int rownr ) throws Exception {
+      while ( true ) {
+        Object[] entry = queue.poll( 100, TimeUnit.MILLISECONDS );
+        if ( entry == null ) {
+          if ( takeOver() ) {
+            return NOT_STARTED;
+          }
+          continue;
+        }
+        if ( entry[0] == null ) {
+          // keep returning the end of the sheet
+          queue.offer( entry );
+          if ( entry[1] != null ) {
+            throw (Exception) entry[1];
+          }
+          return null;
+        }
+        currentRow = (Integer) entry[0];
+        if ( currentRow < rownr + 1 ) {
+          continue;
+        }
+        currentRowCells = (KCell[]) entry[1];
+        return currentRowCells;
+      }
+    }
+
+    /**
+     * Cancel the task if it didn't start yet, the caller can use the XML reader then.
+     */
+    private boolean takeOver() {
+      synchronized ( lock ) {
+        if ( started ) {
+          return false;
+        }
+        stopped = true;
+        finished = true;
+        return true;
+      }
+    }
+
+    void stop() {
+      synchronized ( lock ) {
+        stopped = true;
+        while ( !finished ) {
+          if ( !started ) {
+            // never ran, the executor may not even run it anymore
+            return;
+          }
+          queue.clear();
+          try {
+            lock.wait( 100 );
+          } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
 }
@@ -22,6 +22,10 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -31,6 +35,8 @@ import javax.xml.stream.XMLStreamReader;
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.logging.KettleLogStore;
 import org.pentaho.di.core.logging.LogChannelInterface;
@@ -63,13 +69,33 @@ public class StaxPoiWorkbook implements KWorkbook {
 
   private OPCPackage opcpkg;
 
+  // keep the shared strings table in memory mapped temporary files instead of on the heap
+  private boolean sharedStringsOffHeap;
+
+  // loaded once and shared by all sheets
+  private SharedStrings sharedStrings;
+  private StylesTable styles;
+  private boolean tablesLoaded;
+
+  // parses sheets ahead of the sheet being read, null if not reading ahead
+  private ExecutorService readAheadExecutor;
+
   protected StaxPoiWorkbook() {
     openSheetsMap = new HashMap<String, StaxPoiSheet>();
     this.log = KettleLogStore.getLogChannelInterfaceFactory().create( this );
   }
 
   public StaxPoiWorkbook( String filename, String encoding ) throws KettleException {
+    this( filename, encoding, false );
+  }
+
+  /**
+   * @param sharedStringsOffHeap
+   *          keep the shared strings table of the workbook in memory mapped temporary files instead of on the heap
+   */
+  public StaxPoiWorkbook( String filename, String encoding, boolean sharedStringsOffHeap ) throws KettleException {
     this();
+    this.sharedStringsOffHeap = sharedStringsOffHeap;
     try {
       opcpkg = OPCPackage.open( filename );
       openFile( opcpkg, encoding );
@@ -151,7 +177,8 @@ public class StaxPoiWorkbook implements KWorkbook {
     StaxPoiSheet sheet = openSheetsMap.get( sheetID );
     if ( sheet == null ) {
       try {
-        sheet = new StaxPoiSheet( reader, sheetName, sheetID );
+        loadTables();
+        sheet = new StaxPoiSheet( reader, sheetName, sheetID, sharedStrings, styles );
         openSheetsMap.put( sheetID, sheet );
       } catch ( Exception e ) {
         log.logError( sheetName, e );
@@ -160,6 +187,64 @@ public class StaxPoiWorkbook implements KWorkbook {
     return sheet;
   }
 
+  private void loadTables() throws Exception {
+    if ( tablesLoaded ) {
+      return;
+    }
+    styles = reader.getStylesTable();
+    if ( sharedStringsOffHeap ) {
+      InputStream sharedStringsData = null;
+      try {
+        sharedStringsData = reader.getSharedStringsData();
+      } catch ( Exception e ) {
+        // no shared strings in this workbook
+      }
+      if ( sharedStringsData != null ) {
+        try {
+          sharedStrings = new StaxPoiSharedStrings( sharedStringsData );
+        } finally {
+          sharedStringsData.close();
+        }
+      }
+    } else {
+      sharedStrings = reader.getSharedStringsTable();
+    }
+    tablesLoaded = true;
+  }
+
+  /**
+   * Parse the given sheets on background threads while they are read in order. Every sheet keeps up to
+   * {@code bufferRows} parsed rows ready, the sheets after the one being read block when their buffer is full.
+   *
+   * @param sheetNames
+   *          the names of the sheets that will be read, in order
+   * @param threads
+   *          the number of sheets to parse at the same time
+   * @param bufferRows
+   *          the number of parsed rows to keep ready per sheet
+   */
+  public void readAhead( String[] sheetNames, int threads, int bufferRows ) {
+    if ( readAheadExecutor == null ) {
+      readAheadExecutor = Executors.newFixedThreadPool( threads, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread( Runnable runnable ) {
+          Thread thread = new Thread( runnable, "StaxPoiWorkbook read ahead " + count.incrementAndGet() );
+          thread.setDaemon( true );
+          return thread;
+        }
+      } );
+    }
+    // Sheets are submitted in order, so the sheet being read is always being parsed
+    for ( String sheetName : sheetNames ) {
+      KSheet sheet = getSheet( sheetName );
+      if ( sheet instanceof StaxPoiSheet ) {
+        ( (StaxPoiSheet) sheet ).startReadAhead( readAheadExecutor, bufferRows );
+      }
+    }
+  }
+
   @Override
   public String[] getSheetNames() {
     String[] sheets = new String[sheetNameIDMap.size()];
@@ -178,6 +263,13 @@ public class StaxPoiWorkbook implements KWorkbook {
         log.logError( "Could not close xmlstream", e );
       }
     }
+    if ( readAheadExecutor != null ) {
+      readAheadExecutor.shutdownNow();
+      readAheadExecutor = null;
+    }
+    if ( sharedStrings instanceof StaxPoiSharedStrings ) {
+      ( (StaxPoiSharedStrings) sharedStrings ).close();
+    }
     if ( opcpkg != null ) {
       //We should not save change in xlsx because it is input step.
       opcpkg.revert();
@@ -127,5 +127,15 @@ public class ExcelInputMetaInjectionTest extends BaseMetadataInjectionTest<Excel
         return meta.getSpreadSheetType();
       }
     }, SpreadSheetType.class );
+    check( "SHARED_STRINGS_OFF_HEAP", new BooleanGetter() {
+      public boolean get() {
+        return meta.isSharedStringsOffHeap();
+      }
+    } );
+    check( "SHEET_PARSING_THREADS", new IntGetter() {
+      public int get() {
+        return meta.getSheetParsingThreads();
+      }
+    } );
   }
 }
@@ -63,7 +63,8 @@ public class ExcelInputMetaTest {
       Arrays.asList( "fileName", "fileMask", "excludeFileMask", "fileRequired", "includeSubFolders", "field",
         "sheetName", "startRow", "startColumn", "spreadSheetType", "fileField", "sheetField", "sheetRowNumberField",
         "rowNumberField", "shortFileFieldName", "extensionFieldName", "pathFieldName", "sizeFieldName",
-        "hiddenFieldName", "lastModificationTimeFieldName", "uriNameFieldName", "rootUriNameFieldName" );
+        "hiddenFieldName", "lastModificationTimeFieldName", "uriNameFieldName", "rootUriNameFieldName",
+        "sharedStringsOffHeap", "sheetParsingThreads" );
 
     Map<String, String> getterMap = new HashMap<String, String>() {
       {
@@ -168,7 +169,8 @@ public class ExcelInputMetaTest {
       Arrays.asList( "fileName", "fileMask", "excludeFileMask", "fileRequired", "includeSubFolders", "field",
         "sheetName", "startRow", "startColumn", "spreadSheetType", "fileField", "sheetField", "sheetRowNumberField",
         "rowNumberField", "shortFileFieldName", "extensionFieldName", "pathFieldName", "sizeFieldName",
-        "hiddenFieldName", "lastModificationTimeFieldName", "uriNameFieldName", "rootUriNameFieldName" );
+        "hiddenFieldName", "lastModificationTimeFieldName", "uriNameFieldName", "rootUriNameFieldName",
+        "sharedStringsOffHeap", "sheetParsingThreads" );
 
     Map<String, String> getterMap = new HashMap<String, String>() {
       {
@@ -389,7 +391,9 @@ public class ExcelInputMetaTest {
         + "    <extensionFieldName/>" + SystemUtils.LINE_SEPARATOR
         + "    <sizeFieldName/>" + SystemUtils.LINE_SEPARATOR
         + "    <spreadsheet_type/>" + SystemUtils.LINE_SEPARATOR
-        + "    <password>Encrypted </password>" + SystemUtils.LINE_SEPARATOR, meta.getXML() );
+        + "    <password>Encrypted </password>" + SystemUtils.LINE_SEPARATOR
+        + "    <shared_strings_off_heap>N</shared_strings_off_heap>" + SystemUtils.LINE_SEPARATOR
+        + "    <sheet_parsing_threads>0</sheet_parsing_threads>" + SystemUtils.LINE_SEPARATOR, meta.getXML() );
   }
 
   @Test
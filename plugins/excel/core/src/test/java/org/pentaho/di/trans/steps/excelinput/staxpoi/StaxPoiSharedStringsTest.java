@@ -0,0 +1,59 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+package org.pentaho.di.trans.steps.excelinput.staxpoi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class StaxPoiSharedStringsTest {
+
+  private static final String SST = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+    + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"7\" uniqueCount=\"4\">"
+    + "<si><t>One</t></si>"
+    + "<si><r><t>Rich </t></r><r><rPr><b/></rPr><t>text</t></r></si>"
+    + "<si><t>\u6771\u4eac</t><rPh sb=\"0\" eb=\"2\"><t>\u30c8\u30a6\u30ad\u30e7\u30a6</t></rPh></si>"
+    + "<si><t/></si>"
+    + "</sst>";
+
+  @Test
+  public void testReadStrings() throws Exception {
+    InputStream in = IOUtils.toInputStream( SST, "UTF-8" );
+    StaxPoiSharedStrings sst = new StaxPoiSharedStrings( in );
+    try {
+      assertEquals( 4, sst.getUniqueCount() );
+      assertEquals( 7, sst.getCount() );
+      assertEquals( "One", sst.getItemAt( 0 ).getString() );
+      // rich text runs are concatenated
+      assertEquals( "Rich text", sst.getString( 1 ) );
+      // phonetic runs are not part of the string
+      assertEquals( "\u6771\u4eac", sst.getString( 2 ) );
+      assertEquals( "", sst.getString( 3 ) );
+    } finally {
+      sst.close();
+    }
+  }
+
+  @Test( expected = ArrayIndexOutOfBoundsException.class )
+  public void testOutOfRange() throws Exception {
+    StaxPoiSharedStrings sst = new StaxPoiSharedStrings( IOUtils.toInputStream( SST, "UTF-8" ) );
+    try {
+      sst.getString( 4 );
+    } finally {
+      sst.close();
+    }
+  }
+}
@@ -27,6 +27,9 @@ import java.io.InputStream;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
@@ -274,6 +277,60 @@ public class StaxPoiSheetTest {
     }
   }
 
+  @Test
+  public void testReadAhead() throws Exception {
+    StaxPoiSheet sheet = getSampleSheet();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      sheet.startReadAhead( executor, 1 );
+      assertEquals( 0, sheet.getRow( 0 ).length );
+      assertEquals( "One", sheet.getRow( 2 )[ 1 ].getValue() );
+      assertEquals( "Two", sheet.getRow( 3 )[ 1 ].getValue() );
+      assertEquals( "Two", sheet.getRow( 3 )[ 1 ].getValue() );
+      // random access restarts reading ahead from the start of the sheet
+      assertEquals( "One", sheet.getRow( 2 )[ 1 ].getValue() );
+      KCell[] row = sheet.getRow( 4 );
+      assertEquals( "Three", row[ 1 ].getValue() );
+      assertEquals( 210.0, row[ 5 ].getValue() );
+      try {
+        sheet.getRow( 5 );
+        fail( "No out of bounds exception thrown when expected" );
+      } catch ( ArrayIndexOutOfBoundsException e ) {
+        // OK!
+      }
+      sheet.close();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReadAheadWithoutThread() throws Exception {
+    StaxPoiSheet sheet = getSampleSheet();
+    // all threads are busy with other sheets, the task never runs
+    sheet.startReadAhead( runnable -> { }, 1 );
+    assertEquals( "One", sheet.getRow( 2 )[ 1 ].getValue() );
+    assertEquals( "Two", sheet.getRow( 3 )[ 1 ].getValue() );
+    sheet.close();
+  }
+
+  @Test
+  public void testStopReadAhead() throws Exception {
+    StaxPoiSheet sheet = getSampleSheet();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      sheet.startReadAhead( executor, 1 );
+      assertEquals( "One", sheet.getRow( 2 )[ 1 ].getValue() );
+      // the thread is free for the next sheet, the rest of this sheet is read on the calling thread
+      sheet.stopReadAhead();
+      assertEquals( "Three", sheet.getRow( 4 )[ 1 ].getValue() );
+      assertEquals( "Done", executor.submit( () -> "Done" ).get( 10, TimeUnit.SECONDS ) );
+      sheet.close();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private StaxPoiSheet getSampleSheet() throws Exception {
     String sheetId = "sheet1";
     XSSFReader reader = mockXSSFReader( sheetId, SHEET_1,
@@ -96,10 +96,14 @@ public class KafkaConsumerInput extends BaseStreamStep implements StepInterface
             kafkaConsumerInputMeta.getTopics().stream().map( this::environmentSubstitute ).collect( Collectors.toSet() );
     consumer.subscribe( topics );
 
-    source = new KafkaStreamSource( consumer, kafkaConsumerInputMeta, kafkaConsumerInputData, variables, this );
+    KafkaStreamSource kafkaStreamSource =
+            new KafkaStreamSource( consumer, kafkaConsumerInputMeta, kafkaConsumerInputData, variables, this );
+    source = kafkaStreamSource;
+    // In partition lanes every partition is handled by one lane, in the order of its offsets
     window = new FixedTimeStreamWindow<>( getSubtransExecutor(), kafkaConsumerInputData.outputRowMeta, getDuration(),
             getBatchSize(), getParallelism(), kafkaConsumerInputMeta.isAutoCommit() ? p -> {
-    } : this::commitOffsets );
+    } : this::commitOffsets, p -> p,
+            kafkaConsumerInputMeta.isPartitionLanes() ? kafkaStreamSource::getLane : null );
   }
 
 }
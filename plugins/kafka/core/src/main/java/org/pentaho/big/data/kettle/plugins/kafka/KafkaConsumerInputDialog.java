@@ -88,6 +88,7 @@ public class KafkaConsumerInputDialog extends BaseStreamingDialog implements Ste
   protected TextVar wBootstrapServers;
   private Button wbAutoCommit;
   private Button wbManualCommit;
+  private Button wPartitionLanes;
   private static final String REPOS_DELIM = "/";
 
   public KafkaConsumerInputDialog( Shell parent, Object in, TransMeta tr, String sname ) {
@@ -116,7 +117,7 @@ public class KafkaConsumerInputDialog extends BaseStreamingDialog implements Ste
     wOffsetGroup.setLayout( flOffsetGroup );
 
     FormData fdOffsetGroup = new FormData();
-    fdOffsetGroup.top = new FormAttachment( wPrefetchCount, 15 );
+    fdOffsetGroup.top = new FormAttachment( wPersistentSubtrans, 15 );
     fdOffsetGroup.left = new FormAttachment( 0, 0 );
     fdOffsetGroup.right = new FormAttachment( 100, 0 );
     wOffsetGroup.setLayoutData( fdOffsetGroup );
@@ -137,6 +138,15 @@ public class KafkaConsumerInputDialog extends BaseStreamingDialog implements Ste
     fdbManualCommit.top = new FormAttachment( wbAutoCommit, 10, SWT.BOTTOM );
     wbManualCommit.setLayoutData( fdbManualCommit );
     props.setLook( wbManualCommit );
+
+    wPartitionLanes = new Button( wOffsetGroup, SWT.CHECK );
+    wPartitionLanes.setText( BaseMessages.getString( PKG, "KafkaConsumerInputDialog.PartitionLanes" ) );
+    wPartitionLanes.setToolTipText( BaseMessages.getString( PKG, "KafkaConsumerInputDialog.PartitionLanes.Tooltip" ) );
+    FormData fdPartitionLanes = new FormData();
+    fdPartitionLanes.left = new FormAttachment( 0, 0 );
+    fdPartitionLanes.top = new FormAttachment( wbManualCommit, 15, SWT.BOTTOM );
+    wPartitionLanes.setLayoutData( fdPartitionLanes );
+    props.setLook( wPartitionLanes );
   }
 
   @Override protected void buildSetup( Composite wSetupComp ) {
@@ -616,6 +626,7 @@ public class KafkaConsumerInputDialog extends BaseStreamingDialog implements Ste
 
     wbAutoCommit.setSelection( consumerMeta.isAutoCommit() );
     wbManualCommit.setSelection( !consumerMeta.isAutoCommit() );
+    wPartitionLanes.setSelection( consumerMeta.isPartitionLanes() );
 
     specificationMethod = meta.getSpecificationMethod();
     switch ( specificationMethod ) {
@@ -646,6 +657,7 @@ public class KafkaConsumerInputDialog extends BaseStreamingDialog implements Ste
     consumerMeta.setConnectionType( wbDirect.getSelection() ? DIRECT : CLUSTER );
     consumerMeta.setDirectBootstrapServers( wBootstrapServers.getText() );
     consumerMeta.setAutoCommit( wbAutoCommit.getSelection() );
+    consumerMeta.setPartitionLanes( wPartitionLanes.getSelection() );
     setFieldsFromTable();
     setOptionsFromTable();
   }
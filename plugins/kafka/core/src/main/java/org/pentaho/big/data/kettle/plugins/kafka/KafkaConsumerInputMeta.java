@@ -118,6 +118,7 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
   public static final String KAFKA_NAME_ATTRIBUTE = "kafkaName";
   public static final String TYPE_ATTRIBUTE = "type";
   public static final String AUTO_COMMIT = "AUTO_COMMIT";
+  public static final String PARTITION_LANES = "PARTITION_LANES";
 
   private static final Class<?> PKG = KafkaConsumerInput.class; // for i18n purposes, needed by Translator2!!   $NON-NLS-1$
 
@@ -151,6 +152,9 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
   @Injection( name = AUTO_COMMIT )
   private boolean autoCommit = true;
 
+  @Injection( name = PARTITION_LANES )
+  private boolean partitionLanes = false;
+
   private Map<String, String> config = new LinkedHashMap<>();
 
   private KafkaConsumerField topicField;
@@ -253,12 +257,14 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
     setBatchDuration( Optional.ofNullable( XMLHandler.getTagValue( stepnode, BATCH_DURATION ) ).orElse( "" ) );
     String parallelism = XMLHandler.getTagValue( stepnode, PARALLELISM );
     setParallelism( isNullOrEmpty( parallelism ) ? "1" : parallelism );
+    setPersistentSubtrans( "Y".equals( XMLHandler.getTagValue( stepnode, PERSISTENT_SUBTRANS ) ) );
     String prefetchCount = XMLHandler.getTagValue( stepnode, PREFETCH_MESSAGE_COUNT );
     setPrefetchCount( isNullOrEmpty( prefetchCount ) ? PREFETCH_DEFAULT : prefetchCount );
     setConnectionType( ConnectionType.valueOf( XMLHandler.getTagValue( stepnode, CONNECTION_TYPE ) ) );
     setDirectBootstrapServers( XMLHandler.getTagValue( stepnode, DIRECT_BOOTSTRAP_SERVERS ) );
     String autoCommitValue = XMLHandler.getTagValue( stepnode, AUTO_COMMIT );
     setAutoCommit( "Y".equals( autoCommitValue ) || isNullOrEmpty( autoCommitValue ) );
+    setPartitionLanes( "Y".equals( XMLHandler.getTagValue( stepnode, PARTITION_LANES ) ) );
     List<Node> ofNode = XMLHandler.getNodes( stepnode, OUTPUT_FIELD_TAG_NAME );
 
     ofNode.forEach( node -> {
@@ -317,11 +323,13 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
     setBatchDuration( Optional.ofNullable( rep.getStepAttributeString( objectId, BATCH_DURATION ) ).orElse( "" ) );
     String parallelism = rep.getStepAttributeString( objectId, PARALLELISM );
     setParallelism( isNullOrEmpty( parallelism ) ? "1" : parallelism );
+    setPersistentSubtrans( rep.getStepAttributeBoolean( objectId, 0, PERSISTENT_SUBTRANS, false ) );
     String prefetchCount = rep.getStepAttributeString( objectId, PREFETCH_MESSAGE_COUNT );
     setPrefetchCount( isNullOrEmpty( prefetchCount ) ? PREFETCH_DEFAULT : prefetchCount );
     setConnectionType( ConnectionType.valueOf( rep.getStepAttributeString( objectId, CONNECTION_TYPE ) ) );
     setDirectBootstrapServers( rep.getStepAttributeString( objectId, DIRECT_BOOTSTRAP_SERVERS ) );
     setAutoCommit( rep.getStepAttributeBoolean( objectId, 0, AUTO_COMMIT, true ) );
+    setPartitionLanes( rep.getStepAttributeBoolean( objectId, 0, PARTITION_LANES, false ) );
 
     for ( KafkaConsumerField.Name name : KafkaConsumerField.Name.values() ) {
       String prefix = OUTPUT_FIELD_TAG_NAME + "_" + name;
@@ -355,10 +363,12 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
     rep.saveStepAttribute( transId, stepId, BATCH_SIZE, batchSize );
     rep.saveStepAttribute( transId, stepId, BATCH_DURATION, batchDuration );
     rep.saveStepAttribute( transId, stepId, PARALLELISM, parallelism );
+    rep.saveStepAttribute( transId, stepId, PERSISTENT_SUBTRANS, persistentSubtrans );
     rep.saveStepAttribute( transId, stepId, PREFETCH_MESSAGE_COUNT, prefetchCount );
     rep.saveStepAttribute( transId, stepId, CONNECTION_TYPE, connectionType.name() );
     rep.saveStepAttribute( transId, stepId, DIRECT_BOOTSTRAP_SERVERS, directBootstrapServers );
     rep.saveStepAttribute( transId, stepId, AUTO_COMMIT, autoCommit );
+    rep.saveStepAttribute( transId, stepId, PARTITION_LANES, partitionLanes );
 
     List<KafkaConsumerField> fields = getFieldDefinitions();
     for ( KafkaConsumerField field : fields ) {
@@ -532,10 +542,12 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
     retval.append( "    " ).append( XMLHandler.addTagValue( BATCH_SIZE, batchSize ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( BATCH_DURATION, batchDuration ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( PARALLELISM, parallelism ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( PERSISTENT_SUBTRANS, persistentSubtrans ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( PREFETCH_MESSAGE_COUNT, prefetchCount ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( CONNECTION_TYPE, connectionType.name() ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( DIRECT_BOOTSTRAP_SERVERS, directBootstrapServers ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( AUTO_COMMIT, autoCommit ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( PARTITION_LANES, partitionLanes ) );
 
     getFieldDefinitions().forEach( field ->
             retval.append( "    " ).append(
@@ -598,6 +610,18 @@ public class KafkaConsumerInputMeta extends BaseStreamStepMeta implements StepMe
     return autoCommit;
   }
 
+  public void setPartitionLanes( boolean partitionLanes ) {
+    this.partitionLanes = partitionLanes;
+  }
+
+  /**
+   * @return true if the partitions are divided over the concurrent batches, keeping the order within a partition, and
+   *         the offsets are committed asynchronously.
+   */
+  public boolean isPartitionLanes() {
+    return partitionLanes;
+  }
+
   /*
      Per https://jira.pentaho.com/browse/PDI-19585 this capability was never reproduced when the multishim
      capability was added.  It has been missing since Pentaho 9.0.
@@ -93,6 +93,7 @@ public class KafkaFactory {
     kafkaConfig.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, keySerializerType.getKafkaSerializerClass() );
     //meta.getJaasConfigService().ifPresent( jaasConfigService -> putKerberosConfig( kafkaConfig, jaasConfigService ) );
     setProducerConfigValue( meta, variableNonNull, kafkaConfig );
+    setProducerDeliveryConfig( meta, variableNonNull, kafkaConfig );
 
     return producerFunction.apply( kafkaConfig );
   }
@@ -108,6 +109,29 @@ public class KafkaFactory {
          (String) entry.getValue() ) ) ) );
   }
 
+  /**
+   * The batching, compression and idempotence options of the step take precedence over the same options in the
+   * advanced configuration, but only when they are set.
+   */
+  protected void setProducerDeliveryConfig( KafkaProducerOutputMeta meta, Function<String, String> variableNonNull,
+                                            HashMap<String, Object> kafkaConfig ) {
+    putIfNotEmpty( kafkaConfig, ProducerConfig.LINGER_MS_CONFIG, variableNonNull.apply( meta.getLingerMs() ) );
+    putIfNotEmpty( kafkaConfig, ProducerConfig.BATCH_SIZE_CONFIG, variableNonNull.apply( meta.getBatchSize() ) );
+    putIfNotEmpty( kafkaConfig, ProducerConfig.COMPRESSION_TYPE_CONFIG,
+      variableNonNull.apply( meta.getCompressionType() ) );
+    if ( meta.isIdempotence() ) {
+      // Idempotence requires the acknowledgement of all in-sync replicas
+      kafkaConfig.put( ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true" );
+      kafkaConfig.put( ProducerConfig.ACKS_CONFIG, "all" );
+    }
+  }
+
+  private static void putIfNotEmpty( HashMap<String, Object> kafkaConfig, String key, String value ) {
+    if ( !value.trim().isEmpty() ) {
+      kafkaConfig.put( key, value.trim() );
+    }
+  }
+
   protected void setConsumerConfigValue( KafkaConsumerInputMeta meta, Function<String, String> variableNonNull,
                                          HashMap<String, Object> kafkaConfig ) {
     meta.getConfig().entrySet()
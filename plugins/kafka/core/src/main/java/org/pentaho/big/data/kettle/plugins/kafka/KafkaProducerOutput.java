@@ -16,9 +16,11 @@ package org.pentaho.big.data.kettle.plugins.kafka;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.util.StringUtil;
+import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
@@ -28,7 +30,16 @@ import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaInterface;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Produce messages to a Kafka topic.
+ * <p>
+ * By default every row is passed on as soon as it is sent and a failed send stops the transformation. When the step
+ * has an error hop or a maximum of records in flight, every row is passed on once the broker acknowledged it instead,
+ * and failed records go to the error hop. Rows can then be passed on in a different order than they were read.
+ */
 public class KafkaProducerOutput extends BaseStep implements StepInterface, Callback {
 
   private static final Class<?> PKG = KafkaConsumerInputMeta.class;
@@ -66,6 +77,11 @@ public class KafkaProducerOutput extends BaseStep implements StepInterface, Call
     Object[] r = getRow(); // get row, set busy!
     if ( r == null ) {
       // no more input to be expected...
+      if ( data.kafkaProducer != null && data.isOpen && data.trackDelivery ) {
+        // Wait for the acknowledgement of the records in flight
+        data.kafkaProducer.flush();
+        passDeliveredRows();
+      }
       setOutputDone();
       if ( data.kafkaProducer != null ) {
         data.kafkaProducer.close();
@@ -82,6 +98,19 @@ public class KafkaProducerOutput extends BaseStep implements StepInterface, Call
         KafkaConsumerField.Type.fromValueMetaInterface( keyValueMeta ),
         KafkaConsumerField.Type.fromValueMetaInterface( msgValueMeta ) );
 
+      data.topic = environmentSubstitute( meta.getTopic() );
+      String topicField = environmentSubstitute( meta.getTopicField() );
+      if ( !Utils.isEmpty( topicField ) ) {
+        data.topicFieldIndex = getInputRowMeta().indexOfValue( topicField );
+        if ( data.topicFieldIndex < 0 ) {
+          throw new KettleException(
+            BaseMessages.getString( PKG, "KafkaProducer.Error.TopicFieldNotFound", topicField ) );
+        }
+      }
+      int maxInFlight = Const.toInt( environmentSubstitute( meta.getMaxInFlight() ), 0 );
+      data.inFlight = maxInFlight > 0 ? new Semaphore( maxInFlight ) : null;
+      data.trackDelivery = data.inFlight != null || getStepMeta().isDoingErrorHandling();
+
       data.isOpen = true;
 
       first = false;
@@ -90,20 +119,50 @@ public class KafkaProducerOutput extends BaseStep implements StepInterface, Call
     if ( !data.isOpen ) {
       return false;
     }
+    String topic = data.topicFieldIndex < 0 ? data.topic : getInputRowMeta().getString( r, data.topicFieldIndex );
+    if ( Utils.isEmpty( topic ) ) {
+      if ( getStepMeta().isDoingErrorHandling() ) {
+        putError( getInputRowMeta(), r, 1, BaseMessages.getString( PKG, "KafkaProducer.Error.NoTopic" ), null,
+          "KAFKA001" );
+        return true;
+      }
+      throw new KettleException( BaseMessages.getString( PKG, "KafkaProducer.Error.NoTopic" ) );
+    }
+
     ProducerRecord<Object, Object> producerRecord;
     // allow for null keys
     if ( data.keyFieldIndex < 0 || r[ data.keyFieldIndex ] == null || StringUtil
        .isEmpty( r[ data.keyFieldIndex ].toString() ) ) {
-      producerRecord = new ProducerRecord<>( environmentSubstitute( meta.getTopic() ), r[ data.messageFieldIndex ] );
+      producerRecord = new ProducerRecord<>( topic, r[ data.messageFieldIndex ] );
     } else {
-      producerRecord = new ProducerRecord<>( environmentSubstitute( meta.getTopic() ), r[ data.keyFieldIndex ],
-        r[ data.messageFieldIndex ] );
+      producerRecord = new ProducerRecord<>( topic, r[ data.keyFieldIndex ], r[ data.messageFieldIndex ] );
     }
 
-    data.kafkaProducer.send( producerRecord, this );
-    incrementLinesOutput();
+    if ( data.trackDelivery ) {
+      passDeliveredRows();
+      if ( !acquireInFlightPermit() ) {
+        return false;
+      }
+      try {
+        data.kafkaProducer.send( producerRecord, new Delivery( r ) );
+      } catch ( RuntimeException e ) {
+        // The record never got to the producer, so its callback won't hand the permit back
+        if ( data.inFlight != null ) {
+          data.inFlight.release();
+        }
+        if ( getStepMeta().isDoingErrorHandling() ) {
+          putError( getInputRowMeta(), r, 1, e.toString(), null, "KAFKA001" );
+          return true;
+        }
+        throw new KettleException( BaseMessages.getString( PKG, "KafkaProducer.Error.CallbackException" ), e );
+      }
+      incrementLinesOutput();
+    } else {
+      data.kafkaProducer.send( producerRecord, this );
+      incrementLinesOutput();
 
-    putRow( getInputRowMeta(), r ); // copy row to possible alternate rowset(s).
+      putRow( getInputRowMeta(), r ); // copy row to possible alternate rowset(s).
+    }
 
     if ( checkFeedback( getLinesRead() ) && log.isBasic() ) {
       logBasic( BaseMessages.getString( PKG, "KafkaConsumerInput.Log.LineNumber" ) + getLinesRead() );
@@ -112,6 +171,48 @@ public class KafkaProducerOutput extends BaseStep implements StepInterface, Call
     return true;
   }
 
+  /**
+   * Wait until fewer records than the maximum are in flight, passing on the rows that are acknowledged meanwhile.
+   *
+   * @return false if the step was stopped while waiting.
+   */
+  private boolean acquireInFlightPermit() throws KettleException {
+    if ( data.inFlight == null ) {
+      return true;
+    }
+    try {
+      while ( !data.inFlight.tryAcquire( 100, TimeUnit.MILLISECONDS ) ) {
+        passDeliveredRows();
+        if ( isStopped() ) {
+          return false;
+        }
+      }
+      return true;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Pass on the acknowledged rows, or send them to the error hop if they failed.
+   */
+  private void passDeliveredRows() throws KettleException {
+    Delivery delivery;
+    while ( ( delivery = data.deliveries.poll() ) != null ) {
+      if ( delivery.exception == null ) {
+        putRow( getInputRowMeta(), delivery.row );
+      } else if ( getStepMeta().isDoingErrorHandling() ) {
+        putError( getInputRowMeta(), delivery.row, 1, delivery.exception.toString(), null, "KAFKA001" );
+      } else {
+        logError( BaseMessages.getString( PKG, "KafkaProducer.Error.CallbackException" ), delivery.exception );
+        setErrors( 1 );
+        stopAll();
+        return;
+      }
+    }
+  }
+
   @Override
   public void stopRunning( StepMetaInterface stepMetaInterface, StepDataInterface stepDataInterface ) {
     if ( data.kafkaProducer != null && data.isOpen ) {
@@ -137,4 +238,24 @@ public class KafkaProducerOutput extends BaseStep implements StepInterface, Call
     }
   }
 
+  /**
+   * Callback for one record, called by the I/O thread of the producer. The row is passed on by the step thread.
+   */
+  class Delivery implements Callback {
+    private final Object[] row;
+    private Exception exception;
+
+    Delivery( Object[] row ) {
+      this.row = row;
+    }
+
+    @Override
+    public void onCompletion( RecordMetadata metadata, Exception exception ) {
+      this.exception = exception;
+      if ( data.inFlight != null ) {
+        data.inFlight.release();
+      }
+      data.deliveries.add( this );
+    }
+  }
 }
@@ -17,12 +17,28 @@ import org.apache.kafka.clients.producer.Producer;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
 public class KafkaProducerOutputData extends BaseStepData implements StepDataInterface {
   Producer<Object, Object> kafkaProducer;
   int keyFieldIndex;
   int messageFieldIndex;
   boolean isOpen;
 
+  /** The topic of all rows, resolved once */
+  String topic;
+  /** The field with the topic of every row, -1 to use {@link #topic} */
+  int topicFieldIndex = -1;
+
+  /** True if rows are only passed on once the broker acknowledged them */
+  boolean trackDelivery;
+  /** The permits for records in flight, null for no limit */
+  Semaphore inFlight;
+  /** The rows acknowledged by the producer that are not passed on yet */
+  final Queue<KafkaProducerOutput.Delivery> deliveries = new ConcurrentLinkedQueue<>();
+
   public KafkaProducerOutputData() {
     super();
   }
@@ -30,6 +30,7 @@ import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
@@ -88,6 +89,13 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
   protected ComboVar wTopic;
   private ComboVar wKeyField;
   private ComboVar wMessageField;
+  private ComboVar wTopicField;
+  private TextVar wMaxInFlight;
+  private TextVar wLingerMs;
+  private TextVar wBatchSize;
+  private ComboVar wCompressionType;
+  private Button wIdempotence;
+  private Group wDeliveryGroup;
   protected TableView optionsTable;
   private CTabFolder wTabFolder;
 
@@ -420,6 +428,27 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
     Listener lsMessageFocus = e -> KafkaDialogHelper.populateFieldsList( transMeta, wMessageField, stepname );
     wMessageField.getCComboWidget().addListener( SWT.FocusIn, lsMessageFocus );
 
+    Label wlTopicField = new Label( wSetupComp, SWT.LEFT );
+    props.setLook( wlTopicField );
+    wlTopicField.setText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.TopicField" ) );
+    FormData fdlTopicField = new FormData();
+    fdlTopicField.left = new FormAttachment( 0, 0 );
+    fdlTopicField.top = new FormAttachment( wMessageField, 10 );
+    fdlTopicField.right = new FormAttachment( 50, 0 );
+    wlTopicField.setLayoutData( fdlTopicField );
+
+    wTopicField = new ComboVar( transMeta, wSetupComp, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wTopicField );
+    wTopicField.setToolTipText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.TopicField.Tooltip" ) );
+    wTopicField.addModifyListener( lsMod );
+    FormData fdTopicField = new FormData();
+    fdTopicField.left = new FormAttachment( 0, 0 );
+    fdTopicField.top = new FormAttachment( wlTopicField, 5 );
+    fdTopicField.right = new FormAttachment( 0, INPUT_WIDTH );
+    wTopicField.setLayoutData( fdTopicField );
+    Listener lsTopicFieldFocus = e -> KafkaDialogHelper.populateFieldsList( transMeta, wTopicField, stepname );
+    wTopicField.getCComboWidget().addListener( SWT.FocusIn, lsTopicFieldFocus );
+
     FormData fdSetupComp = new FormData();
     fdSetupComp.left = new FormAttachment( 0, 0 );
     fdSetupComp.top = new FormAttachment( 0, 0 );
@@ -456,11 +485,83 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
     optionsFormData.bottom = new FormAttachment( 100, 0 );
     wOptionsComp.setLayoutData( optionsFormData );
 
+    buildDeliveryGroup( wOptionsComp );
     buildOptionsTable( wOptionsComp );
     wOptionsComp.layout();
     wOptionsTab.setControl( wOptionsComp );
   }
 
+  private void buildDeliveryGroup( Composite parentWidget ) {
+    wDeliveryGroup = new Group( parentWidget, SWT.SHADOW_ETCHED_IN );
+    wDeliveryGroup.setText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.Delivery" ) );
+    FormLayout flDeliveryGroup = new FormLayout();
+    flDeliveryGroup.marginHeight = 15;
+    flDeliveryGroup.marginWidth = 15;
+    wDeliveryGroup.setLayout( flDeliveryGroup );
+    FormData fdDeliveryGroup = new FormData();
+    fdDeliveryGroup.left = new FormAttachment( 0, 0 );
+    fdDeliveryGroup.top = new FormAttachment( 0, 0 );
+    fdDeliveryGroup.right = new FormAttachment( 100, 0 );
+    wDeliveryGroup.setLayoutData( fdDeliveryGroup );
+    props.setLook( wDeliveryGroup );
+
+    wMaxInFlight = addDeliveryText( "KafkaProducerOutputDialog.MaxInFlight", null, 0 );
+    wMaxInFlight.setToolTipText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.MaxInFlight.Tooltip" ) );
+    wLingerMs = addDeliveryText( "KafkaProducerOutputDialog.LingerMs", null, 50 );
+    wBatchSize = addDeliveryText( "KafkaProducerOutputDialog.BatchSize", wMaxInFlight, 0 );
+
+    Label wlCompressionType = new Label( wDeliveryGroup, SWT.LEFT );
+    props.setLook( wlCompressionType );
+    wlCompressionType.setText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.CompressionType" ) );
+    FormData fdlCompressionType = new FormData();
+    fdlCompressionType.left = new FormAttachment( 50, 0 );
+    fdlCompressionType.top = new FormAttachment( wMaxInFlight, 10 );
+    wlCompressionType.setLayoutData( fdlCompressionType );
+
+    wCompressionType = new ComboVar( transMeta, wDeliveryGroup, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wCompressionType );
+    wCompressionType.setItems( new String[] { "", "none", "gzip", "snappy", "lz4", "zstd" } );
+    wCompressionType.addModifyListener( lsMod );
+    FormData fdCompressionType = new FormData();
+    fdCompressionType.left = new FormAttachment( 50, 0 );
+    fdCompressionType.top = new FormAttachment( wlCompressionType, 5 );
+    fdCompressionType.right = new FormAttachment( 95, 0 );
+    wCompressionType.setLayoutData( fdCompressionType );
+
+    wIdempotence = new Button( wDeliveryGroup, SWT.CHECK );
+    props.setLook( wIdempotence );
+    wIdempotence.setText( BaseMessages.getString( PKG, "KafkaProducerOutputDialog.Idempotence" ) );
+    FormData fdIdempotence = new FormData();
+    fdIdempotence.left = new FormAttachment( 0, 0 );
+    fdIdempotence.top = new FormAttachment( wBatchSize, 10 );
+    wIdempotence.setLayoutData( fdIdempotence );
+    wIdempotence.addSelectionListener( new SelectionAdapter() {
+      @Override public void widgetSelected( SelectionEvent e ) {
+        meta.setChanged();
+      }
+    } );
+  }
+
+  private TextVar addDeliveryText( String labelKey, Control above, int left ) {
+    Label label = new Label( wDeliveryGroup, SWT.LEFT );
+    props.setLook( label );
+    label.setText( BaseMessages.getString( PKG, labelKey ) );
+    FormData fdLabel = new FormData();
+    fdLabel.left = new FormAttachment( left, 0 );
+    fdLabel.top = above == null ? new FormAttachment( 0, 0 ) : new FormAttachment( above, 10 );
+    label.setLayoutData( fdLabel );
+
+    TextVar text = new TextVar( transMeta, wDeliveryGroup, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( text );
+    text.addModifyListener( lsMod );
+    FormData fdText = new FormData();
+    fdText.left = new FormAttachment( left, 0 );
+    fdText.top = new FormAttachment( label, 5 );
+    fdText.right = new FormAttachment( left + 45, 0 );
+    text.setLayoutData( fdText );
+    return text;
+  }
+
   private void buildOptionsTable( Composite parentWidget ) {
     ColumnInfo[] columns = getOptionsColumns();
 
@@ -498,7 +599,7 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
 
     FormData fdData = new FormData();
     fdData.left = new FormAttachment( 0, 0 );
-    fdData.top = new FormAttachment( 0, 0 );
+    fdData.top = new FormAttachment( wDeliveryGroup, 15 );
     fdData.right = new FormAttachment( 100, 0 );
     fdData.bottom = new FormAttachment( 100, 0 );
 
@@ -568,6 +669,22 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
     if ( meta.getMessageField() != null ) {
       wMessageField.setText( meta.getMessageField() );
     }
+    if ( meta.getTopicField() != null ) {
+      wTopicField.setText( meta.getTopicField() );
+    }
+    if ( meta.getMaxInFlight() != null ) {
+      wMaxInFlight.setText( meta.getMaxInFlight() );
+    }
+    if ( meta.getLingerMs() != null ) {
+      wLingerMs.setText( meta.getLingerMs() );
+    }
+    if ( meta.getBatchSize() != null ) {
+      wBatchSize.setText( meta.getBatchSize() );
+    }
+    if ( meta.getCompressionType() != null ) {
+      wCompressionType.setText( meta.getCompressionType() );
+    }
+    wIdempotence.setSelection( meta.isIdempotence() );
     wbCluster.setSelection( !isDirect() );
     wbDirect.setSelection( isDirect() );
 
@@ -603,6 +720,12 @@ public class KafkaProducerOutputDialog extends BaseStepDialog implements StepDia
     meta.setTopic( wTopic.getText() );
     meta.setKeyField( wKeyField.getText() );
     meta.setMessageField( wMessageField.getText() );
+    meta.setTopicField( wTopicField.getText() );
+    meta.setMaxInFlight( wMaxInFlight.getText() );
+    meta.setLingerMs( wLingerMs.getText() );
+    meta.setBatchSize( wBatchSize.getText() );
+    meta.setCompressionType( wCompressionType.getText() );
+    meta.setIdempotence( wIdempotence.getSelection() );
     setOptionsFromTable();
     dispose();
   }
@@ -94,6 +94,12 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
   public static final String TOPIC = "topic";
   public static final String KEY_FIELD = "keyField";
   public static final String MESSAGE_FIELD = "messageField";
+  public static final String TOPIC_FIELD = "topicField";
+  public static final String MAX_IN_FLIGHT = "maxInFlight";
+  public static final String LINGER_MS = "lingerMs";
+  public static final String BATCH_SIZE = "batchSize";
+  public static final String COMPRESSION_TYPE = "compressionType";
+  public static final String IDEMPOTENCE = "idempotence";
   public static final String ADVANCED_CONFIG = "advancedConfig";
   public static final String CONFIG_OPTION = "option";
   public static final String OPTION_PROPERTY = "property";
@@ -120,6 +126,24 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
   @Injection( name = "MESSAGE_FIELD" )
   private String messageField;
 
+  @Injection( name = "TOPIC_FIELD" )
+  private String topicField;
+
+  @Injection( name = "MAX_IN_FLIGHT" )
+  private String maxInFlight;
+
+  @Injection( name = "LINGER_MS" )
+  private String lingerMs;
+
+  @Injection( name = "BATCH_SIZE" )
+  private String batchSize;
+
+  @Injection( name = "COMPRESSION_TYPE" )
+  private String compressionType;
+
+  @Injection( name = "IDEMPOTENCE" )
+  private boolean idempotence;
+
   @Injection( name = "NAMES", group = "CONFIGURATION_PROPERTIES" )
   protected List<String> injectedConfigNames;
 
@@ -167,6 +191,12 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     setTopic( XMLHandler.getTagValue( stepnode, TOPIC ) );
     setKeyField( XMLHandler.getTagValue( stepnode, KEY_FIELD ) );
     setMessageField( XMLHandler.getTagValue( stepnode, MESSAGE_FIELD ) );
+    setTopicField( XMLHandler.getTagValue( stepnode, TOPIC_FIELD ) );
+    setMaxInFlight( XMLHandler.getTagValue( stepnode, MAX_IN_FLIGHT ) );
+    setLingerMs( XMLHandler.getTagValue( stepnode, LINGER_MS ) );
+    setBatchSize( XMLHandler.getTagValue( stepnode, BATCH_SIZE ) );
+    setCompressionType( XMLHandler.getTagValue( stepnode, COMPRESSION_TYPE ) );
+    setIdempotence( "Y".equals( XMLHandler.getTagValue( stepnode, IDEMPOTENCE ) ) );
 
     config = new LinkedHashMap<>();
 
@@ -197,6 +227,12 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     setTopic( rep.getStepAttributeString( stepId, TOPIC ) );
     setKeyField( rep.getStepAttributeString( stepId, KEY_FIELD ) );
     setMessageField( rep.getStepAttributeString( stepId, MESSAGE_FIELD ) );
+    setTopicField( rep.getStepAttributeString( stepId, TOPIC_FIELD ) );
+    setMaxInFlight( rep.getStepAttributeString( stepId, MAX_IN_FLIGHT ) );
+    setLingerMs( rep.getStepAttributeString( stepId, LINGER_MS ) );
+    setBatchSize( rep.getStepAttributeString( stepId, BATCH_SIZE ) );
+    setCompressionType( rep.getStepAttributeString( stepId, COMPRESSION_TYPE ) );
+    setIdempotence( rep.getStepAttributeBoolean( stepId, IDEMPOTENCE ) );
 
     config = new LinkedHashMap<>();
 
@@ -215,6 +251,12 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     rep.saveStepAttribute( transformationId, stepId, TOPIC, topicVal );
     rep.saveStepAttribute( transformationId, stepId, KEY_FIELD, keyField );
     rep.saveStepAttribute( transformationId, stepId, MESSAGE_FIELD, messageField );
+    rep.saveStepAttribute( transformationId, stepId, TOPIC_FIELD, topicField );
+    rep.saveStepAttribute( transformationId, stepId, MAX_IN_FLIGHT, maxInFlight );
+    rep.saveStepAttribute( transformationId, stepId, LINGER_MS, lingerMs );
+    rep.saveStepAttribute( transformationId, stepId, BATCH_SIZE, batchSize );
+    rep.saveStepAttribute( transformationId, stepId, COMPRESSION_TYPE, compressionType );
+    rep.saveStepAttribute( transformationId, stepId, IDEMPOTENCE, idempotence );
 
     rep.saveStepAttribute( transformationId, stepId, ADVANCED_CONFIG + "_COUNT", getConfig().size() );
 
@@ -240,6 +282,10 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     return new KafkaProducerOutputData();
   }
 
+  @Override public boolean supportsErrorHandling() {
+    return true;
+  }
+
   @SuppressWarnings( "deprecation" )
   public String getDialogClassName() {
     return "org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputDialog";
@@ -314,6 +360,61 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     this.messageField = messageField;
   }
 
+  /**
+   * @return the field with the topic of every row, empty to send all rows to {@link #getTopic()}.
+   */
+  public String getTopicField() {
+    return topicField;
+  }
+
+  public void setTopicField( String topicField ) {
+    this.topicField = topicField;
+  }
+
+  /**
+   * @return the maximum number of records that are sent but not acknowledged yet, empty or 0 for no limit other than
+   *         the buffer of the producer.
+   */
+  public String getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setMaxInFlight( String maxInFlight ) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  public String getLingerMs() {
+    return lingerMs;
+  }
+
+  public void setLingerMs( String lingerMs ) {
+    this.lingerMs = lingerMs;
+  }
+
+  public String getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize( String batchSize ) {
+    this.batchSize = batchSize;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public void setCompressionType( String compressionType ) {
+    this.compressionType = compressionType;
+  }
+
+  public boolean isIdempotence() {
+    return idempotence;
+  }
+
+  public void setIdempotence( boolean idempotence ) {
+    this.idempotence = idempotence;
+  }
+
   public ConnectionType getConnectionType() {
     return connectionType;
   }
@@ -331,6 +432,12 @@ public class KafkaProducerOutputMeta extends BaseStepMeta implements StepMetaInt
     retval.append( "    " ).append( XMLHandler.addTagValue( CLIENT_ID, clientId ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( KEY_FIELD, keyField ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( MESSAGE_FIELD, messageField ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( TOPIC_FIELD, topicField ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( MAX_IN_FLIGHT, maxInFlight ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( LINGER_MS, lingerMs ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( BATCH_SIZE, batchSize ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( COMPRESSION_TYPE, compressionType ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( IDEMPOTENCE, idempotence ) );
     retval.append( "    " ).append( XMLHandler.openTag( ADVANCED_CONFIG ) ).append( Const.CR );
     getConfig().forEach( ( key, value ) -> retval.append( "        " )
        .append( XMLHandler.addTagValue( CONFIG_OPTION, "", true,
@@ -26,12 +26,16 @@ import org.pentaho.di.trans.streaming.common.BlockingQueueStreamSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
@@ -108,6 +112,7 @@ public class KafkaStreamSource extends BlockingQueueStreamSource<List<Object>> {
     private final Consumer consumer;
     private Runnable onClose;
     private ConcurrentLinkedQueue<Map<TopicPartition, OffsetAndMetadata>> toCommit = new ConcurrentLinkedQueue<>();
+    private final boolean commitAsync = kafkaConsumerInputMeta.isPartitionLanes();
 
     public KafkaConsumerCallable( Consumer consumer, Runnable onClose ) {
       this.consumer = consumer;
@@ -150,11 +155,43 @@ public class KafkaStreamSource extends BlockingQueueStreamSource<List<Object>> {
     }
 
     private void commitOffsets() {
+      if ( commitAsync ) {
+        commitOffsetsAsync();
+        return;
+      }
       while ( !toCommit.isEmpty() ) {
         consumer.commitSync( toCommit.poll() );
       }
     }
 
+    /**
+     * Commit the offsets of all finished batches at once without waiting for the broker, so polling carries on.
+     * The lanes finish their batches in any order, but every partition is handled by one lane, so the last offset of a
+     * partition is always the highest.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void commitOffsetsAsync() {
+      Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+      Map<TopicPartition, OffsetAndMetadata> batchOffsets;
+      while ( ( batchOffsets = toCommit.poll() ) != null ) {
+        offsets.putAll( batchOffsets );
+      }
+      if ( offsets.isEmpty() ) {
+        return;
+      }
+      if ( closed.get() ) {
+        // The last commit, make sure it's done before the consumer is closed
+        consumer.commitSync( offsets );
+        return;
+      }
+      consumer.commitAsync( offsets, ( committed, e ) -> {
+        if ( e != null ) {
+          // A later commit of the same partitions will cover these offsets
+          KafkaStreamSource.this.streamStep.logError( "Unable to commit offsets " + committed, e );
+        }
+      } );
+    }
+
     // Shutdown hook which can be called from a separate thread
     public void shutdown() {
       closed.set( true );
@@ -180,6 +217,14 @@ public class KafkaStreamSource extends BlockingQueueStreamSource<List<Object>> {
     callable.queueCommit( offsets );
   }
 
+  /**
+   * @return the lane of a row, rows of the same topic partition always get the same lane. The topic and partition are
+   *         taken from the record, the row doesn't need to have fields for them.
+   */
+  int getLane( List<Object> row ) {
+    return row instanceof RecordRow ? ( (RecordRow) row ).lane : 0;
+  }
+
   List<Object> processMessageAsRow( ConsumerRecord<String, String> record ) {
     Object[] rowData = RowDataUtil.allocateRowData( kafkaConsumerInputData.outputRowMeta.size() );
 
@@ -207,6 +252,41 @@ public class KafkaStreamSource extends BlockingQueueStreamSource<List<Object>> {
       rowData[ positions.get( KafkaConsumerField.Name.TIMESTAMP ) ] = record.timestamp();
     }
 
-    return Arrays.asList( rowData );
+    return new RecordRow( rowData, Objects.hash( record.topic(), record.partition() ) );
+  }
+
+  /**
+   * The values of the row made from a record, and the lane of the record's topic partition.
+   */
+  private static final class RecordRow extends AbstractList<Object> implements RandomAccess {
+    private final Object[] values;
+    private final int lane;
+
+    RecordRow( Object[] values, int lane ) {
+      this.values = values;
+      this.lane = lane;
+    }
+
+    @Override
+    public Object get( int index ) {
+      return values[ index ];
+    }
+
+    @Override
+    public Object set( int index, Object value ) {
+      Object previous = values[ index ];
+      values[ index ] = value;
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+      return values.clone();
+    }
   }
 }
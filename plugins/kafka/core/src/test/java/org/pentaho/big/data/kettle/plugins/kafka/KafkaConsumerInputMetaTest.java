@@ -63,6 +63,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.ADVANCED_CONFIG;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.AUTO_COMMIT;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.PARTITION_LANES;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.BATCH_DURATION;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.BATCH_SIZE;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.CLUSTER_NAME;
@@ -75,6 +76,7 @@ import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.T
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaConsumerInputMeta.TRANSFORMATION_PATH;
 import org.pentaho.di.core.bowl.DefaultBowl;
 import static org.pentaho.di.trans.streaming.common.BaseStreamStepMeta.PARALLELISM;
+import static org.pentaho.di.trans.streaming.common.BaseStreamStepMeta.PERSISTENT_SUBTRANS;
 import static org.pentaho.di.trans.streaming.common.BaseStreamStepMeta.SUB_STEP;
 
 @RunWith ( MockitoJUnitRunner.class )
@@ -211,6 +213,7 @@ public class KafkaConsumerInputMetaTest {
     assertEquals( CLUSTER, meta.getConnectionType() );
     assertEquals( "some_host:123,some_other_host:456", meta.getDirectBootstrapServers() );
     assertTrue( meta.isAutoCommit() );
+    assertFalse( meta.isPartitionLanes() );
 
     assertEquals( "three", meta.getKeyField().getOutputName() );
     assertEquals( KafkaConsumerField.Type.String, meta.getKeyField().getOutputType() );
@@ -292,10 +295,12 @@ public class KafkaConsumerInputMetaTest {
         + "    <batchSize>54321</batchSize>" + Const.CR
         + "    <batchDuration>987</batchDuration>" + Const.CR
         + "    <PARALLELISM>1</PARALLELISM>" + Const.CR
+        + "    <PERSISTENT_SUBTRANS>N</PERSISTENT_SUBTRANS>" + Const.CR
         + "    <prefetchMessageCount>12345</prefetchMessageCount>" + Const.CR
         + "    <connectionType>DIRECT</connectionType>" + Const.CR
         + "    <directBootstrapServers>localhost:888</directBootstrapServers>" + Const.CR
         + "    <AUTO_COMMIT>Y</AUTO_COMMIT>" + Const.CR
+        + "    <PARTITION_LANES>N</PARTITION_LANES>" + Const.CR
         + "    <OutputField kafkaName=\"key\"  type=\"String\" >kafkaKey</OutputField>" + Const.CR
         + "    <OutputField kafkaName=\"message\"  type=\"String\" >kafkaMessage</OutputField>" + Const.CR
         + "    <OutputField kafkaName=\"topic\"  type=\"String\" >topic</OutputField>" + Const.CR
@@ -327,6 +332,7 @@ public class KafkaConsumerInputMetaTest {
     when( rep.getStepAttributeString( stepId, CONNECTION_TYPE ) ).thenReturn( "CLUSTER" );
     when( rep.getStepAttributeString( stepId, DIRECT_BOOTSTRAP_SERVERS ) ).thenReturn( "unused" );
     when( rep.getStepAttributeBoolean( stepId, 0, AUTO_COMMIT, true ) ).thenReturn( false );
+    when( rep.getStepAttributeBoolean( stepId, 0, PARTITION_LANES, false ) ).thenReturn( true );
 
     when( rep.getStepAttributeString( stepId, "OutputField_key" ) ).thenReturn( "machineId" );
     when( rep.getStepAttributeString( stepId, "OutputField_key_type" ) ).thenReturn( "String" );
@@ -368,6 +374,7 @@ public class KafkaConsumerInputMetaTest {
     assertEquals( CLUSTER, meta.getConnectionType() );
     assertEquals( "unused", meta.getDirectBootstrapServers() );
     assertFalse( meta.isAutoCommit() );
+    assertTrue( meta.isPartitionLanes() );
 
     assertEquals( KafkaConsumerField.Name.KEY, meta.getKeyField().getKafkaName() );
     assertEquals( "machineId", meta.getKeyField().getOutputName() );
@@ -413,6 +420,7 @@ public class KafkaConsumerInputMetaTest {
     meta.setBatchSize( "33" );
     meta.setBatchDuration( "10000" );
     meta.setParallelism( "4" );
+    meta.setPersistentSubtrans( true );
     meta.setConnectionType( DIRECT );
     meta.setDirectBootstrapServers( "kafkaServer:9092" );
 
@@ -433,9 +441,11 @@ public class KafkaConsumerInputMetaTest {
     verify( rep ).saveStepAttribute( transId, stepId, BATCH_SIZE, "33" );
     verify( rep ).saveStepAttribute( transId, stepId, BATCH_DURATION, "10000" );
     verify( rep ).saveStepAttribute( transId, stepId, PARALLELISM, "4" );
+    verify( rep ).saveStepAttribute( transId, stepId, PERSISTENT_SUBTRANS, true );
     verify( rep ).saveStepAttribute( transId, stepId, CONNECTION_TYPE, "DIRECT" );
     verify( rep ).saveStepAttribute( transId, stepId, DIRECT_BOOTSTRAP_SERVERS, "kafkaServer:9092" );
     verify( rep ).saveStepAttribute( transId, stepId, AUTO_COMMIT, true );
+    verify( rep ).saveStepAttribute( transId, stepId, PARTITION_LANES, false );
 
     verify( rep ).saveStepAttribute( transId, stepId, "OutputField_key", meta.getKeyField().getOutputName() );
     verify( rep )
@@ -39,6 +39,7 @@ import org.pentaho.di.core.logging.LogChannelInterfaceFactory;
 import org.pentaho.di.core.logging.LogLevel;
 import org.pentaho.di.core.plugins.PluginRegistry;
 import org.pentaho.di.core.plugins.StepPluginType;
+import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.repository.Repository;
 import org.pentaho.di.repository.RepositoryBowl;
@@ -65,6 +66,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -551,6 +553,20 @@ public class KafkaConsumerInputTest {
         }
     }
 
+    @Test
+    public void testLaneWithoutTopicAndPartitionFields() {
+        step = new KafkaConsumerInput(stepMeta, data, 1, transMeta, trans);
+        data.outputRowMeta = new RowMeta();
+        KafkaStreamSource source = new KafkaStreamSource(consumer, meta, data, new Variables(), step);
+
+        List<Object> first = source.processMessageAsRow(new ConsumerRecord<>("pentaho", 1, 0L, "key", "one"));
+        List<Object> second = source.processMessageAsRow(new ConsumerRecord<>("pentaho", 1, 1L, "key", "two"));
+        List<Object> other = source.processMessageAsRow(new ConsumerRecord<>("other", 1, 0L, "key", "three"));
+
+        assertEquals(source.getLane(first), source.getLane(second));
+        assertNotEquals(source.getLane(first), source.getLane(other));
+    }
+
     public void verifyRow(String key, String message, String offset, String lineNr, final VerificationMode mode) {
         verify(logChannel, mode).logBasic(
                 Const.CR
@@ -222,6 +222,38 @@ public class KafkaFactoryTest {
     Mockito.verify( producerFun ).apply( expectedMap  );
   }
 
+  @Test
+  public void testMapsProducersWithDeliveryOptions() {
+    outputMeta.setClientId( "client" );
+    outputMeta.setLingerMs( "${linger}" );
+    outputMeta.setBatchSize( "65536" );
+    outputMeta.setCompressionType( "lz4" );
+    outputMeta.setIdempotence( true );
+
+    // The options of the step win over the advanced configuration
+    Map<String, String> advancedConfig = new LinkedHashMap<>();
+    advancedConfig.put( ProducerConfig.COMPRESSION_TYPE_CONFIG, "none" );
+    advancedConfig.put( ProducerConfig.ACKS_CONFIG, "1" );
+    outputMeta.setConfig( advancedConfig );
+
+    Variables variables = new Variables();
+    variables.setVariable( "linger", "20" );
+
+    new KafkaFactory( consumerFun, producerFun ).producer( outputMeta, variables::environmentSubstitute );
+    Map<String, Object> expectedMap = new HashMap<>();
+    expectedMap.put( ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "server:1234" );
+    expectedMap.put( ProducerConfig.CLIENT_ID_CONFIG, "client" );
+    expectedMap.put( ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class );
+    expectedMap.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class );
+    expectedMap.put( ProducerConfig.LINGER_MS_CONFIG, "20" );
+    expectedMap.put( ProducerConfig.BATCH_SIZE_CONFIG, "65536" );
+    expectedMap.put( ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4" );
+    expectedMap.put( ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true" );
+    expectedMap.put( ProducerConfig.ACKS_CONFIG, "all" );
+
+    Mockito.verify( producerFun ).apply( expectedMap  );
+  }
+
   @Test
   public void testMapsProducersWithVariables() {
     outputMeta.setClientId( "${client}" );
@@ -51,15 +51,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.ADVANCED_CONFIG;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.BATCH_SIZE;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.CLIENT_ID;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.CLUSTER_NAME;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.COMPRESSION_TYPE;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.CONNECTION_TYPE;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.ConnectionType.CLUSTER;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.ConnectionType.DIRECT;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.DIRECT_BOOTSTRAP_SERVERS;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.IDEMPOTENCE;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.KEY_FIELD;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.LINGER_MS;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.MAX_IN_FLIGHT;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.MESSAGE_FIELD;
 import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.TOPIC;
+import static org.pentaho.big.data.kettle.plugins.kafka.KafkaProducerOutputMeta.TOPIC_FIELD;
 
 @RunWith( MockitoJUnitRunner.class )
 public class KafkaProducerOutputMetaTest {
@@ -137,6 +143,10 @@ public class KafkaProducerOutputMetaTest {
     meta.setTopic( "myTopic" );
     meta.setKeyField( "fieldOne" );
     meta.setMessageField( "message" );
+    meta.setTopicField( "topicName" );
+    meta.setMaxInFlight( "500" );
+    meta.setCompressionType( "lz4" );
+    meta.setIdempotence( true );
 
     Map<String, String> advancedConfig = new LinkedHashMap<>();
     advancedConfig.put( "advanced.property1", "advancedPropertyValue1" );
@@ -158,6 +168,12 @@ public class KafkaProducerOutputMetaTest {
         + "    <clientId>id1</clientId>" + Const.CR
         + "    <keyField>fieldOne</keyField>" + Const.CR
         + "    <messageField>message</messageField>" + Const.CR
+        + "    <topicField>topicName</topicField>" + Const.CR
+        + "    <maxInFlight>500</maxInFlight>" + Const.CR
+        + "    <lingerMs/>" + Const.CR
+        + "    <batchSize/>" + Const.CR
+        + "    <compressionType>lz4</compressionType>" + Const.CR
+        + "    <idempotence>Y</idempotence>" + Const.CR
         + "    <advancedConfig>" + Const.CR
         + "        <option property=\"advanced.property1\"  value=\"advancedPropertyValue1\" />" + Const.CR
         + "        <option property=\"advanced.property2\"  value=\"advancedPropertyValue2\" />" + Const.CR
@@ -177,6 +193,12 @@ public class KafkaProducerOutputMetaTest {
     when( rep.getStepAttributeString( stepId, TOPIC ) ).thenReturn( "readings" );
     when( rep.getStepAttributeString( stepId, KEY_FIELD ) ).thenReturn( "machineId" );
     when( rep.getStepAttributeString( stepId, MESSAGE_FIELD ) ).thenReturn( "reading" );
+    when( rep.getStepAttributeString( stepId, TOPIC_FIELD ) ).thenReturn( "destination" );
+    when( rep.getStepAttributeString( stepId, MAX_IN_FLIGHT ) ).thenReturn( "1000" );
+    when( rep.getStepAttributeString( stepId, LINGER_MS ) ).thenReturn( "20" );
+    when( rep.getStepAttributeString( stepId, BATCH_SIZE ) ).thenReturn( "65536" );
+    when( rep.getStepAttributeString( stepId, COMPRESSION_TYPE ) ).thenReturn( "snappy" );
+    when( rep.getStepAttributeBoolean( stepId, IDEMPOTENCE ) ).thenReturn( true );
 
     when( rep.getStepAttributeInteger( stepId, ADVANCED_CONFIG + "_COUNT" ) ).thenReturn( 2L );
     when( rep.getStepAttributeString( stepId, 0, ADVANCED_CONFIG + "_NAME" ) ).thenReturn( "advanced.config1" );
@@ -193,6 +215,12 @@ public class KafkaProducerOutputMetaTest {
     assertEquals( "readings", meta.getTopic() );
     assertEquals( "machineId", meta.getKeyField() );
     assertEquals( "reading", meta.getMessageField() );
+    assertEquals( "destination", meta.getTopicField() );
+    assertEquals( "1000", meta.getMaxInFlight() );
+    assertEquals( "20", meta.getLingerMs() );
+    assertEquals( "65536", meta.getBatchSize() );
+    assertEquals( "snappy", meta.getCompressionType() );
+    assertTrue( meta.isIdempotence() );
 
     assertThat( meta.getConfig().size(), is( 2 ) );
     assertThat( meta.getConfig(), Matchers.hasEntry( "advanced.config1", "advancedPropertyValue1" ) );
@@ -211,6 +239,12 @@ public class KafkaProducerOutputMetaTest {
     meta.setTopic( "temperature" );
     meta.setKeyField( "kafkaKey" );
     meta.setMessageField( "kafkaMessage" );
+    meta.setTopicField( "kafkaTopic" );
+    meta.setMaxInFlight( "1000" );
+    meta.setLingerMs( "20" );
+    meta.setBatchSize( "65536" );
+    meta.setCompressionType( "snappy" );
+    meta.setIdempotence( true );
 
     Map<String, String> advancedConfig = new LinkedHashMap<>();
     advancedConfig.put( "advanced.property1", "advancedPropertyValue1" );
@@ -225,6 +259,12 @@ public class KafkaProducerOutputMetaTest {
     verify( rep ).saveStepAttribute( transId, stepId, TOPIC, "temperature" );
     verify( rep ).saveStepAttribute( transId, stepId, KEY_FIELD, "kafkaKey" );
     verify( rep ).saveStepAttribute( transId, stepId, MESSAGE_FIELD, "kafkaMessage" );
+    verify( rep ).saveStepAttribute( transId, stepId, TOPIC_FIELD, "kafkaTopic" );
+    verify( rep ).saveStepAttribute( transId, stepId, MAX_IN_FLIGHT, "1000" );
+    verify( rep ).saveStepAttribute( transId, stepId, LINGER_MS, "20" );
+    verify( rep ).saveStepAttribute( transId, stepId, BATCH_SIZE, "65536" );
+    verify( rep ).saveStepAttribute( transId, stepId, COMPRESSION_TYPE, "snappy" );
+    verify( rep ).saveStepAttribute( transId, stepId, IDEMPOTENCE, true );
 
     verify( rep, times( 1 ) ).saveStepAttribute( transId, stepId, ADVANCED_CONFIG + "_COUNT", 2 );
     verify( rep ).saveStepAttribute( transId, stepId, 0, ADVANCED_CONFIG + "_NAME", "advanced.property1" );
@@ -13,8 +13,10 @@
 
 package org.pentaho.big.data.kettle.plugins.kafka;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,13 +29,18 @@ import org.pentaho.di.core.Props;
 import org.pentaho.di.core.plugins.PluginRegistry;
 import org.pentaho.di.core.plugins.StepPluginType;
 import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransHopMeta;
 import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.StepErrorMeta;
+import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaDataCombi;
+import org.pentaho.di.trans.steps.dummytrans.DummyTransMeta;
 
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -125,6 +132,72 @@ public class KafkaProducerOutputTest {
     assertEquals( 4, trans.getSteps().get( 1 ).step.getLinesOutput() );
   }
 
+  @Test
+  public void testTracksDeliveryWithTopicFromField() throws Exception {
+    TransMeta transMeta = new TransMeta( DefaultBowl.getInstance(),
+      getClass().getResource( "/produceFourRows.ktr" ).getPath() );
+    Trans trans = new Trans( transMeta );
+    trans.setVariable( "keyField", "key" );
+    trans.setVariable( "messageField", "message" );
+    trans.setVariable( "topic", "kurt" );
+    trans.prepareExecution( new String[]{} );
+
+    StepMetaDataCombi combi = trans.getSteps().get( 1 );
+    KafkaProducerOutput step = (KafkaProducerOutput) combi.step;
+    KafkaProducerOutputMeta meta = (KafkaProducerOutputMeta) combi.meta;
+    meta.setTopicField( "key" );
+    meta.setMaxInFlight( "2" );
+
+    when( kafkaFactory.producer( any(), any(), any(), any() ) ).thenReturn( kafkaProducer );
+    when( kafkaProducer.send( any(), any() ) ).then( invocation -> {
+      ( (Callback) invocation.getArgument( 1 ) ).onCompletion( null, null );
+      return null; } );
+
+    step.setKafkaFactory( kafkaFactory );
+
+    trans.startThreads();
+    trans.waitUntilFinished();
+    verify( kafkaProducer, Mockito.times( 4 ) ).send( eq( new ProducerRecord<>( "one", "one", "winning" ) ), any() );
+    verify( kafkaProducer ).flush();
+    verify( kafkaProducer ).close();
+    assertEquals( 4, step.getLinesOutput() );
+    assertEquals( 4, step.getLinesWritten() );
+    assertEquals( 0, trans.getErrors() );
+  }
+
+  @Test
+  public void testFailedSendGoesToErrorHop() throws Exception {
+    TransMeta transMeta = new TransMeta( DefaultBowl.getInstance(),
+      getClass().getResource( "/produceFourRows.ktr" ).getPath() );
+    StepMeta producerStep = transMeta.findStep( "Kafka Producer" );
+    ( (KafkaProducerOutputMeta) producerStep.getStepMetaInterface() ).setMaxInFlight( "1" );
+    StepMeta errorStep = new StepMeta( "Errors", new DummyTransMeta() );
+    transMeta.addStep( errorStep );
+    transMeta.addTransHop( new TransHopMeta( producerStep, errorStep ) );
+    StepErrorMeta stepErrorMeta = new StepErrorMeta( transMeta, producerStep, errorStep );
+    stepErrorMeta.setEnabled( true );
+    producerStep.setStepErrorMeta( stepErrorMeta );
+
+    Trans trans = new Trans( transMeta );
+    trans.setVariable( "keyField", "key" );
+    trans.setVariable( "messageField", "message" );
+    trans.setVariable( "topic", "kurt" );
+    trans.prepareExecution( new String[]{} );
+
+    KafkaProducerOutput step = (KafkaProducerOutput) trans.findRunThread( "Kafka Producer" );
+    when( kafkaFactory.producer( any(), any(), any(), any() ) ).thenReturn( kafkaProducer );
+    when( kafkaProducer.send( any(), any() ) ).thenThrow( new SerializationException( "not serializable" ) );
+    step.setKafkaFactory( kafkaFactory );
+
+    trans.startThreads();
+    trans.waitUntilFinished();
+    // Every failed send hands its in-flight permit back, or the second row would wait forever
+    verify( kafkaProducer, Mockito.times( 4 ) ).send( any(), any() );
+    assertEquals( 4, step.getLinesRejected() );
+    assertEquals( 4, trans.findRunThread( "Errors" ).getLinesRead() );
+    assertEquals( 0, trans.getErrors() );
+  }
+
   @Test
   public void kafkaClientClosedOnStop() throws Exception {
     TransMeta transMeta = new TransMeta( DefaultBowl.getInstance(),
@@ -25,6 +25,7 @@ import com.amazonaws.services.s3.model.S3Object;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.provider.AbstractFileName;
+import org.pentaho.di.core.util.ParallelRangeInputStream;
 import org.pentaho.s3common.S3CommonFileObject;
 import org.pentaho.s3common.S3CommonPipedOutputStream;
 import org.slf4j.Logger;
@@ -108,7 +109,14 @@ public class S3FileObject extends S3CommonFileObject {
   protected OutputStream doGetOutputStream( boolean bAppend ) throws Exception {
     SimpleEntry<String, String> newPath = fixFilePath( key, bucketName );
     int partSize = (int) Long.min( Integer.MAX_VALUE, this.fileSystem.getPartSize() );
-    return new S3CommonPipedOutputStream( this.fileSystem, newPath.getValue(), newPath.getKey(), partSize );
+    return new S3CommonPipedOutputStream( this.fileSystem, newPath.getValue(), newPath.getKey(), partSize,
+      this.fileSystem.getUploadConcurrency() );
+  }
+
+  @Override
+  protected ParallelRangeInputStream.RangeReader createRangeReader() {
+    SimpleEntry<String, String> newPath = fixFilePath( key, bucketName );
+    return createRangeReader( newPath.getKey(), newPath.getValue() );
   }
 
   @Override
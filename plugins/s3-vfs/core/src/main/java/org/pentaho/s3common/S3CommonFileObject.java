@@ -30,12 +30,14 @@ import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.util.FileObjectUtils;
 import org.pentaho.di.connections.vfs.provider.ConnectionFileObject;
+import org.pentaho.di.core.util.ParallelRangeInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.Bucket;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
@@ -71,10 +73,33 @@ public abstract class S3CommonFileObject extends AbstractFileObject<S3CommonFile
   protected InputStream doGetInputStream() throws Exception {
     logger.debug( "Accessing content {}", getQualifiedName() );
     closeS3Object();
+
+    // Download a large object as parts with ranged requests, in parallel
+    int readAheadParts = fileSystem.getReadAheadParts();
+    if ( readAheadParts > 1 && s3ObjectMetadata != null ) {
+      long size = s3ObjectMetadata.getContentLength();
+      int partSize = (int) Long.min( Integer.MAX_VALUE, fileSystem.getPartSize() );
+      if ( size > partSize ) {
+        return new ParallelRangeInputStream( createRangeReader(), 0, size, partSize, readAheadParts );
+      }
+    }
+
     S3Object streamS3Object = getS3Object();
     return new S3CommonFileInputStream( streamS3Object.getObjectContent(), streamS3Object );
   }
 
+  protected ParallelRangeInputStream.RangeReader createRangeReader() {
+    return createRangeReader( this.key, this.bucketName );
+  }
+
+  protected ParallelRangeInputStream.RangeReader createRangeReader( String key, String bucket ) {
+    return ( offset, length ) -> {
+      S3Object rangeS3Object = fileSystem.getS3Client().getObject(
+        new GetObjectRequest( bucket, key ).withRange( offset, offset + length - 1 ) );
+      return new S3CommonFileInputStream( rangeS3Object.getObjectContent(), rangeS3Object );
+    };
+  }
+
   @Override
   public Path getPath() {
     // default impl will only work for schemes registered with nio
@@ -344,7 +369,8 @@ public abstract class S3CommonFileObject extends AbstractFileObject<S3CommonFile
   @Override
   protected OutputStream doGetOutputStream( boolean bAppend ) throws Exception {
     int partSize = (int) Long.min( Integer.MAX_VALUE, this.fileSystem.getPartSize() );
-    return new S3CommonPipedOutputStream( this.fileSystem, bucketName, key, partSize );
+    return new S3CommonPipedOutputStream( this.fileSystem, bucketName, key, partSize,
+      this.fileSystem.getUploadConcurrency() );
   }
 
   /**
@@ -16,6 +16,7 @@ package org.pentaho.s3common;
 import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.UserAuthenticationData;
@@ -64,4 +65,13 @@ public abstract class S3CommonFileProvider extends AbstractOriginatingFileProvid
   public Collection<Capability> getCapabilities() {
     return capabilities;
   }
+
+  /**
+   * Lets the vfs.[scheme].[parameter] variables set the transfer settings of the S3 files, see
+   * {@link S3CommonFileSystemConfigBuilder#setUploadConcurrency(FileSystemOptions, String)}
+   */
+  @Override
+  public FileSystemConfigBuilder getConfigBuilder() {
+    return new S3CommonFileSystemConfigBuilder( null );
+  }
 }
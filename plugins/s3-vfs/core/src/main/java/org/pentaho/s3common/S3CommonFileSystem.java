@@ -267,7 +267,38 @@ public abstract class S3CommonFileSystem extends AbstractFileSystem {
   }
 
   public long getPartSize() {
-    return parsePartSize( s3KettleProperty.getPartSize() );
+    String partSize = new S3CommonFileSystemConfigBuilder( getFileSystemOptions() ).getPartSize();
+    return parsePartSize( partSize != null ? partSize : s3KettleProperty.getPartSize() );
+  }
+
+  /**
+   * @return the number of parts of a multipart upload that are uploaded at the same time, from the file system options
+   *         or the s3.vfs.uploadConcurrency property (default: 1)
+   */
+  public int getUploadConcurrency() {
+    String uploadConcurrency = new S3CommonFileSystemConfigBuilder( getFileSystemOptions() ).getUploadConcurrency();
+    return parseCount( uploadConcurrency != null ? uploadConcurrency : s3KettleProperty.getUploadConcurrency() );
+  }
+
+  /**
+   * @return the number of parts of an object that are downloaded at the same time, from the file system options or the
+   *         s3.vfs.readAheadParts property (default: 1, a single stream)
+   */
+  public int getReadAheadParts() {
+    String readAheadParts = new S3CommonFileSystemConfigBuilder( getFileSystemOptions() ).getReadAheadParts();
+    return parseCount( readAheadParts != null ? readAheadParts : s3KettleProperty.getReadAheadParts() );
+  }
+
+  private int parseCount( String count ) {
+    if ( count == null || count.trim().isEmpty() ) {
+      return 1;
+    }
+    try {
+      return Math.max( 1, Integer.parseInt( count.trim() ) );
+    } catch ( NumberFormatException e ) {
+      logger.warn( BaseMessages.getString( PKG, "WARN.S3Common.InvalidCount", count ) );
+      return 1;
+    }
   }
 
   protected long parsePartSize( String partSizeString ) {
@@ -36,6 +36,9 @@ public class S3CommonFileSystemConfigBuilder extends FileSystemConfigBuilder {
   private static final String DEFAULT_S3_CONFIG = "defaultS3Config";
   private static final String CONNECTION_TYPE = "connectionType";
   private static final String USE_DEFAULTS = "useDefaults";
+  private static final String PART_SIZE = "partSize";
+  private static final String UPLOAD_CONCURRENCY = "uploadConcurrency";
+  private static final String READ_AHEAD_PARTS = "readAheadParts";
 
   private FileSystemOptions fileSystemOptions;
 
@@ -156,6 +159,48 @@ public class S3CommonFileSystemConfigBuilder extends FileSystemConfigBuilder {
     this.setParam( getFileSystemOptions(), USE_DEFAULTS, useDefaults );
   }
 
+  /*
+   * The transfer settings below can also be set with the vfs.[scheme].[parameter] variables, like
+   * vfs.s3.uploadConcurrency, which set them on the options of the files that are resolved.
+   */
+
+  /**
+   * @param partSize
+   *          the size of the parts to upload and download, like 5MB or 64MB
+   */
+  public void setPartSize( FileSystemOptions opts, String partSize ) {
+    this.setParam( opts, PART_SIZE, partSize );
+  }
+
+  public String getPartSize() {
+    return (String) this.getParam( getFileSystemOptions(), PART_SIZE );
+  }
+
+  /**
+   * @param uploadConcurrency
+   *          the number of parts of a multipart upload that are uploaded at the same time
+   */
+  public void setUploadConcurrency( FileSystemOptions opts, String uploadConcurrency ) {
+    this.setParam( opts, UPLOAD_CONCURRENCY, uploadConcurrency );
+  }
+
+  public String getUploadConcurrency() {
+    return (String) this.getParam( getFileSystemOptions(), UPLOAD_CONCURRENCY );
+  }
+
+  /**
+   * @param readAheadParts
+   *          the number of parts of an object that are downloaded at the same time with ranged requests, 1 reads the
+   *          object as a single stream
+   */
+  public void setReadAheadParts( FileSystemOptions opts, String readAheadParts ) {
+    this.setParam( opts, READ_AHEAD_PARTS, readAheadParts );
+  }
+
+  public String getReadAheadParts() {
+    return (String) this.getParam( getFileSystemOptions(), READ_AHEAD_PARTS );
+  }
+
   @Override protected Class<? extends FileSystem> getConfigClass() {
     return S3NFileSystem.class;
   }
@@ -34,8 +34,12 @@ import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -64,12 +68,21 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
    * AWS Multipart part size.
    */
   private int partSize;
+  /**
+   * The number of parts that are uploaded at the same time.
+   */
+  private int uploadConcurrency;
 
   public S3CommonPipedOutputStream( S3CommonFileSystem fileSystem, String bucketId, String key ) throws IOException {
     this( fileSystem, bucketId, key, DEFAULT_PART_SIZE );
   }
 
   public S3CommonPipedOutputStream( S3CommonFileSystem fileSystem, String bucketId, String key, int partSize ) throws IOException {
+    this( fileSystem, bucketId, key, partSize, 1 );
+  }
+
+  public S3CommonPipedOutputStream( S3CommonFileSystem fileSystem, String bucketId, String key, int partSize,
+                                    int uploadConcurrency ) throws IOException {
     this.pipedInputStream = new PipedInputStream();
 
     try {
@@ -84,6 +97,7 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
     this.key = key;
     this.fileSystem = fileSystem;
     this.partSize = partSize;
+    this.uploadConcurrency = Math.max( 1, uploadConcurrency );
   }
 
   private void initializeWrite() {
@@ -134,7 +148,10 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
 
     public Boolean call() throws Exception {
       boolean returnVal = true;
-      List<PartETag> partETags = new ArrayList<>();
+      List<Future<PartETag>> partUploads = new ArrayList<>();
+      ExecutorService uploadExecutor = Executors.newFixedThreadPool( uploadConcurrency );
+      // Limits the parts that are read but not uploaded yet
+      Semaphore uploadSlots = new Semaphore( uploadConcurrency );
 
       // Step 1: Initialize
       InitiateMultipartUploadRequest initRequest;
@@ -146,14 +163,14 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
       try ( ByteArrayOutputStream baos = new ByteArrayOutputStream( partSize );
             BufferedInputStream bis = new BufferedInputStream( pipedInputStream, partSize ) ) {
         initResponse = fileSystem.getS3Client().initiateMultipartUpload( initRequest );
-        // Step 2: Upload parts.
+        String uploadId = initResponse.getUploadId();
+        // Step 2: Upload parts, the next part is read while the previous ones are uploaded.
         byte[] tmpBuffer = new byte[ partSize ];
         int read = 0;
         long offset = 0;
         long totalRead = 0;
         int partNum = 1;
 
-        S3CommonWindowedSubstream s3is;
         logger.info( BaseMessages.getString( PKG, "INFO.S3MultiPart.Start" ) );
         while ( ( read = bis.read( tmpBuffer ) ) >= 0 ) {
 
@@ -164,18 +181,7 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
           }
 
           if ( totalRead > partSize ) {
-            s3is = new S3CommonWindowedSubstream( baos.toByteArray() );
-
-            UploadPartRequest uploadRequest = new UploadPartRequest()
-              .withBucketName( bucketId ).withKey( key )
-              .withUploadId( initResponse.getUploadId() ).withPartNumber( partNum++ )
-              .withFileOffset( offset )
-              .withPartSize( totalRead )
-              .withInputStream( s3is );
-
-            // Upload part and add response to our list.
-            logger.info( BaseMessages.getString( PKG, "INFO.S3MultiPart.Upload", partNum - 1, offset, Long.toString( totalRead ) ) );
-            partETags.add( fileSystem.getS3Client().uploadPart( uploadRequest ).getPartETag() );
+            uploadPart( uploadExecutor, uploadSlots, partUploads, uploadId, partNum++, offset, totalRead, baos, false );
 
             offset += totalRead;
             totalRead = 0; // reset part size counter
@@ -184,31 +190,27 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
         }
 
         // Step 2.1 upload last part
-        s3is = new S3CommonWindowedSubstream( baos.toByteArray() );
-
-        UploadPartRequest uploadRequest = new UploadPartRequest()
-          .withBucketName( bucketId ).withKey( key )
-          .withUploadId( initResponse.getUploadId() ).withPartNumber( partNum++ )
-          .withFileOffset( offset )
-          .withPartSize( totalRead )
-          .withInputStream( s3is )
-          .withLastPart( true );
+        uploadPart( uploadExecutor, uploadSlots, partUploads, uploadId, partNum, offset, totalRead, baos, true );
 
-        logger.info( BaseMessages.getString( PKG, "INFO.S3MultiPart.Upload", partNum - 1, offset, totalRead ) );
-        partETags.add( fileSystem.getS3Client().uploadPart( uploadRequest ).getPartETag() );
+        List<PartETag> partETags = new ArrayList<>();
+        for ( Future<PartETag> partUpload : partUploads ) {
+          partETags.add( partUpload.get() );
+        }
 
         // Step 3: Complete.
         logger.info( BaseMessages.getString( PKG, "INFO.S3MultiPart.Complete" ) );
         CompleteMultipartUploadRequest compRequest =
-          new CompleteMultipartUploadRequest( bucketId, key, initResponse.getUploadId(), partETags );
+          new CompleteMultipartUploadRequest( bucketId, key, uploadId, partETags );
 
         fileSystem.getS3Client().completeMultipartUpload( compRequest );
       } catch ( OutOfMemoryError oome ) {
+        partUploads.forEach( partUpload -> partUpload.cancel( true ) );
         consoleLog.logError( BaseMessages.getString( PKG,
           "ERROR.S3MultiPart.UploadOutOfMemory", new StorageUnitConverter().byteCountToDisplaySize( partSize ) ),
           oome );
         returnVal = false;
       } catch ( Exception e ) {
+        partUploads.forEach( partUpload -> partUpload.cancel( true ) );
         logger.error( BaseMessages.getString( PKG, "ERROR.S3MultiPart.ExceptionCaught" ), e );
         if ( initResponse == null ) {
           close();
@@ -218,9 +220,50 @@ public class S3CommonPipedOutputStream extends PipedOutputStream {
           logger.error( BaseMessages.getString( PKG, "ERROR.S3MultiPart.Aborted" ) );
         }
         returnVal = false;
+      } finally {
+        uploadExecutor.shutdown();
       }
 
       return returnVal;
     }
+
+    /**
+     * Upload the buffered part in the background, waiting for an upload slot first so no more than the configured
+     * number of parts are held in memory.
+     */
+    private void uploadPart( ExecutorService uploadExecutor, Semaphore uploadSlots, List<Future<PartETag>> partUploads,
+                             String uploadId, int partNum, long offset, long size, ByteArrayOutputStream baos,
+                             boolean lastPart ) throws InterruptedException, ExecutionException {
+      // Stop at the first failed part
+      for ( Future<PartETag> partUpload : partUploads ) {
+        if ( partUpload.isDone() ) {
+          partUpload.get();
+        }
+      }
+      uploadSlots.acquire();
+
+      UploadPartRequest uploadRequest = new UploadPartRequest()
+        .withBucketName( bucketId ).withKey( key )
+        .withUploadId( uploadId ).withPartNumber( partNum )
+        .withFileOffset( offset )
+        .withPartSize( size )
+        .withInputStream( new S3CommonWindowedSubstream( baos.toByteArray() ) )
+        .withLastPart( lastPart );
+
+      // Upload part and add response to our list.
+      logger.info( BaseMessages.getString( PKG, "INFO.S3MultiPart.Upload", partNum, offset, Long.toString( size ) ) );
+      try {
+        partUploads.add( uploadExecutor.submit( () -> {
+          try {
+            return fileSystem.getS3Client().uploadPart( uploadRequest ).getPartETag();
+          } finally {
+            uploadSlots.release();
+          }
+        } ) );
+      } catch ( RejectedExecutionException e ) {
+        uploadSlots.release();
+        throw e;
+      }
+    }
   }
 }
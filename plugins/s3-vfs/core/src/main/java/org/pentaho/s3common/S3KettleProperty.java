@@ -30,11 +30,21 @@ public class S3KettleProperty {
   private static final Logger logger = LoggerFactory.getLogger( S3KettleProperty.class );
 
   public static final String S3VFS_PART_SIZE = "s3.vfs.partSize";
+  public static final String S3VFS_UPLOAD_CONCURRENCY = "s3.vfs.uploadConcurrency";
+  public static final String S3VFS_READ_AHEAD_PARTS = "s3.vfs.readAheadParts";
 
   public String getPartSize() {
     return getProperty( S3VFS_PART_SIZE );
   }
 
+  public String getUploadConcurrency() {
+    return getProperty( S3VFS_UPLOAD_CONCURRENCY );
+  }
+
+  public String getReadAheadParts() {
+    return getProperty( S3VFS_READ_AHEAD_PARTS );
+  }
+
   public String getProperty( String property ) {
     String filename =  Const.getKettlePropertiesFilename();
     Properties properties;
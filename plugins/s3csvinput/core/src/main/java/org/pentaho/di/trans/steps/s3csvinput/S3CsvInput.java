@@ -14,9 +14,13 @@
 package org.pentaho.di.trans.steps.s3csvinput;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.util.ParallelRangeInputStream;
+import org.pentaho.di.core.util.StorageUnitConverter;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleFileException;
@@ -39,6 +43,14 @@ import org.pentaho.di.trans.step.StepMetaInterface;
  * @since 2007-07-05
  */
 public class S3CsvInput extends BaseStep implements StepInterface {
+  /**
+   * The number of parts of a file that are downloaded at the same time, 1 reads the file with a single request. The
+   * same variable configures the S3 VFS.
+   */
+  static final String S3_READ_AHEAD_PARTS = "s3.vfs.readAheadParts";
+  static final String S3_PART_SIZE = "s3.vfs.partSize";
+  private static final int DEFAULT_PART_SIZE = 5 * 1024 * 1024;
+
   private S3CsvInputMeta meta;
   private S3CsvInputData data;
 
@@ -217,6 +229,29 @@ public class S3CsvInput extends BaseStep implements StepInterface {
     logBasic( Messages.getString( "S3CsvInput.Log.ReadingFromNrFiles", Integer.toString( data.filenames.length ) ) );
   }
 
+  /**
+   * Download the file, or the block of it this step copy reads, as a number of ranged requests in parallel.
+   */
+  private InputStream openReadAheadStream( String filename, int readAheadParts ) {
+    S3ObjectsProvider s3ObjectsProvider = new S3ObjectsProvider( data.s3Client );
+    long size = s3ObjectsProvider.getS3ObjectContentLenght( data.s3bucket, filename );
+    long start = 0L;
+    long end = size;
+    if ( data.parallel ) {
+      start = Math.max( 0L, data.bytesToSkipInFirstFile );
+      end = Math.min( size, start + data.blockToRead + data.maxLineSize * 2 + 1 );
+    }
+
+    long partSize = new StorageUnitConverter().displaySizeToByteCount( getVariable( S3_PART_SIZE, "5MB" ) );
+    if ( partSize <= 0 || partSize > Integer.MAX_VALUE ) {
+      partSize = DEFAULT_PART_SIZE;
+    }
+
+    ParallelRangeInputStream.RangeReader rangeReader = ( offset, length ) ->
+      s3ObjectsProvider.getS3Object( data.s3bucket, filename, offset, offset + length - 1 ).getObjectContent();
+    return new ParallelRangeInputStream( rangeReader, start, end, (int) partSize, readAheadParts );
+  }
+
   private boolean openNextFile() throws KettleException {
     try {
 
@@ -232,9 +267,13 @@ public class S3CsvInput extends BaseStep implements StepInterface {
 
       data.s3ObjectInputStream = null;
 
+      int readAheadParts = Const.toInt( getVariable( S3_READ_AHEAD_PARTS, "1" ), 1 );
+
       // If we are running in parallel we only want to grab a part of the content, not everything.
       //
-      if ( data.parallel ) {
+      if ( readAheadParts > 1 ) {
+        data.s3ObjectInputStream = openReadAheadStream( data.filenames[ data.filenr ], readAheadParts );
+      } else if ( data.parallel ) {
         data.s3ObjectInputStream = new S3ObjectsProvider( data.s3Client )
           .getS3Object( data.s3bucket, data.filenames[ data.filenr ], data.bytesToSkipInFirstFile,
             data.bytesToSkipInFirstFile + data.blockToRead + data.maxLineSize * 2 ).getObjectContent();
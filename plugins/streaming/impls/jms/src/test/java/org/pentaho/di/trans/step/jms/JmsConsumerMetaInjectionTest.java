@@ -29,6 +29,7 @@ public class JmsConsumerMetaInjectionTest extends BaseMetadataInjectionTest<JmsC
   @Test
   public void test() throws Exception {
     check( "PARALLELISM", () -> meta.getParallelism() );
+    check( "PERSISTENT_SUBTRANS", () -> meta.isPersistentSubtrans() );
     check( "MESSAGE_ID", () -> meta.messageId );
     check( "RECEIVE_TIMEOUT", () -> meta.getReceiveTimeout() );
     check( "MESSAGE_FIELD_NAME", () -> meta.messageField );
@@ -101,6 +101,7 @@ public abstract class BaseStreamingDialog extends BaseStepDialog implements Step
   protected Label wlBatchDuration;
   protected TextVar wBatchDuration;
   protected TextVar wParallelism;
+  protected Button wPersistentSubtrans;
 
   protected CTabFolder wTabFolder;
   protected CTabItem wSetupTab;
@@ -492,6 +493,18 @@ public abstract class BaseStreamingDialog extends BaseStepDialog implements Step
     wPrefetchCount.addModifyListener( lsMod );
     wPrefetchCount.setLayoutData( new FormDataBuilder().left().top( wlPrefetchCount, 5 ).width( 125 ).result() );
 
+    wPersistentSubtrans = new Button( wBatchComp, SWT.CHECK );
+    props.setLook( wPersistentSubtrans );
+    wPersistentSubtrans.setText( BaseMessages.getString( PKG, "BaseStreamingDialog.PersistentSubtrans" ) );
+    wPersistentSubtrans.setToolTipText(
+      BaseMessages.getString( PKG, "BaseStreamingDialog.PersistentSubtrans.Tooltip" ) );
+    wPersistentSubtrans.addSelectionListener( new SelectionAdapter() {
+      @Override public void widgetSelected( SelectionEvent e ) {
+        meta.setChanged();
+      }
+    } );
+    wPersistentSubtrans.setLayoutData( new FormDataBuilder().left().top( wPrefetchCount, 10 ).result() );
+
     wBatchComp.layout();
     wBatchTab.setControl( wBatchComp );
   }
@@ -552,6 +565,7 @@ public abstract class BaseStreamingDialog extends BaseStepDialog implements Step
     if ( meta.getPrefetchCount() != null ) {
       wPrefetchCount.setText( meta.getPrefetchCount() );
     }
+    wPersistentSubtrans.setSelection( meta.isPersistentSubtrans() );
     if ( this.meta.getSubStep() != null ) {
       wSubStep.setText( this.meta.getSubStep() );
     }
@@ -619,6 +633,7 @@ public abstract class BaseStreamingDialog extends BaseStepDialog implements Step
     streamMeta.setBatchDuration( wBatchDuration.getText() );
     streamMeta.setParallelism( wParallelism.getText() );
     streamMeta.setPrefetchCount( wPrefetchCount.getText() );
+    streamMeta.setPersistentSubtrans( wPersistentSubtrans.getSelection() );
     streamMeta.setSpecificationMethod( specificationMethod );
     streamMeta.setSubStep( wSubStep.getText() );
     switch ( specificationMethod ) {
@@ -121,6 +121,9 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
   private Label wlCacheSize;
   private Text wCacheSize;
 
+  private Label wlBulkUpdate;
+  private Button wBulkUpdate;
+
   private Label wlTk;
   private CCombo wTk;
 
@@ -473,6 +476,29 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
     fdCacheSize.right = new FormAttachment( 100, 0 );
     wCacheSize.setLayoutData( fdCacheSize );
 
+    // Bulk update?
+    wlBulkUpdate = new Label( comp, SWT.RIGHT );
+    wlBulkUpdate.setText( BaseMessages.getString( PKG, "DimensionLookupDialog.BulkUpdate.Label" ) );
+    props.setLook( wlBulkUpdate );
+    FormData fdlBulkUpdate = new FormData();
+    fdlBulkUpdate.left = new FormAttachment( 0, 0 );
+    fdlBulkUpdate.right = new FormAttachment( middle, -margin );
+    fdlBulkUpdate.top = new FormAttachment( wCacheSize, margin );
+    wlBulkUpdate.setLayoutData( fdlBulkUpdate );
+    wBulkUpdate = new Button( comp, SWT.CHECK );
+    wBulkUpdate.setToolTipText( BaseMessages.getString( PKG, "DimensionLookupDialog.BulkUpdate.Tooltip" ) );
+    props.setLook( wBulkUpdate );
+    wBulkUpdate.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent arg0 ) {
+        input.setChanged();
+      }
+    } );
+    FormData fdBulkUpdate = new FormData();
+    fdBulkUpdate.left = new FormAttachment( middle, 0 );
+    fdBulkUpdate.top = new FormAttachment( wCacheSize, margin );
+    fdBulkUpdate.right = new FormAttachment( 100, 0 );
+    wBulkUpdate.setLayoutData( fdBulkUpdate );
+
     wlTkRename = new Label( comp, SWT.RIGHT );
 
     wTabFolder = new CTabFolder( comp, SWT.BORDER );
@@ -630,7 +656,7 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
 
     fdTabFolder = new FormData();
     fdTabFolder.left = new FormAttachment( 0, 0 );
-    fdTabFolder.top = new FormAttachment( wCacheSize, margin );
+    fdTabFolder.top = new FormAttachment( wBulkUpdate, margin );
     fdTabFolder.right = new FormAttachment( 100, 0 );
     fdTabFolder.height = 200;
     wTabFolder.setLayoutData( fdTabFolder );
@@ -1195,6 +1221,9 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
     wlCacheSize.setEnabled( wUseCache.getSelection() && !wPreloadCache.getSelection() );
     wCacheSize.setEnabled( wUseCache.getSelection() && !wPreloadCache.getSelection() );
 
+    wlBulkUpdate.setEnabled( wUpdate.getSelection() );
+    wBulkUpdate.setEnabled( wUpdate.getSelection() );
+
   }
 
   protected void setComboBoxes() {
@@ -1362,6 +1391,7 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
 
     wUseCache.setSelection( input.getCacheSize() >= 0 );
     wPreloadCache.setSelection( input.isPreloadingCache() );
+    wBulkUpdate.setSelection( input.isBulkUpdate() );
     if ( input.getCacheSize() >= 0 ) {
       wCacheSize.setText( "" + input.getCacheSize() );
     }
@@ -1486,6 +1516,7 @@ public class DimensionLookupDialog extends BaseStepDialog implements StepDialogI
       in.setCacheSize( -1 );
     }
     in.setPreloadingCache( wPreloadCache.getSelection() );
+    in.setBulkUpdate( wBulkUpdate.getSelection() );
     if ( wPreloadCache.getSelection() ) {
       in.setCacheSize( 0 );
     }
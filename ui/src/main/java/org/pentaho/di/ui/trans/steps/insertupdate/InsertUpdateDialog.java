@@ -102,6 +102,10 @@ public class InsertUpdateDialog extends BaseStepDialog implements StepDialogInte
   private Button wUpdateBypassed;
   private FormData fdlUpdateBypassed, fdUpdateBypassed;
 
+  private Label wlSetBasedMerge;
+  private Button wSetBasedMerge;
+  private FormData fdlSetBasedMerge, fdSetBasedMerge;
+
   private Button wGetLU;
   private FormData fdGetLU;
   private Listener lsGetLU;
@@ -282,12 +286,30 @@ public class InsertUpdateDialog extends BaseStepDialog implements StepDialogInte
     wUpdateBypassed.setLayoutData( fdUpdateBypassed );
     wUpdateBypassed.addSelectionListener( new ComponentSelectionListener( input ) );
 
+    wlSetBasedMerge = new Label( shell, SWT.RIGHT );
+    wlSetBasedMerge.setText( BaseMessages.getString( PKG, "InsertUpdateDialog.SetBasedMerge.Label" ) );
+    props.setLook( wlSetBasedMerge );
+    fdlSetBasedMerge = new FormData();
+    fdlSetBasedMerge.left = new FormAttachment( 0, 0 );
+    fdlSetBasedMerge.top = new FormAttachment( wUpdateBypassed, margin );
+    fdlSetBasedMerge.right = new FormAttachment( middle, -margin );
+    wlSetBasedMerge.setLayoutData( fdlSetBasedMerge );
+    wSetBasedMerge = new Button( shell, SWT.CHECK );
+    wSetBasedMerge.setToolTipText( BaseMessages.getString( PKG, "InsertUpdateDialog.SetBasedMerge.Tooltip" ) );
+    props.setLook( wSetBasedMerge );
+    fdSetBasedMerge = new FormData();
+    fdSetBasedMerge.left = new FormAttachment( middle, 0 );
+    fdSetBasedMerge.top = new FormAttachment( wUpdateBypassed, margin );
+    fdSetBasedMerge.right = new FormAttachment( 100, 0 );
+    wSetBasedMerge.setLayoutData( fdSetBasedMerge );
+    wSetBasedMerge.addSelectionListener( new ComponentSelectionListener( input ) );
+
     wlKey = new Label( shell, SWT.NONE );
     wlKey.setText( BaseMessages.getString( PKG, "InsertUpdateDialog.Keys.Label" ) );
     props.setLook( wlKey );
     fdlKey = new FormData();
     fdlKey.left = new FormAttachment( 0, 0 );
-    fdlKey.top = new FormAttachment( wUpdateBypassed, margin );
+    fdlKey.top = new FormAttachment( wSetBasedMerge, margin );
     wlKey.setLayoutData( fdlKey );
 
     int nrKeyCols = 4;
@@ -656,6 +678,7 @@ public class InsertUpdateDialog extends BaseStepDialog implements StepDialogInte
 
     wCommit.setText( input.getCommitSizeVar() );
     wUpdateBypassed.setSelection( input.isUpdateBypassed() );
+    wSetBasedMerge.setSelection( input.isSetBasedMerge() );
 
     if ( input.getKeyFields() != null ) {
       for ( int i = 0; i < input.getKeyFields().length; i++ ) {
@@ -728,6 +751,7 @@ public class InsertUpdateDialog extends BaseStepDialog implements StepDialogInte
 
     inf.setCommitSize( wCommit.getText() );
     inf.setUpdateBypassed( wUpdateBypassed.getSelection() );
+    inf.setSetBasedMerge( wSetBasedMerge.getSelection() );
 
     if ( log.isDebug() ) {
       logDebug( BaseMessages.getString( PKG, "InsertUpdateDialog.Log.FoundKeys", nrkeys + "" ) );
@@ -206,6 +206,7 @@ public class ScriptValuesModDialog extends BaseStepDialog implements StepDialogI
   private ScriptValuesHelp scVHelp;
   private ScriptValuesHighlight lineStyler = new ScriptValuesHighlight();
   private Button wCompatible;
+  private Button wTypedBindings;
   private TextVar wOptimizationLevel;
 
   private TreeItem iteminput;
@@ -387,6 +388,28 @@ public class ScriptValuesModDialog extends BaseStepDialog implements StepDialogI
     wCompatible.addSelectionListener( new SelectionAdapter() {
       public void widgetSelected( SelectionEvent e ) {
         setInputOutputFields();
+        wTypedBindings.setEnabled( !wCompatible.getSelection() );
+        input.setChanged( true );
+      }
+    } );
+
+    Label wlTypedBindings = new Label( wTop, SWT.NONE );
+    wlTypedBindings.setText( BaseMessages.getString( PKG, "ScriptValuesDialogMod.TypedBindings.Label" ) );
+    props.setLook( wlTypedBindings );
+    FormData fdlTypedBindings = new FormData();
+    fdlTypedBindings.left = new FormAttachment( wCompatible, margin * 2 );
+    fdlTypedBindings.top = new FormAttachment( wlPosition, margin );
+    wlTypedBindings.setLayoutData( fdlTypedBindings );
+
+    wTypedBindings = new Button( wTop, SWT.CHECK );
+    wTypedBindings.setToolTipText( BaseMessages.getString( PKG, "ScriptValuesDialogMod.TypedBindings.Tooltip" ) );
+    props.setLook( wTypedBindings );
+    FormData fdTypedBindings = new FormData();
+    fdTypedBindings.left = new FormAttachment( wlTypedBindings, margin );
+    fdTypedBindings.top = new FormAttachment( wlPosition, margin );
+    wTypedBindings.setLayoutData( fdTypedBindings );
+    wTypedBindings.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent e ) {
         input.setChanged( true );
       }
     } );
@@ -395,7 +418,7 @@ public class ScriptValuesModDialog extends BaseStepDialog implements StepDialogI
     wlOptimizationLevel.setText( BaseMessages.getString( PKG, "ScriptValuesDialogMod.OptimizationLevel.Label" ) );
     props.setLook( wlOptimizationLevel );
     FormData fdlOptimizationLevel = new FormData();
-    fdlOptimizationLevel.left = new FormAttachment( wCompatible, margin * 2 );
+    fdlOptimizationLevel.left = new FormAttachment( wTypedBindings, margin * 2 );
     fdlOptimizationLevel.top = new FormAttachment( wlPosition, margin );
     wlOptimizationLevel.setLayoutData( fdlOptimizationLevel );
 
@@ -936,6 +959,8 @@ public class ScriptValuesModDialog extends BaseStepDialog implements StepDialogI
    */
   public void getData() {
     wCompatible.setSelection( input.isCompatible() );
+    wTypedBindings.setSelection( input.isTypedBindings() );
+    wTypedBindings.setEnabled( !input.isCompatible() );
     if ( !Utils.isEmpty( Const.trim( input.getOptimizationLevel() ) ) ) {
       wOptimizationLevel.setText( input.getOptimizationLevel().trim() );
     } else {
@@ -1035,6 +1060,7 @@ public class ScriptValuesModDialog extends BaseStepDialog implements StepDialogI
 
   private void getInfo( ScriptValuesMetaMod meta ) {
     meta.setCompatible( wCompatible.getSelection() );
+    meta.setTypedBindings( wTypedBindings.getSelection() );
     meta.setOptimizationLevel( wOptimizationLevel.getText() );
     int nrfields = wFields.nrNonEmpty();
     meta.allocate( nrfields );
@@ -85,6 +85,18 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
   private TextVar wLimit;
   private FormData fdlLimit, fdLimit;
 
+  private Label wlSplitColumn;
+  private TextVar wSplitColumn;
+  private FormData fdlSplitColumn, fdSplitColumn;
+
+  private Label wlSplitCount;
+  private TextVar wSplitCount;
+  private FormData fdlSplitCount, fdSplitCount;
+
+  private Label wlSplitByHash;
+  private Button wSplitByHash;
+  private FormData fdlSplitByHash, fdSplitByHash;
+
   private Label wlEachRow;
   private Button wEachRow;
   private FormData fdlEachRow, fdEachRow;
@@ -197,6 +209,65 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
     fdLimit.bottom = new FormAttachment( wOK, -2 * margin );
     wLimit.setLayoutData( fdLimit );
 
+    // Split on a hash of the split column?
+    wlSplitByHash = new Label( shell, SWT.RIGHT );
+    wlSplitByHash.setText( BaseMessages.getString( PKG, "TableInputDialog.SplitByHash" ) );
+    props.setLook( wlSplitByHash );
+    fdlSplitByHash = new FormData();
+    fdlSplitByHash.left = new FormAttachment( 0, 0 );
+    fdlSplitByHash.right = new FormAttachment( middle, -margin );
+    fdlSplitByHash.bottom = new FormAttachment( wLimit, -margin );
+    wlSplitByHash.setLayoutData( fdlSplitByHash );
+    wSplitByHash = new Button( shell, SWT.CHECK );
+    props.setLook( wSplitByHash );
+    fdSplitByHash = new FormData();
+    fdSplitByHash.left = new FormAttachment( middle, 0 );
+    fdSplitByHash.right = new FormAttachment( 100, 0 );
+    fdSplitByHash.bottom = new FormAttachment( wLimit, -margin );
+    wSplitByHash.setLayoutData( fdSplitByHash );
+    wSplitByHash.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent arg0 ) {
+        input.setChanged();
+      }
+    } );
+
+    // The number of parts to read in parallel
+    wlSplitCount = new Label( shell, SWT.RIGHT );
+    wlSplitCount.setText( BaseMessages.getString( PKG, "TableInputDialog.SplitCount" ) );
+    props.setLook( wlSplitCount );
+    fdlSplitCount = new FormData();
+    fdlSplitCount.left = new FormAttachment( 0, 0 );
+    fdlSplitCount.right = new FormAttachment( middle, -margin );
+    fdlSplitCount.bottom = new FormAttachment( wSplitByHash, -margin );
+    wlSplitCount.setLayoutData( fdlSplitCount );
+    wSplitCount = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSplitCount );
+    wSplitCount.addModifyListener( lsMod );
+    fdSplitCount = new FormData();
+    fdSplitCount.left = new FormAttachment( middle, 0 );
+    fdSplitCount.right = new FormAttachment( 100, 0 );
+    fdSplitCount.bottom = new FormAttachment( wSplitByHash, -margin );
+    wSplitCount.setLayoutData( fdSplitCount );
+
+    // The column to split the query on
+    wlSplitColumn = new Label( shell, SWT.RIGHT );
+    wlSplitColumn.setText( BaseMessages.getString( PKG, "TableInputDialog.SplitColumn" ) );
+    props.setLook( wlSplitColumn );
+    fdlSplitColumn = new FormData();
+    fdlSplitColumn.left = new FormAttachment( 0, 0 );
+    fdlSplitColumn.right = new FormAttachment( middle, -margin );
+    fdlSplitColumn.bottom = new FormAttachment( wSplitCount, -margin );
+    wlSplitColumn.setLayoutData( fdlSplitColumn );
+    wSplitColumn = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSplitColumn );
+    wSplitColumn.setToolTipText( BaseMessages.getString( PKG, "TableInputDialog.SplitColumn.Tooltip" ) );
+    wSplitColumn.addModifyListener( lsMod );
+    fdSplitColumn = new FormData();
+    fdSplitColumn.left = new FormAttachment( middle, 0 );
+    fdSplitColumn.right = new FormAttachment( 100, 0 );
+    fdSplitColumn.bottom = new FormAttachment( wSplitCount, -margin );
+    wSplitColumn.setLayoutData( fdSplitColumn );
+
     // Execute for each row?
     wlEachRow = new Label( shell, SWT.RIGHT );
     wlEachRow.setText( BaseMessages.getString( PKG, "TableInputDialog.ExecuteForEachRow" ) );
@@ -204,14 +275,14 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
     fdlEachRow = new FormData();
     fdlEachRow.left = new FormAttachment( 0, 0 );
     fdlEachRow.right = new FormAttachment( middle, -margin );
-    fdlEachRow.bottom = new FormAttachment( wLimit, -margin );
+    fdlEachRow.bottom = new FormAttachment( wSplitColumn, -margin );
     wlEachRow.setLayoutData( fdlEachRow );
     wEachRow = new Button( shell, SWT.CHECK );
     props.setLook( wEachRow );
     fdEachRow = new FormData();
     fdEachRow.left = new FormAttachment( middle, 0 );
     fdEachRow.right = new FormAttachment( 100, 0 );
-    fdEachRow.bottom = new FormAttachment( wLimit, -margin );
+    fdEachRow.bottom = new FormAttachment( wSplitColumn, -margin );
     wEachRow.setLayoutData( fdEachRow );
     SelectionAdapter lsSelMod = new SelectionAdapter() {
       public void widgetSelected( SelectionEvent arg0 ) {
@@ -434,6 +505,8 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
 
     wStepname.addSelectionListener( lsDef );
     wLimit.addSelectionListener( lsDef );
+    wSplitColumn.addSelectionListener( lsDef );
+    wSplitCount.addSelectionListener( lsDef );
 
     // Detect X or ALT-F4 or something that kills this window...
     shell.addShellListener( new ShellAdapter() {
@@ -491,6 +564,9 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
       wConnection.setText( input.getDatabaseMeta().getName() );
     }
     wLimit.setText( Const.NVL( input.getRowLimit(), "" ) );
+    wSplitColumn.setText( Const.NVL( input.getSplitColumn(), "" ) );
+    wSplitCount.setText( Const.NVL( input.getSplitCount(), "" ) );
+    wSplitByHash.setSelection( input.isSplitByHash() );
 
     StreamInterface infoStream = input.getStepIOMeta().getInfoStreams().get( 0 );
     if ( infoStream.getStepMeta() != null ) {
@@ -537,6 +613,9 @@ public class TableInputDialog extends BaseStepDialog implements StepDialogInterf
     meta.setSQL( preview && !Utils.isEmpty( wSQL.getSelectionText() ) ? wSQL.getSelectionText() : wSQL.getText() );
     meta.setDatabaseMeta( transMeta.findDatabase( wConnection.getText() ) );
     meta.setRowLimit( wLimit.getText() );
+    meta.setSplitColumn( wSplitColumn.getText() );
+    meta.setSplitCount( wSplitCount.getText() );
+    meta.setSplitByHash( wSplitByHash.getSelection() );
     StreamInterface infoStream = input.getStepIOMeta().getInfoStreams().get( 0 );
     infoStream.setStepMeta( transMeta.findStep( wDatefrom.getText() ) );
     meta.setExecuteEachInputRow( wEachRow.getSelection() );
@@ -126,6 +126,10 @@ public class TableOutputDialog extends BaseStepDialog implements StepDialogInter
   private Button wBatch;
   private FormData fdlBatch, fdBatch;
 
+  private Label wlWriterConnections;
+  private TextVar wWriterConnections;
+  private FormData fdlWriterConnections, fdWriterConnections;
+
   private Label wlUsePart;
   private Button wUsePart;
   private FormData fdlUsePart, fdUsePart;
@@ -557,20 +561,39 @@ public class TableOutputDialog extends BaseStepDialog implements StepDialogInter
       }
     } );
 
+    // Writer connections
+    wlWriterConnections = new Label( wMainComp, SWT.RIGHT );
+    wlWriterConnections.setText( BaseMessages.getString( PKG, "TableOutputDialog.WriterConnections.Label" ) );
+    props.setLook( wlWriterConnections );
+    fdlWriterConnections = new FormData();
+    fdlWriterConnections.left = new FormAttachment( 0, 0 );
+    fdlWriterConnections.top = new FormAttachment( wBatch, margin );
+    fdlWriterConnections.right = new FormAttachment( middle, -margin );
+    wlWriterConnections.setLayoutData( fdlWriterConnections );
+    wWriterConnections = new TextVar( transMeta, wMainComp, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wWriterConnections.setToolTipText( BaseMessages.getString( PKG, "TableOutputDialog.WriterConnections.Tooltip" ) );
+    props.setLook( wWriterConnections );
+    wWriterConnections.addModifyListener( lsMod );
+    fdWriterConnections = new FormData();
+    fdWriterConnections.left = new FormAttachment( middle, 0 );
+    fdWriterConnections.top = new FormAttachment( wBatch, margin );
+    fdWriterConnections.right = new FormAttachment( 100, 0 );
+    wWriterConnections.setLayoutData( fdWriterConnections );
+
     // NameInField
     wlNameInField = new Label( wMainComp, SWT.RIGHT );
     wlNameInField.setText( BaseMessages.getString( PKG, "TableOutputDialog.NameInField.Label" ) );
     props.setLook( wlNameInField );
     fdlNameInField = new FormData();
     fdlNameInField.left = new FormAttachment( 0, 0 );
-    fdlNameInField.top = new FormAttachment( wBatch, margin * 5 );
+    fdlNameInField.top = new FormAttachment( wWriterConnections, margin * 5 );
     fdlNameInField.right = new FormAttachment( middle, -margin );
     wlNameInField.setLayoutData( fdlNameInField );
     wNameInField = new Button( wMainComp, SWT.CHECK );
     props.setLook( wNameInField );
     fdNameInField = new FormData();
     fdNameInField.left = new FormAttachment( middle, 0 );
-    fdNameInField.top = new FormAttachment( wBatch, margin * 5 );
+    fdNameInField.top = new FormAttachment( wWriterConnections, margin * 5 );
     fdNameInField.right = new FormAttachment( 100, 0 );
     wNameInField.setLayoutData( fdNameInField );
     wNameInField.addSelectionListener( new SelectionAdapter() {
@@ -1235,6 +1258,10 @@ public class TableOutputDialog extends BaseStepDialog implements StepDialogInter
     wlBatch.setEnabled( enableBatch );
     wBatch.setEnabled( enableBatch );
 
+    // The writer connections write the batches in the background
+    wlWriterConnections.setEnabled( useBatch );
+    wWriterConnections.setEnabled( useBatch );
+
     boolean specifyFields = wSpecifyFields.getSelection();
     wFields.setEnabled( specifyFields );
     wGetFields.setEnabled( specifyFields );
@@ -1282,6 +1309,7 @@ public class TableOutputDialog extends BaseStepDialog implements StepDialogInter
     wBatch.setSelection( input.useBatchUpdate() );
 
     wCommit.setText( input.getCommitSize() );
+    wWriterConnections.setText( Const.NVL( input.getWriterConnections(), "" ) );
 
     wUsePart.setSelection( input.isPartitioningEnabled() );
     wPartDaily.setSelection( input.isPartitioningDaily() );
@@ -1333,6 +1361,7 @@ public class TableOutputDialog extends BaseStepDialog implements StepDialogInter
     info.setTruncateTable( wTruncate.getSelection() );
     info.setIgnoreErrors( wIgnore.getSelection() );
     info.setUseBatchUpdate( wBatch.getSelection() );
+    info.setWriterConnections( wWriterConnections.getText() );
     info.setPartitioningEnabled( wUsePart.getSelection() );
     info.setPartitioningField( wPartField.getText() );
     info.setPartitioningDaily( wPartDaily.getSelection() );
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CCombo;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -79,6 +80,21 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
   private TextVar wErrorDesc;
   private FormData fdlErrorDesc, fdErrorDesc;
 
+  private Label wlDedupMode;
+  private CCombo wDedupMode;
+
+  private Label wlMemoryLimit;
+  private TextVar wMemoryLimit;
+
+  private Label wlSpillDirectory;
+  private TextVar wSpillDirectory;
+
+  private Label wlExpectedRows;
+  private TextVar wExpectedRows;
+
+  private Label wlFalsePositiveRate;
+  private TextVar wFalsePositiveRate;
+
   private Group wSettings;
   private FormData fdSettings;
 
@@ -209,6 +225,102 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
     fdErrorDesc.right = new FormAttachment( 100, 0 );
     wErrorDesc.setLayoutData( fdErrorDesc );
 
+    wlDedupMode = new Label( wSettings, SWT.RIGHT );
+    wlDedupMode.setText( BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.DedupMode.Label" ) );
+    props.setLook( wlDedupMode );
+    FormData fdlDedupMode = new FormData();
+    fdlDedupMode.left = new FormAttachment( 0, 0 );
+    fdlDedupMode.top = new FormAttachment( wErrorDesc, margin );
+    fdlDedupMode.right = new FormAttachment( middle, -margin );
+    wlDedupMode.setLayoutData( fdlDedupMode );
+    wDedupMode = new CCombo( wSettings, SWT.BORDER | SWT.READ_ONLY );
+    wDedupMode.setItems( new String[] {
+      BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.DedupMode.RowKeys" ),
+      BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.DedupMode.Hashed" ),
+      BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.DedupMode.Approximate" ) } );
+    wDedupMode.setToolTipText( BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.DedupMode.ToolTip" ) );
+    props.setLook( wDedupMode );
+    FormData fdDedupMode = new FormData();
+    fdDedupMode.left = new FormAttachment( middle, 0 );
+    fdDedupMode.top = new FormAttachment( wErrorDesc, margin );
+    fdDedupMode.right = new FormAttachment( 100, 0 );
+    wDedupMode.setLayoutData( fdDedupMode );
+    wDedupMode.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent e ) {
+        input.setChanged();
+        setDedupMode();
+      }
+    } );
+
+    wlMemoryLimit = new Label( wSettings, SWT.RIGHT );
+    wlMemoryLimit.setText( BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.MemoryLimit.Label" ) );
+    props.setLook( wlMemoryLimit );
+    FormData fdlMemoryLimit = new FormData();
+    fdlMemoryLimit.left = new FormAttachment( 0, 0 );
+    fdlMemoryLimit.top = new FormAttachment( wDedupMode, margin );
+    fdlMemoryLimit.right = new FormAttachment( middle, -margin );
+    wlMemoryLimit.setLayoutData( fdlMemoryLimit );
+    wMemoryLimit = new TextVar( transMeta, wSettings, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wMemoryLimit );
+    wMemoryLimit.addModifyListener( lsMod );
+    FormData fdMemoryLimit = new FormData();
+    fdMemoryLimit.left = new FormAttachment( middle, 0 );
+    fdMemoryLimit.top = new FormAttachment( wDedupMode, margin );
+    fdMemoryLimit.right = new FormAttachment( 100, 0 );
+    wMemoryLimit.setLayoutData( fdMemoryLimit );
+
+    wlSpillDirectory = new Label( wSettings, SWT.RIGHT );
+    wlSpillDirectory.setText( BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.SpillDirectory.Label" ) );
+    props.setLook( wlSpillDirectory );
+    FormData fdlSpillDirectory = new FormData();
+    fdlSpillDirectory.left = new FormAttachment( 0, 0 );
+    fdlSpillDirectory.top = new FormAttachment( wMemoryLimit, margin );
+    fdlSpillDirectory.right = new FormAttachment( middle, -margin );
+    wlSpillDirectory.setLayoutData( fdlSpillDirectory );
+    wSpillDirectory = new TextVar( transMeta, wSettings, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSpillDirectory );
+    wSpillDirectory.addModifyListener( lsMod );
+    FormData fdSpillDirectory = new FormData();
+    fdSpillDirectory.left = new FormAttachment( middle, 0 );
+    fdSpillDirectory.top = new FormAttachment( wMemoryLimit, margin );
+    fdSpillDirectory.right = new FormAttachment( 100, 0 );
+    wSpillDirectory.setLayoutData( fdSpillDirectory );
+
+    wlExpectedRows = new Label( wSettings, SWT.RIGHT );
+    wlExpectedRows.setText( BaseMessages.getString( PKG, "UniqueRowsByHashSetDialog.ExpectedRows.Label" ) );
+    props.setLook( wlExpectedRows );
+    FormData fdlExpectedRows = new FormData();
+    fdlExpectedRows.left = new FormAttachment( 0, 0 );
+    fdlExpectedRows.top = new FormAttachment( wSpillDirectory, margin );
+    fdlExpectedRows.right = new FormAttachment( middle, -margin );
+    wlExpectedRows.setLayoutData( fdlExpectedRows );
+    wExpectedRows = new TextVar( transMeta, wSettings, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wExpectedRows );
+    wExpectedRows.addModifyListener( lsMod );
+    FormData fdExpectedRows = new FormData();
+    fdExpectedRows.left = new FormAttachment( middle, 0 );
+    fdExpectedRows.top = new FormAttachment( wSpillDirectory, margin );
+    fdExpectedRows.right = new FormAttachment( 100, 0 );
+    wExpectedRows.setLayoutData( fdExpectedRows );
+
+    wlFalsePositiveRate = new Label( wSettings, SWT.RIGHT );
+    wlFalsePositiveRate.setText( BaseMessages.getString(
+      PKG, "UniqueRowsByHashSetDialog.FalsePositiveRate.Label" ) );
+    props.setLook( wlFalsePositiveRate );
+    FormData fdlFalsePositiveRate = new FormData();
+    fdlFalsePositiveRate.left = new FormAttachment( 0, 0 );
+    fdlFalsePositiveRate.top = new FormAttachment( wExpectedRows, margin );
+    fdlFalsePositiveRate.right = new FormAttachment( middle, -margin );
+    wlFalsePositiveRate.setLayoutData( fdlFalsePositiveRate );
+    wFalsePositiveRate = new TextVar( transMeta, wSettings, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wFalsePositiveRate );
+    wFalsePositiveRate.addModifyListener( lsMod );
+    FormData fdFalsePositiveRate = new FormData();
+    fdFalsePositiveRate.left = new FormAttachment( middle, 0 );
+    fdFalsePositiveRate.top = new FormAttachment( wExpectedRows, margin );
+    fdFalsePositiveRate.right = new FormAttachment( 100, 0 );
+    wFalsePositiveRate.setLayoutData( fdFalsePositiveRate );
+
     fdSettings = new FormData();
     fdSettings.left = new FormAttachment( 0, margin );
     fdSettings.top = new FormAttachment( wStepname, margin );
@@ -320,6 +432,7 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
 
     getData();
     setErrorDesc();
+    setDedupMode();
     input.setChanged( changed );
 
     shell.open();
@@ -336,6 +449,24 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
     wErrorDesc.setEnabled( wRejectDuplicateRow.getSelection() );
   }
 
+  private void setDedupMode() {
+    String dedupMode = UniqueRowsByHashSetMeta.DEDUP_MODES[Math.max( 0, wDedupMode.getSelectionIndex() )];
+    boolean rowKeys = UniqueRowsByHashSetMeta.DEDUP_MODE_ROW_KEYS.equals( dedupMode );
+    boolean hashed = UniqueRowsByHashSetMeta.DEDUP_MODE_HASHED.equals( dedupMode );
+    boolean approximate = UniqueRowsByHashSetMeta.DEDUP_MODE_APPROXIMATE.equals( dedupMode );
+
+    wlStoreValues.setEnabled( rowKeys );
+    wStoreValues.setEnabled( rowKeys );
+    wlMemoryLimit.setEnabled( hashed );
+    wMemoryLimit.setEnabled( hashed );
+    wlSpillDirectory.setEnabled( hashed );
+    wSpillDirectory.setEnabled( hashed );
+    wlExpectedRows.setEnabled( approximate );
+    wExpectedRows.setEnabled( approximate );
+    wlFalsePositiveRate.setEnabled( approximate );
+    wFalsePositiveRate.setEnabled( approximate );
+  }
+
   protected void setComboBoxes() {
     // Something was changed in the row.
     //
@@ -362,6 +493,12 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
     if ( input.getErrorDescription() != null ) {
       wErrorDesc.setText( input.getErrorDescription() );
     }
+    int dedupMode = Const.indexOfString( input.getDedupMode(), UniqueRowsByHashSetMeta.DEDUP_MODES );
+    wDedupMode.select( Math.max( 0, dedupMode ) );
+    wMemoryLimit.setText( Const.NVL( input.getMemoryLimit(), "" ) );
+    wSpillDirectory.setText( Const.NVL( input.getSpillDirectory(), "" ) );
+    wExpectedRows.setText( Const.NVL( input.getExpectedRows(), "" ) );
+    wFalsePositiveRate.setText( Const.NVL( input.getFalsePositiveRate(), "" ) );
     for ( int i = 0; i < input.getCompareFields().length; i++ ) {
       TableItem item = wFields.table.getItem( i );
       if ( input.getCompareFields()[i] != null ) {
@@ -399,6 +536,11 @@ public class UniqueRowsByHashSetDialog extends BaseStepDialog implements StepDia
     input.setStoreValues( wStoreValues.getSelection() );
     input.setRejectDuplicateRow( wRejectDuplicateRow.getSelection() );
     input.setErrorDescription( wErrorDesc.getText() );
+    input.setDedupMode( UniqueRowsByHashSetMeta.DEDUP_MODES[Math.max( 0, wDedupMode.getSelectionIndex() )] );
+    input.setMemoryLimit( wMemoryLimit.getText() );
+    input.setSpillDirectory( wSpillDirectory.getText() );
+    input.setExpectedRows( wExpectedRows.getText() );
+    input.setFalsePositiveRate( wFalsePositiveRate.getText() );
     dispose();
   }
 
@@ -96,6 +96,10 @@ public class UpdateDialog extends BaseStepDialog implements StepDialogInterface
   private Button wBatch;
   private FormData fdlBatch, fdBatch;
 
+  private Label wlSetBasedMerge;
+  private Button wSetBasedMerge;
+  private FormData fdlSetBasedMerge, fdSetBasedMerge;
+
   private Label wlErrorIgnored;
   private Button wErrorIgnored;
   private FormData fdlErrorIgnored, fdErrorIgnored;
@@ -290,13 +294,35 @@ public class UpdateDialog extends BaseStepDialog implements StepDialogInterface
       }
     } );
 
+    wlSetBasedMerge = new Label( shell, SWT.RIGHT );
+    wlSetBasedMerge.setText( BaseMessages.getString( PKG, "UpdateDialog.SetBasedMerge.Label" ) );
+    props.setLook( wlSetBasedMerge );
+    fdlSetBasedMerge = new FormData();
+    fdlSetBasedMerge.left = new FormAttachment( 0, 0 );
+    fdlSetBasedMerge.top = new FormAttachment( wBatch, margin );
+    fdlSetBasedMerge.right = new FormAttachment( middle, -margin );
+    wlSetBasedMerge.setLayoutData( fdlSetBasedMerge );
+    wSetBasedMerge = new Button( shell, SWT.CHECK );
+    wSetBasedMerge.setToolTipText( BaseMessages.getString( PKG, "UpdateDialog.SetBasedMerge.Tooltip" ) );
+    props.setLook( wSetBasedMerge );
+    fdSetBasedMerge = new FormData();
+    fdSetBasedMerge.left = new FormAttachment( middle, 0 );
+    fdSetBasedMerge.top = new FormAttachment( wBatch, margin );
+    fdSetBasedMerge.right = new FormAttachment( 100, 0 );
+    wSetBasedMerge.setLayoutData( fdSetBasedMerge );
+    wSetBasedMerge.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent arg0 ) {
+        input.setChanged();
+      }
+    } );
+
     // UsePart update
     wlSkipLookup = new Label( shell, SWT.RIGHT );
     wlSkipLookup.setText( BaseMessages.getString( PKG, "UpdateDialog.SkipLookup.Label" ) );
     props.setLook( wlSkipLookup );
     fdlSkipLookup = new FormData();
     fdlSkipLookup.left = new FormAttachment( 0, 0 );
-    fdlSkipLookup.top = new FormAttachment( wBatch, margin );
+    fdlSkipLookup.top = new FormAttachment( wSetBasedMerge, margin );
     fdlSkipLookup.right = new FormAttachment( middle, -margin );
     wlSkipLookup.setLayoutData( fdlSkipLookup );
     wSkipLookup = new Button( shell, SWT.CHECK );
@@ -304,7 +330,7 @@ public class UpdateDialog extends BaseStepDialog implements StepDialogInterface
     props.setLook( wSkipLookup );
     fdSkipLookup = new FormData();
     fdSkipLookup.left = new FormAttachment( middle, 0 );
-    fdSkipLookup.top = new FormAttachment( wBatch, margin );
+    fdSkipLookup.top = new FormAttachment( wSetBasedMerge, margin );
     fdSkipLookup.right = new FormAttachment( 100, 0 );
     wSkipLookup.setLayoutData( fdSkipLookup );
     wSkipLookup.addSelectionListener( new SelectionAdapter() {
@@ -669,6 +695,7 @@ public class UpdateDialog extends BaseStepDialog implements StepDialogInterface
 
     wCommit.setText( input.getCommitSizeVar() );
     wBatch.setSelection( input.useBatchUpdate() );
+    wSetBasedMerge.setSelection( input.isSetBasedMerge() );
     wSkipLookup.setSelection( input.isSkipLookup() );
     wErrorIgnored.setSelection( input.isErrorIgnored() );
     if ( input.getIgnoreFlagField() != null ) {
@@ -743,6 +770,7 @@ public class UpdateDialog extends BaseStepDialog implements StepDialogInterface
 
     inf.setCommitSize(  wCommit.getText() );
     inf.setUseBatchUpdate( wBatch.getSelection() );
+    inf.setSetBasedMerge( wSetBasedMerge.getSelection() );
     inf.setSkipLookup( wSkipLookup.getSelection() );
 
     if ( log.isDebug() ) {